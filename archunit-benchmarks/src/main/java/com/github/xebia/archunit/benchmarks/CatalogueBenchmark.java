@@ -0,0 +1,88 @@
+package com.github.xebia.archunit.benchmarks;
+
+import com.github.xebia.archunit.engine.ParallelRuleRunner;
+import com.github.xebia.archunit.engine.RuleEvaluator;
+import com.github.xebia.archunit.engine.SinglePassRuleEngine;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates the whole rule catalogue on an imported corpus, rule by rule, in a single pass or in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CatalogueBenchmark {
+
+    public enum Evaluator {
+        RULE_BY_RULE {
+            @Override
+            RuleEvaluator create() {
+                return (classes, rules) -> {
+                    Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+                    for (ArchRule rule : rules) {
+                        results.put(rule, rule.evaluate(classes));
+                    }
+                    return results;
+                };
+            }
+        },
+        SINGLE_PASS {
+            @Override
+            RuleEvaluator create() {
+                return new SinglePassRuleEngine();
+            }
+        },
+        PARALLEL {
+            @Override
+            RuleEvaluator create() {
+                return new ParallelRuleRunner();
+            }
+        };
+
+        abstract RuleEvaluator create();
+    }
+
+    @Param({"1000", "10000", "100000"})
+    public int numberOfClasses;
+
+    @Param({"RULE_BY_RULE", "SINGLE_PASS", "PARALLEL"})
+    public Evaluator evaluator;
+
+    private JavaClasses classes;
+    private List<ArchRule> rules;
+    private RuleEvaluator ruleEvaluator;
+
+    @Setup
+    public void importCorpus() {
+        classes = Corpus.importClasses(numberOfClasses);
+        rules = new ArrayList<>(CorpusRules.catalogue().values());
+        ruleEvaluator = evaluator.create();
+    }
+
+    @Benchmark
+    public Map<ArchRule, EvaluationResult> evaluate() {
+        return ruleEvaluator.evaluate(classes, rules);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.xebia.archunit.benchmarks;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Generated corpora of {@link CorpusGenerator}, kept in {@code target/benchmark-corpus/<number of classes>} and only
+ * generated if missing, and jars of them in {@code target/benchmark-corpus/<number of classes>.jar}.
+ */
+final class Corpus {
+
+    private static final Path CORPUS_DIRECTORY = Paths.get("target", "benchmark-corpus");
+    private static final String COMPLETE_MARKER = "corpus.complete";
+
+    private Corpus() {
+    }
+
+    static synchronized Path of(int numberOfClasses) {
+        Path directory = CORPUS_DIRECTORY.resolve(String.valueOf(numberOfClasses)).toAbsolutePath();
+        Path marker = directory.resolve(COMPLETE_MARKER);
+        if (!Files.exists(marker)) {
+            try {
+                new CorpusGenerator(numberOfClasses).generate(directory);
+                Files.createFile(marker);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not generate corpus in " + directory, e);
+            }
+        }
+        return directory;
+    }
+
+    /**
+     * @return a jar with the class files of the corpus, e.g. to stand in for a shaded jar
+     */
+    static synchronized Path jarOf(int numberOfClasses) {
+        Path directory = of(numberOfClasses);
+        Path jar = CORPUS_DIRECTORY.resolve(numberOfClasses + ".jar").toAbsolutePath();
+        if (!Files.exists(jar)) {
+            Path temp = jar.resolveSibling(jar.getFileName() + ".tmp");
+            try (Stream<Path> files = Files.walk(directory);
+                 JarOutputStream out = new JarOutputStream(Files.newOutputStream(temp))) {
+                for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".class")).sorted()::iterator) {
+                    out.putNextEntry(new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/')));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write corpus jar " + jar, e);
+            }
+            try {
+                Files.move(temp, jar);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write corpus jar " + jar, e);
+            }
+        }
+        return jar;
+    }
+
+    static JavaClasses importClasses(int numberOfClasses) {
+        return new ClassFileImporter().importPath(of(numberOfClasses));
+    }
+}
@@ -0,0 +1,433 @@
+package com.github.xebia.archunit.benchmarks;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.objectweb.asm.Opcodes.ACC_ABSTRACT;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_INTERFACE;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * Writes the class files of a synthetic Spring Boot JPA code base of a given number of classes.
+ * <p>
+ * The code base consists of an application class in {@value #ROOT_PACKAGE} and slices {@code s0, s1, ...} of
+ * {@value #CLASSES_PER_SLICE} classes each: two JPA entities, a DTO, a summary, a REST controller, a service, a mapper,
+ * a repository, a utility class and an exception. Services call the service of the next slice, and every block of
+ * {@value #SLICES_PER_CYCLE} slices is closed to a cycle. Some slices deliberately break rules of the catalogue, so
+ * that evaluating a rule also costs building its violations. The output only depends on the number of classes.
+ */
+public final class CorpusGenerator {
+
+    public static final String ROOT_PACKAGE = "com.example.corpus";
+    public static final int CLASSES_PER_SLICE = 10;
+    public static final int SLICES_PER_CYCLE = 10;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String STRING = "java/lang/String";
+    private static final String LONG = "Ljava/lang/Long;";
+    private static final String LIST = "java/util/List";
+    private static final String PAGE = "org/springframework/data/domain/Page";
+    private static final String LOGGER = "org/slf4j/Logger";
+
+    private final int numberOfClasses;
+    private final int numberOfSlices;
+
+    public CorpusGenerator(int numberOfClasses) {
+        if (numberOfClasses < CLASSES_PER_SLICE + 1) {
+            throw new IllegalArgumentException("A corpus needs at least " + (CLASSES_PER_SLICE + 1) + " classes");
+        }
+        this.numberOfClasses = numberOfClasses;
+        this.numberOfSlices = (numberOfClasses - 1) / CLASSES_PER_SLICE;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CorpusGenerator <output directory> <number of classes>");
+            System.exit(1);
+        }
+        new CorpusGenerator(Integer.parseInt(args[1])).generate(Paths.get(args[0]));
+    }
+
+    public int getNumberOfSlices() {
+        return numberOfSlices;
+    }
+
+    public void generate(Path directory) throws IOException {
+        write(directory, application());
+        for (int slice = 0; slice < numberOfSlices; slice++) {
+            writeSlice(directory, slice);
+        }
+        int fillers = numberOfClasses - 1 - numberOfSlices * CLASSES_PER_SLICE;
+        for (int filler = 0; filler < fillers; filler++) {
+            write(directory, filler(filler));
+        }
+    }
+
+    private void writeSlice(Path directory, int slice) throws IOException {
+        write(directory, entity(slice));
+        write(directory, line(slice));
+        write(directory, dto(slice));
+        write(directory, summary(slice));
+        write(directory, resource(slice));
+        write(directory, service(slice));
+        write(directory, mapper(slice));
+        write(directory, repository(slice));
+        write(directory, utils(slice));
+        write(directory, exception(slice));
+    }
+
+    private static void write(Path directory, GeneratedClass generatedClass) throws IOException {
+        Path file = directory.resolve(generatedClass.internalName + ".class");
+        Files.createDirectories(file.getParent());
+        Files.write(file, generatedClass.bytes);
+    }
+
+    private GeneratedClass application() {
+        String name = ROOT_PACKAGE.replace('.', '/') + "/CorpusApplication";
+        ClassWriter writer = newClass(name, null, OBJECT);
+        annotate(writer, "Lorg/springframework/boot/autoconfigure/SpringBootApplication;");
+        defaultConstructor(writer, OBJECT);
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass filler(int filler) {
+        String name = type(numberOfSlices - 1, "domain", "Extra" + filler);
+        ClassWriter writer = newClass(name, null, OBJECT);
+        writer.visitField(ACC_PRIVATE, "value", "Ljava/lang/String;", null, null).visitEnd();
+        defaultConstructor(writer, OBJECT);
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass entity(int slice) {
+        String name = type(slice, "domain", "Entity");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        annotate(writer, "Ljavax/persistence/Entity;");
+        idAndVersion(writer, slice % 7 != 0);
+        FieldVisitor lines = writer.visitField(ACC_PRIVATE, "lines", descriptor(LIST),
+                "Ljava/util/List<" + descriptor(type(slice, "domain", "Line")) + ">;", null);
+        AnnotationVisitor oneToMany = lines.visitAnnotation("Ljavax/persistence/OneToMany;", true);
+        if (slice % 5 == 0) {
+            oneToMany.visitEnum("fetch", "Ljavax/persistence/FetchType;", "EAGER");
+        }
+        oneToMany.visitEnd();
+        lines.visitEnd();
+        if (slice % 11 == 0) {
+            writer.visitField(ACC_PRIVATE, "created", "Lorg/joda/time/DateTime;", null, null).visitEnd();
+        }
+        defaultConstructor(writer, OBJECT);
+        getter(writer, name, "lines", descriptor(LIST));
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass line(int slice) {
+        String name = type(slice, "domain", "Line");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        annotate(writer, "Ljavax/persistence/Entity;");
+        idAndVersion(writer, true);
+        FieldVisitor order = writer.visitField(ACC_PRIVATE, "order", descriptor(type(slice, "domain", "Entity")), null, null);
+        order.visitAnnotation("Ljavax/persistence/ManyToOne;", true).visitEnd();
+        order.visitEnd();
+        defaultConstructor(writer, OBJECT);
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass dto(int slice) {
+        String name = type(slice, "dto", "Dto");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        writer.visitField(ACC_PRIVATE | ACC_FINAL, "id", LONG, null, null).visitEnd();
+        writer.visitField(ACC_PRIVATE | ACC_FINAL, "name", "Ljava/lang/String;", null, null).visitEnd();
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "(Ljava/lang/Long;Ljava/lang/String;)V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 1);
+        constructor.visitFieldInsn(PUTFIELD, name, "id", LONG);
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 2);
+        constructor.visitFieldInsn(PUTFIELD, name, "name", "Ljava/lang/String;");
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        getter(writer, name, "id", LONG);
+        getter(writer, name, "name", "Ljava/lang/String;");
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass summary(int slice) {
+        String name = type(slice, "dto", "Summary");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        writer.visitField(ACC_PRIVATE, "total", "J", null, null).visitEnd();
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "(JJJJ)V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass resource(int slice) {
+        String service = type(slice, "service", "Service");
+        String dto = type(slice, "dto", "Dto");
+        String name = type(slice, "web", slice % 4 == 0 ? "Controller" : "Resource");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        annotate(writer, "Lorg/springframework/web/bind/annotation/RestController;");
+        writer.visitField(ACC_PRIVATE | ACC_FINAL, "service", descriptor(service), null, null).visitEnd();
+        constructorAssigning(writer, name, OBJECT, "service", service);
+
+        String pageElement = slice % 6 == 0 ? type(slice, "dto", "Summary") : dto;
+        MethodVisitor page = writer.visitMethod(ACC_PUBLIC, "page", "()" + descriptor(PAGE),
+                "()L" + PAGE + "<" + descriptor(pageElement) + ">;", null);
+        page.visitAnnotation("Lorg/springframework/web/bind/annotation/GetMapping;", true).visitEnd();
+        page.visitCode();
+        page.visitVarInsn(ALOAD, 0);
+        page.visitFieldInsn(GETFIELD, name, "service", descriptor(service));
+        page.visitMethodInsn(INVOKEVIRTUAL, service, "find", "()" + descriptor(LIST), false);
+        page.visitInsn(POP);
+        page.visitInsn(ACONST_NULL);
+        page.visitInsn(ARETURN);
+        page.visitMaxs(0, 0);
+        page.visitEnd();
+
+        String listReturnType = slice % 3 == 0 ? LIST : PAGE;
+        MethodVisitor itemsList = writer.visitMethod(ACC_PUBLIC, "itemsList", "()" + descriptor(listReturnType),
+                "()L" + listReturnType + "<" + descriptor(dto) + ">;", null);
+        itemsList.visitAnnotation("Lorg/springframework/web/bind/annotation/GetMapping;", true).visitEnd();
+        itemsList.visitCode();
+        if (slice % 8 == 0) {
+            // a controller reaching into the entities
+            itemsList.visitTypeInsn(NEW, type(slice, "domain", "Entity"));
+            itemsList.visitInsn(DUP);
+            itemsList.visitMethodInsn(INVOKESPECIAL, type(slice, "domain", "Entity"), "<init>", "()V", false);
+            itemsList.visitInsn(POP);
+        }
+        itemsList.visitInsn(ACONST_NULL);
+        itemsList.visitInsn(ARETURN);
+        itemsList.visitMaxs(0, 0);
+        itemsList.visitEnd();
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass service(int slice) {
+        String name = type(slice, "service", "Service");
+        String repository = repositoryType(slice);
+        String utils = type(slice, "utils", "Utils");
+        String next = type(nextSlice(slice), "service", "Service");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        annotate(writer, "Lorg/springframework/stereotype/Service;");
+        writer.visitField(slice % 13 == 0 ? ACC_PRIVATE | ACC_STATIC : ACC_PRIVATE | ACC_STATIC | ACC_FINAL, "LOG", descriptor(LOGGER), null, null).visitEnd();
+        writer.visitField(ACC_PRIVATE | ACC_FINAL, "repository", descriptor(repository), null, null).visitEnd();
+        if (slice % 9 == 0) {
+            FieldVisitor injected = writer.visitField(ACC_PRIVATE, "next", descriptor(next), null, null);
+            injected.visitAnnotation("Lorg/springframework/beans/factory/annotation/Autowired;", true).visitEnd();
+            injected.visitEnd();
+        }
+        constructorAssigning(writer, name, OBJECT, "repository", repository);
+
+        MethodVisitor find = writer.visitMethod(ACC_PUBLIC, "find", "()" + descriptor(LIST), null, null);
+        find.visitCode();
+        find.visitLdcInsn("find");
+        find.visitMethodInsn(INVOKESTATIC, utils, "normalize", "(Ljava/lang/String;)Ljava/lang/String;", false);
+        find.visitInsn(POP);
+        find.visitVarInsn(ALOAD, 0);
+        find.visitFieldInsn(GETFIELD, name, "repository", descriptor(repository));
+        find.visitMethodInsn(INVOKEINTERFACE, repository, "findAll", "()" + descriptor(LIST), true);
+        find.visitInsn(ARETURN);
+        find.visitMaxs(0, 0);
+        find.visitEnd();
+
+        MethodVisitor delegate = writer.visitMethod(ACC_PUBLIC, "delegate", "(" + descriptor(next) + ")" + descriptor(LIST), null, null);
+        delegate.visitCode();
+        delegate.visitVarInsn(ALOAD, 1);
+        delegate.visitMethodInsn(INVOKEVIRTUAL, next, "find", "()" + descriptor(LIST), false);
+        delegate.visitInsn(ARETURN);
+        delegate.visitMaxs(0, 0);
+        delegate.visitEnd();
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass mapper(int slice) {
+        String name = type(slice, "service", "Mapper");
+        String entity = type(slice, "domain", "Entity");
+        String dto = type(slice, "dto", "Dto");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        annotate(writer, "Lorg/springframework/stereotype/Component;");
+        writer.visitField(slice % 2 == 0 ? ACC_PRIVATE : ACC_PRIVATE | ACC_FINAL, "prefix", "Ljava/lang/String;", null, null).visitEnd();
+        defaultConstructor(writer, OBJECT);
+
+        MethodVisitor map = writer.visitMethod(ACC_PUBLIC, "map", "(" + descriptor(entity) + ")" + descriptor(dto), null, null);
+        map.visitCode();
+        map.visitTypeInsn(NEW, dto);
+        map.visitInsn(DUP);
+        map.visitInsn(ACONST_NULL);
+        map.visitVarInsn(ALOAD, 0);
+        map.visitFieldInsn(GETFIELD, name, "prefix", "Ljava/lang/String;");
+        map.visitMethodInsn(INVOKESPECIAL, dto, "<init>", "(Ljava/lang/Long;Ljava/lang/String;)V", false);
+        map.visitInsn(ARETURN);
+        map.visitMaxs(0, 0);
+        map.visitEnd();
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass repository(int slice) {
+        String name = repositoryType(slice);
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(V1_8, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE, name,
+                "Ljava/lang/Object;Lorg/springframework/data/repository/CrudRepository<"
+                        + descriptor(type(slice, "domain", "Entity")) + LONG + ">;",
+                OBJECT, new String[]{"org/springframework/data/repository/CrudRepository"});
+        writer.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "findAll", "()" + descriptor(LIST), null, null).visitEnd();
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass utils(int slice) {
+        String name = type(slice, "utils", "Utils");
+        ClassWriter writer = newClass(name, null, OBJECT);
+        MethodVisitor constructor = writer.visitMethod(slice % 4 == 0 ? ACC_PUBLIC : ACC_PRIVATE, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor normalize = writer.visitMethod(ACC_PUBLIC | ACC_STATIC, "normalize", "(Ljava/lang/String;)Ljava/lang/String;", null, null);
+        normalize.visitCode();
+        normalize.visitVarInsn(ALOAD, 0);
+        normalize.visitMethodInsn(INVOKEVIRTUAL, STRING, "trim", "()Ljava/lang/String;", false);
+        normalize.visitInsn(ARETURN);
+        normalize.visitMaxs(0, 0);
+        normalize.visitEnd();
+        if (slice % 4 == 0) {
+            MethodVisitor instance = writer.visitMethod(ACC_PUBLIC, "describe", "()Ljava/lang/String;", null, null);
+            instance.visitCode();
+            instance.visitLdcInsn(name);
+            instance.visitInsn(ARETURN);
+            instance.visitMaxs(0, 0);
+            instance.visitEnd();
+        }
+        return new GeneratedClass(name, writer);
+    }
+
+    private GeneratedClass exception(int slice) {
+        String name = type(slice, "domain", "Exception");
+        String superName = slice % 10 == 0 ? "java/lang/Exception" : "java/lang/RuntimeException";
+        ClassWriter writer = newClass(name, null, superName);
+        defaultConstructor(writer, superName);
+        return new GeneratedClass(name, writer);
+    }
+
+    /**
+     * Services depend on the service of the next slice, the last slice of every block closes the block to a cycle.
+     */
+    private int nextSlice(int slice) {
+        int blockStart = slice - slice % SLICES_PER_CYCLE;
+        int next = slice + 1;
+        return next == blockStart + SLICES_PER_CYCLE || next == numberOfSlices ? blockStart : next;
+    }
+
+    private static String repositoryType(int slice) {
+        return type(slice, slice % 12 == 0 ? "service" : "repository", "Repository");
+    }
+
+    private static String type(int slice, String layer, String suffix) {
+        return ROOT_PACKAGE.replace('.', '/') + "/s" + slice + "/" + layer + "/S" + slice + suffix;
+    }
+
+    private static String descriptor(String internalName) {
+        return "L" + internalName + ";";
+    }
+
+    private static ClassWriter newClass(String name, String signature, String superName) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(V1_8, ACC_PUBLIC | ACC_SUPER, name, signature, superName, null);
+        return writer;
+    }
+
+    private static void annotate(ClassWriter writer, String annotationDescriptor) {
+        writer.visitAnnotation(annotationDescriptor, true).visitEnd();
+    }
+
+    private static void idAndVersion(ClassWriter writer, boolean withVersion) {
+        FieldVisitor id = writer.visitField(ACC_PRIVATE, "id", LONG, null, null);
+        id.visitAnnotation("Ljavax/persistence/Id;", true).visitEnd();
+        id.visitEnd();
+        if (withVersion) {
+            FieldVisitor version = writer.visitField(ACC_PRIVATE, "version", LONG, null, null);
+            version.visitAnnotation("Ljavax/persistence/Version;", true).visitEnd();
+            version.visitEnd();
+        }
+    }
+
+    private static void defaultConstructor(ClassWriter writer, String superName) {
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+    }
+
+    private static void constructorAssigning(ClassWriter writer, String owner, String superName, String field, String fieldType) {
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "(" + descriptor(fieldType) + ")V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 1);
+        constructor.visitFieldInsn(PUTFIELD, owner, field, descriptor(fieldType));
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+    }
+
+    private static void getter(ClassWriter writer, String owner, String field, String fieldDescriptor) {
+        String name = "get" + Character.toUpperCase(field.charAt(0)) + field.substring(1);
+        MethodVisitor getter = writer.visitMethod(ACC_PUBLIC, name, "()" + fieldDescriptor, null, null);
+        getter.visitCode();
+        getter.visitVarInsn(ALOAD, 0);
+        getter.visitFieldInsn(GETFIELD, owner, field, fieldDescriptor);
+        getter.visitInsn(ARETURN);
+        getter.visitMaxs(0, 0);
+        getter.visitEnd();
+    }
+
+    private static final class GeneratedClass {
+        private final String internalName;
+        private final byte[] bytes;
+
+        private GeneratedClass(String internalName, ClassWriter writer) {
+            writer.visitEnd();
+            this.internalName = internalName;
+            this.bytes = writer.toByteArray();
+        }
+    }
+}
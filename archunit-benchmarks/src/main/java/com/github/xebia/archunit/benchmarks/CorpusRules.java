@@ -0,0 +1,70 @@
+package com.github.xebia.archunit.benchmarks;
+
+import com.tngtech.archunit.lang.ArchRule;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.github.xebia.archunit.benchmarks.CorpusGenerator.ROOT_PACKAGE;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.allEntityClassesShouldHaveVersionField;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.favorBuilderOverLongListConstructor;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.favorConstructorInjectionOverFieldInjection;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.favorJava8DateTimeApiOverJodaTime;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.getApiWhoseNameEndsWithListShouldUsePagination;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.layersShouldBeFreeOfCycles;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.loggerShouldBePrivateStaticFinal;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.microservicesShouldNotDependOnEachOther;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.noCheckedExceptions;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.noGetApiShouldReturnListOrSet;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.noRestControllerShouldAccessEntityClass;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.repositoryShouldResideInRepositoryPackage;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.restControllersNameShouldEndWithResource;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.restControllersShouldReturnDtosOnly;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.rootDirectoryShouldHaveApplicationClass;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.springSingletonComponentsShouldOnlyHaveFinalFields;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.utilClassesMethodsShouldBeStatic;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.utilsClassesShouldHavePrivateConstructor;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.utilsClassesShouldNotBeInjected;
+
+/**
+ * The rule catalogue of {@code AbstractArchitectureTests}, configured for the packages of the generated corpus and
+ * keyed by the name of the {@code XebiaArchitectureRules} method.
+ */
+final class CorpusRules {
+
+    private CorpusRules() {
+    }
+
+    static Map<String, ArchRule> catalogue() {
+        Map<String, ArchRule> rules = new LinkedHashMap<>();
+        rules.put("noGetApiShouldReturnListOrSet", noGetApiShouldReturnListOrSet());
+        rules.put("getApiWhoseNameEndsWithListShouldUsePagination", getApiWhoseNameEndsWithListShouldUsePagination());
+        rules.put("noRestControllerShouldAccessEntityClass", noRestControllerShouldAccessEntityClass(ROOT_PACKAGE + "..domain.."));
+        rules.put("restControllersShouldReturnDtosOnly", restControllersShouldReturnDtosOnly("Dto"));
+        rules.put("restControllersNameShouldEndWithResource", restControllersNameShouldEndWithResource());
+        rules.put("allEntityClassesShouldHaveVersionField", allEntityClassesShouldHaveVersionField());
+        rules.put("noCheckedExceptions", noCheckedExceptions());
+        rules.put("microservicesShouldNotDependOnEachOther", microservicesShouldNotDependOnEachOther(ROOT_PACKAGE + ".(*).service.."));
+        rules.put("utilsClassesShouldHavePrivateConstructor", utilsClassesShouldHavePrivateConstructor());
+        rules.put("utilsClassesShouldNotBeInjected", utilsClassesShouldNotBeInjected());
+        rules.put("utilClassesMethodsShouldBeStatic", utilClassesMethodsShouldBeStatic());
+        rules.put("rootDirectoryShouldHaveApplicationClass", rootDirectoryShouldHaveApplicationClass(ROOT_PACKAGE));
+        rules.put("loggerShouldBePrivateStaticFinal", loggerShouldBePrivateStaticFinal());
+        rules.put("repositoryShouldResideInRepositoryPackage", repositoryShouldResideInRepositoryPackage());
+        rules.put("springSingletonComponentsShouldOnlyHaveFinalFields", springSingletonComponentsShouldOnlyHaveFinalFields());
+        rules.put("layersShouldBeFreeOfCycles", layersShouldBeFreeOfCycles(ROOT_PACKAGE + ".(*).."));
+        rules.put("favorConstructorInjectionOverFieldInjection", favorConstructorInjectionOverFieldInjection());
+        rules.put("favorJava8DateTimeApiOverJodaTime", favorJava8DateTimeApiOverJodaTime());
+        rules.put("favorBuilderOverLongListConstructor", favorBuilderOverLongListConstructor());
+        return Collections.unmodifiableMap(rules);
+    }
+
+    static ArchRule byName(String name) {
+        ArchRule rule = catalogue().get(name);
+        if (rule == null) {
+            throw new IllegalArgumentException("Unknown rule " + name + ", expected one of " + catalogue().keySet());
+        }
+        return rule;
+    }
+}
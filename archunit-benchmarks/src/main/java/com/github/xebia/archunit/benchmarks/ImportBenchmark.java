@@ -0,0 +1,51 @@
+package com.github.xebia.archunit.benchmarks;
+
+import com.github.xebia.archunit.classfile.ClassHeaders;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a generated corpus with a plain {@link ClassFileImporter}, and scans only its {@link ClassHeaders}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ImportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int numberOfClasses;
+
+    private Path corpus;
+
+    @Setup
+    public void generateCorpus() {
+        corpus = Corpus.of(numberOfClasses);
+    }
+
+    @Benchmark
+    public JavaClasses importCorpus() {
+        return new ClassFileImporter().importPath(corpus);
+    }
+
+    @Benchmark
+    public ClassHeaders scanHeaders() {
+        return ClassHeaders.scan(corpus);
+    }
+}
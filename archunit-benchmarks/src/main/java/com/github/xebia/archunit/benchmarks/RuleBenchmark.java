@@ -0,0 +1,70 @@
+package com.github.xebia.archunit.benchmarks;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates a single rule of the catalogue on an imported corpus. The import is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class RuleBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int numberOfClasses;
+
+    @Param({
+            "noGetApiShouldReturnListOrSet",
+            "getApiWhoseNameEndsWithListShouldUsePagination",
+            "noRestControllerShouldAccessEntityClass",
+            "restControllersShouldReturnDtosOnly",
+            "restControllersNameShouldEndWithResource",
+            "allEntityClassesShouldHaveVersionField",
+            "noCheckedExceptions",
+            "microservicesShouldNotDependOnEachOther",
+            "utilsClassesShouldHavePrivateConstructor",
+            "utilsClassesShouldNotBeInjected",
+            "utilClassesMethodsShouldBeStatic",
+            "rootDirectoryShouldHaveApplicationClass",
+            "loggerShouldBePrivateStaticFinal",
+            "repositoryShouldResideInRepositoryPackage",
+            "springSingletonComponentsShouldOnlyHaveFinalFields",
+            "layersShouldBeFreeOfCycles",
+            "favorConstructorInjectionOverFieldInjection",
+            "favorJava8DateTimeApiOverJodaTime",
+            "favorBuilderOverLongListConstructor"
+    })
+    public String rule;
+
+    private JavaClasses classes;
+    private ArchRule archRule;
+
+    @Setup
+    public void importCorpus() {
+        classes = Corpus.importClasses(numberOfClasses);
+        archRule = CorpusRules.byName(rule);
+    }
+
+    @Benchmark
+    public EvaluationResult evaluate() {
+        return archRule.evaluate(classes);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.xebia.archunit.benchmarks;
+
+import com.github.xebia.archunit.importer.ImportScope;
+import com.github.xebia.archunit.importer.ScopedClassFileImporter;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports the REST controllers of a generated corpus with {@link ImportScope#importLocations(ClassFileImporter, java.util.Collection)},
+ * which decides on the scope during the import, and with a {@link ScopedClassFileImporter}, which decides on it before:
+ * once from its directory alone, and once from its directory followed by a jar with the same classes, like a module
+ * next to a shaded jar. Both yield the same classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ScopedImportBenchmark {
+
+    private static final ImportScope REST_CONTROLLERS = ImportScope.annotatedWith("org.springframework.web.bind.annotation.RestController");
+
+    @Param({"1000", "10000", "100000"})
+    public int numberOfClasses;
+
+    private List<Location> directory;
+    private List<Location> directoryAndJar;
+
+    @Setup
+    public void generateCorpus() {
+        Location corpus = Location.of(Corpus.of(numberOfClasses));
+        Location jar = Location.of(URI.create("jar:" + Corpus.jarOf(numberOfClasses).toUri() + "!/"));
+        directory = Collections.singletonList(corpus);
+        directoryAndJar = Arrays.asList(corpus, jar);
+    }
+
+    @Benchmark
+    public JavaClasses scopedImportOfDirectory() {
+        return REST_CONTROLLERS.importLocations(new ClassFileImporter(), directory);
+    }
+
+    @Benchmark
+    public JavaClasses preFilteredImportOfDirectory() {
+        return new ScopedClassFileImporter().withImportScope(REST_CONTROLLERS).importLocations(directory);
+    }
+
+    @Benchmark
+    public JavaClasses scopedImportOfDirectoryAndJar() {
+        return REST_CONTROLLERS.importLocations(new ClassFileImporter(), directoryAndJar);
+    }
+
+    @Benchmark
+    public JavaClasses preFilteredImportOfDirectoryAndJar() {
+        return new ScopedClassFileImporter().withImportScope(REST_CONTROLLERS).importLocations(directoryAndJar);
+    }
+}
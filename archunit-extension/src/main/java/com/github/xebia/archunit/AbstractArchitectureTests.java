@@ -1,13 +1,31 @@
 package com.github.xebia.archunit;
 
+import com.github.xebia.archunit.baseline.ViolationBaseline;
+import com.github.xebia.archunit.budget.BudgetedRuleEvaluator;
+import com.github.xebia.archunit.budget.ViolationBudget;
+import com.github.xebia.archunit.engine.RuleEvaluator;
+import com.github.xebia.archunit.report.ViolationReport;
+import com.github.xebia.archunit.rules.BlockingSinks;
+import com.github.xebia.archunit.rules.ExpensiveFactories;
+import com.github.xebia.archunit.rules.RuleCatalogue;
+import com.github.xebia.archunit.rules.StartupChecks;
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.function.Supplier;
+
 import static com.github.xebia.archunit.rules.XebiaArchitectureRules.*;
+import static com.tngtech.archunit.lang.ArchRule.Assertions.assertNoViolation;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public abstract class AbstractArchitectureTests {
 
-    private final JavaClasses javaClasses;
+    private final Supplier<JavaClasses> javaClasses;
     private final String[] entityClasses;
     private final String domainPackageMatchIdentifier;
     private final String rootPackageIdentifier;
@@ -22,6 +40,21 @@ public abstract class AbstractArchitectureTests {
                                      String cycleCheckPackageIdentifier,
                                      String[] dtoClassSuffixes,
                                      String[] utilClassSuffixes) {
+        this(() -> javaClasses, entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes);
+    }
+
+    /**
+     * Prefer this constructor together with {@link com.github.xebia.archunit.importer.CachedClassFileImporter}
+     * so the classes are imported once per JVM instead of once per test method.
+     */
+    public AbstractArchitectureTests(Supplier<JavaClasses> javaClasses,
+                                     String[] entityClasses,
+                                     String domainPackageMatchIdentifier,
+                                     String rootPackageIdentifier,
+                                     String cycleCheckPackageIdentifier,
+                                     String[] dtoClassSuffixes,
+                                     String[] utilClassSuffixes) {
         this.javaClasses = javaClasses;
         this.entityClasses = entityClasses;
         this.domainPackageMatchIdentifier = domainPackageMatchIdentifier;
@@ -33,113 +66,341 @@ public abstract class AbstractArchitectureTests {
 
     @Test
     void no_get_api_should_return_list_or_set() {
-        noGetApiShouldReturnListOrSet()
-                .check(javaClasses);
+        check(noGetApiShouldReturnListOrSet());
     }
 
     @Test
     void get_api_whose_name_ends_with_list_should_use_pagination() {
-        getApiWhoseNameEndsWithListShouldUsePagination()
-                .check(javaClasses);
+        check(getApiWhoseNameEndsWithListShouldUsePagination());
     }
 
     @Test
     void no_rest_controller_should_access_entity_class() {
-        noRestControllerShouldAccessEntityClass(entityClasses)
-                .check(javaClasses);
+        check(noRestControllerShouldAccessEntityClass(entityClasses));
     }
 
     @Test
     void rest_controllers_should_return_dtos_only() {
-        restControllersShouldReturnDtosOnly(dtoClassSuffixes)
-                .check(javaClasses);
+        check(restControllersShouldReturnDtosOnly(dtoClassSuffixes));
     }
 
     @Test
     void rest_controllers_name_should_end_with_resource() {
-        restControllersNameShouldEndWithResource()
-                .check(javaClasses);
+        check(restControllersNameShouldEndWithResource());
     }
 
     @Test
     void all_entity_classes_should_have_version_field() {
-        allEntityClassesShouldHaveVersionField()
-                .check(javaClasses);
+        check(allEntityClassesShouldHaveVersionField());
     }
 
     @Test
     void no_checked_exceptions() {
-        noCheckedExceptions()
-                .check(javaClasses);
+        check(noCheckedExceptions());
     }
 
     @Test
     void microservices_should_not_depend_on_each_other() {
-        microservicesShouldNotDependOnEachOther(domainPackageMatchIdentifier)
-                .check(javaClasses);
+        check(microservicesShouldNotDependOnEachOther(domainPackageMatchIdentifier));
     }
 
     @Test
     void utils_classes_should_have_private_constructor() {
-        utilsClassesShouldHavePrivateConstructor(utilClassSuffixes)
-                .check(javaClasses);
+        check(utilsClassesShouldHavePrivateConstructor(utilClassSuffixes));
     }
 
     @Test
     void utils_classes_should_not_be_injected() {
-        utilsClassesShouldNotBeInjected(utilClassSuffixes)
-                .check(javaClasses);
+        check(utilsClassesShouldNotBeInjected(utilClassSuffixes));
     }
 
     @Test
     void utils_classes_should_only_have_static_methods() {
-        utilClassesMethodsShouldBeStatic(utilClassSuffixes)
-                .check(javaClasses);
+        check(utilClassesMethodsShouldBeStatic(utilClassSuffixes));
     }
 
     @Test
     void root_directory_should_have_application_class() {
-        rootDirectoryShouldHaveApplicationClass(rootPackageIdentifier)
-                .check(javaClasses);
+        check(rootDirectoryShouldHaveApplicationClass(rootPackageIdentifier));
     }
 
     @Test
     void logger_should_be_private_static_final() {
-        loggerShouldBePrivateStaticFinal()
-                .check(javaClasses);
+        check(loggerShouldBePrivateStaticFinal());
     }
 
     @Test
     void repository_should_reside_in_repository_package() {
-        repositoryShouldResideInRepositoryPackage()
-                .check(javaClasses);
+        check(repositoryShouldResideInRepositoryPackage());
     }
 
     @Test
     void spring_singleton_component_classes_should_have_only_final_fields() {
-        springSingletonComponentsShouldOnlyHaveFinalFields()
-                .check(javaClasses);
+        check(springSingletonComponentsShouldOnlyHaveFinalFields());
     }
 
     @Test
     void layers_should_be_free_of_cycles() {
-        layersShouldBeFreeOfCycles(cycleCheckPackageIdentifier)
-                .check(javaClasses);
+        check(layersShouldBeFreeOfCycles(cycleCheckPackageIdentifier));
     }
 
     @Test
     void favor_constructor_injection_over_field_injection() {
-        favorConstructorInjectionOverFieldInjection().check(javaClasses);
+        check(favorConstructorInjectionOverFieldInjection());
     }
 
     @Test
     void favor_java8_datetime_api_over_joda_api() {
-        favorJava8DateTimeApiOverJodaTime().check(javaClasses);
+        check(favorJava8DateTimeApiOverJodaTime());
     }
 
     @Test
     void favor_builder_over_long_list_constructor() {
-        favorBuilderOverLongListConstructor().check(javaClasses);
+        check(favorBuilderOverLongListConstructor());
+    }
+
+    @Test
+    void entity_collection_associations_should_not_be_fetched_eagerly() {
+        assumeJpaChecks();
+        check(entityCollectionAssociationsShouldNotBeFetchedEagerly());
+    }
+
+    @Test
+    void entity_single_valued_associations_should_be_lazy() {
+        assumeJpaChecks();
+        check(entitySingleValuedAssociationsShouldBeLazy());
+    }
+
+    @Test
+    void entity_collection_associations_should_have_batch_size() {
+        assumeJpaChecks();
+        check(entityCollectionAssociationsShouldHaveBatchSize());
+    }
+
+    @Test
+    void entity_collections_should_not_be_bags() {
+        assumeJpaChecks();
+        check(entityCollectionsShouldNotBeBags());
+    }
+
+    @Test
+    void entity_equals_and_hash_code_should_not_use_lazy_associations() {
+        assumeJpaChecks();
+        check(entityEqualsAndHashCodeShouldNotUseLazyAssociations());
+    }
+
+    @Test
+    void spring_singleton_components_should_not_synchronize() {
+        assumeConcurrencyChecks();
+        check(springSingletonComponentsShouldNotSynchronize());
+    }
+
+    @Test
+    void spring_singleton_components_should_not_use_synchronized_collections() {
+        assumeConcurrencyChecks();
+        check(springSingletonComponentsShouldNotUseSynchronizedCollections());
+    }
+
+    @Test
+    void spring_singleton_components_should_not_have_static_mutable_collections() {
+        assumeConcurrencyChecks();
+        check(springSingletonComponentsShouldNotHaveStaticMutableCollections());
+    }
+
+    @Test
+    void spring_singleton_components_should_remove_thread_locals() {
+        assumeConcurrencyChecks();
+        check(springSingletonComponentsShouldRemoveThreadLocals());
+    }
+
+    @Test
+    void reactive_methods_should_not_block() {
+        BlockingSinks blockingSinks = blockingSinks();
+        assumeTrue(blockingSinks != null, "Override blockingSinks() or set -Dxebia.archunit.checkReactive=true to check for blocking calls in reactive methods");
+        check(reactiveMethodsShouldNotBlock(blockingSinks));
+    }
+
+    @Test
+    void expensive_objects_should_not_be_created_per_call() {
+        ExpensiveFactories factories = expensiveFactories();
+        assumeTrue(factories != null, "Override expensiveFactories() to check for expensive objects created per call");
+        check(expensiveObjectsShouldNotBeCreatedPerCall(factories));
+    }
+
+    @Test
+    void component_scans_should_not_be_broader_than_root_package() {
+        assumeTrue(startupChecks() != null, "Override startupChecks() to check for component scans beyond the root package");
+        check(componentScansShouldNotBeBroaderThanRootPackage(rootPackageIdentifier));
+    }
+
+    @Test
+    void startup_callbacks_should_not_do_io() {
+        StartupChecks startupChecks = startupChecks();
+        assumeTrue(startupChecks != null, "Override startupChecks() to check for I/O in static initializers and init callbacks");
+        check(startupCallbacksShouldNotDoIo(startupChecks.getIoCalls()));
+    }
+
+    @Test
+    void configurations_without_inter_bean_calls_should_not_proxy_bean_methods() {
+        assumeTrue(startupChecks() != null, "Override startupChecks() to check for needlessly proxied @Bean methods");
+        check(configurationsWithoutInterBeanCallsShouldNotProxyBeanMethods());
+    }
+
+    @Test
+    void heavy_beans_should_be_lazy() {
+        StartupChecks startupChecks = startupChecks();
+        assumeTrue(startupChecks != null, "Override startupChecks() to check that heavy beans are @Lazy");
+        check(heavyBeansShouldBeLazy(startupChecks.getLazyBeanTypes().toArray(new String[0])));
+    }
+
+    /**
+     * Override to evaluate all rules of this class as one batch, e.g. with
+     * {@link com.github.xebia.archunit.engine.SinglePassRuleEngine}, when the first test runs.
+     * Every test then reports only the result of its own rule.
+     * <p>
+     * Results are shared between test instances checking the same {@link JavaClasses} instance, so this pays off
+     * together with {@link com.github.xebia.archunit.importer.CachedClassFileImporter} or a {@code static} import.
+     *
+     * @return the evaluator to use, or {@code null} to check every rule separately within its own test
+     */
+    protected RuleEvaluator ruleEvaluator() {
+        return null;
+    }
+
+    /**
+     * Override to adopt the rules on a code base that does not follow them yet. Every test then only fails for
+     * violations that are not part of the baseline, and fixed violations are removed from it. Return a baseline
+     * {@link ViolationBaseline#withRecording() with recording} to record the rules missing from it.
+     *
+     * @return the baseline of accepted violations, or {@code null} to fail for every violation
+     */
+    protected ViolationBaseline violationBaseline() {
+        return null;
+    }
+
+    /**
+     * Override to stop every rule after a number of violations instead of reporting all of them. The rules are then
+     * evaluated as one batch by a {@link BudgetedRuleEvaluator}, which takes precedence over {@link #ruleEvaluator()}.
+     * <p>
+     * By default rules stop at their first violation if the system property {@code xebia.archunit.failFast} is
+     * {@code true}, e.g. {@code mvn test -Dxebia.archunit.failFast=true} in a pre-commit hook.
+     *
+     * @return the budget, or {@code null} to report all violations
+     */
+    protected ViolationBudget violationBudget() {
+        return Boolean.getBoolean("xebia.archunit.failFast") ? ViolationBudget.failFast() : null;
+    }
+
+    /**
+     * Override to opt in to the concurrency rules for Spring singleton components, which are checked by default only if
+     * the system property {@code xebia.archunit.checkConcurrency} is {@code true}.
+     *
+     * @return whether to check the concurrency rules
+     */
+    protected boolean checkConcurrency() {
+        return Boolean.getBoolean("xebia.archunit.checkConcurrency");
+    }
+
+    /**
+     * Override to opt in to the JPA fetching rules for {@code @Entity} classes, which are checked by default only if the
+     * system property {@code xebia.archunit.checkJpa} is {@code true}.
+     *
+     * @return whether to check the JPA fetching rules
+     */
+    protected boolean checkJpa() {
+        return Boolean.getBoolean("xebia.archunit.checkJpa");
+    }
+
+    /**
+     * Override to opt in to {@link com.github.xebia.archunit.rules.XebiaArchitectureRules#reactiveMethodsShouldNotBlock(BlockingSinks)},
+     * e.g. with {@link BlockingSinks#defaults()} and the blocking clients of your code base. By default the rule checks
+     * {@link BlockingSinks#defaults()} if the system property {@code xebia.archunit.checkReactive} is {@code true}.
+     *
+     * @return the blocking calls, or {@code null} to skip the rule
+     */
+    protected BlockingSinks blockingSinks() {
+        return Boolean.getBoolean("xebia.archunit.checkReactive") ? BlockingSinks.defaults() : null;
+    }
+
+    /**
+     * Override to opt in to {@link com.github.xebia.archunit.rules.XebiaArchitectureRules#expensiveObjectsShouldNotBeCreatedPerCall(ExpensiveFactories)},
+     * e.g. with {@link ExpensiveFactories#defaults()}.
+     *
+     * @return the factories whose objects should not be created per call, or {@code null} to skip the rule
+     */
+    protected ExpensiveFactories expensiveFactories() {
+        return null;
+    }
+
+    /**
+     * Override to opt in to the startup rules, e.g. with {@link StartupChecks#defaults()} and the beans that should be
+     * {@code @Lazy}.
+     *
+     * @return the I/O calls and heavy beans to check, or {@code null} to skip the startup rules
+     */
+    protected StartupChecks startupChecks() {
+        return null;
+    }
+
+    /**
+     * Override to write the violations of every rule to a SARIF log and a JSON Lines file instead of into the
+     * assertion message, which then only tells the number of violations and where to find them.
+     * <p>
+     * By default violations are written to the directory given by the system property
+     * {@code xebia.archunit.reportDirectory}, if set, e.g. {@code mvn test -Dxebia.archunit.reportDirectory=target/archunit}.
+     *
+     * @return the report, or {@code null} to report violations in the assertion message
+     */
+    protected ViolationReport violationReport() {
+        String directory = System.getProperty("xebia.archunit.reportDirectory");
+        return directory != null ? ViolationReport.of(Paths.get(directory)) : null;
+    }
+
+    private void assumeConcurrencyChecks() {
+        assumeTrue(checkConcurrency(), "Override checkConcurrency() or set -Dxebia.archunit.checkConcurrency=true to check the concurrency rules");
+    }
+
+    private void assumeJpaChecks() {
+        assumeTrue(checkJpa(), "Override checkJpa() or set -Dxebia.archunit.checkJpa=true to check the JPA fetching rules");
+    }
+
+    private void check(ArchRule rule) {
+        ViolationBudget budget = violationBudget();
+        RuleEvaluator ruleEvaluator = budget != null ? new BudgetedRuleEvaluator(budget) : ruleEvaluator();
+        ViolationBaseline baseline = violationBaseline();
+        ViolationReport report = violationReport();
+        if (ruleEvaluator == null && baseline == null && report == null) {
+            rule.check(javaClasses.get());
+            return;
+        }
+        JavaClasses classes = javaClasses.get();
+        EvaluationResult result = ruleEvaluator == null
+                ? rule.evaluate(classes)
+                : CatalogueResults.of(getClass(), classes).get(rule, classes, () -> ruleEvaluator.evaluate(classes, catalogue()));
+        if (baseline != null) {
+            result = baseline.apply(rule, result);
+        }
+        if (report == null) {
+            assertNoViolation(result);
+            return;
+        }
+        int violations = report.write(rule, result);
+        if (violations > 0) {
+            fail(String.format("Architecture Violation [Priority: %s] - Rule '%s' was violated (%d times), see %s or %s",
+                    result.getPriority().asString(), rule.getDescription(), violations,
+                    report.getSarifFile(), report.getJsonLinesFile()));
+        }
+    }
+
+    private List<ArchRule> catalogue() {
+        return new RuleCatalogue(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes)
+                .withExpensiveFactories(expensiveFactories())
+                .withStartupChecks(startupChecks())
+                .withConcurrencyChecks(checkConcurrency())
+                .withBlockingSinks(blockingSinks())
+                .withJpaChecks(checkJpa())
+                .rules();
     }
 
 }
@@ -0,0 +1,87 @@
+package com.github.xebia.archunit;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the results of a batch evaluated rule catalogue, so that the first test of an architecture test class
+ * evaluates all rules and every later test instance only looks up the result of its own rule.
+ * <p>
+ * Results are kept per test class and per {@link JavaClasses} instance, no matter how many suppliers hand out that
+ * instance, and are released together with it.
+ */
+final class CatalogueResults {
+
+    private static final List<Entry> RESULTS = new ArrayList<>();
+
+    private Map<ArchRule, EvaluationResult> results;
+    private Map<String, List<ArchRule>> rulesByDescription;
+
+    private CatalogueResults() {
+    }
+
+    static CatalogueResults of(Class<?> testClass, JavaClasses javaClasses) {
+        synchronized (RESULTS) {
+            for (Iterator<Entry> iterator = RESULTS.iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                JavaClasses evaluated = entry.javaClasses.get();
+                if (evaluated == null) {
+                    iterator.remove();
+                } else if (evaluated == javaClasses) {
+                    return entry.resultsByTestClass.computeIfAbsent(testClass, key -> new CatalogueResults());
+                }
+            }
+            Entry entry = new Entry(javaClasses);
+            RESULTS.add(entry);
+            return entry.resultsByTestClass.computeIfAbsent(testClass, key -> new CatalogueResults());
+        }
+    }
+
+    /**
+     * Every test builds its own instance of its rule, so the rule is matched to the catalogue rule of the same type and
+     * description. A rule sharing its description with other catalogue rules is evaluated on its own, since its
+     * result cannot be told apart from theirs.
+     */
+    synchronized EvaluationResult get(ArchRule rule, JavaClasses javaClasses, Supplier<Map<ArchRule, EvaluationResult>> evaluation) {
+        if (results == null) {
+            results = new IdentityHashMap<>(evaluation.get());
+            rulesByDescription = new HashMap<>();
+            for (ArchRule evaluatedRule : results.keySet()) {
+                rulesByDescription.computeIfAbsent(evaluatedRule.getDescription(), key -> new ArrayList<>()).add(evaluatedRule);
+            }
+        }
+        EvaluationResult result = results.get(rule);
+        if (result != null) {
+            return result;
+        }
+        List<ArchRule> candidates = new ArrayList<>();
+        for (ArchRule evaluatedRule : rulesByDescription.getOrDefault(rule.getDescription(), new ArrayList<>())) {
+            if (evaluatedRule.getClass() == rule.getClass()) {
+                candidates.add(evaluatedRule);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("Rule '" + rule.getDescription() + "' is not part of the evaluated catalogue");
+        }
+        return candidates.size() == 1 ? results.get(candidates.get(0)) : rule.evaluate(javaClasses);
+    }
+
+    private static final class Entry {
+        private final WeakReference<JavaClasses> javaClasses;
+        private final Map<Class<?>, CatalogueResults> resultsByTestClass = new HashMap<>();
+
+        private Entry(JavaClasses javaClasses) {
+            this.javaClasses = new WeakReference<>(javaClasses);
+        }
+    }
+}
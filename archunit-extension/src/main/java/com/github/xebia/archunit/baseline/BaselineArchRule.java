@@ -0,0 +1,66 @@
+package com.github.xebia.archunit.baseline;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import static com.tngtech.archunit.lang.ArchRule.Assertions.assertNoViolation;
+
+/**
+ * Wraps any rule, e.g. one of {@link com.github.xebia.archunit.rules.XebiaArchitectureRules}, so that it only fails
+ * for violations that are not part of a {@link ViolationBaseline}.
+ * <pre>
+ * baseline(favorConstructorInjectionOverFieldInjection()).check(classes);
+ * </pre>
+ */
+public final class BaselineArchRule implements ArchRule {
+
+    private final ArchRule delegate;
+    private final ViolationBaseline baseline;
+
+    private BaselineArchRule(ArchRule delegate, ViolationBaseline baseline) {
+        this.delegate = delegate;
+        this.baseline = baseline;
+    }
+
+    /**
+     * @return the rule, checked against the baseline in {@link ViolationBaseline#DEFAULT_BASELINE_FILE}
+     */
+    public static BaselineArchRule baseline(ArchRule rule) {
+        return new BaselineArchRule(rule, ViolationBaseline.of());
+    }
+
+    public BaselineArchRule in(ViolationBaseline baseline) {
+        return new BaselineArchRule(delegate, baseline);
+    }
+
+    @Override
+    public void check(JavaClasses classes) {
+        assertNoViolation(evaluate(classes));
+    }
+
+    @Override
+    public EvaluationResult evaluate(JavaClasses classes) {
+        return baseline.apply(delegate, delegate.evaluate(classes));
+    }
+
+    @Override
+    public BaselineArchRule because(String reason) {
+        return new BaselineArchRule(delegate.because(reason), baseline);
+    }
+
+    @Override
+    public BaselineArchRule as(String newDescription) {
+        return new BaselineArchRule(delegate.as(newDescription), baseline);
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -0,0 +1,355 @@
+package com.github.xebia.archunit.baseline;
+
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The accepted violations of a set of rules, so that rules can be adopted on a code base that does not follow them
+ * yet: only violations that are not part of the baseline fail a rule.
+ * <p>
+ * Rules are only added to the baseline by a baseline {@link #withRecording() with recording}, whose first evaluation
+ * of a rule that is not part of the baseline records all of its violations. Without recording, a rule missing from the
+ * baseline fails for all of its violations, like ArchUnit's freezing rules without {@code allowStoreCreation}.
+ * Evaluations never add violations to a recorded rule, but remove the ones that were fixed, so a baseline can only
+ * shrink.
+ * <p>
+ * Every violation is stored as a 64-bit hash of its description with line numbers removed, so moving code around does
+ * not create new violations. The file holds, sorted by rule hash, a table of the rules and the sorted violation hashes
+ * of every rule:
+ * <pre>
+ * int magic, int ruleCount, ruleCount * (long ruleHash, int offset, int count), long violationHash...
+ * </pre>
+ * New violations are found by a merge of the sorted current hashes with the rule's block of the file, without decoding
+ * or comparing any strings. The file is read into memory at once, so nothing keeps it open, and updates are written to
+ * a temporary file that atomically replaces the baseline.
+ */
+public final class ViolationBaseline {
+
+    public static final Path DEFAULT_BASELINE_FILE = Paths.get("archunit-baseline.bin");
+
+    private static final int MAGIC = 0x58414231;
+    private static final int HEADER_BYTES = 8;
+    private static final int RULE_BYTES = 16;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final ConcurrentMap<Path, Store> STORES = new ConcurrentHashMap<>();
+
+    private final Store store;
+    private final boolean recording;
+
+    private ViolationBaseline(Store store, boolean recording) {
+        this.store = store;
+        this.recording = recording;
+    }
+
+    /**
+     * @return the baseline stored in {@link #DEFAULT_BASELINE_FILE}
+     */
+    public static ViolationBaseline of() {
+        return of(DEFAULT_BASELINE_FILE);
+    }
+
+    /**
+     * @return the baseline stored in {@code file}, whose content is shared by all callers of this JVM
+     */
+    public static ViolationBaseline of(Path file) {
+        return new ViolationBaseline(STORES.computeIfAbsent(file.toAbsolutePath().normalize(), Store::new), false);
+    }
+
+    /**
+     * @return this baseline, recording the current violations of every rule that is not part of it yet instead of
+     * failing for them
+     */
+    public ViolationBaseline withRecording() {
+        return new ViolationBaseline(store, true);
+    }
+
+    public Path getFile() {
+        return store.file;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @return whether the violations of the rule have been recorded
+     */
+    public boolean contains(ArchRule rule) {
+        synchronized (store) {
+            return findRule(store.content(), hash(rule.getDescription())) >= 0;
+        }
+    }
+
+    /**
+     * @return the number of recorded violations of the rule
+     */
+    public int size(ArchRule rule) {
+        synchronized (store) {
+            ByteBuffer buffer = store.content();
+            int index = findRule(buffer, hash(rule.getDescription()));
+            return index < 0 ? 0 : buffer.getInt(ruleOffset(index) + 12);
+        }
+    }
+
+    /**
+     * Removes the violations that are gone from the baseline. A rule that is not part of the baseline yet is recorded
+     * with all its violations if this baseline is {@link #withRecording() recording}, otherwise it keeps all of them.
+     *
+     * @return {@code result} without the violations of the baseline
+     */
+    public EvaluationResult apply(ArchRule rule, EvaluationResult result) {
+        synchronized (store) {
+            return store.apply(rule, result, recording);
+        }
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units of {@code text}, skipping line numbers like {@code :42)}.
+     */
+    static long hash(String text) {
+        long hash = FNV_OFFSET_BASIS;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == ':') {
+                int end = i + 1;
+                while (end < length && Character.isDigit(text.charAt(end))) {
+                    end++;
+                }
+                if (end > i + 1 && end < length && text.charAt(end) == ')') {
+                    i = end - 1;
+                    continue;
+                }
+            }
+            hash ^= c & 0xff;
+            hash *= FNV_PRIME;
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long[] distinctSorted(long[] hashes) {
+        long[] sorted = hashes.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    private static ByteBuffer emptyContent() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        buffer.putInt(0, MAGIC).putInt(4, 0);
+        return buffer;
+    }
+
+    private static int putRule(ByteBuffer buffer, int recordsStart, int offset, long ruleHash, long[] violations) {
+        buffer.putLong(ruleHash).putInt(offset).putInt(violations.length);
+        for (int k = 0; k < violations.length; k++) {
+            buffer.putLong(recordsStart + (offset + k) * Long.BYTES, violations[k]);
+        }
+        return offset + violations.length;
+    }
+
+    private static int findRule(ByteBuffer buffer, long ruleHash) {
+        int low = 0;
+        int high = buffer.getInt(4) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long hash = buffer.getLong(ruleOffset(middle));
+            if (hash < ruleHash) {
+                low = middle + 1;
+            } else if (hash > ruleHash) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static int ruleOffset(int index) {
+        return HEADER_BYTES + index * RULE_BYTES;
+    }
+
+    private static int recordsStart(ByteBuffer buffer) {
+        return ruleOffset(buffer.getInt(4));
+    }
+
+    private static int recordCount(ByteBuffer buffer) {
+        int rules = buffer.getInt(4);
+        int records = 0;
+        for (int i = 0; i < rules; i++) {
+            records += buffer.getInt(ruleOffset(i) + 12);
+        }
+        return records;
+    }
+
+    /**
+     * The content of one baseline file, guarded by its own monitor.
+     */
+    private static final class Store {
+        private final Path file;
+        private ByteBuffer content;
+
+        private Store(Path file) {
+            this.file = file;
+        }
+
+        private EvaluationResult apply(ArchRule rule, EvaluationResult result, boolean recording) {
+            List<String> violations = result.getFailureReport().getDetails();
+            long[] hashes = new long[violations.size()];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = hash(violations.get(i));
+            }
+            long[] current = distinctSorted(hashes);
+
+            long ruleHash = hash(rule.getDescription());
+            ByteBuffer buffer = content();
+            int ruleIndex = findRule(buffer, ruleHash);
+            if (ruleIndex < 0) {
+                if (!recording) {
+                    return result;
+                }
+                write(ruleHash, current);
+                return result.filterDescriptionsMatching(line -> false);
+            }
+
+            int start = recordsStart(buffer) + buffer.getInt(ruleOffset(ruleIndex) + 8) * Long.BYTES;
+            int count = buffer.getInt(ruleOffset(ruleIndex) + 12);
+            boolean[] accepted = new boolean[current.length];
+            int acceptedCount = 0;
+            for (int i = 0, j = 0; i < current.length && j < count; ) {
+                long recorded = buffer.getLong(start + j * Long.BYTES);
+                if (current[i] == recorded) {
+                    accepted[i++] = true;
+                    acceptedCount++;
+                    j++;
+                } else if (current[i] < recorded) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            if (acceptedCount < count) {
+                long[] remaining = new long[acceptedCount];
+                for (int i = 0, k = 0; i < current.length; i++) {
+                    if (accepted[i]) {
+                        remaining[k++] = current[i];
+                    }
+                }
+                write(ruleHash, remaining);
+            }
+            if (acceptedCount == 0) {
+                return result;
+            }
+            return result.filterDescriptionsMatching(line -> {
+                int index = Arrays.binarySearch(current, hash(line));
+                return index < 0 || !accepted[index];
+            });
+        }
+
+        private ByteBuffer content() {
+            if (content == null) {
+                content = read();
+            }
+            return content;
+        }
+
+        private ByteBuffer read() {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+                if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC
+                        || buffer.capacity() < recordsStart(buffer)
+                        || buffer.capacity() != recordsStart(buffer) + (long) recordCount(buffer) * Long.BYTES) {
+                    throw new IllegalStateException("File " + file + " is not a violation baseline");
+                }
+                return buffer;
+            } catch (NoSuchFileException e) {
+                return emptyContent();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read violation baseline " + file, e);
+            }
+        }
+
+        /**
+         * Replaces the violations of one rule, copying the blocks of all other rules as they are.
+         */
+        private void write(long ruleHash, long[] violations) {
+            ByteBuffer old = content();
+            int oldRules = old.getInt(4);
+            int oldIndex = findRule(old, ruleHash);
+            int rules = oldIndex < 0 ? oldRules + 1 : oldRules;
+            int oldCount = oldIndex < 0 ? 0 : old.getInt(ruleOffset(oldIndex) + 12);
+            int records = recordCount(old) - oldCount + violations.length;
+
+            ByteBuffer updated = ByteBuffer.allocate(HEADER_BYTES + rules * RULE_BYTES + records * Long.BYTES);
+            updated.putInt(MAGIC).putInt(rules);
+            int recordsStart = HEADER_BYTES + rules * RULE_BYTES;
+            int offset = 0;
+            boolean inserted = false;
+            for (int i = 0; i < oldRules; i++) {
+                if (i == oldIndex) {
+                    continue;
+                }
+                long oldHash = old.getLong(ruleOffset(i));
+                if (!inserted && ruleHash < oldHash) {
+                    offset = putRule(updated, recordsStart, offset, ruleHash, violations);
+                    inserted = true;
+                }
+                long[] oldViolations = new long[old.getInt(ruleOffset(i) + 12)];
+                int oldStart = recordsStart(old) + old.getInt(ruleOffset(i) + 8) * Long.BYTES;
+                for (int k = 0; k < oldViolations.length; k++) {
+                    oldViolations[k] = old.getLong(oldStart + k * Long.BYTES);
+                }
+                offset = putRule(updated, recordsStart, offset, oldHash, oldViolations);
+            }
+            if (!inserted) {
+                putRule(updated, recordsStart, offset, ruleHash, violations);
+            }
+            updated.clear();
+
+            try {
+                Path directory = file.getParent();
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    while (updated.hasRemaining()) {
+                        channel.write(updated);
+                    }
+                    channel.force(false);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write violation baseline " + file, e);
+            }
+            content = updated;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + store.file + (recording ? ", recording" : "") + "}";
+    }
+}
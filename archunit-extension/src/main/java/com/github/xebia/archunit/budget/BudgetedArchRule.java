@@ -0,0 +1,65 @@
+package com.github.xebia.archunit.budget;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import static com.tngtech.archunit.lang.ArchRule.Assertions.assertNoViolation;
+
+/**
+ * Wraps any rule so that it stops at its {@link ViolationBudget}.
+ * <pre>
+ * budgeted(favorBuilderOverLongListConstructor()).within(ViolationBudget.failFast()).check(classes);
+ * </pre>
+ */
+public final class BudgetedArchRule implements ArchRule {
+
+    private final ArchRule delegate;
+    private final ViolationBudget budget;
+
+    private BudgetedArchRule(ArchRule delegate, ViolationBudget budget) {
+        this.delegate = delegate;
+        this.budget = budget;
+    }
+
+    /**
+     * @return the rule, stopping after {@link ViolationBudget#DEFAULT_MAX_VIOLATIONS_PER_RULE} violations
+     */
+    public static BudgetedArchRule budgeted(ArchRule rule) {
+        return new BudgetedArchRule(rule, ViolationBudget.perRule());
+    }
+
+    public BudgetedArchRule within(ViolationBudget budget) {
+        return new BudgetedArchRule(delegate, budget);
+    }
+
+    @Override
+    public void check(JavaClasses classes) {
+        assertNoViolation(evaluate(classes));
+    }
+
+    @Override
+    public EvaluationResult evaluate(JavaClasses classes) {
+        return budget.evaluate(delegate, classes);
+    }
+
+    @Override
+    public BudgetedArchRule because(String reason) {
+        return new BudgetedArchRule(delegate.because(reason), budget);
+    }
+
+    @Override
+    public BudgetedArchRule as(String newDescription) {
+        return new BudgetedArchRule(delegate.as(newDescription), budget);
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.xebia.archunit.budget;
+
+import com.github.xebia.archunit.engine.RuleEvaluator;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates rules one after the other on the calling thread, each within its {@link ViolationBudget} and all of them
+ * within the global budget.
+ */
+public final class BudgetedRuleEvaluator implements RuleEvaluator {
+
+    private final ViolationBudget budget;
+
+    public BudgetedRuleEvaluator() {
+        this(ViolationBudget.perRule());
+    }
+
+    public BudgetedRuleEvaluator(ViolationBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public Map<ArchRule, EvaluationResult> evaluate(JavaClasses classes, List<? extends ArchRule> rules) {
+        Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+        long remaining = budget.getGlobalBudget();
+        for (ArchRule rule : rules) {
+            int ruleBudget = (int) Math.min(budget.budgetOf(rule), Math.max(remaining, 1));
+            ViolationBudget.Evaluation evaluation = ViolationBudget.evaluate(rule, classes, ruleBudget);
+            remaining -= evaluation.reportedViolations;
+            results.put(rule, evaluation.result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.xebia.archunit.budget;
+
+import com.github.xebia.archunit.engine.ElementRule;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvent;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.ViolationHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The number of violations after which the evaluation of a rule stops, per rule and, for a
+ * {@link BudgetedRuleEvaluator}, for all rules of a batch together.
+ * <p>
+ * A rule that reaches its budget reports its first violations only, together with an estimate of its total number of
+ * violations extrapolated from the elements checked so far. {@link ElementRule}s stop checking elements at once, any
+ * other rule is evaluated completely and then cut down to its budget.
+ * <p>
+ * {@link #failFast()} stops every rule at its first violation, e.g. for pre-commit hooks.
+ */
+public final class ViolationBudget {
+
+    public static final int DEFAULT_MAX_VIOLATIONS_PER_RULE = 100;
+
+    private final int maxViolationsPerRule;
+    private final Map<String, Integer> ruleBudgets;
+    private final int maxViolations;
+
+    private ViolationBudget(int maxViolationsPerRule, Map<String, Integer> ruleBudgets, int maxViolations) {
+        this.maxViolationsPerRule = maxViolationsPerRule;
+        this.ruleBudgets = Collections.unmodifiableMap(ruleBudgets);
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * @return a budget of {@link #DEFAULT_MAX_VIOLATIONS_PER_RULE} violations per rule
+     */
+    public static ViolationBudget perRule() {
+        return perRule(DEFAULT_MAX_VIOLATIONS_PER_RULE);
+    }
+
+    public static ViolationBudget perRule(int maxViolations) {
+        return new ViolationBudget(checkBudget(maxViolations), Collections.emptyMap(), Integer.MAX_VALUE);
+    }
+
+    public static ViolationBudget failFast() {
+        return perRule(1);
+    }
+
+    /**
+     * @param ruleDescription the description of the rule, as reported by {@link ArchRule#getDescription()}
+     */
+    public ViolationBudget withRuleBudget(String ruleDescription, int maxViolations) {
+        Map<String, Integer> newRuleBudgets = new HashMap<>(ruleBudgets);
+        newRuleBudgets.put(ruleDescription, checkBudget(maxViolations));
+        return new ViolationBudget(maxViolationsPerRule, newRuleBudgets, this.maxViolations);
+    }
+
+    /**
+     * Limits the violations reported by all rules of a batch together. Once it is used up, every further rule stops
+     * at its first violation, so that every violated rule still fails.
+     */
+    public ViolationBudget withGlobalBudget(int maxViolations) {
+        return new ViolationBudget(maxViolationsPerRule, ruleBudgets, checkBudget(maxViolations));
+    }
+
+    private static int checkBudget(int maxViolations) {
+        if (maxViolations < 1) {
+            throw new IllegalArgumentException("A violation budget must allow at least one violation");
+        }
+        return maxViolations;
+    }
+
+    public int budgetOf(ArchRule rule) {
+        return ruleBudgets.getOrDefault(rule.getDescription(), maxViolationsPerRule);
+    }
+
+    public int getGlobalBudget() {
+        return maxViolations;
+    }
+
+    /**
+     * Evaluates a single rule within its budget.
+     */
+    public EvaluationResult evaluate(ArchRule rule, JavaClasses classes) {
+        return evaluate(rule, classes, budgetOf(rule)).result;
+    }
+
+    static Evaluation evaluate(ArchRule rule, JavaClasses classes, int budget) {
+        return rule instanceof ElementRule ? evaluateElementRule((ElementRule<?>) rule, classes, budget) : evaluateRule(rule, classes, budget);
+    }
+
+    private static <T> Evaluation evaluateElementRule(ElementRule<T> rule, JavaClasses classes, int budget) {
+        ArchCondition<? super T> condition = rule.getCondition();
+        List<T> elements = new ArrayList<>();
+        for (T element : rule.getElements().transform(classes)) {
+            elements.add(element);
+        }
+        initialize(condition, elements);
+        ConditionEvents events = new ConditionEvents();
+        int checked = 0;
+        int violations = 0;
+        for (T element : elements) {
+            ConditionEvents elementEvents = new ConditionEvents();
+            condition.check(element, elementEvents);
+            checked++;
+            violations += addViolations(elementEvents, events, budget - violations);
+            if (violations >= budget) {
+                break;
+            }
+        }
+        if (checked < elements.size()) {
+            long estimate = (long) violations * elements.size() / checked;
+            events.setInformationAboutNumberOfViolations(String.format("at least %d times, about %d in total, stopped at the violation budget after checking %d of %d elements",
+                    violations, estimate, checked, elements.size()));
+            return new Evaluation(new EvaluationResult(rule, events, Priority.MEDIUM), budget);
+        }
+        ConditionEvents finishEvents = new ConditionEvents();
+        condition.finish(finishEvents);
+        violations += addViolations(finishEvents, events, Math.max(budget - violations, 0));
+        if (violations > budget) {
+            events.setInformationAboutNumberOfViolations(String.format("%d times, reporting the first %d within the violation budget", violations, budget));
+        }
+        return new Evaluation(new EvaluationResult(rule, events, Priority.MEDIUM), Math.min(violations, budget));
+    }
+
+    /**
+     * Keeps at most {@code capacity} violations and drops allowed events, which are never reported.
+     *
+     * @return the number of violations, including those that were dropped
+     */
+    private static int addViolations(ConditionEvents from, ConditionEvents to, int capacity) {
+        int violations = 0;
+        for (ConditionEvent event : from.getViolating()) {
+            if (violations < capacity) {
+                to.add(event);
+            }
+            violations++;
+        }
+        return violations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> void initialize(ArchCondition<C> condition, Iterable<?> allObjectsToTest) {
+        condition.init((Iterable<C>) allObjectsToTest);
+    }
+
+    private static Evaluation evaluateRule(ArchRule rule, JavaClasses classes, int budget) {
+        EvaluationResult result = rule.evaluate(classes);
+        ConditionEvents events = new ConditionEvents();
+        int[] violations = new int[1];
+        result.handleViolations(new ViolationHandler<Object>() {
+            @Override
+            public void handle(Collection<Object> violatingObjects, String message) {
+                if (violations[0]++ < budget) {
+                    Object violatingObject = violatingObjects.isEmpty() ? rule : violatingObjects.iterator().next();
+                    events.add(SimpleConditionEvent.violated(violatingObject, message));
+                }
+            }
+        });
+        if (violations[0] <= budget) {
+            return new Evaluation(result, violations[0]);
+        }
+        events.setInformationAboutNumberOfViolations(String.format("%d times, reporting the first %d within the violation budget", violations[0], budget));
+        return new Evaluation(new EvaluationResult(rule, events, result.getPriority()), budget);
+    }
+
+    static final class Evaluation {
+        final EvaluationResult result;
+        final int reportedViolations;
+
+        private Evaluation(EvaluationResult result, int reportedViolations) {
+            this.result = result;
+            this.reportedViolations = reportedViolations;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.github.xebia.archunit.callgraph;
+
+import com.tngtech.archunit.core.domain.JavaCall;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.domain.JavaStaticInitializer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Finds out whether a method can reach a sink, e.g. a blocking call, through any chain of calls within the imported
+ * classes.
+ * <p>
+ * The call graph is explored on demand, starting from the code units asked for. Every explored code unit gets a
+ * summary: the call to a sink it makes itself, or the callee through which it reaches one. Summaries are memoized, and
+ * recursive calls are resolved per strongly connected component found with Tarjan's algorithm, so every code unit and
+ * every call is visited at most once, no matter how many code units are asked for.
+ * <p>
+ * A code unit calls the resolved targets of its calls, the overriding methods of these targets in imported subclasses
+ * and the bodies of the lambdas it declares. Method references and anonymous classes handed to libraries are not
+ * followed.
+ * <p>
+ * Not thread-safe, use one instance per evaluation.
+ */
+public final class CallGraphReachability {
+
+    private static final Comparator<JavaCall<?>> BY_LINE_AND_TARGET = Comparator
+            .<JavaCall<?>>comparingInt(JavaCall::getLineNumber)
+            .thenComparing(call -> call.getTarget().getFullName());
+
+    private final Predicate<? super JavaCall<?>> sink;
+    private final Map<JavaCodeUnit, Summary> summaries = new HashMap<>();
+    private final Map<JavaClass, Map<String, List<JavaMethod>>> lambdasByClass = new HashMap<>();
+
+    /**
+     * @param sink tells whether a call is a sink, called at most once per call
+     */
+    public CallGraphReachability(Predicate<? super JavaCall<?>> sink) {
+        this.sink = sink;
+    }
+
+    public boolean reachesSink(JavaCodeUnit codeUnit) {
+        return summaryOf(codeUnit).reachesSink();
+    }
+
+    /**
+     * @return a chain of calls from the code unit to a sink call, empty if it reaches none
+     */
+    public Optional<CallPath> pathToSink(JavaCodeUnit codeUnit) {
+        Summary summary = summaryOf(codeUnit);
+        if (!summary.reachesSink()) {
+            return Optional.empty();
+        }
+        List<JavaCodeUnit> codeUnits = new ArrayList<>();
+        JavaCodeUnit current = codeUnit;
+        while (summary.sinkCall == null) {
+            codeUnits.add(current);
+            current = summary.next;
+            summary = summaries.get(current);
+        }
+        codeUnits.add(current);
+        return Optional.of(new CallPath(codeUnits, summary.sinkCall));
+    }
+
+    /**
+     * @return the number of code units summarized so far
+     */
+    public int size() {
+        return summaries.size();
+    }
+
+    private Summary summaryOf(JavaCodeUnit codeUnit) {
+        Summary summary = summaries.get(codeUnit);
+        if (summary == null) {
+            explore(codeUnit);
+            summary = summaries.get(codeUnit);
+        }
+        return summary;
+    }
+
+    /**
+     * Tarjan's algorithm with an explicit stack, so that deep call chains cannot overflow the thread stack. Code units
+     * summarized by earlier explorations are leaves.
+     */
+    private void explore(JavaCodeUnit root) {
+        Map<JavaCodeUnit, Frame> onStack = new HashMap<>();
+        Deque<Frame> component = new ArrayDeque<>();
+        Deque<Frame> frames = new ArrayDeque<>();
+        int[] nextIndex = {0};
+        frames.push(visit(root, nextIndex, onStack, component));
+        while (!frames.isEmpty()) {
+            Frame frame = frames.peek();
+            if (frame.position < frame.successors.size()) {
+                JavaCodeUnit successor = frame.successors.get(frame.position++);
+                Frame successorFrame = onStack.get(successor);
+                if (successorFrame != null) {
+                    frame.lowLink = Math.min(frame.lowLink, successorFrame.index);
+                } else if (!summaries.containsKey(successor)) {
+                    frames.push(visit(successor, nextIndex, onStack, component));
+                }
+                continue;
+            }
+            frames.pop();
+            if (!frames.isEmpty()) {
+                frames.peek().lowLink = Math.min(frames.peek().lowLink, frame.lowLink);
+            }
+            if (frame.lowLink == frame.index) {
+                List<Frame> members = new ArrayList<>();
+                Frame member;
+                do {
+                    member = component.pop();
+                    onStack.remove(member.codeUnit);
+                    members.add(member);
+                } while (member != frame);
+                summarize(members);
+            }
+        }
+    }
+
+    private Frame visit(JavaCodeUnit codeUnit, int[] nextIndex, Map<JavaCodeUnit, Frame> onStack, Deque<Frame> component) {
+        Frame frame = new Frame(codeUnit, nextIndex[0]++);
+        List<JavaCall<?>> calls = new ArrayList<>(codeUnit.getCallsFromSelf());
+        calls.sort(BY_LINE_AND_TARGET);
+        for (JavaCall<?> call : calls) {
+            if (sink.test(call)) {
+                // reaching one sink is enough, the callees need not be explored
+                frame.sinkCall = call;
+                frame.successors = Collections.emptyList();
+                break;
+            }
+            frame.successors.addAll(call.getTarget().resolve());
+        }
+        if (frame.sinkCall == null) {
+            frame.successors.addAll(lambdasOf(codeUnit));
+            if (codeUnit instanceof JavaMethod) {
+                frame.successors.addAll(overridingMethodsOf((JavaMethod) codeUnit));
+            }
+            frame.successors = new ArrayList<>(new LinkedHashSet<>(frame.successors));
+        }
+        onStack.put(codeUnit, frame);
+        component.push(frame);
+        return frame;
+    }
+
+    /**
+     * Summarizes a strongly connected component: members calling a sink or a summarized code unit that reaches one
+     * are known to reach a sink, the others inherit this backwards along the calls within the component.
+     */
+    private void summarize(List<Frame> members) {
+        if (members.size() == 1) {
+            summarize(members.get(0));
+            return;
+        }
+        Map<JavaCodeUnit, Frame> byCodeUnit = new HashMap<>();
+        for (Frame member : members) {
+            byCodeUnit.put(member.codeUnit, member);
+        }
+        Deque<Frame> reaching = new ArrayDeque<>();
+        Map<JavaCodeUnit, List<Frame>> callersWithin = new HashMap<>();
+        for (Frame member : members) {
+            if (member.sinkCall != null) {
+                summaries.put(member.codeUnit, Summary.sink(member.sinkCall));
+                reaching.add(member);
+                continue;
+            }
+            for (JavaCodeUnit successor : member.successors) {
+                if (byCodeUnit.containsKey(successor)) {
+                    callersWithin.computeIfAbsent(successor, key -> new ArrayList<>()).add(member);
+                } else if (!summaries.containsKey(member.codeUnit) && summaries.get(successor).reachesSink()) {
+                    summaries.put(member.codeUnit, Summary.through(successor));
+                    reaching.add(member);
+                }
+            }
+        }
+        while (!reaching.isEmpty()) {
+            Frame callee = reaching.poll();
+            for (Frame caller : callersWithin.getOrDefault(callee.codeUnit, Collections.emptyList())) {
+                if (!summaries.containsKey(caller.codeUnit)) {
+                    summaries.put(caller.codeUnit, Summary.through(callee.codeUnit));
+                    reaching.add(caller);
+                }
+            }
+        }
+        for (Frame member : members) {
+            summaries.putIfAbsent(member.codeUnit, Summary.NONE);
+        }
+    }
+
+    /**
+     * The common case of a code unit that is not part of a recursion.
+     */
+    private void summarize(Frame frame) {
+        if (frame.sinkCall != null) {
+            summaries.put(frame.codeUnit, Summary.sink(frame.sinkCall));
+            return;
+        }
+        for (JavaCodeUnit successor : frame.successors) {
+            if (!successor.equals(frame.codeUnit) && summaries.get(successor).reachesSink()) {
+                summaries.put(frame.codeUnit, Summary.through(successor));
+                return;
+            }
+        }
+        summaries.put(frame.codeUnit, Summary.NONE);
+    }
+
+    /**
+     * @return the methods that override the method in imported subclasses, i.e. the targets of a virtual call
+     */
+    private static List<JavaMethod> overridingMethodsOf(JavaMethod method) {
+        JavaClass owner = method.getOwner();
+        if (owner.getName().equals(Object.class.getName()) || method.getModifiers().contains(JavaModifier.STATIC)
+                || method.getModifiers().contains(JavaModifier.PRIVATE)) {
+            return Collections.emptyList();
+        }
+        Set<JavaClass> subClasses = owner.getAllSubClasses();
+        if (subClasses.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] parameterTypeNames = method.getRawParameterTypes().getNames().toArray(new String[0]);
+        List<JavaMethod> overridingMethods = new ArrayList<>();
+        for (JavaClass subClass : subClasses) {
+            com.tngtech.archunit.base.Optional<JavaMethod> overridingMethod = subClass.tryGetMethod(method.getName(), parameterTypeNames);
+            if (overridingMethod.isPresent()) {
+                overridingMethods.add(overridingMethod.get());
+            }
+        }
+        return overridingMethods;
+    }
+
+    /**
+     * javac names the body of a lambda {@code lambda$<enclosing method>$<n>}, {@code lambda$new$<n>} in constructors,
+     * {@code lambda$static$<n>} in static initializers and, up to Java 8, {@code lambda$null$<n>} in other lambdas.
+     */
+    private List<JavaMethod> lambdasOf(JavaCodeUnit codeUnit) {
+        Map<String, List<JavaMethod>> lambdas = lambdasByClass.computeIfAbsent(codeUnit.getOwner(), CallGraphReachability::lambdasByEnclosingName);
+        if (lambdas.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String enclosingName = codeUnit instanceof JavaConstructor ? "new"
+                : codeUnit instanceof JavaStaticInitializer ? "static"
+                : codeUnit.getName();
+        List<JavaMethod> declared = lambdas.getOrDefault(enclosingName, Collections.emptyList());
+        if (!isLambda(codeUnit)) {
+            return declared;
+        }
+        List<JavaMethod> nested = new ArrayList<>(declared);
+        nested.addAll(lambdas.getOrDefault("null", Collections.emptyList()));
+        return nested;
+    }
+
+    private static Map<String, List<JavaMethod>> lambdasByEnclosingName(JavaClass javaClass) {
+        Map<String, List<JavaMethod>> lambdas = new HashMap<>();
+        for (JavaMethod method : javaClass.getMethods()) {
+            if (isLambda(method)) {
+                String name = method.getName();
+                lambdas.computeIfAbsent(name.substring("lambda$".length(), name.lastIndexOf('$')), key -> new ArrayList<>()).add(method);
+            }
+        }
+        return lambdas;
+    }
+
+    private static boolean isLambda(JavaCodeUnit codeUnit) {
+        String name = codeUnit.getName();
+        return name.startsWith("lambda$") && name.lastIndexOf('$') > "lambda$".length();
+    }
+
+    private static final class Frame {
+        private final JavaCodeUnit codeUnit;
+        private final int index;
+        private int lowLink;
+        private List<JavaCodeUnit> successors = new ArrayList<>();
+        private int position;
+        private JavaCall<?> sinkCall;
+
+        private Frame(JavaCodeUnit codeUnit, int index) {
+            this.codeUnit = codeUnit;
+            this.index = index;
+            this.lowLink = index;
+        }
+    }
+
+    private static final class Summary {
+        private static final Summary NONE = new Summary(null, null);
+
+        private final JavaCall<?> sinkCall;
+        private final JavaCodeUnit next;
+
+        private Summary(JavaCall<?> sinkCall, JavaCodeUnit next) {
+            this.sinkCall = sinkCall;
+            this.next = next;
+        }
+
+        private static Summary sink(JavaCall<?> sinkCall) {
+            return new Summary(sinkCall, null);
+        }
+
+        private static Summary through(JavaCodeUnit next) {
+            return new Summary(null, next);
+        }
+
+        private boolean reachesSink() {
+            return sinkCall != null || next != null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.xebia.archunit.callgraph;
+
+import com.tngtech.archunit.core.domain.JavaCall;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A chain of code units, each calling the next one, and the sink call made by the last one.
+ */
+public final class CallPath {
+
+    private final List<JavaCodeUnit> codeUnits;
+    private final JavaCall<?> sinkCall;
+
+    CallPath(List<JavaCodeUnit> codeUnits, JavaCall<?> sinkCall) {
+        this.codeUnits = Collections.unmodifiableList(codeUnits);
+        this.sinkCall = sinkCall;
+    }
+
+    /**
+     * @return the code units from the start of the path to the origin of the sink call, both included
+     */
+    public List<JavaCodeUnit> getCodeUnits() {
+        return codeUnits;
+    }
+
+    public JavaCall<?> getSinkCall() {
+        return sinkCall;
+    }
+
+    /**
+     * @return e.g. {@code OrderResource.find -> OrderService.find -> OrderDao.load}
+     */
+    @Override
+    public String toString() {
+        StringBuilder path = new StringBuilder();
+        for (JavaCodeUnit codeUnit : codeUnits) {
+            if (path.length() > 0) {
+                path.append(" -> ");
+            }
+            path.append(codeUnit.getOwner().getSimpleName()).append('.').append(codeUnit.getName());
+        }
+        return path.toString();
+    }
+}
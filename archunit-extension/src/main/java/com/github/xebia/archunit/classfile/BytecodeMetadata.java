@@ -0,0 +1,150 @@
+package com.github.xebia.archunit.classfile;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaMethod;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads generic signatures and other declaration details of imported classes straight from their class files.
+ * <p>
+ * In contrast to {@link JavaClass#reflect()} this never loads, links or initializes a user class. Parsed class files
+ * are cached per instance, so keep one instance per rule rather than per checked element.
+ */
+public final class BytecodeMetadata {
+
+    private final ConcurrentMap<String, Optional<ClassFile>> classFiles = new ConcurrentHashMap<>();
+    private final boolean monitors;
+
+    public BytecodeMetadata() {
+        this(false);
+    }
+
+    private BytecodeMetadata(boolean monitors) {
+        this.monitors = monitors;
+    }
+
+    /**
+     * @return metadata that also knows the synchronized blocks of every method, see {@link #monitorEnterLines(JavaClass)}
+     */
+    public static BytecodeMetadata withMonitors() {
+        return new BytecodeMetadata(true);
+    }
+
+    /**
+     * @return the parsed class file, or empty if neither the imported class file nor one on the class path can be read
+     */
+    public Optional<ClassFile> classFileOf(JavaClass javaClass) {
+        return classFiles.computeIfAbsent(javaClass.getName(), name -> read(javaClass, monitors));
+    }
+
+    /**
+     * @return the source lines of the synchronized blocks of every method, constructor, initializer and lambda body of
+     * the class by the name of the method, e.g. {@code lambda$handle$0}; empty unless created {@link #withMonitors()}
+     */
+    public Map<String, List<Integer>> monitorEnterLines(JavaClass javaClass) {
+        Map<String, List<Integer>> lines = new LinkedHashMap<>();
+        classFileOf(javaClass).ifPresent(classFile -> {
+            for (ClassFile.Member method : classFile.getMethods()) {
+                if (!method.getMonitorEnterLines().isEmpty()) {
+                    lines.computeIfAbsent(method.getName(), name -> new ArrayList<>()).addAll(method.getMonitorEnterLines());
+                }
+            }
+        });
+        return lines;
+    }
+
+    /**
+     * @return the generic return type, e.g. {@code Page<OrderDto>}; the raw return type if the method is not generic;
+     * empty if no class file can be read
+     */
+    public Optional<TypeSignature> genericReturnType(JavaMethod method) {
+        return classFileOf(method.getOwner())
+                .flatMap(classFile -> classFile.getMethod(method.getName(), descriptorOf(method)))
+                .map(member -> member.getSignature()
+                        .map(TypeSignature::parseMethodReturnType)
+                        .orElseGet(() -> TypeSignature.parseMethodReturnType(member.getDescriptor())));
+    }
+
+    /**
+     * @return the JVM descriptor of a method or constructor, e.g. {@code (I[Ljava/lang/String;)V}
+     */
+    public static String descriptorOf(JavaCodeUnit codeUnit) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (JavaClass parameterType : codeUnit.getRawParameterTypes()) {
+            descriptor.append(descriptorOf(parameterType.getName()));
+        }
+        return descriptor.append(')').append(descriptorOf(codeUnit.getRawReturnType().getName())).toString();
+    }
+
+    private static String descriptorOf(String typeName) {
+        switch (typeName) {
+            case "byte":
+                return "B";
+            case "char":
+                return "C";
+            case "double":
+                return "D";
+            case "float":
+                return "F";
+            case "int":
+                return "I";
+            case "long":
+                return "J";
+            case "short":
+                return "S";
+            case "boolean":
+                return "Z";
+            case "void":
+                return "V";
+            default:
+                // array names already are descriptors in dotted form, e.g. [Ljava.lang.String;
+                return typeName.startsWith("[")
+                        ? typeName.replace('.', '/')
+                        : "L" + typeName.replace('.', '/') + ";";
+        }
+    }
+
+    /**
+     * Reads the class file the class was imported from or, if that is gone, the one the context class loader finds as
+     * a resource, without defining the class.
+     */
+    private static Optional<ClassFile> read(JavaClass javaClass, boolean monitors) {
+        if (javaClass.getSource().isPresent()) {
+            try (InputStream in = javaClass.getSource().get().getUri().toURL().openStream()) {
+                return parse(in, monitors);
+            } catch (IOException | IllegalArgumentException e) {
+                // fall back to the class path
+            }
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = BytecodeMetadata.class.getClassLoader();
+        }
+        try (InputStream in = classLoader.getResourceAsStream(javaClass.getName().replace('.', '/') + ".class")) {
+            return in == null ? Optional.empty() : parse(in, monitors);
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ClassFile> parse(InputStream in, boolean monitors) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return Optional.of(monitors ? ClassFileParser.parseWithMonitors(bytes.toByteArray()) : ClassFileParser.parse(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.xebia.archunit.classfile;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The declarations of a class as read from its class file by {@link ClassFileParser}, without loading the class.
+ * Names use the binary form of {@link Class#getName()}, e.g. {@code com.example.Outer$Inner}.
+ */
+public final class ClassFile {
+
+    private final String name;
+    private final int access;
+    private final String superName;
+    private final List<String> interfaces;
+    private final String signature;
+    private final List<String> annotations;
+    private final String sourceFile;
+    private final List<Member> fields;
+    private final List<Member> methods;
+
+    ClassFile(String name, int access, String superName, List<String> interfaces, String signature,
+              List<String> annotations, String sourceFile, List<Member> fields, List<Member> methods) {
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+        this.interfaces = Collections.unmodifiableList(interfaces);
+        this.signature = signature;
+        this.annotations = Collections.unmodifiableList(annotations);
+        this.sourceFile = sourceFile;
+        this.fields = Collections.unmodifiableList(fields);
+        this.methods = Collections.unmodifiableList(methods);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the access flags as defined by {@link java.lang.reflect.Modifier}
+     */
+    public int getAccess() {
+        return access;
+    }
+
+    public Optional<String> getSuperName() {
+        return Optional.ofNullable(superName);
+    }
+
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    public Optional<String> getSignature() {
+        return Optional.ofNullable(signature);
+    }
+
+    /**
+     * @return the types of the annotations of the class, with {@code CLASS} and {@code RUNTIME} retention
+     */
+    public List<String> getAnnotations() {
+        return annotations;
+    }
+
+    public boolean isAnnotatedWith(String annotationType) {
+        return annotations.contains(annotationType);
+    }
+
+    /**
+     * @return the name of the source file the class was compiled from, if the compiler recorded it
+     */
+    public Optional<String> getSourceFile() {
+        return Optional.ofNullable(sourceFile);
+    }
+
+    public String getPackageName() {
+        int lastDot = name.lastIndexOf('.');
+        return lastDot < 0 ? "" : name.substring(0, lastDot);
+    }
+
+    /**
+     * @return the simple name as {@link Class#getSimpleName()} returns it, empty for anonymous classes
+     */
+    public String getSimpleName() {
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        simpleName = simpleName.substring(simpleName.lastIndexOf('$') + 1);
+        int nameStart = 0;
+        while (nameStart < simpleName.length() && Character.isDigit(simpleName.charAt(nameStart))) {
+            nameStart++;
+        }
+        return simpleName.substring(nameStart);
+    }
+
+    public List<Member> getFields() {
+        return fields;
+    }
+
+    public List<Member> getMethods() {
+        return methods;
+    }
+
+    /**
+     * @param descriptor the JVM method descriptor, e.g. {@code (Ljava/lang/String;)V}
+     */
+    public Optional<Member> getMethod(String name, String descriptor) {
+        for (Member method : methods) {
+            if (method.getName().equals(name) && method.getDescriptor().equals(descriptor)) {
+                return Optional.of(method);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * A field, method or constructor ({@code <init>}) of a {@link ClassFile}.
+     */
+    public static final class Member {
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private final String signature;
+        private final List<String> annotations;
+        private final List<Integer> monitorEnterLines;
+
+        Member(int access, String name, String descriptor, String signature, List<String> annotations, List<Integer> monitorEnterLines) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.signature = signature;
+            this.annotations = Collections.unmodifiableList(annotations);
+            this.monitorEnterLines = Collections.unmodifiableList(monitorEnterLines);
+        }
+
+        public int getAccess() {
+            return access;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * @return the generic signature, present only if the declaration uses generics
+         */
+        public Optional<String> getSignature() {
+            return Optional.ofNullable(signature);
+        }
+
+        public List<String> getAnnotations() {
+            return annotations;
+        }
+
+        public boolean isAnnotatedWith(String annotationType) {
+            return annotations.contains(annotationType);
+        }
+
+        /**
+         * @return the source lines of the synchronized blocks of a method, one per {@code monitorenter} instruction;
+         * always empty unless parsed by {@link ClassFileParser#parseWithMonitors(byte[])}
+         */
+        public List<Integer> getMonitorEnterLines() {
+            return monitorEnterLines;
+        }
+
+        @Override
+        public String toString() {
+            return name + descriptor;
+        }
+    }
+}
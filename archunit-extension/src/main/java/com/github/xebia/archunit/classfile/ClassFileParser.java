@@ -0,0 +1,364 @@
+package com.github.xebia.archunit.classfile;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimal class file parser that reads the constant pool and the declarations of a class, i.e. everything needed for
+ * names, modifiers, annotation types and generic signatures. Method bodies and all other attributes are skipped
+ * unread, unless {@link #parseWithMonitors(byte[])} is asked for the synchronized blocks of the methods.
+ */
+public final class ClassFileParser {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final int TABLESWITCH = 0xaa;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int MONITORENTER = 0xc2;
+    private static final int WIDE = 0xc4;
+    private static final int IINC = 0x84;
+
+    /**
+     * The length of every instruction with a fixed length, 0 for the switches and {@code wide}.
+     */
+    private static final byte[] INSTRUCTION_LENGTHS = instructionLengths();
+
+    private ClassFileParser() {
+    }
+
+    public static ClassFile parse(byte[] bytes) {
+        return parse(bytes, false);
+    }
+
+    /**
+     * Like {@link #parse(byte[])}, but additionally decodes the method bodies for the lines of their
+     * {@code monitorenter} instructions, see {@link ClassFile.Member#getMonitorEnterLines()}.
+     */
+    public static ClassFile parseWithMonitors(byte[] bytes) {
+        return parse(bytes, true);
+    }
+
+    private static ClassFile parse(byte[] bytes, boolean monitors) {
+        try {
+            return new Parsing(new DataInputStream(new ByteArrayInputStream(bytes)), monitors).parse();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Not a valid class file", e);
+        }
+    }
+
+    private static byte[] instructionLengths() {
+        byte[] lengths = new byte[256];
+        Arrays.fill(lengths, (byte) 1);
+        setLength(lengths, 2, 0x10, 0x12, 0x15, 0x16, 0x17, 0x18, 0x19, 0x36, 0x37, 0x38, 0x39, 0x3a, 0xa9, 0xbc);
+        setLength(lengths, 3, 0x11, 0x13, 0x14, IINC, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6, 0xb7, 0xb8, 0xbb, 0xbd, 0xc0, 0xc1, 0xc6, 0xc7);
+        for (int opcode = 0x99; opcode <= 0xa8; opcode++) {
+            lengths[opcode] = 3;
+        }
+        setLength(lengths, 4, 0xc5);
+        setLength(lengths, 5, 0xb9, 0xba, 0xc8, 0xc9);
+        setLength(lengths, 0, TABLESWITCH, LOOKUPSWITCH, WIDE);
+        return lengths;
+    }
+
+    private static void setLength(byte[] lengths, int length, int... opcodes) {
+        for (int opcode : opcodes) {
+            lengths[opcode] = (byte) length;
+        }
+    }
+
+    private static final class Parsing {
+        private final DataInputStream in;
+        private final boolean monitors;
+        private Object[] constants;
+
+        private Parsing(DataInputStream in, boolean monitors) {
+            this.in = in;
+            this.monitors = monitors;
+        }
+
+        private ClassFile parse() throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Missing class file magic number");
+            }
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            readConstantPool();
+
+            int access = in.readUnsignedShort();
+            String name = className(in.readUnsignedShort());
+            int superIndex = in.readUnsignedShort();
+            String superName = superIndex == 0 ? null : className(superIndex);
+            int interfaceCount = in.readUnsignedShort();
+            List<String> interfaces = new ArrayList<>(interfaceCount);
+            for (int i = 0; i < interfaceCount; i++) {
+                interfaces.add(className(in.readUnsignedShort()));
+            }
+            List<ClassFile.Member> fields = readMembers();
+            List<ClassFile.Member> methods = readMembers();
+            Attributes attributes = readAttributes();
+            return new ClassFile(name, access, superName, interfaces, attributes.signature, attributes.annotations,
+                    attributes.sourceFile, fields, methods);
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = in.readUnsignedShort();
+            constants = new Object[count];
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case CONSTANT_UTF8:
+                        constants[i] = in.readUTF();
+                        break;
+                    case CONSTANT_CLASS:
+                        constants[i] = new ClassReference(in.readUnsignedShort());
+                        break;
+                    case CONSTANT_STRING:
+                    case CONSTANT_METHOD_TYPE:
+                    case CONSTANT_MODULE:
+                    case CONSTANT_PACKAGE:
+                        skip(2);
+                        break;
+                    case CONSTANT_METHOD_HANDLE:
+                        skip(3);
+                        break;
+                    case CONSTANT_INTEGER:
+                    case CONSTANT_FLOAT:
+                    case CONSTANT_FIELDREF:
+                    case CONSTANT_METHODREF:
+                    case CONSTANT_INTERFACE_METHODREF:
+                    case CONSTANT_NAME_AND_TYPE:
+                    case CONSTANT_DYNAMIC:
+                    case CONSTANT_INVOKE_DYNAMIC:
+                        skip(4);
+                        break;
+                    case CONSTANT_LONG:
+                    case CONSTANT_DOUBLE:
+                        skip(8);
+                        i++;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+                }
+            }
+        }
+
+        private List<ClassFile.Member> readMembers() throws IOException {
+            int count = in.readUnsignedShort();
+            List<ClassFile.Member> members = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int access = in.readUnsignedShort();
+                String name = utf8(in.readUnsignedShort());
+                String descriptor = utf8(in.readUnsignedShort());
+                Attributes attributes = readAttributes();
+                members.add(new ClassFile.Member(access, name, descriptor, attributes.signature, attributes.annotations,
+                        attributes.monitorEnterLines));
+            }
+            return members;
+        }
+
+        private Attributes readAttributes() throws IOException {
+            Attributes attributes = new Attributes();
+            int attributeCount = in.readUnsignedShort();
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = utf8(in.readUnsignedShort());
+                int length = in.readInt();
+                switch (attributeName) {
+                    case "Signature":
+                        attributes.signature = utf8(in.readUnsignedShort());
+                        break;
+                    case "SourceFile":
+                        attributes.sourceFile = utf8(in.readUnsignedShort());
+                        break;
+                    case "RuntimeVisibleAnnotations":
+                    case "RuntimeInvisibleAnnotations":
+                        int annotationCount = in.readUnsignedShort();
+                        for (int j = 0; j < annotationCount; j++) {
+                            attributes.annotations.add(readAnnotation());
+                        }
+                        break;
+                    case "Code":
+                        if (monitors) {
+                            attributes.monitorEnterLines = readMonitorEnterLines();
+                        } else {
+                            skip(length);
+                        }
+                        break;
+                    default:
+                        skip(length);
+                }
+            }
+            return attributes;
+        }
+
+        /**
+         * @return the source lines of the {@code monitorenter} instructions of a {@code Code} attribute, 0 if the class
+         * was compiled without line numbers
+         */
+        private List<Integer> readMonitorEnterLines() throws IOException {
+            skip(4);
+            byte[] code = new byte[in.readInt()];
+            in.readFully(code);
+            List<Integer> monitorEnters = new ArrayList<>();
+            int pc = 0;
+            while (pc < code.length) {
+                int opcode = code[pc] & 0xff;
+                if (opcode == MONITORENTER) {
+                    monitorEnters.add(pc);
+                }
+                pc += instructionLength(code, pc, opcode);
+            }
+            skip(8 * in.readUnsignedShort());
+            int[] lineNumberTable = new int[0];
+            int attributeCount = in.readUnsignedShort();
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = utf8(in.readUnsignedShort());
+                int length = in.readInt();
+                if (attributeName.equals("LineNumberTable") && !monitorEnters.isEmpty()) {
+                    lineNumberTable = new int[2 * in.readUnsignedShort()];
+                    for (int j = 0; j < lineNumberTable.length; j++) {
+                        lineNumberTable[j] = in.readUnsignedShort();
+                    }
+                } else {
+                    skip(length);
+                }
+            }
+            List<Integer> lines = new ArrayList<>(monitorEnters.size());
+            for (int monitorEnter : monitorEnters) {
+                lines.add(lineOf(monitorEnter, lineNumberTable));
+            }
+            return lines;
+        }
+
+        private static int instructionLength(byte[] code, int pc, int opcode) {
+            switch (opcode) {
+                case TABLESWITCH: {
+                    int operands = (pc + 4) & ~3;
+                    int low = readInt(code, operands + 4);
+                    int high = readInt(code, operands + 8);
+                    return operands - pc + 12 + 4 * (high - low + 1);
+                }
+                case LOOKUPSWITCH: {
+                    int operands = (pc + 4) & ~3;
+                    return operands - pc + 8 + 8 * readInt(code, operands + 4);
+                }
+                case WIDE:
+                    return (code[pc + 1] & 0xff) == IINC ? 6 : 4;
+                default:
+                    return INSTRUCTION_LENGTHS[opcode];
+            }
+        }
+
+        private static int readInt(byte[] code, int offset) {
+            return (code[offset] & 0xff) << 24 | (code[offset + 1] & 0xff) << 16 | (code[offset + 2] & 0xff) << 8 | code[offset + 3] & 0xff;
+        }
+
+        /**
+         * @param lineNumberTable pairs of start pc and line
+         */
+        private static int lineOf(int pc, int[] lineNumberTable) {
+            int line = 0;
+            int closestStart = -1;
+            for (int i = 0; i < lineNumberTable.length; i += 2) {
+                if (lineNumberTable[i] <= pc && lineNumberTable[i] > closestStart) {
+                    closestStart = lineNumberTable[i];
+                    line = lineNumberTable[i + 1];
+                }
+            }
+            return line;
+        }
+
+        /**
+         * @return the type of the annotation, its element values are skipped
+         */
+        private String readAnnotation() throws IOException {
+            String type = typeName(utf8(in.readUnsignedShort()));
+            int elementCount = in.readUnsignedShort();
+            for (int i = 0; i < elementCount; i++) {
+                skip(2);
+                skipElementValue();
+            }
+            return type;
+        }
+
+        private void skipElementValue() throws IOException {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 'e':
+                    skip(4);
+                    break;
+                case '@':
+                    readAnnotation();
+                    break;
+                case '[':
+                    int valueCount = in.readUnsignedShort();
+                    for (int i = 0; i < valueCount; i++) {
+                        skipElementValue();
+                    }
+                    break;
+                default:
+                    skip(2);
+            }
+        }
+
+        private static String typeName(String descriptor) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+
+        private String utf8(int index) {
+            return (String) constants[index];
+        }
+
+        private String className(int index) {
+            return utf8(((ClassReference) constants[index]).nameIndex).replace('/', '.');
+        }
+
+        private void skip(int bytes) throws IOException {
+            int remaining = bytes;
+            while (remaining > 0) {
+                int skipped = in.skipBytes(remaining);
+                if (skipped <= 0) {
+                    throw new IOException("Unexpected end of class file");
+                }
+                remaining -= skipped;
+            }
+        }
+    }
+
+    private static final class Attributes {
+        private String signature;
+        private String sourceFile;
+        private final List<String> annotations = new ArrayList<>();
+        private List<Integer> monitorEnterLines = Collections.emptyList();
+    }
+
+    private static final class ClassReference {
+        private final int nameIndex;
+
+        private ClassReference(int nameIndex) {
+            this.nameIndex = nameIndex;
+        }
+    }
+}
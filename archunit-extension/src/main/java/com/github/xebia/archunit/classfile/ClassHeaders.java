@@ -0,0 +1,221 @@
+package com.github.xebia.archunit.classfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The {@link ClassFile} headers of all classes below some directories or in some jars: names, modifiers, annotation
+ * types and member signatures, but no method bodies, call sites or accesses.
+ * <p>
+ * Scanning headers is much cheaper than ArchUnit's import, both in time and in memory, and is enough for rules that
+ * only look at declarations, see {@link com.github.xebia.archunit.engine.ElementRule#isMetadataOnly()}.
+ * <p>
+ * Types that are not part of the scan, e.g. annotation types and super classes from libraries, are resolved from the
+ * context class loader, again reading their class files without loading them.
+ */
+public final class ClassHeaders implements Iterable<ClassFile> {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final Map<String, ClassFile> classes;
+    private final ConcurrentMap<String, Optional<ClassFile>> resolved = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> metaAnnotations = new ConcurrentHashMap<>();
+
+    private ClassHeaders(Map<String, ClassFile> classes) {
+        this.classes = Collections.unmodifiableMap(classes);
+    }
+
+    /**
+     * @param roots directories with class files or jar files
+     */
+    public static ClassHeaders scan(Path... roots) {
+        Map<String, ClassFile> classes = new TreeMap<>();
+        for (Path root : roots) {
+            try {
+                if (Files.isDirectory(root)) {
+                    scanDirectory(root, classes);
+                } else {
+                    scanJar(root, classes);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not scan the class files in " + root, e);
+            }
+        }
+        return new ClassHeaders(classes);
+    }
+
+    private static void scanDirectory(Path directory, Map<String, ClassFile> classes) throws IOException {
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            classFiles = paths.filter(ClassHeaders::isClassFile).collect(Collectors.toList());
+        }
+        for (Path classFile : classFiles) {
+            add(ClassFileParser.parse(Files.readAllBytes(classFile)), classes);
+        }
+    }
+
+    private static void scanJar(Path jar, Map<String, ClassFile> classes) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && isClassFile(entry.getName())) {
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        add(ClassFileParser.parse(readAll(in)), classes);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isClassFile(Path path) {
+        return isClassFile(path.getFileName().toString());
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(CLASS_FILE_EXTENSION) && !name.endsWith("module-info" + CLASS_FILE_EXTENSION);
+    }
+
+    private static void add(ClassFile classFile, Map<String, ClassFile> classes) {
+        classes.putIfAbsent(classFile.getName(), classFile);
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    /**
+     * @return the scanned classes, ordered by name
+     */
+    public Collection<ClassFile> classes() {
+        return classes.values();
+    }
+
+    @Override
+    public Iterator<ClassFile> iterator() {
+        return classes.values().iterator();
+    }
+
+    /**
+     * @return the scanned class, or the class read from the context class loader, or empty if there is none
+     */
+    public Optional<ClassFile> resolve(String className) {
+        ClassFile scanned = classes.get(className);
+        if (scanned != null) {
+            return Optional.of(scanned);
+        }
+        return resolved.computeIfAbsent(className, ClassHeaders::readFromClassPath);
+    }
+
+    /**
+     * @return whether one of the annotations is of the given type, or is (transitively) annotated with it
+     */
+    public boolean isMetaAnnotatedWith(Collection<String> annotations, String annotationType) {
+        for (String annotation : annotations) {
+            if (annotation.equals(annotationType) || metaAnnotationsOf(annotation).contains(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the fields of the class, its super classes and its interfaces, like
+     * {@link com.tngtech.archunit.core.domain.JavaClass#getAllFields()}; types that cannot be resolved are skipped
+     */
+    public List<ClassFile.Member> allFieldsOf(ClassFile classFile) {
+        List<ClassFile.Member> fields = new ArrayList<>();
+        collectFields(classFile, fields, new HashSet<>());
+        return fields;
+    }
+
+    private void collectFields(ClassFile classFile, List<ClassFile.Member> fields, Set<String> visited) {
+        if (!visited.add(classFile.getName())) {
+            return;
+        }
+        fields.addAll(classFile.getFields());
+        classFile.getSuperName().flatMap(this::resolve).ifPresent(superClass -> collectFields(superClass, fields, visited));
+        for (String interfaceName : classFile.getInterfaces()) {
+            resolve(interfaceName).ifPresent(superInterface -> collectFields(superInterface, fields, visited));
+        }
+    }
+
+    private Set<String> metaAnnotationsOf(String annotationType) {
+        Set<String> known = metaAnnotations.get(annotationType);
+        if (known != null) {
+            return known;
+        }
+        Set<String> closure = new HashSet<>();
+        collectMetaAnnotations(annotationType, closure);
+        metaAnnotations.putIfAbsent(annotationType, closure);
+        return closure;
+    }
+
+    private void collectMetaAnnotations(String annotationType, Set<String> closure) {
+        if (annotationType.startsWith("java.lang.annotation.")) {
+            return;
+        }
+        resolve(annotationType).ifPresent(annotation -> {
+            for (String metaAnnotation : annotation.getAnnotations()) {
+                if (closure.add(metaAnnotation)) {
+                    collectMetaAnnotations(metaAnnotation, closure);
+                }
+            }
+        });
+    }
+
+    private static Optional<ClassFile> readFromClassPath(String className) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassHeaders.class.getClassLoader();
+        }
+        try (InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + CLASS_FILE_EXTENSION)) {
+            return in == null ? Optional.empty() : Optional.of(ClassFileParser.parse(readAll(in)));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the location ArchUnit reports for a class, e.g. {@code (Order.java:0)}
+     */
+    public static String sourceCodeLocationOf(ClassFile classFile) {
+        String sourceFile = classFile.getSourceFile().orElseGet(() -> {
+            String outerName = classFile.getName().substring(classFile.getName().lastIndexOf('.') + 1);
+            int nested = outerName.indexOf('$');
+            return (nested < 0 ? outerName : outerName.substring(0, nested)) + ".java";
+        });
+        return "(" + sourceFile + ":0)";
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.xebia.archunit.classfile;
+
+import com.tngtech.archunit.lang.ConditionEvents;
+
+/**
+ * Checks a rule against the header of a single class, reporting the same events as the rule reports for the fully
+ * imported class.
+ */
+@FunctionalInterface
+public interface HeaderCheck {
+
+    void check(ClassFile classFile, ClassHeaders headers, ConditionEvents events);
+}
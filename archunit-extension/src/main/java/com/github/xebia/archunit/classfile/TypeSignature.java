@@ -0,0 +1,267 @@
+package com.github.xebia.archunit.classfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A generic type as written in a class file {@code Signature} attribute, e.g. {@code Page<OrderDto>}.
+ * <p>
+ * {@link #getTypeName()} renders the type like {@link java.lang.reflect.Type#getTypeName()} would, without loading
+ * any of the involved classes.
+ */
+public final class TypeSignature {
+
+    public enum Kind {
+        PRIMITIVE, CLASS, TYPE_VARIABLE, ARRAY, WILDCARD
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final List<TypeSignature> typeArguments;
+    private final TypeSignature component;
+    private final char wildcardBound;
+    private final TypeSignature owner;
+
+    private TypeSignature(Kind kind, String name, List<TypeSignature> typeArguments, TypeSignature component,
+                          char wildcardBound) {
+        this(kind, name, typeArguments, component, wildcardBound, null);
+    }
+
+    private TypeSignature(Kind kind, String name, List<TypeSignature> typeArguments, TypeSignature component,
+                          char wildcardBound, TypeSignature owner) {
+        this.kind = kind;
+        this.name = name;
+        this.typeArguments = Collections.unmodifiableList(typeArguments);
+        this.component = component;
+        this.wildcardBound = wildcardBound;
+        this.owner = owner;
+    }
+
+    /**
+     * Parses a field signature or any other single type signature, e.g. {@code Ljava/util/List<Ljava/lang/String;>;}.
+     * Plain type descriptors are valid signatures as well and yield raw types.
+     */
+    public static TypeSignature parse(String signature) {
+        Parser parser = new Parser(signature);
+        TypeSignature type = parser.type();
+        parser.expectEnd();
+        return type;
+    }
+
+    /**
+     * @return the return type of a method signature, e.g. {@code <T:Ljava/lang/Object;>(TT;)Ljava/util/List<TT;>;}
+     */
+    public static TypeSignature parseMethodReturnType(String methodSignature) {
+        Parser parser = new Parser(methodSignature);
+        parser.skipTypeParameters();
+        parser.expect('(');
+        while (parser.peek() != ')') {
+            parser.type();
+        }
+        parser.expect(')');
+        return parser.type();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the binary class name for {@link Kind#CLASS}, the primitive name, or the type variable name
+     */
+    public String getName() {
+        return name;
+    }
+
+    public List<TypeSignature> getTypeArguments() {
+        return typeArguments;
+    }
+
+    /**
+     * @return the component type of an array, or the bound of a bounded wildcard
+     */
+    public Optional<TypeSignature> getComponent() {
+        return Optional.ofNullable(component);
+    }
+
+    /**
+     * @return the parameterized outer class of an inner class type, e.g. {@code Outer<String>} of
+     * {@code Outer<String>.Inner<Integer>}
+     */
+    public Optional<TypeSignature> getOwner() {
+        return Optional.ofNullable(owner);
+    }
+
+    public String getTypeName() {
+        switch (kind) {
+            case ARRAY:
+                return component.getTypeName() + "[]";
+            case WILDCARD:
+                if (component == null) {
+                    return "?";
+                }
+                return (wildcardBound == '+' ? "? extends " : "? super ") + component.getTypeName();
+            case CLASS:
+                StringBuilder typeName = new StringBuilder(owner == null
+                        ? name
+                        : owner.getTypeName() + name.substring(owner.name.length()));
+                if (typeArguments.isEmpty()) {
+                    return typeName.toString();
+                }
+                typeName.append('<');
+                for (int i = 0; i < typeArguments.size(); i++) {
+                    typeName.append(i == 0 ? "" : ", ").append(typeArguments.get(i).getTypeName());
+                }
+                return typeName.append('>').toString();
+            default:
+                return name;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getTypeName();
+    }
+
+    private static final class Parser {
+        private final String signature;
+        private int position;
+
+        private Parser(String signature) {
+            this.signature = signature;
+        }
+
+        private TypeSignature type() {
+            char c = next();
+            switch (c) {
+                case 'L':
+                    return classType();
+                case 'T':
+                    return new TypeSignature(Kind.TYPE_VARIABLE, identifier(';'), Collections.emptyList(), null, ' ');
+                case '[':
+                    return new TypeSignature(Kind.ARRAY, null, Collections.emptyList(), type(), ' ');
+                default:
+                    return new TypeSignature(Kind.PRIMITIVE, primitiveName(c), Collections.emptyList(), null, ' ');
+            }
+        }
+
+        private TypeSignature classType() {
+            StringBuilder name = new StringBuilder();
+            List<TypeSignature> typeArguments = Collections.emptyList();
+            TypeSignature owner = null;
+            while (true) {
+                char c = next();
+                if (c == ';') {
+                    return new TypeSignature(Kind.CLASS, name.toString(), typeArguments, null, ' ', owner);
+                } else if (c == '<') {
+                    typeArguments = typeArguments();
+                } else if (c == '.') {
+                    // inner class of a parameterized outer class, which becomes the owner
+                    owner = new TypeSignature(Kind.CLASS, name.toString(), typeArguments, null, ' ', owner);
+                    name.append('$');
+                    typeArguments = Collections.emptyList();
+                } else {
+                    name.append(c == '/' ? '.' : c);
+                }
+            }
+        }
+
+        private List<TypeSignature> typeArguments() {
+            List<TypeSignature> typeArguments = new ArrayList<>();
+            while (peek() != '>') {
+                char c = peek();
+                if (c == '*') {
+                    next();
+                    typeArguments.add(new TypeSignature(Kind.WILDCARD, "?", Collections.emptyList(), null, '*'));
+                } else if (c == '+' || c == '-') {
+                    next();
+                    typeArguments.add(new TypeSignature(Kind.WILDCARD, "?", Collections.emptyList(), type(), c));
+                } else {
+                    typeArguments.add(type());
+                }
+            }
+            next();
+            return typeArguments;
+        }
+
+        private void skipTypeParameters() {
+            if (peek() != '<') {
+                return;
+            }
+            next();
+            while (peek() != '>') {
+                identifier(':');
+                if (peek() != ':') {
+                    type();
+                }
+                while (peek() == ':') {
+                    next();
+                    type();
+                }
+            }
+            next();
+        }
+
+        private String identifier(char terminator) {
+            int end = signature.indexOf(terminator, position);
+            if (end < 0) {
+                throw new IllegalArgumentException("Malformed signature " + signature);
+            }
+            String identifier = signature.substring(position, end);
+            position = end + 1;
+            return identifier;
+        }
+
+        private String primitiveName(char c) {
+            switch (c) {
+                case 'B':
+                    return "byte";
+                case 'C':
+                    return "char";
+                case 'D':
+                    return "double";
+                case 'F':
+                    return "float";
+                case 'I':
+                    return "int";
+                case 'J':
+                    return "long";
+                case 'S':
+                    return "short";
+                case 'Z':
+                    return "boolean";
+                case 'V':
+                    return "void";
+                default:
+                    throw new IllegalArgumentException("Malformed signature " + signature + " at " + (position - 1));
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException("Malformed signature " + signature + ", expected " + expected);
+            }
+        }
+
+        private void expectEnd() {
+            if (position != signature.length()) {
+                throw new IllegalArgumentException("Malformed signature " + signature);
+            }
+        }
+
+        private char peek() {
+            if (position >= signature.length()) {
+                throw new IllegalArgumentException("Unexpected end of signature " + signature);
+            }
+            return signature.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.xebia.archunit.engine;
+
+import com.github.xebia.archunit.classfile.ClassFile;
+import com.github.xebia.archunit.classfile.ClassHeaders;
+import com.github.xebia.archunit.classfile.HeaderCheck;
+import com.github.xebia.archunit.importer.HasImportScope;
+import com.github.xebia.archunit.importer.ImportScope;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+
+import static com.tngtech.archunit.lang.conditions.ArchConditions.never;
+
+/**
+ * An {@link ArchRule} of the form "all/no {@link Elements} should {@link ArchCondition}".
+ * <p>
+ * Checked on its own it behaves exactly like the equivalent rule of {@link ArchRuleDefinition}. Because its elements
+ * and condition are known, the {@link SinglePassRuleEngine} can additionally evaluate many of these rules together
+ * in one walk over the class graph.
+ */
+public final class ElementRule<T> implements ArchRule, HasImportScope {
+
+    private final Elements<T> elements;
+    private final ArchCondition<? super T> condition;
+    private final ArchRule delegate;
+    private final HeaderCheck headerCheck;
+    private final ImportScope importScope;
+    private final boolean classLocal;
+
+    private ElementRule(Elements<T> elements, ArchCondition<? super T> condition, ArchRule delegate, HeaderCheck headerCheck,
+                        ImportScope importScope, boolean classLocal) {
+        this.elements = elements;
+        this.condition = condition;
+        this.delegate = delegate;
+        this.headerCheck = headerCheck;
+        this.importScope = importScope;
+        this.classLocal = classLocal;
+    }
+
+    public static <T> ElementRule<T> all(Elements<T> elements, ArchCondition<? super T> condition) {
+        return new ElementRule<>(elements, condition, ArchRuleDefinition.all(elements).should(condition), null, ImportScope.allClasses(), false);
+    }
+
+    public static <T> ElementRule<T> no(Elements<T> elements, ArchCondition<? super T> condition) {
+        if (condition instanceof ViolationCondition) {
+            throw new IllegalArgumentException("Condition '" + condition.getDescription() + "' reports violations only and cannot be negated");
+        }
+        return new ElementRule<>(elements, never(condition), ArchRuleDefinition.no(elements).should(condition), null, ImportScope.allClasses(), false);
+    }
+
+    /**
+     * Marks the rule as needing class headers only, see {@link ClassHeaders}. The check must report the same
+     * violations for the header of a class as the rule reports for the imported class.
+     */
+    public ElementRule<T> withHeaderCheck(HeaderCheck headerCheck) {
+        return new ElementRule<>(elements, condition, delegate, headerCheck, importScope, classLocal);
+    }
+
+    /**
+     * Declares the classes the rule needs. The scope must contain every selected element.
+     */
+    public ElementRule<T> withImportScope(ImportScope importScope) {
+        return new ElementRule<>(elements, condition, delegate, headerCheck, importScope, classLocal);
+    }
+
+    /**
+     * Declares that whether an element violates the rule only depends on the class declaring it and on the classes
+     * this class depends on, directly or transitively, e.g. its superclasses or the targets of its calls. Incremental
+     * evaluation then re-checks the rule only for changed classes and the classes depending on them.
+     * <p>
+     * Rules looking at classes that depend on the element, e.g. at the overriding methods of subclasses, must not be
+     * declared class local.
+     */
+    public ElementRule<T> withClassLocalCondition() {
+        return new ElementRule<>(elements, condition, delegate, headerCheck, importScope, true);
+    }
+
+    @Override
+    public ImportScope getImportScope() {
+        return importScope;
+    }
+
+    /**
+     * @return whether the rule was declared {@link #withClassLocalCondition() class local}
+     */
+    public boolean isClassLocal() {
+        return classLocal;
+    }
+
+    /**
+     * @return whether the rule can be evaluated on {@link ClassHeaders} instead of the full class graph
+     */
+    public boolean isMetadataOnly() {
+        return headerCheck != null;
+    }
+
+    public Elements<T> getElements() {
+        return elements;
+    }
+
+    /**
+     * @return the condition every selected element is checked against, already negated for {@link #no} rules
+     */
+    public ArchCondition<? super T> getCondition() {
+        return condition;
+    }
+
+    @Override
+    public void check(JavaClasses classes) {
+        delegate.check(classes);
+    }
+
+    @Override
+    public EvaluationResult evaluate(JavaClasses classes) {
+        return delegate.evaluate(classes);
+    }
+
+    /**
+     * Evaluates a {@link #isMetadataOnly() metadata only} rule on class headers.
+     */
+    public EvaluationResult evaluate(ClassHeaders headers) {
+        if (headerCheck == null) {
+            throw new IllegalStateException("Rule '" + getDescription() + "' needs the full class graph");
+        }
+        ConditionEvents events = new ConditionEvents();
+        for (ClassFile classFile : headers) {
+            headerCheck.check(classFile, headers, events);
+        }
+        return new EvaluationResult(this, events, Priority.MEDIUM);
+    }
+
+    @Override
+    public ElementRule<T> because(String reason) {
+        return new ElementRule<>(elements, condition, delegate.because(reason), headerCheck, importScope, classLocal);
+    }
+
+    @Override
+    public ElementRule<T> as(String newDescription) {
+        return new ElementRule<>(elements, condition, delegate.as(newDescription), headerCheck, importScope, classLocal);
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
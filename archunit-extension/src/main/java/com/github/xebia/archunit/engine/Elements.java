@@ -0,0 +1,280 @@
+package com.github.xebia.archunit.engine;
+
+import com.github.xebia.archunit.index.AnnotationIndex;
+import com.github.xebia.archunit.index.ClassRole;
+import com.github.xebia.archunit.index.ClassRoleIndex;
+import com.tngtech.archunit.base.DescribedIterable;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMember;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.properties.CanBeAnnotated;
+import com.tngtech.archunit.lang.ClassesTransformer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The classes, fields, methods or constructors of some {@link JavaClasses} that a rule applies to.
+ * <p>
+ * Unlike an arbitrary {@link ClassesTransformer} it knows which kind of element it selects and how to select it from
+ * a single class, which lets the {@link SinglePassRuleEngine} share one traversal between many rules.
+ * <p>
+ * Elements narrowed by {@link #annotatedWith(String)} or {@link #metaAnnotatedWith(String)} are looked up in the
+ * {@link AnnotationIndex} of the classes instead of scanning the annotations of every element. Likewise, elements
+ * narrowed by {@link #withRole(ClassRoleIndex, ClassRole)} are taken from the classification of the import shared by
+ * all rules.
+ */
+public final class Elements<T> implements ClassesTransformer<T> {
+
+    public enum Kind {
+        CLASSES, FIELDS, METHODS, CONSTRUCTORS
+    }
+
+    private final Kind kind;
+    private final Lookup lookup;
+    private final DescribedPredicate<? super T> selection;
+    private final String description;
+
+    private Elements(Kind kind, DescribedPredicate<? super T> selection, String description) {
+        this(kind, null, selection, description);
+    }
+
+    private Elements(Kind kind, Lookup lookup, DescribedPredicate<? super T> selection, String description) {
+        this.kind = kind;
+        this.lookup = lookup;
+        this.selection = selection;
+        this.description = description;
+    }
+
+    public static Elements<JavaClass> classes() {
+        return new Elements<>(Kind.CLASSES, DescribedPredicate.alwaysTrue(), "classes");
+    }
+
+    public static Elements<JavaField> fields() {
+        return new Elements<>(Kind.FIELDS, DescribedPredicate.alwaysTrue(), "fields");
+    }
+
+    public static Elements<JavaMethod> methods() {
+        return new Elements<>(Kind.METHODS, DescribedPredicate.alwaysTrue(), "methods");
+    }
+
+    public static Elements<JavaConstructor> constructors() {
+        return new Elements<>(Kind.CONSTRUCTORS, DescribedPredicate.alwaysTrue(), "constructors");
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public DescribedPredicate<? super T> getSelection() {
+        return selection;
+    }
+
+    /**
+     * @return whether the elements are looked up in the {@link AnnotationIndex} or a {@link ClassRoleIndex} rather than
+     * selected during a walk over all classes
+     */
+    public boolean isIndexed() {
+        return lookup != null;
+    }
+
+    /**
+     * @return the elements of the given kind declared by {@code javaClass}, before applying the selection
+     */
+    public Collection<T> candidatesOf(JavaClass javaClass) {
+        return candidatesOf(kind, javaClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<T> candidatesOf(Kind kind, JavaClass javaClass) {
+        switch (kind) {
+            case CLASSES:
+                return (Collection<T>) Collections.singleton(javaClass);
+            case FIELDS:
+                return (Collection<T>) javaClass.getFields();
+            case METHODS:
+                return (Collection<T>) javaClass.getMethods();
+            case CONSTRUCTORS:
+                return (Collection<T>) javaClass.getConstructors();
+            default:
+                throw new IllegalStateException("Unknown element kind " + kind);
+        }
+    }
+
+    public boolean selects(T element) {
+        return (lookup == null || lookup.matches(element)) && selection.apply(element);
+    }
+
+    @Override
+    public DescribedIterable<T> transform(JavaClasses classes) {
+        List<T> result = new ArrayList<>();
+        if (lookup != null) {
+            for (T candidate : lookup.<T>candidates(kind, classes)) {
+                if (selection.apply(candidate)) {
+                    result.add(candidate);
+                }
+            }
+            return DescribedIterable.From.iterable(result, description);
+        }
+        for (JavaClass javaClass : classes) {
+            for (T candidate : candidatesOf(javaClass)) {
+                if (selects(candidate)) {
+                    result.add(candidate);
+                }
+            }
+        }
+        return DescribedIterable.From.iterable(result, description);
+    }
+
+    /**
+     * Narrows the elements to those directly annotated with the given annotation type.
+     */
+    public Elements<T> annotatedWith(String annotationType) {
+        return withLookup(new AnnotationLookup(annotationType, false), "are annotated with @" + simpleNameOf(annotationType));
+    }
+
+    /**
+     * Narrows the elements to those annotated with the given annotation type, either directly or through an
+     * annotation that is itself (transitively) annotated with it.
+     */
+    public Elements<T> metaAnnotatedWith(String annotationType) {
+        return withLookup(new AnnotationLookup(annotationType, true), "are meta-annotated with @" + simpleNameOf(annotationType));
+    }
+
+    /**
+     * Narrows classes to those with the role, and fields, methods and constructors to those declared in such classes.
+     */
+    public Elements<T> withRole(ClassRoleIndex roles, ClassRole role) {
+        return withLookup(new RoleLookup(roles, role), kind == Kind.CLASSES
+                ? "are " + role.getDescription()
+                : "are declared in " + role.getDescription());
+    }
+
+    private Elements<T> withLookup(Lookup additionalLookup, String lookupDescription) {
+        if (lookup != null) {
+            // only one lookup can drive the selection, any further one is checked per element
+            DescribedPredicate<T> predicate = new DescribedPredicate<T>(lookupDescription) {
+                @Override
+                public boolean apply(T input) {
+                    return additionalLookup.matches(input);
+                }
+            };
+            return that(predicate);
+        }
+        return new Elements<>(kind, additionalLookup, selection, description + " that " + lookupDescription);
+    }
+
+    @Override
+    public Elements<T> that(DescribedPredicate<? super T> predicate) {
+        DescribedPredicate<? super T> previous = selection;
+        DescribedPredicate<T> combined = new DescribedPredicate<T>(predicate.getDescription()) {
+            @Override
+            public boolean apply(T input) {
+                return previous.apply(input) && predicate.apply(input);
+            }
+        };
+        return new Elements<>(kind, lookup, combined, description + " that " + predicate.getDescription());
+    }
+
+    /**
+     * Like {@link #that(DescribedPredicate)}, but continues the description with "and" instead of "that".
+     */
+    public Elements<T> and(DescribedPredicate<? super T> predicate) {
+        return that(predicate).as(description + " and " + predicate.getDescription());
+    }
+
+    @Override
+    public Elements<T> as(String description) {
+        return new Elements<>(kind, lookup, selection, description);
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + description + "}";
+    }
+
+    private static String simpleNameOf(String typeName) {
+        return typeName.substring(Math.max(typeName.lastIndexOf('.'), typeName.lastIndexOf('$')) + 1);
+    }
+
+    private interface Lookup {
+        boolean matches(Object element);
+
+        <T> Collection<T> candidates(Kind kind, JavaClasses classes);
+    }
+
+    private static final class AnnotationLookup implements Lookup {
+        private final String annotationType;
+        private final boolean meta;
+
+        private AnnotationLookup(String annotationType, boolean meta) {
+            this.annotationType = annotationType;
+            this.meta = meta;
+        }
+
+        @Override
+        public boolean matches(Object element) {
+            CanBeAnnotated annotated = (CanBeAnnotated) element;
+            return meta ? AnnotationIndex.isMetaAnnotatedWith(annotated, annotationType) : annotated.isAnnotatedWith(annotationType);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Collection<T> candidates(Kind kind, JavaClasses classes) {
+            AnnotationIndex index = AnnotationIndex.of(classes);
+            switch (kind) {
+                case CLASSES:
+                    return (Collection<T>) (meta ? index.classesMetaAnnotatedWith(annotationType) : index.classesAnnotatedWith(annotationType));
+                case FIELDS:
+                    return (Collection<T>) (meta ? index.fieldsMetaAnnotatedWith(annotationType) : index.fieldsAnnotatedWith(annotationType));
+                case METHODS:
+                    return (Collection<T>) (meta ? index.methodsMetaAnnotatedWith(annotationType) : index.methodsAnnotatedWith(annotationType));
+                case CONSTRUCTORS:
+                    return (Collection<T>) (meta ? index.constructorsMetaAnnotatedWith(annotationType) : index.constructorsAnnotatedWith(annotationType));
+                default:
+                    throw new IllegalStateException("Unknown element kind " + kind);
+            }
+        }
+    }
+
+    private static final class RoleLookup implements Lookup {
+        private final ClassRoleIndex roles;
+        private final ClassRole role;
+
+        private RoleLookup(ClassRoleIndex roles, ClassRole role) {
+            this.roles = roles;
+            this.role = role;
+        }
+
+        @Override
+        public boolean matches(Object element) {
+            JavaClass javaClass = element instanceof JavaClass ? (JavaClass) element : ((JavaMember) element).getOwner();
+            return roles.hasRole(javaClass, role);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Collection<T> candidates(Kind kind, JavaClasses classes) {
+            List<JavaClass> classesWithRole = roles.index(classes).classesWithRole(role);
+            if (kind == Kind.CLASSES) {
+                return (Collection<T>) classesWithRole;
+            }
+            List<T> members = new ArrayList<>();
+            for (JavaClass javaClass : classesWithRole) {
+                members.addAll(Elements.<T>candidatesOf(kind, javaClass));
+            }
+            return members;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.xebia.archunit.engine;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates rules concurrently on a {@link ForkJoinPool} against the shared, read-only {@link JavaClasses}.
+ * <p>
+ * Rules are packed into one batch per worker, largest estimated cost first, always adding to the cheapest batch so
+ * far. Each batch is evaluated by a {@link SinglePassRuleEngine}, so cheap element rules share a traversal while
+ * expensive slice rules are spread over the workers. Batches are started most expensive first.
+ */
+public final class ParallelRuleRunner implements RuleEvaluator {
+
+    private final ForkJoinPool pool;
+
+    public ParallelRuleRunner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelRuleRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Map<ArchRule, EvaluationResult> evaluate(JavaClasses classes, List<? extends ArchRule> rules) {
+        RuleCostEstimator costEstimator = RuleCostEstimator.of(classes);
+        List<Batch> batches = pack(rules, costEstimator, pool.getParallelism());
+
+        List<ForkJoinTask<Map<ArchRule, EvaluationResult>>> tasks = new ArrayList<>();
+        for (Batch batch : batches) {
+            tasks.add(pool.submit(new BatchEvaluation(classes, batch.rules)));
+        }
+        Map<ArchRule, EvaluationResult> evaluated = new LinkedHashMap<>();
+        for (ForkJoinTask<Map<ArchRule, EvaluationResult>> task : tasks) {
+            evaluated.putAll(task.join());
+        }
+
+        Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+        for (ArchRule rule : rules) {
+            results.put(rule, evaluated.get(rule));
+        }
+        return results;
+    }
+
+    private static List<Batch> pack(List<? extends ArchRule> rules, RuleCostEstimator costEstimator, int parallelism) {
+        List<ArchRule> byDescendingCost = new ArrayList<>(rules);
+        Map<ArchRule, Long> costs = new LinkedHashMap<>();
+        for (ArchRule rule : rules) {
+            costs.put(rule, costEstimator.estimate(rule));
+        }
+        byDescendingCost.sort(Comparator.comparing(costs::get, Comparator.reverseOrder()));
+
+        int batchCount = Math.max(1, Math.min(parallelism, rules.size()));
+        PriorityQueue<Batch> cheapestFirst = new PriorityQueue<>(Comparator.comparingLong((Batch batch) -> batch.cost));
+        for (int i = 0; i < batchCount; i++) {
+            cheapestFirst.add(new Batch());
+        }
+        for (ArchRule rule : byDescendingCost) {
+            Batch batch = cheapestFirst.poll();
+            batch.add(rule, costs.get(rule));
+            cheapestFirst.add(batch);
+        }
+
+        List<Batch> batches = new ArrayList<>(cheapestFirst);
+        batches.removeIf(batch -> batch.rules.isEmpty());
+        batches.sort(Comparator.comparingLong((Batch batch) -> batch.cost).reversed());
+        return batches;
+    }
+
+    private static final class Batch {
+        private final List<ArchRule> rules = new ArrayList<>();
+        private long cost;
+
+        private void add(ArchRule rule, long ruleCost) {
+            rules.add(rule);
+            cost += ruleCost;
+        }
+    }
+
+    private static final class BatchEvaluation extends RecursiveTask<Map<ArchRule, EvaluationResult>> {
+        private static final long serialVersionUID = 1L;
+
+        private final JavaClasses classes;
+        private final List<ArchRule> rules;
+
+        private BatchEvaluation(JavaClasses classes, List<ArchRule> rules) {
+            this.classes = classes;
+            this.rules = rules;
+        }
+
+        @Override
+        protected Map<ArchRule, EvaluationResult> compute() {
+            return new SinglePassRuleEngine().evaluate(classes, rules);
+        }
+    }
+}
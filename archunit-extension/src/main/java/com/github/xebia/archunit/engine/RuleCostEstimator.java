@@ -0,0 +1,62 @@
+package com.github.xebia.archunit.engine;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+
+/**
+ * Estimates the relative cost of evaluating a rule from the size of the class graph.
+ * <p>
+ * An {@link ElementRule} costs one unit per candidate element of its kind. Any other rule, typically a slice rule,
+ * has to look at every dependency of every class, so it is charged for all classes and members. Counting the
+ * dependencies themselves would mean computing them for every class before any rule starts, so the members, each
+ * of which brings at least one dependency, stand in for them.
+ */
+final class RuleCostEstimator {
+
+    private final long classes;
+    private final long fields;
+    private final long methods;
+    private final long constructors;
+
+    private RuleCostEstimator(long classes, long fields, long methods, long constructors) {
+        this.classes = classes;
+        this.fields = fields;
+        this.methods = methods;
+        this.constructors = constructors;
+    }
+
+    static RuleCostEstimator of(JavaClasses javaClasses) {
+        long fields = 0;
+        long methods = 0;
+        long constructors = 0;
+        for (JavaClass javaClass : javaClasses) {
+            fields += javaClass.getFields().size();
+            methods += javaClass.getMethods().size();
+            constructors += javaClass.getConstructors().size();
+        }
+        return new RuleCostEstimator(javaClasses.size(), fields, methods, constructors);
+    }
+
+    long estimate(ArchRule rule) {
+        if (!(rule instanceof ElementRule)) {
+            return graphCost();
+        }
+        switch (((ElementRule<?>) rule).getElements().getKind()) {
+            case CLASSES:
+                return classes;
+            case FIELDS:
+                return fields;
+            case METHODS:
+                return methods;
+            case CONSTRUCTORS:
+                return constructors;
+            default:
+                return graphCost();
+        }
+    }
+
+    private long graphCost() {
+        return classes + fields + methods + constructors;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.xebia.archunit.engine;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates a set of rules against the same classes as one batch.
+ */
+public interface RuleEvaluator {
+
+    /**
+     * @return the result of every rule, in the iteration order of {@code rules}
+     */
+    Map<ArchRule, EvaluationResult> evaluate(JavaClasses classes, List<? extends ArchRule> rules);
+}
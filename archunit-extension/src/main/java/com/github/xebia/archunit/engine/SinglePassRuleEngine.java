@@ -0,0 +1,110 @@
+package com.github.xebia.archunit.engine;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fuses all {@link ElementRule}s into one visitor and walks the classes once, handing every class, field, method and
+ * constructor to each rule interested in that kind of element. Any other rule, e.g. a slice rule, is evaluated on its
+ * own after the walk. Element rules whose selection is an annotation lookup only visit the elements found in the
+ * {@link com.github.xebia.archunit.index.AnnotationIndex} and stay out of the walk altogether.
+ * <p>
+ * The result of every rule is the same as if it had been evaluated on its own.
+ */
+public final class SinglePassRuleEngine implements RuleEvaluator {
+
+    @Override
+    public Map<ArchRule, EvaluationResult> evaluate(JavaClasses classes, List<? extends ArchRule> rules) {
+        Map<Elements.Kind, List<Evaluation<?>>> evaluationsByKind = new EnumMap<>(Elements.Kind.class);
+        Map<ArchRule, Evaluation<?>> evaluations = new LinkedHashMap<>();
+        for (ArchRule rule : rules) {
+            if (rule instanceof ElementRule) {
+                Evaluation<?> evaluation = new Evaluation<>((ElementRule<?>) rule, classes);
+                if (evaluation.isIndexed()) {
+                    evaluation.visitIndexed(classes);
+                } else {
+                    evaluationsByKind.computeIfAbsent(evaluation.kind(), kind -> new ArrayList<>()).add(evaluation);
+                }
+                evaluations.put(rule, evaluation);
+            }
+        }
+
+        for (JavaClass javaClass : classes) {
+            for (List<Evaluation<?>> evaluationsOfKind : evaluationsByKind.values()) {
+                for (Object element : evaluationsOfKind.get(0).candidatesOf(javaClass)) {
+                    for (Evaluation<?> evaluation : evaluationsOfKind) {
+                        evaluation.visit(element);
+                    }
+                }
+            }
+        }
+
+        Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+        for (ArchRule rule : rules) {
+            Evaluation<?> evaluation = evaluations.get(rule);
+            results.put(rule, evaluation != null ? evaluation.finish() : rule.evaluate(classes));
+        }
+        return results;
+    }
+
+    private static final class Evaluation<T> {
+        private final ElementRule<T> rule;
+        private final ArchCondition<? super T> condition;
+        private final ConditionEvents events = new ConditionEvents();
+
+        private Evaluation(ElementRule<T> rule, JavaClasses classes) {
+            this.rule = rule;
+            this.condition = rule.getCondition();
+            // the selected elements are only collected if the condition actually looks at them
+            Iterable<T> selected = () -> rule.getElements().transform(classes).iterator();
+            initialize(condition, selected);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <C> void initialize(ArchCondition<C> condition, Iterable<?> allObjectsToTest) {
+            condition.init((Iterable<C>) allObjectsToTest);
+        }
+
+        private Elements.Kind kind() {
+            return rule.getElements().getKind();
+        }
+
+        private boolean isIndexed() {
+            return rule.getElements().isIndexed();
+        }
+
+        private void visitIndexed(JavaClasses classes) {
+            for (T item : rule.getElements().transform(classes)) {
+                condition.check(item, events);
+            }
+        }
+
+        private Iterable<T> candidatesOf(JavaClass javaClass) {
+            return rule.getElements().candidatesOf(javaClass);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void visit(Object element) {
+            T item = (T) element;
+            if (rule.getElements().selects(item)) {
+                condition.check(item, events);
+            }
+        }
+
+        private EvaluationResult finish() {
+            condition.finish(events);
+            return new EvaluationResult(rule, events, Priority.MEDIUM);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.xebia.archunit.engine;
+
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaMember;
+
+/**
+ * Attributes the objects reported by a {@link com.tngtech.archunit.lang.ViolationHandler} to classes.
+ */
+public final class ViolatingObjects {
+
+    private ViolatingObjects() {
+    }
+
+    /**
+     * @return the class a violating class, member, access or dependency belongs to, or {@code null} for any other
+     * object
+     */
+    public static JavaClass ownerOf(Object violatingObject) {
+        if (violatingObject instanceof JavaClass) {
+            return (JavaClass) violatingObject;
+        }
+        if (violatingObject instanceof JavaMember) {
+            return ((JavaMember) violatingObject).getOwner();
+        }
+        if (violatingObject instanceof JavaAccess) {
+            return ((JavaAccess<?>) violatingObject).getOriginOwner();
+        }
+        if (violatingObject instanceof Dependency) {
+            return ((Dependency) violatingObject).getOriginClass();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.xebia.archunit.engine;
+
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A condition that adds an event for violations only and creates the message of a violation only when it occurs.
+ * Elements that satisfy the condition cost nothing but the test, which matters for rules checking hundreds of
+ * thousands of members.
+ * <p>
+ * Pass non-capturing lambdas or method references so that not even the test allocates per element:
+ * <pre>
+ * violatedWhen("be static",
+ *         method -&gt; !method.getModifiers().contains(JavaModifier.STATIC),
+ *         method -&gt; method.getFullName() + " is not static")
+ * </pre>
+ * Since satisfied elements leave no event, the condition cannot be negated, see {@link ElementRule#no}.
+ */
+public final class ViolationCondition<T> extends ArchCondition<T> {
+
+    private final Predicate<? super T> violation;
+    private final Function<? super T, String> message;
+
+    private ViolationCondition(String description, Predicate<? super T> violation, Function<? super T, String> message) {
+        super(description);
+        this.violation = violation;
+        this.message = message;
+    }
+
+    /**
+     * @param violation tells whether an element violates the condition
+     * @param message   describes the violation of an element, called for violating elements only
+     */
+    public static <T> ViolationCondition<T> violatedWhen(String description, Predicate<? super T> violation, Function<? super T, String> message) {
+        return new ViolationCondition<>(description, violation, message);
+    }
+
+    @Override
+    public void check(T item, ConditionEvents events) {
+        if (violation.test(item)) {
+            events.add(SimpleConditionEvent.violated(item, message.apply(item)));
+        }
+    }
+
+    @Override
+    public ViolationCondition<T> as(String description, Object... args) {
+        return new ViolationCondition<>(String.format(description, args), violation, message);
+    }
+}
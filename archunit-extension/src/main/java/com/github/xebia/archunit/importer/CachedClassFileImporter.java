@@ -0,0 +1,97 @@
+package com.github.xebia.archunit.importer;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+import com.tngtech.archunit.core.importer.Locations;
+import com.tngtech.archunit.lang.ArchRule;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Drop-in replacement for {@link com.tngtech.archunit.core.importer.ClassFileImporter} that shares imported classes
+ * across all test classes and threads of the JVM.
+ * <p>
+ * Usage:
+ * <pre>
+ * new CachedClassFileImporter()
+ *         .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+ *         .importPackagesOf(Application.class)
+ * </pre>
+ * The returned supplier imports on first use. Import options are part of the cache key and are compared with
+ * {@code equals}, so prefer {@link ImportOption.Predefined} or constants over a fresh lambda per call.
+ * <p>
+ * {@link #withImportScopeOf(Collection)} narrows the import to the classes the given rules need, see {@link ImportScope}.
+ * {@link #withScopePreFilter()} decides on the import scope before the import, see {@link ScopedClassFileImporter}.
+ */
+public final class CachedClassFileImporter {
+
+    private final Set<ImportOption> importOptions;
+    private final ImportScope importScope;
+    private final boolean scopePreFilter;
+
+    public CachedClassFileImporter() {
+        this(Collections.emptySet(), ImportScope.allClasses(), false);
+    }
+
+    private CachedClassFileImporter(Set<ImportOption> importOptions, ImportScope importScope, boolean scopePreFilter) {
+        this.importOptions = importOptions;
+        this.importScope = importScope;
+        this.scopePreFilter = scopePreFilter;
+    }
+
+    public CachedClassFileImporter withImportOption(ImportOption importOption) {
+        Set<ImportOption> options = new LinkedHashSet<>(importOptions);
+        options.add(importOption);
+        return new CachedClassFileImporter(Collections.unmodifiableSet(options), importScope, scopePreFilter);
+    }
+
+    public CachedClassFileImporter withImportScope(ImportScope importScope) {
+        return new CachedClassFileImporter(importOptions, importScope, scopePreFilter);
+    }
+
+    /**
+     * Imports with a {@link ScopedClassFileImporter}, which reads the class file headers of all locations concurrently
+     * to decide on the import scope; it only makes a difference together with an import scope.
+     */
+    public CachedClassFileImporter withScopePreFilter() {
+        return new CachedClassFileImporter(importOptions, importScope, true);
+    }
+
+    /**
+     * Imports only the classes needed by the rules, see {@link ImportScope#of(Collection)}.
+     */
+    public CachedClassFileImporter withImportScopeOf(Collection<? extends ArchRule> rules) {
+        return withImportScope(ImportScope.of(rules));
+    }
+
+    public Supplier<JavaClasses> importPackagesOf(Class<?>... classes) {
+        Set<String> packages = new LinkedHashSet<>();
+        for (Class<?> clazz : classes) {
+            packages.add(clazz.getPackage().getName());
+        }
+        return importPackages(packages);
+    }
+
+    public Supplier<JavaClasses> importPackages(String... packages) {
+        return importPackages(Arrays.asList(packages));
+    }
+
+    public Supplier<JavaClasses> importPackages(Collection<String> packages) {
+        Set<Location> locations = new HashSet<>();
+        for (String pkg : packages) {
+            locations.addAll(Locations.ofPackage(pkg));
+        }
+        return importLocations(locations);
+    }
+
+    public Supplier<JavaClasses> importLocations(Collection<Location> locations) {
+        return JavaClassesCache.get(new HashSet<>(locations), importOptions, importScope, scopePreFilter);
+    }
+}
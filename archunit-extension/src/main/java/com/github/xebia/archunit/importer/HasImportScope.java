@@ -0,0 +1,9 @@
+package com.github.xebia.archunit.importer;
+
+/**
+ * A rule that knows which classes it needs, see {@link ImportScope#of(java.util.Collection)}.
+ */
+public interface HasImportScope {
+
+    ImportScope getImportScope();
+}
@@ -0,0 +1,294 @@
+package com.github.xebia.archunit.importer;
+
+import com.github.xebia.archunit.classfile.ClassFile;
+import com.github.xebia.archunit.classfile.ClassFileParser;
+import com.github.xebia.archunit.classfile.ClassHeaders;
+import com.tngtech.archunit.base.PackageMatcher;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+import com.tngtech.archunit.lang.ArchRule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The classes a rule needs to be imported: those in some packages, those declaring or having members annotated with
+ * some annotation types, or all classes. Rules declare their scope through {@link HasImportScope}, and the union of the
+ * scopes of all enabled rules is the smallest import that still reports every violation.
+ * <p>
+ * Usage:
+ * <pre>
+ * new CachedClassFileImporter()
+ *         .withImportScopeOf(rules)
+ *         .importPackagesOf(Application.class)
+ * </pre>
+ * Classes outside the scope, e.g. generated code or vendored libraries, are left out of the import. Their class file
+ * headers are read to decide so, which is cheap compared to importing them. Types missing from the import are still
+ * resolved from the class path as configured in ArchUnit's {@link com.tngtech.archunit.ArchConfiguration}, which is
+ * JVM wide and therefore left alone.
+ */
+public final class ImportScope {
+
+    private static final ImportScope ALL_CLASSES = new ImportScope(Collections.singleton(Term.ANY));
+
+    private final Set<Term> terms;
+
+    private ImportScope(Set<Term> terms) {
+        this.terms = terms;
+    }
+
+    /**
+     * The scope of rules that do not declare one.
+     */
+    public static ImportScope allClasses() {
+        return ALL_CLASSES;
+    }
+
+    /**
+     * @param packageIdentifiers identifiers as understood by {@link PackageMatcher}, e.g. {@code "com.example.(*service).domain"}
+     */
+    public static ImportScope packages(String... packageIdentifiers) {
+        if (packageIdentifiers == null || packageIdentifiers.length == 0) {
+            throw new IllegalArgumentException("Please provide the packages of the scope");
+        }
+        return new ImportScope(Collections.singleton(new Term(Arrays.asList(packageIdentifiers), Collections.emptySet())));
+    }
+
+    /**
+     * The classes annotated with one of the annotation types, or having a field, method or constructor annotated with it,
+     * either directly or through a meta-annotation.
+     */
+    public static ImportScope annotatedWith(String... annotationTypes) {
+        if (annotationTypes == null || annotationTypes.length == 0) {
+            throw new IllegalArgumentException("Please provide the annotation types of the scope");
+        }
+        return new ImportScope(Collections.singleton(new Term(Collections.emptySet(), Arrays.asList(annotationTypes))));
+    }
+
+    /**
+     * @return the union of the scopes of the rules, {@link #allClasses()} for rules that do not implement {@link HasImportScope}
+     */
+    public static ImportScope of(Collection<? extends ArchRule> rules) {
+        ImportScope scope = null;
+        for (ArchRule rule : rules) {
+            ImportScope ruleScope = rule instanceof HasImportScope ? ((HasImportScope) rule).getImportScope() : ALL_CLASSES;
+            scope = scope == null ? ruleScope : scope.union(ruleScope);
+        }
+        return scope == null ? ALL_CLASSES : scope;
+    }
+
+    public ImportScope union(ImportScope other) {
+        if (isAllClasses() || other.isAllClasses()) {
+            return ALL_CLASSES;
+        }
+        Set<Term> union = new LinkedHashSet<>(terms);
+        union.addAll(other.terms);
+        return new ImportScope(Collections.unmodifiableSet(union));
+    }
+
+    public boolean isAllClasses() {
+        return terms.contains(Term.ANY);
+    }
+
+    /**
+     * @param headers resolves annotation types for meta-annotations
+     */
+    public boolean includes(ClassFile classFile, ClassHeaders headers) {
+        for (Term term : terms) {
+            if (term.includes(classFile, headers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return an option that imports the classes of this scope only; compares equal for equal scopes
+     */
+    public ImportOption asImportOption() {
+        return new ScopeImportOption(this);
+    }
+
+    /**
+     * Imports the classes of this scope from the locations.
+     */
+    public JavaClasses importLocations(ClassFileImporter importer, Collection<Location> locations) {
+        return (isAllClasses() ? importer : importer.withImportOption(asImportOption())).importLocations(locations);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ImportScope that = (ImportScope) o;
+        return terms.equals(that.terms);
+    }
+
+    @Override
+    public int hashCode() {
+        return terms.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + terms + "}";
+    }
+
+    /**
+     * The classes in one of the packages and annotated with one of the annotation types, an empty set matching all.
+     */
+    private static final class Term {
+        private static final Term ANY = new Term(Collections.emptySet(), Collections.emptySet());
+
+        private final Set<String> packageIdentifiers;
+        private final Set<String> annotationTypes;
+        private final List<PackageMatcher> packageMatchers = new ArrayList<>();
+
+        private Term(Collection<String> packageIdentifiers, Collection<String> annotationTypes) {
+            this.packageIdentifiers = Collections.unmodifiableSet(new LinkedHashSet<>(packageIdentifiers));
+            this.annotationTypes = Collections.unmodifiableSet(new LinkedHashSet<>(annotationTypes));
+            for (String packageIdentifier : packageIdentifiers) {
+                packageMatchers.add(PackageMatcher.of(packageIdentifier));
+            }
+        }
+
+        private boolean includes(ClassFile classFile, ClassHeaders headers) {
+            return inPackage(classFile) && annotated(classFile, headers);
+        }
+
+        private boolean inPackage(ClassFile classFile) {
+            if (packageMatchers.isEmpty()) {
+                return true;
+            }
+            for (PackageMatcher packageMatcher : packageMatchers) {
+                if (packageMatcher.matches(classFile.getPackageName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean annotated(ClassFile classFile, ClassHeaders headers) {
+            if (annotationTypes.isEmpty()) {
+                return true;
+            }
+            for (String annotationType : annotationTypes) {
+                if (annotated(classFile.getAnnotations(), annotationType, headers)
+                        || annotatedMember(classFile.getFields(), annotationType, headers)
+                        || annotatedMember(classFile.getMethods(), annotationType, headers)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean annotatedMember(List<ClassFile.Member> members, String annotationType, ClassHeaders headers) {
+            for (ClassFile.Member member : members) {
+                if (annotated(member.getAnnotations(), annotationType, headers)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean annotated(List<String> annotations, String annotationType, ClassHeaders headers) {
+            return !annotations.isEmpty() && headers.isMetaAnnotatedWith(annotations, annotationType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Term term = (Term) o;
+            return packageIdentifiers.equals(term.packageIdentifiers) && annotationTypes.equals(term.annotationTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(packageIdentifiers, annotationTypes);
+        }
+
+        @Override
+        public String toString() {
+            return (packageIdentifiers.isEmpty() ? "all packages" : "packages " + packageIdentifiers)
+                    + (annotationTypes.isEmpty() ? "" : " annotated with " + annotationTypes);
+        }
+    }
+
+    /**
+     * Reads the header of every class file to decide whether it is part of the scope. Class files that cannot be read
+     * are left to ArchUnit.
+     */
+    private static final class ScopeImportOption implements ImportOption {
+        private final ImportScope scope;
+        private volatile ClassHeaders annotationTypes;
+
+        private ScopeImportOption(ImportScope scope) {
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean includes(Location location) {
+            ClassFile classFile;
+            try (InputStream in = location.asURI().toURL().openStream()) {
+                classFile = ClassFileParser.parse(readAll(in));
+            } catch (IOException | IllegalArgumentException e) {
+                return true;
+            }
+            return scope.includes(classFile, annotationTypes());
+        }
+
+        private ClassHeaders annotationTypes() {
+            ClassHeaders headers = annotationTypes;
+            if (headers == null) {
+                // resolves annotation types from the context class loader of the importing thread
+                headers = ClassHeaders.scan();
+                annotationTypes = headers;
+            }
+            return headers;
+        }
+
+        private static byte[] readAll(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof ScopeImportOption && scope.equals(((ScopeImportOption) o).scope));
+        }
+
+        @Override
+        public int hashCode() {
+            return scope.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return scope.toString();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.xebia.archunit.importer;
+
+import com.github.xebia.archunit.metrics.ImportMetrics;
+import com.github.xebia.archunit.metrics.Measurement;
+import com.github.xebia.archunit.metrics.Metrics;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * JVM wide cache of imported {@link JavaClasses}, keyed by the import locations, the {@link ImportOption}s, the
+ * {@link ImportScope} and whether the scope is decided before the import.
+ * Every key is imported at most once, no matter how many test instances or threads ask for it.
+ */
+final class JavaClassesCache {
+
+    private static final ConcurrentMap<Key, Supplier<JavaClasses>> CACHE = new ConcurrentHashMap<>();
+
+    private JavaClassesCache() {
+    }
+
+    static Supplier<JavaClasses> get(Set<Location> locations, Set<ImportOption> importOptions, ImportScope importScope, boolean scopePreFilter) {
+        return CACHE.computeIfAbsent(new Key(locations, importOptions, importScope, scopePreFilter), OnceOnlyImport::new);
+    }
+
+    private static final class Key {
+        private final Set<Location> locations;
+        private final Set<ImportOption> importOptions;
+        private final ImportScope importScope;
+        private final boolean scopePreFilter;
+
+        private Key(Set<Location> locations, Set<ImportOption> importOptions, ImportScope importScope, boolean scopePreFilter) {
+            this.locations = Collections.unmodifiableSet(new HashSet<>(locations));
+            this.importOptions = Collections.unmodifiableSet(new HashSet<>(importOptions));
+            this.importScope = importScope;
+            this.scopePreFilter = scopePreFilter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return locations.equals(key.locations) && importOptions.equals(key.importOptions) && importScope.equals(key.importScope)
+                    && scopePreFilter == key.scopePreFilter;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locations, importOptions, importScope, scopePreFilter);
+        }
+    }
+
+    /**
+     * Imports lazily on first access. A failed import is not memoized, so the next caller retries it.
+     */
+    private static final class OnceOnlyImport implements Supplier<JavaClasses> {
+        private final Key key;
+        private volatile JavaClasses javaClasses;
+
+        private OnceOnlyImport(Key key) {
+            this.key = key;
+        }
+
+        @Override
+        public JavaClasses get() {
+            JavaClasses result = javaClasses;
+            if (result == null) {
+                synchronized (this) {
+                    result = javaClasses;
+                    if (result == null) {
+                        Measurement measurement = Measurement.start();
+                        result = key.scopePreFilter ? importPreFiltered() : importSequential();
+                        Metrics.importFinished(new ImportMetrics(key.locations.toString(), measurement.stop(), result.size()));
+                        javaClasses = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private JavaClasses importSequential() {
+            ClassFileImporter importer = new ClassFileImporter();
+            for (ImportOption importOption : key.importOptions) {
+                importer = importer.withImportOption(importOption);
+            }
+            return key.importScope.importLocations(importer, key.locations);
+        }
+
+        private JavaClasses importPreFiltered() {
+            ScopedClassFileImporter importer = new ScopedClassFileImporter().withImportScope(key.importScope);
+            for (ImportOption importOption : key.importOptions) {
+                importer = importer.withImportOption(importOption);
+            }
+            return importer.importLocations(key.locations);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.github.xebia.archunit.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A jar read through a memory-mapped view of the whole file, so that any number of threads can read its entries at
+ * the same time without a {@link java.util.zip.ZipFile} and its locks. Only the central directory is decoded when the
+ * jar is opened, entries are inflated when read.
+ * <p>
+ * Zip64 archives, e.g. shaded jars with more than 65535 entries, are supported as long as the jar is smaller than
+ * 2 GB.
+ */
+final class MappedJar {
+
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+    private static final int ZIP64_EXTRA_FIELD = 0x0001;
+    private static final int END_OF_CENTRAL_DIRECTORY_BYTES = 22;
+    private static final int MAX_COMMENT_BYTES = 0xffff;
+    private static final long ZIP64_MARKER = 0xffffffffL;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private final Path file;
+    private final ByteBuffer content;
+    private final List<Entry> entries;
+
+    private MappedJar(Path file, ByteBuffer content) throws IOException {
+        this.file = file;
+        this.content = content;
+        this.entries = Collections.unmodifiableList(readCentralDirectory());
+    }
+
+    static MappedJar open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is larger than 2 GB");
+            }
+            // the mapping stays valid after the channel is closed
+            ByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            return new MappedJar(file, content);
+        }
+    }
+
+    /**
+     * @return the entries in the order of the central directory, which is the order of {@link java.util.zip.ZipFile#entries()}
+     */
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Safe to call from several threads at once.
+     */
+    byte[] read(Entry entry) throws IOException {
+        ByteBuffer view = content.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int header = (int) entry.localHeaderOffset;
+        if (view.getInt(header) != LOCAL_FILE_HEADER) {
+            throw corrupt("no local file header for " + entry.name);
+        }
+        int data = header + 30 + (view.getShort(header + 26) & 0xffff) + (view.getShort(header + 28) & 0xffff);
+        if (data + entry.compressedSize > view.limit()) {
+            throw corrupt("entry " + entry.name + " is out of bounds");
+        }
+        byte[] compressed = new byte[(int) entry.compressedSize];
+        view.position(data);
+        view.get(compressed);
+        if (entry.method == STORED) {
+            return compressed;
+        }
+        if (entry.method != DEFLATED) {
+            throw new IOException("Unsupported compression method " + entry.method + " of " + entry.name + " in " + file);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] bytes = new byte[(int) entry.size];
+            int inflated = 0;
+            while (inflated < bytes.length && !inflater.finished()) {
+                int count = inflater.inflate(bytes, inflated, bytes.length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != bytes.length) {
+                throw corrupt("truncated entry " + entry.name);
+            }
+            return bytes;
+        } catch (DataFormatException e) {
+            throw new IOException("Could not inflate " + entry.name + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private List<Entry> readCentralDirectory() throws IOException {
+        int end = findEndOfCentralDirectory();
+        long offset = content.getInt(end + 16) & ZIP64_MARKER;
+        if (offset == ZIP64_MARKER) {
+            offset = zip64CentralDirectoryOffset(end);
+        }
+        List<Entry> result = new ArrayList<>();
+        int position = (int) offset;
+        while (position + 46 <= content.limit() && content.getInt(position) == CENTRAL_DIRECTORY_HEADER) {
+            int method = content.getShort(position + 10) & 0xffff;
+            long compressedSize = content.getInt(position + 20) & ZIP64_MARKER;
+            long size = content.getInt(position + 24) & ZIP64_MARKER;
+            int nameLength = content.getShort(position + 28) & 0xffff;
+            int extraLength = content.getShort(position + 30) & 0xffff;
+            int commentLength = content.getShort(position + 32) & 0xffff;
+            long localHeaderOffset = content.getInt(position + 42) & ZIP64_MARKER;
+            String name = string(position + 46, nameLength);
+            if (size == ZIP64_MARKER || compressedSize == ZIP64_MARKER || localHeaderOffset == ZIP64_MARKER) {
+                // the zip64 extra field holds exactly the values that are too large, in this order
+                int field = findExtraField(position + 46 + nameLength, extraLength);
+                int value = field + 4;
+                if (size == ZIP64_MARKER) {
+                    size = content.getLong(value);
+                    value += 8;
+                }
+                if (compressedSize == ZIP64_MARKER) {
+                    compressedSize = content.getLong(value);
+                    value += 8;
+                }
+                if (localHeaderOffset == ZIP64_MARKER) {
+                    localHeaderOffset = content.getLong(value);
+                }
+            }
+            if (size > Integer.MAX_VALUE || compressedSize > Integer.MAX_VALUE || localHeaderOffset >= content.limit()) {
+                throw corrupt("entry " + name + " is out of bounds");
+            }
+            result.add(new Entry(name, method, compressedSize, size, localHeaderOffset));
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return result;
+    }
+
+    private int findEndOfCentralDirectory() throws IOException {
+        int lowest = Math.max(0, content.limit() - END_OF_CENTRAL_DIRECTORY_BYTES - MAX_COMMENT_BYTES);
+        for (int position = content.limit() - END_OF_CENTRAL_DIRECTORY_BYTES; position >= lowest; position--) {
+            if (content.getInt(position) == END_OF_CENTRAL_DIRECTORY) {
+                return position;
+            }
+        }
+        throw corrupt("no end of central directory");
+    }
+
+    private long zip64CentralDirectoryOffset(int end) throws IOException {
+        int locator = end - 20;
+        if (locator < 0 || content.getInt(locator) != ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+            throw corrupt("no zip64 end of central directory locator");
+        }
+        long record = content.getLong(locator + 8);
+        if (record < 0 || record >= content.limit() || content.getInt((int) record) != ZIP64_END_OF_CENTRAL_DIRECTORY) {
+            throw corrupt("no zip64 end of central directory");
+        }
+        return content.getLong((int) record + 48);
+    }
+
+    private int findExtraField(int start, int length) throws IOException {
+        int position = start;
+        while (position + 4 <= start + length) {
+            int id = content.getShort(position) & 0xffff;
+            if (id == ZIP64_EXTRA_FIELD) {
+                return position;
+            }
+            position += 4 + (content.getShort(position + 2) & 0xffff);
+        }
+        throw corrupt("no zip64 extra field");
+    }
+
+    private String string(int position, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = content.duplicate();
+        view.position(position);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private IOException corrupt(String problem) {
+        return new IOException("Could not read " + file + ": " + problem);
+    }
+
+    static final class Entry {
+        private final String name;
+        private final int method;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        private Entry(String name, int method, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+}
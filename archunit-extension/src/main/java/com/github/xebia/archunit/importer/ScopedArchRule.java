@@ -0,0 +1,58 @@
+package com.github.xebia.archunit.importer;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+
+/**
+ * Declares the {@link ImportScope} of a rule that cannot declare it itself, e.g. one of ArchUnit's slice rules.
+ */
+public final class ScopedArchRule implements ArchRule, HasImportScope {
+
+    private final ArchRule delegate;
+    private final ImportScope importScope;
+
+    private ScopedArchRule(ArchRule delegate, ImportScope importScope) {
+        this.delegate = delegate;
+        this.importScope = importScope;
+    }
+
+    public static ScopedArchRule of(ArchRule rule, ImportScope importScope) {
+        return new ScopedArchRule(rule, importScope);
+    }
+
+    @Override
+    public ImportScope getImportScope() {
+        return importScope;
+    }
+
+    @Override
+    public void check(JavaClasses classes) {
+        delegate.check(classes);
+    }
+
+    @Override
+    public EvaluationResult evaluate(JavaClasses classes) {
+        return delegate.evaluate(classes);
+    }
+
+    @Override
+    public ScopedArchRule because(String reason) {
+        return new ScopedArchRule(delegate.because(reason), importScope);
+    }
+
+    @Override
+    public ScopedArchRule as(String newDescription) {
+        return new ScopedArchRule(delegate.as(newDescription), importScope);
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -0,0 +1,424 @@
+package com.github.xebia.archunit.importer;
+
+import com.github.xebia.archunit.classfile.ClassFile;
+import com.github.xebia.archunit.classfile.ClassFileParser;
+import com.github.xebia.archunit.classfile.ClassHeaders;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports the classes of an {@link ImportScope} from many roots, e.g. the class directories and jars of all modules of
+ * a large build, deciding on the scope before ArchUnit's import instead of during it.
+ * <p>
+ * {@link ImportScope#importLocations(ClassFileImporter, Collection)} reads the header of every class file in an
+ * {@link ImportOption}, one at a time on the thread that imports. This importer lists the roots, reads their class
+ * files, jars through a {@link MappedJar memory-mapped view}, and parses their headers concurrently: on virtual threads
+ * if the JVM has them, on the common {@link ForkJoinPool} otherwise. The headers select the class files to import:
+ * those included by the {@link ImportOption}s and the scope, and of every class only its first copy, e.g. not those in
+ * shaded jars, so a class whose first copy is out of scope is not imported from a later root either. ArchUnit then
+ * imports just these class files on one thread.
+ * <p>
+ * Either way every class file in scope is read twice, so this only pays off for scopes that leave out a large share of
+ * many roots; {@code ScopedImportBenchmark} compares both. Without a scope, i.e. with {@link ImportScope#allClasses()},
+ * the locations are handed to ArchUnit right away.
+ * <p>
+ * Usage:
+ * <pre>
+ * new ScopedClassFileImporter()
+ *         .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+ *         .withImportScope(ImportScope.of(rules))
+ *         .importPaths(moduleClassDirectories)
+ * </pre>
+ * Locations other than directories, class files and jars on the file system, e.g. of the JDK, are handed to ArchUnit as
+ * they are.
+ */
+public final class ScopedClassFileImporter {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String JAR_SEPARATOR = "!/";
+    private static final int BATCH_SIZE = 256;
+
+    private final ExecutorService executor;
+    private final Set<ImportOption> importOptions;
+    private final ImportScope importScope;
+
+    /**
+     * Reads on virtual threads if the JVM has them, otherwise on the common {@link ForkJoinPool}.
+     */
+    public ScopedClassFileImporter() {
+        this(null);
+    }
+
+    /**
+     * @param executor reads the class file headers; it is not shut down
+     */
+    public ScopedClassFileImporter(ExecutorService executor) {
+        this(executor, Collections.emptySet(), ImportScope.allClasses());
+    }
+
+    private ScopedClassFileImporter(ExecutorService executor, Set<ImportOption> importOptions, ImportScope importScope) {
+        this.executor = executor;
+        this.importOptions = importOptions;
+        this.importScope = importScope;
+    }
+
+    public ScopedClassFileImporter withImportOption(ImportOption importOption) {
+        Set<ImportOption> options = new LinkedHashSet<>(importOptions);
+        options.add(importOption);
+        return new ScopedClassFileImporter(executor, Collections.unmodifiableSet(options), importScope);
+    }
+
+    public ScopedClassFileImporter withImportScope(ImportScope importScope) {
+        return new ScopedClassFileImporter(executor, importOptions, importScope);
+    }
+
+    /**
+     * @param roots directories with class files or jar files, of which the first one containing a class wins; unlike
+     * {@link ClassFileImporter#importPaths(Path...)}, which does not keep their order
+     */
+    public JavaClasses importPaths(Path... roots) {
+        List<Path> paths = new ArrayList<>();
+        Collections.addAll(paths, roots);
+        return importPaths(paths);
+    }
+
+    /**
+     * @param roots directories with class files or jar files, of which the first one containing a class wins
+     */
+    public JavaClasses importPaths(Collection<Path> roots) {
+        List<Location> locations = new ArrayList<>();
+        for (Path root : roots) {
+            Path path = root.toAbsolutePath().normalize();
+            locations.add(Files.isDirectory(path)
+                    ? Location.of(path)
+                    : Location.of(URI.create("jar:" + path.toUri() + JAR_SEPARATOR)));
+        }
+        return importLocations(locations);
+    }
+
+    public JavaClasses importLocations(Collection<Location> locations) {
+        ClassFileImporter importer = new ClassFileImporter();
+        for (ImportOption importOption : importOptions) {
+            importer = importer.withImportOption(importOption);
+        }
+        if (importScope.isAllClasses()) {
+            // ArchUnit imports the first copy of a class in the order of the locations itself
+            return importer.importLocations(locations);
+        }
+        List<Root> roots = new ArrayList<>();
+        for (Location location : locations) {
+            Root root = Root.of(location.asURI());
+            if (root != null) {
+                roots.add(root);
+            }
+        }
+        Set<String> excluded = excludedClassFiles(readAll(roots));
+        if (!excluded.isEmpty()) {
+            importer = importer.withImportOption(new ExcludedClassFiles(excluded));
+        }
+        return importer.importLocations(locations);
+    }
+
+    private List<ParsedClassFile> readAll(List<Root> roots) {
+        boolean virtualThreads = executor == null && VirtualThreads.AVAILABLE;
+        ExecutorService readers = executor != null ? executor : virtualThreads ? VirtualThreads.newExecutor() : ForkJoinPool.commonPool();
+        try {
+            List<CompletableFuture<List<ClassFileEntry>>> listings = new ArrayList<>();
+            for (Root root : roots) {
+                listings.add(CompletableFuture.supplyAsync(root::list, readers));
+            }
+            List<CompletableFuture<List<ParsedClassFile>>> batches = new ArrayList<>();
+            for (CompletableFuture<List<ClassFileEntry>> listing : listings) {
+                List<ClassFileEntry> entries = join(listing);
+                for (int start = 0; start < entries.size(); start += BATCH_SIZE) {
+                    List<ClassFileEntry> batch = entries.subList(start, Math.min(start + BATCH_SIZE, entries.size()));
+                    batches.add(CompletableFuture.supplyAsync(() -> parse(batch), readers));
+                }
+            }
+            List<ParsedClassFile> classFiles = new ArrayList<>();
+            for (CompletableFuture<List<ParsedClassFile>> batch : batches) {
+                classFiles.addAll(join(batch));
+            }
+            return classFiles;
+        } finally {
+            if (virtualThreads) {
+                readers.shutdown();
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static List<ParsedClassFile> parse(List<ClassFileEntry> entries) {
+        List<ParsedClassFile> classFiles = new ArrayList<>(entries.size());
+        for (ClassFileEntry entry : entries) {
+            ClassFile header;
+            try {
+                header = ClassFileParser.parse(entry.read());
+            } catch (IllegalArgumentException | UncheckedIOException e) {
+                // left to ArchUnit, like any class file the scope cannot read
+                header = null;
+            }
+            classFiles.add(new ParsedClassFile(entry.uri, header));
+        }
+        return classFiles;
+    }
+
+    /**
+     * Decides on the calling thread, in the order of the roots, which resolves annotation types through its context
+     * class loader like {@link ImportScope#asImportOption()} does.
+     */
+    private Set<String> excludedClassFiles(List<ParsedClassFile> classFiles) {
+        ClassHeaders annotationTypes = ClassHeaders.scan();
+        Set<String> classNames = new HashSet<>();
+        Set<String> excluded = new HashSet<>();
+        for (ParsedClassFile classFile : classFiles) {
+            if (classFile.header == null || !includedByImportOptions(classFile.uri)) {
+                continue;
+            }
+            if (!classNames.add(classFile.header.getName()) || !importScope.includes(classFile.header, annotationTypes)) {
+                excluded.add(keyOf(classFile.uri));
+            }
+        }
+        return excluded;
+    }
+
+    private boolean includedByImportOptions(URI classFile) {
+        if (importOptions.isEmpty()) {
+            return true;
+        }
+        Location location = Location.of(classFile);
+        for (ImportOption importOption : importOptions) {
+            if (!importOption.includes(location)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the class file as a path, within the jar if any, so that differently encoded URIs of the same file match
+     */
+    private static String keyOf(URI classFile) {
+        if ("file".equals(classFile.getScheme())) {
+            return Paths.get(classFile).toAbsolutePath().normalize().toString();
+        }
+        if ("jar".equals(classFile.getScheme())) {
+            String specificPart = classFile.getRawSchemeSpecificPart();
+            int separator = specificPart.indexOf(JAR_SEPARATOR);
+            if (separator > 0 && specificPart.startsWith("file:")) {
+                Path jar = Paths.get(URI.create(specificPart.substring(0, separator))).toAbsolutePath().normalize();
+                return jar + JAR_SEPARATOR + URI.create(specificPart.substring(separator + JAR_SEPARATOR.length())).getPath();
+            }
+        }
+        return classFile.toString();
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(CLASS_FILE_EXTENSION) && !name.endsWith("module-info" + CLASS_FILE_EXTENSION);
+    }
+
+    /**
+     * A directory, a class file or the part of a jar below a package, as given by a {@link Location}.
+     */
+    private abstract static class Root {
+
+        /**
+         * @return the root, or {@code null} if ArchUnit has to read the location itself
+         */
+        static Root of(URI location) {
+            if ("file".equals(location.getScheme())) {
+                return new FileRoot(Paths.get(location));
+            }
+            if ("jar".equals(location.getScheme())) {
+                String specificPart = location.getRawSchemeSpecificPart();
+                int separator = specificPart.indexOf(JAR_SEPARATOR);
+                if (separator > 0 && specificPart.startsWith("file:")) {
+                    String prefix = URI.create(specificPart.substring(separator + JAR_SEPARATOR.length())).getPath();
+                    return new JarRoot(Paths.get(URI.create(specificPart.substring(0, separator))), prefix == null ? "" : prefix);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return the class files, none if the root cannot be read, which leaves all of it to ArchUnit
+         */
+        abstract List<ClassFileEntry> list();
+    }
+
+    private static final class FileRoot extends Root {
+        private final Path path;
+
+        private FileRoot(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        List<ClassFileEntry> list() {
+            if (!Files.isDirectory(path)) {
+                return isClassFile(path.toString()) && Files.isRegularFile(path)
+                        ? Collections.singletonList(new FileEntry(path))
+                        : Collections.emptyList();
+            }
+            try (Stream<Path> paths = Files.walk(path)) {
+                return paths.filter(file -> isClassFile(file.getFileName().toString()) && Files.isRegularFile(file))
+                        .sorted()
+                        .map(FileEntry::new)
+                        .collect(Collectors.toList());
+            } catch (IOException | UncheckedIOException e) {
+                return Collections.emptyList();
+            }
+        }
+    }
+
+    private static final class JarRoot extends Root {
+        private final Path jar;
+        private final String prefix;
+
+        private JarRoot(Path jar, String prefix) {
+            this.jar = jar;
+            this.prefix = prefix;
+        }
+
+        @Override
+        List<ClassFileEntry> list() {
+            MappedJar mappedJar;
+            try {
+                mappedJar = MappedJar.open(jar);
+            } catch (IOException e) {
+                return Collections.emptyList();
+            }
+            URI jarUri = jar.toUri();
+            List<ClassFileEntry> entries = new ArrayList<>();
+            for (MappedJar.Entry entry : mappedJar.entries()) {
+                if (!entry.isDirectory() && entry.getName().startsWith(prefix) && isClassFile(entry.getName())) {
+                    entries.add(new JarEntry(mappedJar, entry, URI.create("jar:" + jarUri + JAR_SEPARATOR + entry.getName())));
+                }
+            }
+            return entries;
+        }
+    }
+
+    private abstract static class ClassFileEntry {
+        final URI uri;
+
+        ClassFileEntry(URI uri) {
+            this.uri = uri;
+        }
+
+        abstract byte[] read();
+    }
+
+    private static final class FileEntry extends ClassFileEntry {
+        private final Path file;
+
+        private FileEntry(Path file) {
+            super(file.toUri());
+            this.file = file;
+        }
+
+        @Override
+        byte[] read() {
+            try {
+                return Files.readAllBytes(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + file, e);
+            }
+        }
+    }
+
+    private static final class JarEntry extends ClassFileEntry {
+        private final MappedJar jar;
+        private final MappedJar.Entry entry;
+
+        private JarEntry(MappedJar jar, MappedJar.Entry entry, URI uri) {
+            super(uri);
+            this.jar = jar;
+            this.entry = entry;
+        }
+
+        @Override
+        byte[] read() {
+            try {
+                return jar.read(entry);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class ParsedClassFile {
+        private final URI uri;
+        private final ClassFile header;
+
+        private ParsedClassFile(URI uri, ClassFile header) {
+            this.uri = uri;
+            this.header = header;
+        }
+    }
+
+    /**
+     * Leaves out the class files the headers excluded. Class files whose URI does not match any of them, e.g. because
+     * ArchUnit resolved a root through a symbolic link, are imported, so a mismatch can only cost time.
+     */
+    private static final class ExcludedClassFiles implements ImportOption {
+        private final Set<String> excluded;
+
+        private ExcludedClassFiles(Set<String> excluded) {
+            this.excluded = excluded;
+        }
+
+        @Override
+        public boolean includes(Location location) {
+            return !excluded.contains(keyOf(location.asURI()));
+        }
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up reflectively because this library targets Java 8.
+     */
+    private static final class VirtualThreads {
+        private static final boolean AVAILABLE = newExecutor() != null;
+
+        private static ExecutorService newExecutor() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.xebia.archunit.incremental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The persistent state of {@link IncrementalRuleEvaluator}: for every class its content hash, its outgoing
+ * dependencies and the class local rules it passed, plus the global rules that passed on the whole class graph.
+ */
+final class ClassIndex {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, Entry> entries;
+    private final Set<String> passedGlobalRules;
+
+    ClassIndex(Map<String, Entry> entries, Set<String> passedGlobalRules) {
+        this.entries = entries;
+        this.passedGlobalRules = passedGlobalRules;
+    }
+
+    static ClassIndex empty() {
+        return new ClassIndex(Collections.emptyMap(), Collections.emptySet());
+    }
+
+    Entry get(String className) {
+        return entries.get(className);
+    }
+
+    Map<String, Entry> entries() {
+        return entries;
+    }
+
+    Set<String> passedGlobalRules() {
+        return passedGlobalRules;
+    }
+
+    /**
+     * @return the stored index, or an empty index if there is none or it cannot be read
+     */
+    static ClassIndex read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return empty();
+        }
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            if (data.readInt() != FORMAT_VERSION) {
+                return empty();
+            }
+            String[] ruleTable = readStrings(data);
+            Set<String> passedGlobalRules = new LinkedHashSet<>();
+            int globalCount = data.readInt();
+            for (int i = 0; i < globalCount; i++) {
+                passedGlobalRules.add(ruleTable[data.readInt()]);
+            }
+            int classCount = data.readInt();
+            Map<String, Entry> entries = new HashMap<>(classCount * 2);
+            for (int i = 0; i < classCount; i++) {
+                String name = data.readUTF();
+                byte[] hash = new byte[data.readUnsignedByte()];
+                data.readFully(hash);
+                Set<String> dependencies = new LinkedHashSet<>(Arrays.asList(readStrings(data)));
+                int passedCount = data.readInt();
+                Set<String> passedRules = new LinkedHashSet<>();
+                for (int j = 0; j < passedCount; j++) {
+                    passedRules.add(ruleTable[data.readInt()]);
+                }
+                entries.put(name, new Entry(hash, dependencies, passedRules));
+            }
+            return new ClassIndex(entries, passedGlobalRules);
+        } catch (IOException | RuntimeException e) {
+            return empty();
+        }
+    }
+
+    /**
+     * Writes to a temporary file first and moves it into place, so a crashed run never leaves a half written index.
+     */
+    void write(Path file) throws IOException {
+        Map<String, Integer> ruleIds = new HashMap<>();
+        for (String rule : passedGlobalRules) {
+            ruleIds.putIfAbsent(rule, ruleIds.size());
+        }
+        for (Entry entry : entries.values()) {
+            for (String rule : entry.passedRules) {
+                ruleIds.putIfAbsent(rule, ruleIds.size());
+            }
+        }
+        String[] ruleTable = new String[ruleIds.size()];
+        ruleIds.forEach((rule, id) -> ruleTable[id] = rule);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp);
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+            data.writeInt(FORMAT_VERSION);
+            writeStrings(data, Arrays.asList(ruleTable));
+            data.writeInt(passedGlobalRules.size());
+            for (String rule : passedGlobalRules) {
+                data.writeInt(ruleIds.get(rule));
+            }
+            data.writeInt(entries.size());
+            for (Map.Entry<String, Entry> classEntry : entries.entrySet()) {
+                Entry entry = classEntry.getValue();
+                data.writeUTF(classEntry.getKey());
+                data.writeByte(entry.hash.length);
+                data.write(entry.hash);
+                writeStrings(data, entry.dependencies);
+                data.writeInt(entry.passedRules.size());
+                for (String rule : entry.passedRules) {
+                    data.writeInt(ruleIds.get(rule));
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String[] readStrings(DataInputStream data) throws IOException {
+        String[] strings = new String[data.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = data.readUTF();
+        }
+        return strings;
+    }
+
+    private static void writeStrings(DataOutputStream data, Collection<String> strings) throws IOException {
+        data.writeInt(strings.size());
+        for (String string : strings) {
+            data.writeUTF(string);
+        }
+    }
+
+    static final class Entry {
+        private final byte[] hash;
+        private final Set<String> dependencies;
+        private final Set<String> passedRules;
+
+        Entry(byte[] hash, Set<String> dependencies, Set<String> passedRules) {
+            this.hash = hash;
+            this.dependencies = dependencies;
+            this.passedRules = passedRules;
+        }
+
+        boolean hasSameContentAs(byte[] otherHash) {
+            return otherHash != null && Arrays.equals(hash, otherHash);
+        }
+
+        byte[] hash() {
+            return hash;
+        }
+
+        Set<String> dependencies() {
+            return dependencies;
+        }
+
+        Set<String> passedRules() {
+            return passedRules;
+        }
+    }
+}
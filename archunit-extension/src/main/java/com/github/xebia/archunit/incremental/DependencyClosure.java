@@ -0,0 +1,61 @@
+package com.github.xebia.archunit.incremental;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transitive closures over a dependency graph given as the names of the classes every class depends on, for
+ * re-checking the classes affected by a change.
+ */
+public final class DependencyClosure {
+
+    private DependencyClosure() {
+    }
+
+    /**
+     * @return the classes together with every class depending on one of them, directly or transitively
+     */
+    public static Set<String> dependentsOf(Collection<String> classNames, Map<String, ? extends Collection<String>> dependencies) {
+        return closure(classNames, reverse(dependencies));
+    }
+
+    /**
+     * @return the classes together with every class one of them depends on, directly or transitively
+     */
+    public static Set<String> dependenciesOf(Collection<String> classNames, Map<String, ? extends Collection<String>> dependencies) {
+        return closure(classNames, dependencies);
+    }
+
+    private static Set<String> closure(Collection<String> classNames, Map<String, ? extends Collection<String>> edges) {
+        Set<String> closure = new LinkedHashSet<>(classNames);
+        Deque<String> pending = new ArrayDeque<>(closure);
+        while (!pending.isEmpty()) {
+            Collection<String> targets = edges.get(pending.pop());
+            if (targets == null) {
+                continue;
+            }
+            for (String next : targets) {
+                if (closure.add(next)) {
+                    pending.push(next);
+                }
+            }
+        }
+        return closure;
+    }
+
+    private static Map<String, Set<String>> reverse(Map<String, ? extends Collection<String>> dependencies) {
+        Map<String, Set<String>> dependents = new HashMap<>();
+        dependencies.forEach((origin, targets) -> {
+            for (String target : targets) {
+                dependents.computeIfAbsent(target, key -> new HashSet<>()).add(origin);
+            }
+        });
+        return dependents;
+    }
+}
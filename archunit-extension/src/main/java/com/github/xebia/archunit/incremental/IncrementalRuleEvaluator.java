@@ -0,0 +1,244 @@
+package com.github.xebia.archunit.incremental;
+
+import com.github.xebia.archunit.engine.ElementRule;
+import com.github.xebia.archunit.engine.RuleEvaluator;
+import com.github.xebia.archunit.engine.ViolatingObjects;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.Source;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.ViolationHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Re-checks only what may have changed since the previous run, based on an index of class file content hashes
+ * persisted under {@code target/}.
+ * <p>
+ * {@link ElementRule#isClassLocal() Class local rules} are evaluated only on classes that changed, that depend on a
+ * changed or removed class, directly or transitively, or that did not pass all of these rules last time. Any other
+ * element rule, e.g. one following calls into overriding methods, is skipped only if it passed last time and no class
+ * changed since. Every other rule, e.g. a slice rule, is skipped if it passed last time and no dependency edge between
+ * classes changed since. The actual evaluation is left to the given delegate.
+ * <p>
+ * The index is keyed by rule description. Delete it, e.g. with {@code mvn clean}, after upgrading this library.
+ */
+public final class IncrementalRuleEvaluator implements RuleEvaluator {
+
+    public static final Path DEFAULT_INDEX_FILE = Paths.get("target", "archunit", "incremental-index.bin");
+
+    private final Path indexFile;
+    private final RuleEvaluator delegate;
+
+    public IncrementalRuleEvaluator(RuleEvaluator delegate) {
+        this(DEFAULT_INDEX_FILE, delegate);
+    }
+
+    public IncrementalRuleEvaluator(Path indexFile, RuleEvaluator delegate) {
+        this.indexFile = indexFile;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Map<ArchRule, EvaluationResult> evaluate(JavaClasses classes, List<? extends ArchRule> rules) {
+        ClassIndex previous = ClassIndex.read(indexFile);
+        Map<String, byte[]> hashes = new HashMap<>();
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (JavaClass javaClass : classes) {
+            hashes.put(javaClass.getName(), contentHash(javaClass));
+            dependencies.put(javaClass.getName(), dependencyNamesOf(javaClass));
+        }
+
+        Set<String> changed = new HashSet<>();
+        boolean edgesChanged = false;
+        for (JavaClass javaClass : classes) {
+            ClassIndex.Entry entry = previous.get(javaClass.getName());
+            if (entry == null || !entry.hasSameContentAs(hashes.get(javaClass.getName()))) {
+                changed.add(javaClass.getName());
+                edgesChanged |= entry == null || !entry.dependencies().equals(dependencies.get(javaClass.getName()));
+            }
+        }
+        Set<String> removed = new HashSet<>(previous.entries().keySet());
+        removed.removeAll(hashes.keySet());
+        edgesChanged |= !removed.isEmpty();
+
+        // the edges of both runs, so that the classes that depended on a removed class are dirty as well
+        Map<String, Set<String>> edges = new HashMap<>();
+        previous.entries().forEach((name, entry) -> edges.put(name, new HashSet<>(entry.dependencies())));
+        dependencies.forEach((name, names) -> edges.computeIfAbsent(name, key -> new HashSet<>()).addAll(names));
+        Set<String> changedOrRemoved = new HashSet<>(changed);
+        changedOrRemoved.addAll(removed);
+        Set<String> dirty = DependencyClosure.dependentsOf(changedOrRemoved, edges);
+
+        List<ArchRule> classLocalRules = new ArrayList<>();
+        List<ArchRule> globalRules = new ArrayList<>();
+        Set<String> classLocalDescriptions = new LinkedHashSet<>();
+        for (ArchRule rule : rules) {
+            if (rule instanceof ElementRule && ((ElementRule<?>) rule).isClassLocal()) {
+                classLocalRules.add(rule);
+                classLocalDescriptions.add(rule.getDescription());
+            } else if (!previous.passedGlobalRules().contains(rule.getDescription())
+                    || (rule instanceof ElementRule ? !changedOrRemoved.isEmpty() : edgesChanged)) {
+                globalRules.add(rule);
+            }
+        }
+
+        Set<String> scope = new HashSet<>();
+        for (JavaClass javaClass : classes) {
+            ClassIndex.Entry entry = previous.get(javaClass.getName());
+            if (entry == null || dirty.contains(javaClass.getName())
+                    || !entry.passedRules().containsAll(classLocalDescriptions)) {
+                scope.add(javaClass.getName());
+            }
+        }
+        JavaClasses classesInScope = classes.that(new DescribedPredicate<JavaClass>("changed or previously violating") {
+            @Override
+            public boolean apply(JavaClass javaClass) {
+                return scope.contains(javaClass.getName());
+            }
+        });
+
+        Map<ArchRule, EvaluationResult> evaluated = new HashMap<>();
+        if (!classLocalRules.isEmpty() && !classesInScope.isEmpty()) {
+            evaluated.putAll(delegate.evaluate(classesInScope, classLocalRules));
+        }
+        if (!globalRules.isEmpty()) {
+            evaluated.putAll(delegate.evaluate(classes, globalRules));
+        }
+
+        Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+        for (ArchRule rule : rules) {
+            EvaluationResult result = evaluated.get(rule);
+            results.put(rule, result != null ? result : new EvaluationResult(rule, Priority.MEDIUM));
+        }
+
+        writeIndex(previous, classes, hashes, dependencies, dirty, classLocalRules, results, edgesChanged);
+        return results;
+    }
+
+    private void writeIndex(ClassIndex previous, JavaClasses classes, Map<String, byte[]> hashes,
+                            Map<String, Set<String>> dependencies, Set<String> dirty, List<ArchRule> classLocalRules,
+                            Map<ArchRule, EvaluationResult> results, boolean edgesChanged) {
+        Map<String, Set<String>> failedRules = new HashMap<>();
+        for (ArchRule rule : classLocalRules) {
+            EvaluationResult result = results.get(rule);
+            if (!result.hasViolation()) {
+                continue;
+            }
+            Set<String> violatingClasses = violatingClassesOf(result);
+            if (violatingClasses == null) {
+                violatingClasses = hashes.keySet();
+            }
+            for (String violatingClass : violatingClasses) {
+                failedRules.computeIfAbsent(violatingClass, key -> new HashSet<>()).add(rule.getDescription());
+            }
+        }
+
+        Map<String, ClassIndex.Entry> entries = new HashMap<>();
+        for (JavaClass javaClass : classes) {
+            String name = javaClass.getName();
+            ClassIndex.Entry entry = previous.get(name);
+            Set<String> passedRules = new LinkedHashSet<>();
+            if (entry != null && !dirty.contains(name)) {
+                passedRules.addAll(entry.passedRules());
+            }
+            for (ArchRule rule : classLocalRules) {
+                passedRules.remove(rule.getDescription());
+                if (!failedRules.getOrDefault(name, Collections.emptySet()).contains(rule.getDescription())) {
+                    passedRules.add(rule.getDescription());
+                }
+            }
+            byte[] hash = hashes.get(name);
+            entries.put(name, new ClassIndex.Entry(hash != null ? hash : new byte[0], dependencies.get(name), passedRules));
+        }
+
+        Set<String> passedGlobalRules = new LinkedHashSet<>();
+        if (!edgesChanged) {
+            passedGlobalRules.addAll(previous.passedGlobalRules());
+        }
+        results.forEach((rule, result) -> {
+            if (!classLocalRules.contains(rule)) {
+                passedGlobalRules.remove(rule.getDescription());
+                if (!result.hasViolation()) {
+                    passedGlobalRules.add(rule.getDescription());
+                }
+            }
+        });
+
+        try {
+            new ClassIndex(entries, passedGlobalRules).write(indexFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write incremental index " + indexFile, e);
+        }
+    }
+
+    /**
+     * @return the names of the classes the violations belong to, or {@code null} if some violation cannot be
+     * attributed to a class
+     */
+    private static Set<String> violatingClassesOf(EvaluationResult result) {
+        Set<String> violatingClasses = new HashSet<>();
+        boolean[] attributable = {true};
+        result.handleViolations(new ViolationHandler<Object>() {
+            @Override
+            public void handle(Collection<Object> violatingObjects, String message) {
+                for (Object violatingObject : violatingObjects) {
+                    JavaClass owner = ViolatingObjects.ownerOf(violatingObject);
+                    if (owner == null) {
+                        attributable[0] = false;
+                    } else {
+                        violatingClasses.add(owner.getName());
+                    }
+                }
+            }
+        });
+        return attributable[0] ? violatingClasses : null;
+    }
+
+    private static Set<String> dependencyNamesOf(JavaClass javaClass) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+            names.add(dependency.getTargetClass().getName());
+        }
+        names.remove(javaClass.getName());
+        return names;
+    }
+
+    private static byte[] contentHash(JavaClass javaClass) {
+        if (!javaClass.getSource().isPresent()) {
+            return null;
+        }
+        Source source = javaClass.getSource().get();
+        try (InputStream in = source.getUri().toURL().openStream()) {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+}
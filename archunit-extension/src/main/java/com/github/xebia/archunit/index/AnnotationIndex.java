@@ -0,0 +1,220 @@
+package com.github.xebia.archunit.index;
+
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaMember;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.properties.CanBeAnnotated;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Inverted index from annotation type name to the classes, fields, methods and constructors carrying it, built in a
+ * single pass over some {@link JavaClasses}.
+ * <p>
+ * Besides the annotations present on an element, the index resolves meta-annotations: an element is
+ * <em>meta-annotated</em> with an annotation if it is annotated with it directly or with an annotation that is itself
+ * (transitively) annotated with it, the way Spring treats {@code @Service} as a {@code @Component}. The annotations of
+ * annotation types outside the import, which ArchUnit does not resolve, are read from the class path. Elements are
+ * returned in import order.
+ */
+public final class AnnotationIndex {
+
+    private static final List<Entry> INDEXES = new ArrayList<>();
+    private static final ConcurrentMap<String, Set<String>> META_ANNOTATION_CLOSURES = new ConcurrentHashMap<>();
+
+    private final Lookup<JavaClass> classes = new Lookup<>();
+    private final Lookup<JavaField> fields = new Lookup<>();
+    private final Lookup<JavaMethod> methods = new Lookup<>();
+    private final Lookup<JavaConstructor> constructors = new Lookup<>();
+
+    private AnnotationIndex(JavaClasses javaClasses) {
+        for (JavaClass javaClass : javaClasses) {
+            classes.add(javaClass, javaClass.getAnnotations());
+            for (JavaField field : javaClass.getFields()) {
+                fields.add(field, field.getAnnotations());
+            }
+            for (JavaMethod method : javaClass.getMethods()) {
+                methods.add(method, method.getAnnotations());
+            }
+            for (JavaConstructor constructor : javaClass.getConstructors()) {
+                constructors.add(constructor, constructor.getAnnotations());
+            }
+        }
+    }
+
+    /**
+     * @return the index of exactly this {@link JavaClasses} instance, built on first request and released together
+     * with it
+     */
+    public static AnnotationIndex of(JavaClasses javaClasses) {
+        synchronized (INDEXES) {
+            for (Iterator<Entry> iterator = INDEXES.iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                JavaClasses indexed = entry.javaClasses.get();
+                if (indexed == null) {
+                    iterator.remove();
+                } else if (indexed == javaClasses) {
+                    return entry.index;
+                }
+            }
+            AnnotationIndex index = new AnnotationIndex(javaClasses);
+            INDEXES.add(new Entry(javaClasses, index));
+            return index;
+        }
+    }
+
+    /**
+     * Resolves meta-annotations of a single element without an index, consistently with the lookups of an index.
+     */
+    public static boolean isMetaAnnotatedWith(CanBeAnnotated element, String annotationType) {
+        for (JavaAnnotation<?> annotation : annotationsOf(element)) {
+            if (metaAnnotationClosure(annotation.getRawType()).contains(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<JavaClass> classesAnnotatedWith(String annotationType) {
+        return classes.direct(annotationType);
+    }
+
+    public Set<JavaClass> classesMetaAnnotatedWith(String annotationType) {
+        return classes.meta(annotationType);
+    }
+
+    public Set<JavaField> fieldsAnnotatedWith(String annotationType) {
+        return fields.direct(annotationType);
+    }
+
+    public Set<JavaField> fieldsMetaAnnotatedWith(String annotationType) {
+        return fields.meta(annotationType);
+    }
+
+    public Set<JavaMethod> methodsAnnotatedWith(String annotationType) {
+        return methods.direct(annotationType);
+    }
+
+    public Set<JavaMethod> methodsMetaAnnotatedWith(String annotationType) {
+        return methods.meta(annotationType);
+    }
+
+    public Set<JavaConstructor> constructorsAnnotatedWith(String annotationType) {
+        return constructors.direct(annotationType);
+    }
+
+    public Set<JavaConstructor> constructorsMetaAnnotatedWith(String annotationType) {
+        return constructors.meta(annotationType);
+    }
+
+    /**
+     * @return the names of all annotations an annotation type is transitively annotated with, including itself
+     */
+    private static Set<String> metaAnnotationClosure(JavaClass annotationType) {
+        Set<String> closure = META_ANNOTATION_CLOSURES.get(annotationType.getName());
+        if (closure == null) {
+            Set<String> collected = new LinkedHashSet<>();
+            collectMetaAnnotations(annotationType, collected);
+            closure = Collections.unmodifiableSet(collected);
+            META_ANNOTATION_CLOSURES.putIfAbsent(annotationType.getName(), closure);
+        }
+        return closure;
+    }
+
+    private static void collectMetaAnnotations(JavaClass annotationType, Set<String> closure) {
+        if (!closure.add(annotationType.getName()) || isJavaLangAnnotation(annotationType.getName())) {
+            return;
+        }
+        if (annotationType.getAnnotations().isEmpty()) {
+            // annotation types outside the import are resolved without their own annotations, every real one has at
+            // least @Retention or @Target
+            collectMetaAnnotationsFromClassPath(annotationType.getName(), closure);
+            return;
+        }
+        for (JavaAnnotation<JavaClass> metaAnnotation : annotationType.getAnnotations()) {
+            collectMetaAnnotations(metaAnnotation.getRawType(), closure);
+        }
+    }
+
+    private static void collectMetaAnnotationsFromClassPath(String annotationType, Set<String> closure) {
+        Class<?> type;
+        try {
+            type = Class.forName(annotationType, false, classLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return;
+        }
+        for (Annotation metaAnnotation : type.getAnnotations()) {
+            String name = metaAnnotation.annotationType().getName();
+            if (closure.add(name) && !isJavaLangAnnotation(name)) {
+                collectMetaAnnotationsFromClassPath(name, closure);
+            }
+        }
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : AnnotationIndex.class.getClassLoader();
+    }
+
+    private static boolean isJavaLangAnnotation(String annotationType) {
+        return annotationType.startsWith("java.lang.annotation.");
+    }
+
+    private static Set<? extends JavaAnnotation<?>> annotationsOf(CanBeAnnotated element) {
+        if (element instanceof JavaClass) {
+            return ((JavaClass) element).getAnnotations();
+        }
+        if (element instanceof JavaMember) {
+            return ((JavaMember) element).getAnnotations();
+        }
+        throw new IllegalArgumentException("Cannot read the annotations of " + element);
+    }
+
+    private static final class Lookup<T> {
+        private final Map<String, Set<T>> direct = new HashMap<>();
+        private final Map<String, Set<T>> meta = new HashMap<>();
+
+        private void add(T element, Set<? extends JavaAnnotation<?>> annotations) {
+            for (JavaAnnotation<?> annotation : annotations) {
+                JavaClass annotationType = annotation.getRawType();
+                direct.computeIfAbsent(annotationType.getName(), name -> new LinkedHashSet<>()).add(element);
+                for (String metaAnnotation : metaAnnotationClosure(annotationType)) {
+                    meta.computeIfAbsent(metaAnnotation, name -> new LinkedHashSet<>()).add(element);
+                }
+            }
+        }
+
+        private Set<T> direct(String annotationType) {
+            return Collections.unmodifiableSet(direct.getOrDefault(annotationType, Collections.emptySet()));
+        }
+
+        private Set<T> meta(String annotationType) {
+            return Collections.unmodifiableSet(meta.getOrDefault(annotationType, Collections.emptySet()));
+        }
+    }
+
+    private static final class Entry {
+        private final WeakReference<JavaClasses> javaClasses;
+        private final AnnotationIndex index;
+
+        private Entry(JavaClasses javaClasses, AnnotationIndex index) {
+            this.javaClasses = new WeakReference<>(javaClasses);
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.xebia.archunit.index;
+
+/**
+ * The part a class plays in a Spring Boot JPA application, as determined by {@link ClassRoleIndex}.
+ */
+public enum ClassRole {
+    /**
+     * annotated with {@code @javax.persistence.Entity}
+     */
+    ENTITY("entities"),
+    /**
+     * simple name ends with one of the configured DTO suffixes
+     */
+    DTO("DTOs"),
+    /**
+     * simple name ends with one of the configured utility class suffixes
+     */
+    UTIL("utility classes"),
+    /**
+     * name ends with {@code Repository}
+     */
+    REPOSITORY("repositories"),
+    /**
+     * annotated with {@code @RestController}
+     */
+    REST_CONTROLLER("REST controllers"),
+    /**
+     * annotated with {@code @Controller}
+     */
+    CONTROLLER("controllers"),
+    /**
+     * annotated with {@code @Service}
+     */
+    SERVICE("services"),
+    /**
+     * annotated with {@code @Component}
+     */
+    COMPONENT("components"),
+    /**
+     * annotated with {@code @Repository}
+     */
+    REPOSITORY_COMPONENT("repository components"),
+    /**
+     * annotated with {@code @ConfigurationProperties}
+     */
+    CONFIGURATION_PROPERTIES("configuration properties");
+
+    private final String description;
+
+    ClassRole(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    int mask() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,242 @@
+package com.github.xebia.archunit.index;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tags classes with their {@link ClassRole}s, given the suffixes that denote DTO and utility classes.
+ * <p>
+ * A single class is classified on the spot, which takes a suffix match or one annotation lookup per role and needs no
+ * shared state. {@link #index(JavaClasses)} classifies all classes of an import at once into an immutable
+ * {@link Classification}, shared per {@link JavaClasses} instance and suffix configuration and released together with
+ * the import. Rules select their classes from it through
+ * {@link com.github.xebia.archunit.engine.Elements#withRole(ClassRoleIndex, ClassRole)}.
+ */
+public final class ClassRoleIndex {
+
+    public static final Set<String> DEFAULT_DTO_SUFFIXES = Collections.singleton("Dto");
+    public static final Set<String> DEFAULT_UTIL_SUFFIXES = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("Util", "Utils")));
+
+    private static final SuffixMatcher REPOSITORY_SUFFIX = SuffixMatcher.of("Repository");
+    private static final List<Entry> CLASSIFICATIONS = new ArrayList<>();
+
+    private final Set<String> dtoSuffixNames;
+    private final Set<String> utilSuffixNames;
+    private final SuffixMatcher dtoSuffixes;
+    private final SuffixMatcher utilSuffixes;
+
+    private ClassRoleIndex(Set<String> dtoSuffixNames, Set<String> utilSuffixNames) {
+        this.dtoSuffixNames = dtoSuffixNames;
+        this.utilSuffixNames = utilSuffixNames;
+        this.dtoSuffixes = SuffixMatcher.of(dtoSuffixNames);
+        this.utilSuffixes = SuffixMatcher.of(utilSuffixNames);
+    }
+
+    /**
+     * @param dtoClassSuffixes  suffixes of DTO class names, {@link #DEFAULT_DTO_SUFFIXES} if empty
+     * @param utilClassSuffixes suffixes of utility class names, {@link #DEFAULT_UTIL_SUFFIXES} if empty
+     */
+    public static ClassRoleIndex of(Collection<String> dtoClassSuffixes, Collection<String> utilClassSuffixes) {
+        return new ClassRoleIndex(orDefault(dtoClassSuffixes, DEFAULT_DTO_SUFFIXES), orDefault(utilClassSuffixes, DEFAULT_UTIL_SUFFIXES));
+    }
+
+    /**
+     * @return the roles of all classes of exactly this {@link JavaClasses} instance, classified in a single pass on
+     * first request
+     */
+    public Classification index(JavaClasses classes) {
+        synchronized (CLASSIFICATIONS) {
+            for (Iterator<Entry> iterator = CLASSIFICATIONS.iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                JavaClasses classified = entry.javaClasses.get();
+                if (classified == null) {
+                    iterator.remove();
+                } else if (classified == classes && entry.matches(this)) {
+                    return entry.classification;
+                }
+            }
+        }
+        // classified outside the lock, two threads racing for the same import merely both do the work
+        Classification classification = new Classification(classes);
+        synchronized (CLASSIFICATIONS) {
+            CLASSIFICATIONS.add(new Entry(classes, this, classification));
+        }
+        return classification;
+    }
+
+    public boolean hasRole(JavaClass javaClass, ClassRole role) {
+        switch (role) {
+            case DTO:
+                return dtoSuffixes.matches(javaClass.getSimpleName());
+            case UTIL:
+                return utilSuffixes.matches(javaClass.getSimpleName());
+            case REPOSITORY:
+                return REPOSITORY_SUFFIX.matches(javaClass.getName());
+            case ENTITY:
+                return javaClass.isAnnotatedWith("javax.persistence.Entity");
+            case REST_CONTROLLER:
+                return javaClass.isAnnotatedWith("org.springframework.web.bind.annotation.RestController");
+            case CONTROLLER:
+                return javaClass.isAnnotatedWith("org.springframework.stereotype.Controller");
+            case SERVICE:
+                return javaClass.isAnnotatedWith("org.springframework.stereotype.Service");
+            case COMPONENT:
+                return javaClass.isAnnotatedWith("org.springframework.stereotype.Component");
+            case REPOSITORY_COMPONENT:
+                return javaClass.isAnnotatedWith("org.springframework.stereotype.Repository");
+            case CONFIGURATION_PROPERTIES:
+                return javaClass.isAnnotatedWith("org.springframework.boot.context.properties.ConfigurationProperties");
+            default:
+                throw new IllegalArgumentException("Unknown role " + role);
+        }
+    }
+
+    public Set<ClassRole> rolesOf(JavaClass javaClass) {
+        return rolesOf(maskOf(javaClass));
+    }
+
+    /**
+     * @return whether a type name, e.g. taken from a generic signature, ends with one of the DTO suffixes
+     */
+    public boolean isDtoTypeName(CharSequence typeName) {
+        return dtoSuffixes.matches(typeName);
+    }
+
+    /**
+     * @return whether a class name denotes a {@link ClassRole#REPOSITORY}
+     */
+    public boolean isRepositoryTypeName(CharSequence typeName) {
+        return REPOSITORY_SUFFIX.matches(typeName);
+    }
+
+    public DescribedPredicate<JavaClass> withRole(ClassRole role) {
+        return new DescribedPredicate<JavaClass>(role.getDescription()) {
+            @Override
+            public boolean apply(JavaClass javaClass) {
+                return hasRole(javaClass, role);
+            }
+        };
+    }
+
+    private int maskOf(JavaClass javaClass) {
+        int mask = 0;
+        for (ClassRole role : ClassRole.values()) {
+            mask |= hasRole(javaClass, role) ? role.mask() : 0;
+        }
+        return mask;
+    }
+
+    private static Set<ClassRole> rolesOf(int mask) {
+        Set<ClassRole> result = EnumSet.noneOf(ClassRole.class);
+        for (ClassRole role : ClassRole.values()) {
+            if ((mask & role.mask()) != 0) {
+                result.add(role);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> orDefault(Collection<String> suffixes, Set<String> defaults) {
+        return suffixes == null || suffixes.isEmpty() ? defaults : new LinkedHashSet<>(suffixes);
+    }
+
+    /**
+     * The roles of all classes of one import, immutable once built and therefore safe to read from any thread.
+     * <p>
+     * The role masks are kept in an open addressing table keyed by the identity of the classes, so a lookup neither
+     * allocates nor boxes.
+     */
+    public final class Classification {
+        private final JavaClass[] classes;
+        private final int[] masks;
+        private final Map<ClassRole, List<JavaClass>> classesByRole = new EnumMap<>(ClassRole.class);
+
+        private Classification(JavaClasses javaClasses) {
+            int capacity = Integer.highestOneBit(Math.max(javaClasses.size(), 1) * 2 - 1) << 1;
+            this.classes = new JavaClass[capacity];
+            this.masks = new int[capacity];
+            for (ClassRole role : ClassRole.values()) {
+                classesByRole.put(role, new ArrayList<>());
+            }
+            for (JavaClass javaClass : javaClasses) {
+                int mask = maskOf(javaClass);
+                int slot = slotOf(javaClass);
+                classes[slot] = javaClass;
+                masks[slot] = mask;
+                for (ClassRole role : ClassRole.values()) {
+                    if ((mask & role.mask()) != 0) {
+                        classesByRole.get(role).add(javaClass);
+                    }
+                }
+            }
+            classesByRole.replaceAll((role, roleClasses) -> Collections.unmodifiableList(roleClasses));
+        }
+
+        /**
+         * @return the slot holding the class, or the empty slot where it belongs
+         */
+        private int slotOf(JavaClass javaClass) {
+            int slot = System.identityHashCode(javaClass) & (classes.length - 1);
+            while (classes[slot] != null && classes[slot] != javaClass) {
+                slot = (slot + 1) & (classes.length - 1);
+            }
+            return slot;
+        }
+
+        private int maskOrClassify(JavaClass javaClass) {
+            int slot = slotOf(javaClass);
+            return classes[slot] != null ? masks[slot] : maskOf(javaClass);
+        }
+
+        /**
+         * @return whether the class has the role, classes outside the import are classified on the spot
+         */
+        public boolean hasRole(JavaClass javaClass, ClassRole role) {
+            return (maskOrClassify(javaClass) & role.mask()) != 0;
+        }
+
+        public Set<ClassRole> rolesOf(JavaClass javaClass) {
+            return ClassRoleIndex.rolesOf(maskOrClassify(javaClass));
+        }
+
+        /**
+         * @return the classes of the import with the role, in import order
+         */
+        public List<JavaClass> classesWithRole(ClassRole role) {
+            return classesByRole.get(role);
+        }
+    }
+
+    private static final class Entry {
+        private final WeakReference<JavaClasses> javaClasses;
+        private final Set<String> dtoSuffixes;
+        private final Set<String> utilSuffixes;
+        private final Classification classification;
+
+        private Entry(JavaClasses javaClasses, ClassRoleIndex index, Classification classification) {
+            this.javaClasses = new WeakReference<>(javaClasses);
+            this.dtoSuffixes = index.dtoSuffixNames;
+            this.utilSuffixes = index.utilSuffixNames;
+            this.classification = classification;
+        }
+
+        private boolean matches(ClassRoleIndex index) {
+            return dtoSuffixes.equals(index.dtoSuffixNames) && utilSuffixes.equals(index.utilSuffixNames);
+        }
+    }
+}
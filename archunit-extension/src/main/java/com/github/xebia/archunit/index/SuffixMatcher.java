@@ -0,0 +1,102 @@
+package com.github.xebia.archunit.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Matches names against a fixed set of suffixes with a trie compiled over the reversed suffixes.
+ * <p>
+ * A match walks the name backwards at most as far as the longest suffix and allocates nothing, whatever the number
+ * of suffixes.
+ */
+public final class SuffixMatcher {
+
+    private final Node root;
+    private final Set<String> suffixes;
+
+    private SuffixMatcher(Collection<String> suffixes) {
+        this.suffixes = Collections.unmodifiableSet(new LinkedHashSet<>(suffixes));
+        this.root = new Node();
+        for (String suffix : this.suffixes) {
+            Node node = root;
+            for (int i = suffix.length() - 1; i >= 0; i--) {
+                node = node.childOrCreate(suffix.charAt(i));
+            }
+            node.terminal = true;
+        }
+    }
+
+    public static SuffixMatcher of(String... suffixes) {
+        return of(Arrays.asList(suffixes));
+    }
+
+    public static SuffixMatcher of(Collection<String> suffixes) {
+        return new SuffixMatcher(suffixes);
+    }
+
+    public boolean matches(CharSequence name) {
+        Node node = root;
+        if (node.terminal) {
+            return true;
+        }
+        for (int i = name.length() - 1; i >= 0; i--) {
+            node = node.child(name.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> getSuffixes() {
+        return suffixes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof SuffixMatcher && suffixes.equals(((SuffixMatcher) o).suffixes));
+    }
+
+    @Override
+    public int hashCode() {
+        return suffixes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SuffixMatcher" + suffixes;
+    }
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        private Node child(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char label) {
+            Node child = child(label);
+            if (child == null) {
+                child = new Node();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                labels[labels.length - 1] = label;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.xebia.archunit.metrics;
+
+/**
+ * What importing some locations cost.
+ */
+public final class ImportMetrics {
+
+    private final String locations;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final int classes;
+
+    public ImportMetrics(String locations, Measurement measurement, int classes) {
+        this.locations = locations;
+        this.wallNanos = measurement.getWallNanos();
+        this.cpuNanos = measurement.getCpuNanos();
+        this.allocatedBytes = measurement.getAllocatedBytes();
+        this.classes = classes;
+    }
+
+    /**
+     * @return a description of the imported locations
+     */
+    public String getLocations() {
+        return locations;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return the CPU time of the importing thread, -1 if not available
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * @return the bytes allocated by the importing thread, -1 if not available
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public int getClasses() {
+        return classes;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportMetrics{locations='" + locations + "', wallNanos=" + wallNanos + ", cpuNanos=" + cpuNanos
+                + ", allocatedBytes=" + allocatedBytes + ", classes=" + classes + '}';
+    }
+}
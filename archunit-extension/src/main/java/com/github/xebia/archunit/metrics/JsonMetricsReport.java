@@ -0,0 +1,65 @@
+package com.github.xebia.archunit.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import static com.github.xebia.archunit.report.Json.quote;
+
+/**
+ * Writes import and rule metrics as a JSON document:
+ * <pre>
+ * {"imports": [{"locations": ..., "classes": ..., "wallNanos": ..., "cpuNanos": ..., "allocatedBytes": ...}],
+ *  "rules": [{"rule": ..., "wallNanos": ..., "cpuNanos": ..., "allocatedBytes": ..., "elements": ..., "events": ...,
+ *             "violations": ..., "budgetNanos": ..., "overBudget": ...}]}
+ * </pre>
+ * Unknown numbers are written as -1.
+ */
+final class JsonMetricsReport {
+
+    private JsonMetricsReport() {
+    }
+
+    /**
+     * Writes to a temporary file first and moves it into place, so a crashed run never leaves a half written report.
+     */
+    static void write(Path file, List<ImportMetrics> imports, List<RuleMetrics> rules) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write("{\n  \"imports\": [");
+            for (int i = 0; i < imports.size(); i++) {
+                ImportMetrics metrics = imports.get(i);
+                out.write(i == 0 ? "\n    {" : ",\n    {");
+                out.write("\"locations\": " + quote(metrics.getLocations()));
+                out.write(", \"classes\": " + metrics.getClasses());
+                out.write(", \"wallNanos\": " + metrics.getWallNanos());
+                out.write(", \"cpuNanos\": " + metrics.getCpuNanos());
+                out.write(", \"allocatedBytes\": " + metrics.getAllocatedBytes());
+                out.write("}");
+            }
+            out.write("\n  ],\n  \"rules\": [");
+            for (int i = 0; i < rules.size(); i++) {
+                RuleMetrics metrics = rules.get(i);
+                out.write(i == 0 ? "\n    {" : ",\n    {");
+                out.write("\"rule\": " + quote(metrics.getRule()));
+                out.write(", \"wallNanos\": " + metrics.getWallNanos());
+                out.write(", \"cpuNanos\": " + metrics.getCpuNanos());
+                out.write(", \"allocatedBytes\": " + metrics.getAllocatedBytes());
+                out.write(", \"elements\": " + metrics.getElements());
+                out.write(", \"events\": " + metrics.getEvents());
+                out.write(", \"violations\": " + metrics.getViolations());
+                out.write(", \"budgetNanos\": " + metrics.getBudgetNanos());
+                out.write(", \"overBudget\": " + metrics.isOverBudget());
+                out.write("}");
+            }
+            out.write("\n  ]\n}\n");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.xebia.archunit.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Wall time, CPU time and allocated bytes of the current thread between {@link #start()} and {@link #stop()}.
+ * <p>
+ * CPU time and allocated bytes are -1 if the JVM cannot measure them.
+ */
+public final class Measurement {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Thread thread;
+    private final long startWall;
+    private final long startCpu;
+    private final long startAllocated;
+    private long wallNanos = -1;
+    private long cpuNanos = -1;
+    private long allocatedBytes = -1;
+
+    private Measurement() {
+        this.thread = Thread.currentThread();
+        this.startAllocated = allocatedBytes();
+        this.startCpu = cpuTime();
+        this.startWall = System.nanoTime();
+    }
+
+    public static Measurement start() {
+        return new Measurement();
+    }
+
+    /**
+     * Must be called on the thread that started the measurement.
+     */
+    public Measurement stop() {
+        if (Thread.currentThread() != thread) {
+            throw new IllegalStateException("A measurement must be stopped by the thread that started it");
+        }
+        wallNanos = System.nanoTime() - startWall;
+        long cpu = cpuTime();
+        cpuNanos = startCpu < 0 || cpu < 0 ? -1 : cpu - startCpu;
+        long allocated = allocatedBytes();
+        allocatedBytes = startAllocated < 0 || allocated < 0 ? -1 : allocated - startAllocated;
+        return this;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.xebia.archunit.metrics;
+
+import com.github.xebia.archunit.engine.ElementRule;
+import com.github.xebia.archunit.engine.RuleEvaluator;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.ViolationHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates rules one after the other on the calling thread and records what each of them costs: wall time, CPU
+ * time, allocated bytes, selected elements, condition events and violations.
+ * <p>
+ * Every rule is measured on its own, so the numbers are exact, at the price of not sharing a traversal between rules
+ * like the {@link com.github.xebia.archunit.engine.SinglePassRuleEngine} does. The metrics of every rule are handed to
+ * the {@link MetricsListener}s. After every batch the metrics of all batches and imports of this JVM are written as
+ * JSON to {@link #DEFAULT_REPORT_FILE}, so the report of a test run covers all its test classes.
+ * <p>
+ * Only {@link ElementRule}s tell their selected elements and condition events apart, other rules report -1 for
+ * both.
+ * <p>
+ * A rule that takes longer than its time budget fails with an additional violation.
+ */
+public final class MeteredRuleEvaluator implements RuleEvaluator {
+
+    public static final Path DEFAULT_REPORT_FILE = Paths.get("target", "archunit", "rule-metrics.json");
+
+    private final Path reportFile;
+    private final List<MetricsListener> listeners;
+    private final Map<String, Duration> timeBudgets;
+    private final Duration defaultTimeBudget;
+
+    public MeteredRuleEvaluator() {
+        this(DEFAULT_REPORT_FILE);
+    }
+
+    public MeteredRuleEvaluator(Path reportFile) {
+        this(reportFile, Collections.emptyList(), Collections.emptyMap(), null);
+    }
+
+    private MeteredRuleEvaluator(Path reportFile, List<MetricsListener> listeners, Map<String, Duration> timeBudgets, Duration defaultTimeBudget) {
+        this.reportFile = reportFile;
+        this.listeners = Collections.unmodifiableList(listeners);
+        this.timeBudgets = Collections.unmodifiableMap(timeBudgets);
+        this.defaultTimeBudget = defaultTimeBudget;
+    }
+
+    public MeteredRuleEvaluator withListener(MetricsListener listener) {
+        List<MetricsListener> newListeners = new ArrayList<>(listeners);
+        newListeners.add(listener);
+        return new MeteredRuleEvaluator(reportFile, newListeners, timeBudgets, defaultTimeBudget);
+    }
+
+    /**
+     * @param ruleDescription the description of the rule, as reported by {@link ArchRule#getDescription()}
+     */
+    public MeteredRuleEvaluator withTimeBudget(String ruleDescription, Duration budget) {
+        Map<String, Duration> newTimeBudgets = new HashMap<>(timeBudgets);
+        newTimeBudgets.put(ruleDescription, checkBudget(budget));
+        return new MeteredRuleEvaluator(reportFile, listeners, newTimeBudgets, defaultTimeBudget);
+    }
+
+    /**
+     * Sets the budget of all rules without a budget of their own.
+     */
+    public MeteredRuleEvaluator withDefaultTimeBudget(Duration budget) {
+        return new MeteredRuleEvaluator(reportFile, listeners, timeBudgets, checkBudget(budget));
+    }
+
+    private static Duration checkBudget(Duration budget) {
+        if (budget == null || budget.isNegative()) {
+            throw new IllegalArgumentException("A time budget must not be negative");
+        }
+        return budget;
+    }
+
+    @Override
+    public Map<ArchRule, EvaluationResult> evaluate(JavaClasses classes, List<? extends ArchRule> rules) {
+        Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+        List<RuleMetrics> ruleMetrics = new ArrayList<>();
+        for (ArchRule rule : rules) {
+            Duration budget = timeBudgets.getOrDefault(rule.getDescription(), defaultTimeBudget);
+            Evaluation evaluation = rule instanceof ElementRule ? evaluateElementRule((ElementRule<?>) rule, classes) : evaluateRule(rule, classes);
+            RuleMetrics metrics = new RuleMetrics(rule.getDescription(), evaluation.measurement, evaluation.elements,
+                    evaluation.events, countViolations(evaluation.result), budget != null ? budget.toNanos() : -1);
+            if (metrics.isOverBudget()) {
+                evaluation.result.add(overBudget(rule, metrics));
+            }
+            ruleMetrics.add(metrics);
+            results.put(rule, evaluation.result);
+            for (MetricsListener listener : allListeners()) {
+                listener.ruleEvaluated(metrics);
+            }
+        }
+        List<RuleMetrics> reported = Metrics.rulesEvaluated(reportFile, ruleMetrics);
+        try {
+            synchronized (reported) {
+                JsonMetricsReport.write(reportFile, Metrics.imports(), reported);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write metrics report " + reportFile, e);
+        }
+        return results;
+    }
+
+    private static <T> Evaluation evaluateElementRule(ElementRule<T> rule, JavaClasses classes) {
+        Measurement measurement = Measurement.start();
+        ConditionEvents events = new ConditionEvents();
+        ArchCondition<? super T> condition = rule.getCondition();
+        List<T> elements = new ArrayList<>();
+        for (T element : rule.getElements().transform(classes)) {
+            elements.add(element);
+        }
+        initialize(condition, elements);
+        for (T element : elements) {
+            condition.check(element, events);
+        }
+        condition.finish(events);
+        EvaluationResult result = new EvaluationResult(rule, events, Priority.MEDIUM);
+        measurement.stop();
+        return new Evaluation(result, measurement, elements.size(), events.getAllowed().size() + events.getViolating().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> void initialize(ArchCondition<C> condition, Iterable<?> allObjectsToTest) {
+        condition.init((Iterable<C>) allObjectsToTest);
+    }
+
+    private static Evaluation evaluateRule(ArchRule rule, JavaClasses classes) {
+        Measurement measurement = Measurement.start();
+        EvaluationResult result = rule.evaluate(classes);
+        measurement.stop();
+        return new Evaluation(result, measurement, -1, -1);
+    }
+
+    private static int countViolations(EvaluationResult result) {
+        int[] violations = new int[1];
+        result.handleViolations(new ViolationHandler<Object>() {
+            @Override
+            public void handle(Collection<Object> violatingObjects, String message) {
+                violations[0]++;
+            }
+        });
+        return violations[0];
+    }
+
+    private static EvaluationResult overBudget(ArchRule rule, RuleMetrics metrics) {
+        ConditionEvents events = new ConditionEvents();
+        events.add(SimpleConditionEvent.violated(rule, String.format("Rule took %d ms, exceeding its time budget of %d ms",
+                metrics.getWallNanos() / 1_000_000, metrics.getBudgetNanos() / 1_000_000)));
+        return new EvaluationResult(rule, events, Priority.MEDIUM);
+    }
+
+    private List<MetricsListener> allListeners() {
+        List<MetricsListener> allListeners = new ArrayList<>(Metrics.serviceListeners());
+        allListeners.addAll(listeners);
+        return allListeners;
+    }
+
+    private static final class Evaluation {
+        private final EvaluationResult result;
+        private final Measurement measurement;
+        private final int elements;
+        private final int events;
+
+        private Evaluation(EvaluationResult result, Measurement measurement, int elements, int events) {
+            this.result = result;
+            this.measurement = measurement;
+            this.elements = elements;
+            this.events = events;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.xebia.archunit.metrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * JVM wide record of the imports and rule evaluations of this JVM and the {@link MetricsListener}s registered through
+ * {@link ServiceLoader}.
+ */
+public final class Metrics {
+
+    private static final List<ImportMetrics> IMPORTS = new CopyOnWriteArrayList<>();
+    private static final ConcurrentMap<Path, List<RuleMetrics>> RULES_BY_REPORT = new ConcurrentHashMap<>();
+    private static volatile List<MetricsListener> serviceListeners;
+
+    private Metrics() {
+    }
+
+    public static void importFinished(ImportMetrics metrics) {
+        IMPORTS.add(metrics);
+        for (MetricsListener listener : serviceListeners()) {
+            listener.importFinished(metrics);
+        }
+    }
+
+    /**
+     * @return all imports recorded so far
+     */
+    public static List<ImportMetrics> imports() {
+        return Collections.unmodifiableList(new ArrayList<>(IMPORTS));
+    }
+
+    /**
+     * Adds the metrics of a batch of rules to those recorded for the same report file.
+     *
+     * @return the list of all rule metrics of the report, callers must hold its lock while reading it
+     */
+    static List<RuleMetrics> rulesEvaluated(Path reportFile, List<RuleMetrics> rules) {
+        List<RuleMetrics> reported = RULES_BY_REPORT.computeIfAbsent(reportFile.toAbsolutePath().normalize(), file -> new ArrayList<>());
+        synchronized (reported) {
+            reported.addAll(rules);
+        }
+        return reported;
+    }
+
+    static List<MetricsListener> serviceListeners() {
+        List<MetricsListener> listeners = serviceListeners;
+        if (listeners == null) {
+            List<MetricsListener> loaded = new ArrayList<>();
+            for (MetricsListener listener : ServiceLoader.load(MetricsListener.class)) {
+                loaded.add(listener);
+            }
+            listeners = Collections.unmodifiableList(loaded);
+            serviceListeners = listeners;
+        }
+        return listeners;
+    }
+}
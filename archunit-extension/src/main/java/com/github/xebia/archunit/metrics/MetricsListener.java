@@ -0,0 +1,16 @@
+package com.github.xebia.archunit.metrics;
+
+/**
+ * Receives the metrics of imports and rule evaluations, e.g. to push them to a CI dashboard.
+ * <p>
+ * Implementations listed in {@code META-INF/services/com.github.xebia.archunit.metrics.MetricsListener} are picked up
+ * automatically, others can be added with {@link MeteredRuleEvaluator#withListener(MetricsListener)}.
+ */
+public interface MetricsListener {
+
+    default void importFinished(ImportMetrics metrics) {
+    }
+
+    default void ruleEvaluated(RuleMetrics metrics) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.xebia.archunit.metrics;
+
+/**
+ * What evaluating a single rule cost.
+ */
+public final class RuleMetrics {
+
+    private final String rule;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final int elements;
+    private final int events;
+    private final int violations;
+    private final long budgetNanos;
+
+    RuleMetrics(String rule, Measurement measurement, int elements, int events, int violations, long budgetNanos) {
+        this.rule = rule;
+        this.wallNanos = measurement.getWallNanos();
+        this.cpuNanos = measurement.getCpuNanos();
+        this.allocatedBytes = measurement.getAllocatedBytes();
+        this.elements = elements;
+        this.events = events;
+        this.violations = violations;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * @return the description of the rule
+     */
+    public String getRule() {
+        return rule;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return the CPU time of the evaluating thread, -1 if not available
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * @return the bytes allocated by the evaluating thread, -1 if not available
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return the number of elements the rule selected, -1 for rules that are not
+     * {@link com.github.xebia.archunit.engine.ElementRule}s
+     */
+    public int getElements() {
+        return elements;
+    }
+
+    /**
+     * @return the number of condition events, -1 for rules that are not
+     * {@link com.github.xebia.archunit.engine.ElementRule}s
+     */
+    public int getEvents() {
+        return events;
+    }
+
+    public int getViolations() {
+        return violations;
+    }
+
+    /**
+     * @return the time budget of the rule, -1 if it has none
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public boolean isOverBudget() {
+        return budgetNanos >= 0 && wallNanos > budgetNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleMetrics{rule='" + rule + "', wallNanos=" + wallNanos + ", cpuNanos=" + cpuNanos
+                + ", allocatedBytes=" + allocatedBytes + ", elements=" + elements + ", events=" + events
+                + ", violations=" + violations + ", budgetNanos=" + budgetNanos + '}';
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.xebia.archunit.report;
+
+import com.github.xebia.archunit.engine.ViolatingObjects;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaAccess;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaMember;
+import com.tngtech.archunit.core.domain.properties.HasSourceCodeLocation;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One violation of a rule, with the class or member it was reported for and the source location, as far as ArchUnit
+ * knows them.
+ */
+final class ViolationRecord {
+
+    private static final Pattern SOURCE_CODE_LOCATION = Pattern.compile("\\(([^():\\s]+):(\\d+)\\)");
+
+    private final String element;
+    private final boolean member;
+    private final String file;
+    private final int line;
+    private final String message;
+
+    private ViolationRecord(String element, boolean member, String file, int line, String message) {
+        this.element = element;
+        this.member = member;
+        this.file = file;
+        this.line = line;
+        this.message = message;
+    }
+
+    /**
+     * ArchUnit 0.14 only exposes source code locations as {@code (Foo.java:12)}, so they are parsed from there. Classes
+     * and fields have no line of their own, in that case the first location of the same file in the message is used,
+     * e.g. that of an access.
+     */
+    static ViolationRecord of(Object violatingObject, String message) {
+        String element = elementOf(violatingObject);
+        JavaClass owner = ViolatingObjects.ownerOf(violatingObject);
+        if (owner == null || !(violatingObject instanceof HasSourceCodeLocation)) {
+            return new ViolationRecord(element, false, null, 0, message);
+        }
+        boolean member = violatingObject instanceof JavaMember || violatingObject instanceof JavaAccess;
+        Matcher location = SOURCE_CODE_LOCATION.matcher(((HasSourceCodeLocation) violatingObject).getSourceCodeLocation().toString());
+        if (!location.matches()) {
+            return new ViolationRecord(element, member, null, 0, message);
+        }
+        String fileName = location.group(1);
+        int line = Integer.parseInt(location.group(2));
+        if (line == 0) {
+            Matcher messageLocation = SOURCE_CODE_LOCATION.matcher(message);
+            while (messageLocation.find()) {
+                if (messageLocation.group(1).equals(fileName)) {
+                    line = Integer.parseInt(messageLocation.group(2));
+                    break;
+                }
+            }
+        }
+        String packagePath = owner.getPackageName().replace('.', '/');
+        return new ViolationRecord(element, member, packagePath.isEmpty() ? fileName : packagePath + "/" + fileName, line, message);
+    }
+
+    private static String elementOf(Object violatingObject) {
+        if (violatingObject instanceof JavaClass) {
+            return ((JavaClass) violatingObject).getName();
+        }
+        if (violatingObject instanceof JavaMember) {
+            return ((JavaMember) violatingObject).getFullName();
+        }
+        if (violatingObject instanceof JavaAccess) {
+            return ((JavaAccess<?>) violatingObject).getOrigin().getFullName();
+        }
+        if (violatingObject instanceof Dependency) {
+            return ((Dependency) violatingObject).getOriginClass().getName();
+        }
+        return null;
+    }
+
+    /**
+     * @return the full name of the class or member, or {@code null} if the violation was reported for anything else,
+     * e.g. a slice
+     */
+    String getElement() {
+        return element;
+    }
+
+    boolean isMember() {
+        return member;
+    }
+
+    /**
+     * @return the path of the source file relative to the source root, e.g. {@code com/example/Foo.java}, or
+     * {@code null}
+     */
+    String getFile() {
+        return file;
+    }
+
+    /**
+     * @return the line number, or {@code 0} if unknown
+     */
+    int getLine() {
+        return line;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,286 @@
+package com.github.xebia.archunit.report;
+
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.ViolationHandler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.github.xebia.archunit.report.Json.quote;
+
+/**
+ * Writes the violations of rules to a SARIF 2.1.0 log, e.g. for a code scanning dashboard, and to a JSON Lines file
+ * with one violation per line:
+ * <pre>
+ * {"ruleId": ..., "rule": ..., "element": ..., "file": ..., "line": ..., "message": ...}
+ * </pre>
+ * {@code element}, {@code file} and {@code line} are left out when unknown.
+ * <p>
+ * Violations are written to the files one at a time, without building the failure report of a rule, so only the
+ * assertion message stays short. The {@link EvaluationResult} passed in still holds every violation of the rule, as
+ * ArchUnit collects them during the evaluation. The results of the SARIF log are followed by the tool and its
+ * rules; every write appends to the results and rewrites just this short tail, so both files are complete after every
+ * rule.
+ * <p>
+ * The SARIF locations are relative to the source root, e.g. {@code src/main/java}, given as {@code SRCROOT} among the
+ * {@code originalUriBaseIds} of the run.
+ * <p>
+ * A report replaces the files of an earlier report at its first write. The reports returned by {@link #of(Path)} are
+ * shared by all test classes of a JVM; such a report starts over when its files were deleted or changed by someone
+ * else since its last write, e.g. by {@code mvn clean} between two builds in the same JVM.
+ */
+public final class ViolationReport {
+
+    public static final Path DEFAULT_DIRECTORY = Paths.get("target", "archunit");
+
+    private static final String SARIF_FILE = "violations.sarif";
+    private static final String JSON_LINES_FILE = "violations.jsonl";
+    private static final String TOOL_NAME = "xebia-archunit-extension";
+    private static final String SOURCE_ROOT_ID = "SRCROOT";
+    private static final Path DEFAULT_SOURCE_ROOT = Paths.get("src", "main", "java");
+
+    private static final ConcurrentMap<Path, ViolationReport> REPORTS = new ConcurrentHashMap<>();
+
+    private final Path sarifFile;
+    private final Path jsonLinesFile;
+    private final Path sourceRoot;
+    private final Map<String, String> rulesById = new LinkedHashMap<>();
+    private long resultsEnd = -1;
+    private boolean hasResults;
+    private long sarifSize;
+    private long jsonLinesSize;
+    private FileTime sarifModified;
+
+    private ViolationReport(Path directory, Path sourceRoot) {
+        this.sarifFile = directory.resolve(SARIF_FILE);
+        this.jsonLinesFile = directory.resolve(JSON_LINES_FILE);
+        this.sourceRoot = sourceRoot.toAbsolutePath().normalize();
+    }
+
+    /**
+     * @return the report in {@link #DEFAULT_DIRECTORY}
+     */
+    public static ViolationReport of() {
+        return of(DEFAULT_DIRECTORY);
+    }
+
+    /**
+     * @return the report in {@code directory}, shared by all callers of this JVM, with locations relative to
+     * {@code src/main/java}
+     */
+    public static ViolationReport of(Path directory) {
+        return REPORTS.computeIfAbsent(directory.toAbsolutePath().normalize(), key -> new ViolationReport(key, DEFAULT_SOURCE_ROOT));
+    }
+
+    /**
+     * @return a new report in {@code directory}, not shared with any other caller, with locations relative to
+     * {@code sourceRoot}
+     */
+    public static ViolationReport create(Path directory, Path sourceRoot) {
+        return new ViolationReport(directory.toAbsolutePath().normalize(), sourceRoot);
+    }
+
+    public Path getSarifFile() {
+        return sarifFile;
+    }
+
+    public Path getJsonLinesFile() {
+        return jsonLinesFile;
+    }
+
+    /**
+     * Appends the violations of the rule to the report.
+     *
+     * @return the number of violations written
+     */
+    public synchronized int write(ArchRule rule, EvaluationResult result) {
+        String ruleId = idOf(rule.getDescription());
+        String level = result.getPriority() == Priority.LOW ? "warning" : "error";
+        try {
+            if (resultsEnd < 0 || !isUnchangedSinceLastWrite()) {
+                start();
+            }
+            rulesById.putIfAbsent(ruleId, rule.getDescription());
+            int count;
+            try (FileChannel sarif = FileChannel.open(sarifFile, StandardOpenOption.WRITE);
+                 Writer jsonLines = Files.newBufferedWriter(jsonLinesFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+                sarif.position(resultsEnd);
+                Writer sarifResults = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(sarif), StandardCharsets.UTF_8));
+                RecordWriter records = new RecordWriter(ruleId, rule.getDescription(), level, sarifResults, jsonLines);
+                result.handleViolations(records);
+                if (records.ioException != null) {
+                    throw records.ioException;
+                }
+                sarifResults.flush();
+                resultsEnd = sarif.position();
+                writeTail(sarifResults);
+                sarifResults.flush();
+                sarif.truncate(sarif.position());
+                sarifSize = sarif.position();
+                count = records.count;
+            }
+            jsonLinesSize = Files.size(jsonLinesFile);
+            sarifModified = Files.getLastModifiedTime(sarifFile);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write violation report " + sarifFile.getParent(), e);
+        }
+    }
+
+    /**
+     * @return whether the files are still the ones of the last write, so that results can be appended to them
+     */
+    private boolean isUnchangedSinceLastWrite() throws IOException {
+        try {
+            return Files.size(sarifFile) == sarifSize && Files.size(jsonLinesFile) == jsonLinesSize
+                    && Files.getLastModifiedTime(sarifFile).equals(sarifModified);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void start() throws IOException {
+        Files.createDirectories(sarifFile.getParent());
+        String sourceRootUri = sourceRoot.toUri().toString();
+        String head = "{\n  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",\n  \"version\": \"2.1.0\",\n"
+                + "  \"runs\": [{\n    \"originalUriBaseIds\": {" + quote(SOURCE_ROOT_ID) + ": {\"uri\": "
+                + quote(sourceRootUri.endsWith("/") ? sourceRootUri : sourceRootUri + "/") + "}},\n    \"results\": [";
+        Files.write(sarifFile, head.getBytes(StandardCharsets.UTF_8));
+        Files.write(jsonLinesFile, new byte[0]);
+        resultsEnd = head.getBytes(StandardCharsets.UTF_8).length;
+        rulesById.clear();
+        hasResults = false;
+    }
+
+    private void writeTail(Writer out) throws IOException {
+        out.write("\n    ],\n    \"tool\": {\"driver\": {\"name\": " + quote(TOOL_NAME) + ", \"rules\": [");
+        Iterator<Map.Entry<String, String>> rules = rulesById.entrySet().iterator();
+        while (rules.hasNext()) {
+            Map.Entry<String, String> rule = rules.next();
+            out.write("\n      {\"id\": " + quote(rule.getKey()) + ", \"shortDescription\": {\"text\": " + quote(rule.getValue()) + "}}");
+            out.write(rules.hasNext() ? "," : "\n    ");
+        }
+        out.write("]}}\n  }]\n}\n");
+    }
+
+    /**
+     * @return a SARIF rule id, e.g. {@code classes-should-have-a-version-field}
+     */
+    static String idOf(String ruleDescription) {
+        StringBuilder id = new StringBuilder(ruleDescription.length());
+        for (int i = 0; i < ruleDescription.length(); i++) {
+            char c = Character.toLowerCase(ruleDescription.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                id.append(c);
+            } else if (id.length() > 0 && id.charAt(id.length() - 1) != '-') {
+                id.append('-');
+            }
+        }
+        if (id.length() > 0 && id.charAt(id.length() - 1) == '-') {
+            id.setLength(id.length() - 1);
+        }
+        return id.toString();
+    }
+
+    private final class RecordWriter implements ViolationHandler<Object> {
+        private final String sarifPrefix;
+        private final String jsonLinePrefix;
+        private final Writer sarif;
+        private final Writer jsonLines;
+        private int count;
+        private IOException ioException;
+
+        private RecordWriter(String ruleId, String rule, String level, Writer sarif, Writer jsonLines) {
+            // quoted once per rule rather than once per violation
+            this.sarifPrefix = "\"ruleId\": " + quote(ruleId) + ", \"level\": " + quote(level);
+            this.jsonLinePrefix = "{\"ruleId\": " + quote(ruleId) + ", \"rule\": " + quote(rule);
+            this.sarif = sarif;
+            this.jsonLines = jsonLines;
+        }
+
+        @Override
+        public void handle(Collection<Object> violatingObjects, String message) {
+            if (ioException != null) {
+                return;
+            }
+            Object violatingObject = violatingObjects.isEmpty() ? null : violatingObjects.iterator().next();
+            ViolationRecord record = ViolationRecord.of(violatingObject, message);
+            String quotedMessage = quote(record.getMessage());
+            String quotedElement = record.getElement() != null ? quote(record.getElement()) : null;
+            String quotedFile = record.getFile() != null ? quote(record.getFile()) : null;
+            try {
+                writeSarif(quotedMessage, quotedElement, record.isMember(), quotedFile, record.getLine());
+                writeJsonLine(quotedMessage, quotedElement, quotedFile, record.getLine());
+                count++;
+            } catch (IOException e) {
+                ioException = e;
+            }
+        }
+
+        private void writeSarif(String message, String element, boolean member, String file, int line) throws IOException {
+            sarif.write(hasResults ? ",\n      {" : "\n      {");
+            hasResults = true;
+            sarif.write(sarifPrefix);
+            sarif.write(", \"message\": {\"text\": ");
+            sarif.write(message);
+            sarif.write("}");
+            if (file != null || element != null) {
+                sarif.write(", \"locations\": [{");
+                if (file != null) {
+                    sarif.write("\"physicalLocation\": {\"artifactLocation\": {\"uri\": ");
+                    sarif.write(file);
+                    sarif.write(", \"uriBaseId\": \"" + SOURCE_ROOT_ID + "\"}");
+                    if (line > 0) {
+                        sarif.write(", \"region\": {\"startLine\": " + line + "}");
+                    }
+                    sarif.write(element != null ? "}, " : "}");
+                }
+                if (element != null) {
+                    sarif.write("\"logicalLocations\": [{\"fullyQualifiedName\": ");
+                    sarif.write(element);
+                    sarif.write(member ? ", \"kind\": \"member\"}]" : ", \"kind\": \"type\"}]");
+                }
+                sarif.write("}]");
+            }
+            sarif.write("}");
+        }
+
+        private void writeJsonLine(String message, String element, String file, int line) throws IOException {
+            jsonLines.write(jsonLinePrefix);
+            if (element != null) {
+                jsonLines.write(", \"element\": ");
+                jsonLines.write(element);
+            }
+            if (file != null) {
+                jsonLines.write(", \"file\": ");
+                jsonLines.write(file);
+            }
+            if (line > 0) {
+                jsonLines.write(", \"line\": " + line);
+            }
+            jsonLines.write(", \"message\": ");
+            jsonLines.write(message);
+            jsonLines.write("}\n");
+        }
+    }
+}
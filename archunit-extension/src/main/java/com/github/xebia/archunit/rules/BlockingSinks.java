@@ -0,0 +1,191 @@
+package com.github.xebia.archunit.rules;
+
+import com.tngtech.archunit.core.domain.JavaCall;
+import com.tngtech.archunit.core.domain.JavaClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The calls that block the calling thread, e.g. JDBC, {@code RestTemplate} or {@code Mono.block()}, for
+ * {@link XebiaArchitectureRules#reactiveMethodsShouldNotBlock(BlockingSinks)}, and the I/O calls for
+ * {@link XebiaArchitectureRules#startupCallbacksShouldNotDoIo(BlockingSinks)}. A call is blocking if its target is
+ * declared by one of the types, or a subtype, and the type is blocking as a whole or for the called method.
+ * <p>
+ * Usage:
+ * <pre>
+ * BlockingSinks.defaults()
+ *         .withType("com.example.LegacySoapClient")
+ *         .withMethod("com.example.Locks", "acquire")
+ * </pre>
+ */
+public final class BlockingSinks {
+
+    private static final String ANY_METHOD = "*";
+
+    private static final BlockingSinks DEFAULTS = none()
+            .withType("java.sql.Connection")
+            .withType("java.sql.Statement")
+            .withType("java.sql.ResultSet")
+            .withMethod("javax.sql.DataSource", "getConnection")
+            .withType("javax.persistence.EntityManager")
+            .withType("org.springframework.jdbc.core.JdbcOperations")
+            .withType("org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations")
+            .withType("org.springframework.data.repository.CrudRepository")
+            .withType("org.springframework.web.client.RestOperations")
+            .withMethod("java.lang.Thread", "sleep")
+            .withMethod("java.lang.Thread", "join")
+            .withType("java.nio.file.Files")
+            .withType("java.io.FileInputStream")
+            .withType("java.io.FileOutputStream")
+            .withType("java.io.FileReader")
+            .withType("java.io.FileWriter")
+            .withType("java.io.RandomAccessFile")
+            .withType("java.net.Socket")
+            .withMethod("java.net.URL", "openStream")
+            .withMethod("java.net.URLConnection", "getInputStream")
+            .withMethod("java.util.concurrent.Future", "get")
+            .withMethod("java.util.concurrent.CompletableFuture", "join")
+            .withMethod("java.util.concurrent.CountDownLatch", "await")
+            .withMethod("java.util.concurrent.BlockingQueue", "put")
+            .withMethod("java.util.concurrent.BlockingQueue", "take")
+            .withMethod("reactor.core.publisher.Mono", "block")
+            .withMethod("reactor.core.publisher.Mono", "blockOptional")
+            .withMethod("reactor.core.publisher.Flux", "blockFirst")
+            .withMethod("reactor.core.publisher.Flux", "blockLast")
+            .withMethod("reactor.core.publisher.Flux", "toIterable")
+            .withMethod("reactor.core.publisher.Flux", "toStream");
+
+    private static final BlockingSinks IO = none()
+            .withType("java.sql.Connection")
+            .withType("java.sql.Statement")
+            .withType("java.sql.ResultSet")
+            .withMethod("java.sql.DriverManager", "getConnection")
+            .withMethod("javax.sql.DataSource", "getConnection")
+            .withType("javax.persistence.EntityManager")
+            .withType("org.springframework.jdbc.core.JdbcOperations")
+            .withType("org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations")
+            .withType("org.springframework.data.repository.CrudRepository")
+            .withType("org.springframework.web.client.RestOperations")
+            .withType("java.nio.file.Files")
+            .withType("java.io.FileInputStream")
+            .withType("java.io.FileOutputStream")
+            .withType("java.io.FileReader")
+            .withType("java.io.FileWriter")
+            .withType("java.io.RandomAccessFile")
+            .withType("java.net.Socket")
+            .withMethod("java.net.URL", "openConnection")
+            .withMethod("java.net.URL", "openStream")
+            .withMethod("java.net.URLConnection", "connect")
+            .withMethod("java.net.URLConnection", "getInputStream")
+            .withMethod("java.net.InetAddress", "getByName")
+            .withMethod("java.net.InetAddress", "getAllByName")
+            .withMethod("java.net.InetAddress", "getLocalHost")
+            .withMethod("java.net.http.HttpClient", "send");
+
+    private final Map<String, Set<String>> methodsByType;
+
+    private BlockingSinks(Map<String, Set<String>> methodsByType) {
+        this.methodsByType = methodsByType;
+    }
+
+    /**
+     * @return JDBC, JPA, Spring Data {@code CrudRepository}s, {@code RestTemplate}, {@code Thread.sleep}, file and
+     * socket I/O, blocking {@code java.util.concurrent} calls and the blocking calls of Reactor. Reads of a plain
+     * {@code InputStream} or {@code Reader} are left out, as most of them, e.g. of a {@code ByteArrayInputStream},
+     * do not block; opening a file, socket or URL stream does.
+     */
+    public static BlockingSinks defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return the calls that read or write files, use the network or the database: JDBC, JPA, Spring Data
+     * {@code CrudRepository}s, {@code RestTemplate}, {@code java.nio.file.Files}, file streams, sockets, URL
+     * connections and host name lookups
+     */
+    public static BlockingSinks io() {
+        return IO;
+    }
+
+    public static BlockingSinks none() {
+        return new BlockingSinks(Collections.emptyMap());
+    }
+
+    /**
+     * @param sink {@code type#method}, e.g. {@code java.lang.Thread#sleep}, or just the type for all its methods
+     */
+    public BlockingSinks with(String sink) {
+        int separator = sink.indexOf('#');
+        return separator < 0
+                ? withType(sink)
+                : withMethod(sink.substring(0, separator), sink.substring(separator + 1));
+    }
+
+    /**
+     * All methods of the type and its subtypes block.
+     */
+    public BlockingSinks withType(String typeName) {
+        return withMethod(typeName, ANY_METHOD);
+    }
+
+    public BlockingSinks withMethod(String typeName, String methodName) {
+        if (typeName.isEmpty() || methodName.isEmpty()) {
+            throw new IllegalArgumentException("Please provide the type and the method of the blocking call");
+        }
+        Map<String, Set<String>> newMethodsByType = new LinkedHashMap<>(methodsByType);
+        Set<String> methods = new LinkedHashSet<>(newMethodsByType.getOrDefault(typeName, Collections.emptySet()));
+        methods.add(methodName);
+        newMethodsByType.put(typeName, Collections.unmodifiableSet(methods));
+        return new BlockingSinks(Collections.unmodifiableMap(newMethodsByType));
+    }
+
+    /**
+     * @return a predicate telling blocking calls, which remembers the blocking methods of every target type it has seen;
+     * not thread-safe
+     */
+    public Predicate<JavaCall<?>> newMatcher() {
+        Map<JavaClass, List<Set<String>>> methodsByTargetOwner = new HashMap<>();
+        return call -> {
+            List<Set<String>> blockingMethods = methodsByTargetOwner.computeIfAbsent(call.getTargetOwner(), this::blockingMethodsOf);
+            for (Set<String> methods : blockingMethods) {
+                if (methods.contains(ANY_METHOD) || methods.contains(call.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private List<Set<String>> blockingMethodsOf(JavaClass type) {
+        List<Set<String>> blockingMethods = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> blockingType : methodsByType.entrySet()) {
+            if (JdkTypes.isAssignableTo(type, blockingType.getKey())) {
+                blockingMethods.add(blockingType.getValue());
+            }
+        }
+        return blockingMethods.isEmpty() ? Collections.emptyList() : blockingMethods;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BlockingSinks && methodsByType.equals(((BlockingSinks) o).methodsByType));
+    }
+
+    @Override
+    public int hashCode() {
+        return methodsByType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + methodsByType;
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.xebia.archunit.rules;
+
+import com.tngtech.archunit.core.domain.JavaCall;
+import com.tngtech.archunit.core.domain.JavaConstructor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The constructors and factory methods whose objects are expensive to create, because they compile, parse, look up
+ * services or take locks, and should be created once rather than on every call, see
+ * {@link XebiaArchitectureRules#expensiveObjectsShouldNotBeCreatedPerCall(ExpensiveFactories)}.
+ * <p>
+ * Usage:
+ * <pre>
+ * ExpensiveFactories.defaults()
+ *         .withFactoryMethod("com.example.TemplateEngine", "compile")
+ *         .withConstructor("com.google.gson.Gson")
+ * </pre>
+ */
+public final class ExpensiveFactories {
+
+    private static final ExpensiveFactories DEFAULTS = none()
+            .withFactoryMethod("java.util.regex.Pattern", "compile")
+            .withConstructor("com.fasterxml.jackson.databind.ObjectMapper")
+            .withFactoryMethod("java.time.format.DateTimeFormatter", "ofPattern")
+            .withFactoryMethod("javax.xml.bind.JAXBContext", "newInstance")
+            .withFactoryMethod("java.security.MessageDigest", "getInstance")
+            .withFactoryMethod("javax.xml.parsers.DocumentBuilderFactory", "newInstance")
+            .withFactoryMethod("javax.xml.transform.TransformerFactory", "newInstance");
+
+    private final Map<String, Set<String>> methodsByType;
+
+    private ExpensiveFactories(Map<String, Set<String>> methodsByType) {
+        this.methodsByType = methodsByType;
+    }
+
+    /**
+     * @return {@code Pattern.compile}, {@code new ObjectMapper()}, {@code DateTimeFormatter.ofPattern},
+     * {@code JAXBContext.newInstance}, {@code MessageDigest.getInstance}, {@code DocumentBuilderFactory.newInstance} and
+     * {@code TransformerFactory.newInstance}
+     */
+    public static ExpensiveFactories defaults() {
+        return DEFAULTS;
+    }
+
+    public static ExpensiveFactories none() {
+        return new ExpensiveFactories(Collections.emptyMap());
+    }
+
+    /**
+     * @param factory {@code type#method}, e.g. {@code java.util.regex.Pattern#compile}, or just the type for its
+     *                constructors
+     */
+    public ExpensiveFactories with(String factory) {
+        int separator = factory.indexOf('#');
+        return separator < 0
+                ? withConstructor(factory)
+                : withFactoryMethod(factory.substring(0, separator), factory.substring(separator + 1));
+    }
+
+    public ExpensiveFactories withConstructor(String typeName) {
+        return withFactoryMethod(typeName, JavaConstructor.CONSTRUCTOR_NAME);
+    }
+
+    public ExpensiveFactories withFactoryMethod(String typeName, String methodName) {
+        if (typeName.isEmpty() || methodName.isEmpty()) {
+            throw new IllegalArgumentException("Please provide the type and the method of the factory");
+        }
+        Map<String, Set<String>> newMethodsByType = new LinkedHashMap<>(methodsByType);
+        Set<String> methods = new LinkedHashSet<>(newMethodsByType.getOrDefault(typeName, Collections.emptySet()));
+        methods.add(methodName);
+        newMethodsByType.put(typeName, Collections.unmodifiableSet(methods));
+        return new ExpensiveFactories(Collections.unmodifiableMap(newMethodsByType));
+    }
+
+    public boolean isExpensive(JavaCall<?> call) {
+        Set<String> methods = methodsByType.get(call.getTargetOwner().getName());
+        return methods != null && methods.contains(call.getName());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ExpensiveFactories && methodsByType.equals(((ExpensiveFactories) o).methodsByType));
+    }
+
+    @Override
+    public int hashCode() {
+        return methodsByType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + methodsByType;
+    }
+}
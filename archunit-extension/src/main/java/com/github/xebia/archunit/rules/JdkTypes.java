@@ -0,0 +1,31 @@
+package com.github.xebia.archunit.rules;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+
+/**
+ * Type checks that still work when ArchUnit cannot read the class files of the running JDK, e.g. on a newer JDK than it
+ * supports, and imports JDK types without their super types.
+ */
+final class JdkTypes {
+
+    private JdkTypes() {
+    }
+
+    /**
+     * Falls back to the loaded JDK classes for {@code java.*} types, which never runs user code.
+     */
+    static boolean isAssignableTo(JavaClass type, String typeName) {
+        if (type.isAssignableTo(typeName)) {
+            return true;
+        }
+        if (!type.getName().startsWith("java.") || !typeName.startsWith("java.")) {
+            return false;
+        }
+        try {
+            ClassLoader classLoader = JdkTypes.class.getClassLoader();
+            return Class.forName(typeName, false, classLoader).isAssignableFrom(Class.forName(type.getName(), false, classLoader));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
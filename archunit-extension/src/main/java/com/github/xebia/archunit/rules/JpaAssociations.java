@@ -0,0 +1,176 @@
+package com.github.xebia.archunit.rules;
+
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaEnumConstant;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaFieldAccess;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads the JPA and Hibernate mapping annotations of entity fields for the JPA rules of {@link XebiaArchitectureRules}.
+ * Annotation attributes that are not part of the import count as their JPA default.
+ */
+final class JpaAssociations {
+
+    static final String ENTITY = "javax.persistence.Entity";
+    static final String MAPPED_SUPERCLASS = "javax.persistence.MappedSuperclass";
+
+    private static final String[] COLLECTION_ASSOCIATIONS = {"javax.persistence.OneToMany", "javax.persistence.ManyToMany"};
+    private static final String[] SINGLE_VALUED_ASSOCIATIONS = {"javax.persistence.ManyToOne", "javax.persistence.OneToOne"};
+    private static final String ELEMENT_COLLECTION = "javax.persistence.ElementCollection";
+
+    private JpaAssociations() {
+    }
+
+    /**
+     * @return the {@code @OneToMany} or {@code @ManyToMany} annotation type of the field, or {@code null}
+     */
+    static String collectionAssociationOf(JavaField field) {
+        return firstAnnotation(field, COLLECTION_ASSOCIATIONS);
+    }
+
+    /**
+     * @return the {@code @ManyToOne} or {@code @OneToOne} annotation type of the field, or {@code null}
+     */
+    static String singleValuedAssociationOf(JavaField field) {
+        return firstAnnotation(field, SINGLE_VALUED_ASSOCIATIONS);
+    }
+
+    private static String firstAnnotation(JavaField field, String[] annotationTypes) {
+        for (String annotationType : annotationTypes) {
+            if (field.isAnnotatedWith(annotationType)) {
+                return annotationType;
+            }
+        }
+        return null;
+    }
+
+    static boolean isFetchedEagerly(JavaField field, String associationType) {
+        return "EAGER".equals(fetchTypeOf(field, associationType));
+    }
+
+    /**
+     * @return the explicit {@code fetch} attribute of the association, or its JPA default
+     */
+    static String fetchTypeOf(JavaField field, String associationType) {
+        Optional<Object> fetch = field.getAnnotationOfType(associationType).get("fetch");
+        if (fetch.isPresent() && fetch.get() instanceof JavaEnumConstant) {
+            return ((JavaEnumConstant) fetch.get()).name();
+        }
+        for (String singleValuedAssociation : SINGLE_VALUED_ASSOCIATIONS) {
+            if (singleValuedAssociation.equals(associationType)) {
+                return "EAGER";
+            }
+        }
+        return "LAZY";
+    }
+
+    /**
+     * @return whether the association is loaded on first access, so that touching it may run a query
+     */
+    static boolean isLazyAssociation(JavaField field) {
+        String association = collectionAssociationOf(field);
+        if (association == null) {
+            association = singleValuedAssociationOf(field);
+        }
+        if (association == null && field.isAnnotatedWith(ELEMENT_COLLECTION)) {
+            association = ELEMENT_COLLECTION;
+        }
+        return association != null && "LAZY".equals(fetchTypeOf(field, association));
+    }
+
+    /**
+     * @return whether the collection is loaded in batches, by a sub select or a join, or through an entity graph of its
+     * entity
+     */
+    static boolean isBatchFetched(JavaField field) {
+        if (field.isAnnotatedWith("org.hibernate.annotations.BatchSize")) {
+            return true;
+        }
+        if (field.isAnnotatedWith("org.hibernate.annotations.Fetch")) {
+            Optional<Object> fetchMode = field.getAnnotationOfType("org.hibernate.annotations.Fetch").get("value");
+            return !fetchMode.isPresent() || !(fetchMode.get() instanceof JavaEnumConstant)
+                    || !"SELECT".equals(((JavaEnumConstant) fetchMode.get()).name());
+        }
+        return isPartOfEntityGraph(field);
+    }
+
+    private static boolean isPartOfEntityGraph(JavaField field) {
+        JavaClass owner = field.getOwner();
+        if (owner.isAnnotatedWith("javax.persistence.NamedEntityGraph")
+                && entityGraphContains(owner.getAnnotationOfType("javax.persistence.NamedEntityGraph"), field.getName())) {
+            return true;
+        }
+        if (owner.isAnnotatedWith("javax.persistence.NamedEntityGraphs")) {
+            for (Object entityGraph : arrayOf(owner.getAnnotationOfType("javax.persistence.NamedEntityGraphs").get("value"))) {
+                if (entityGraph instanceof JavaAnnotation && entityGraphContains((JavaAnnotation<?>) entityGraph, field.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean entityGraphContains(JavaAnnotation<?> entityGraph, String attributeName) {
+        for (Object attributeNode : arrayOf(entityGraph.get("attributeNodes"))) {
+            if (attributeNode instanceof JavaAnnotation && attributeName.equals(((JavaAnnotation<?>) attributeNode).get("value").orNull())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object[] arrayOf(Optional<Object> value) {
+        return value.isPresent() && value.get() instanceof Object[] ? (Object[]) value.get() : new Object[0];
+    }
+
+    /**
+     * @return whether the collection is mapped as a bag: an unordered {@code List} or {@code Collection}
+     */
+    static boolean isBag(JavaField field) {
+        if (collectionAssociationOf(field) == null && !field.isAnnotatedWith(ELEMENT_COLLECTION)) {
+            return false;
+        }
+        String type = field.getRawType().getName();
+        return (type.equals("java.util.List") || type.equals("java.util.Collection"))
+                && !field.isAnnotatedWith("javax.persistence.OrderColumn");
+    }
+
+    static boolean isEqualsOrHashCode(JavaMethod method) {
+        return (method.getName().equals("equals") && method.getRawParameterTypes().size() == 1
+                && method.getRawParameterTypes().get(0).getName().equals("java.lang.Object"))
+                || (method.getName().equals("hashCode") && method.getRawParameterTypes().isEmpty());
+    }
+
+    /**
+     * @return the names of the lazy associations the method reads, directly or through a method of the same class
+     * hierarchy, e.g. a getter
+     */
+    static Set<String> lazyAssociationsUsedBy(JavaMethod method) {
+        Set<String> associations = new TreeSet<>();
+        addLazyAssociations(method, associations);
+        for (JavaMethodCall call : method.getMethodCallsFromSelf()) {
+            if (method.getOwner().isAssignableTo(call.getTargetOwner().getName())) {
+                for (JavaMethod target : call.getTarget().resolve()) {
+                    addLazyAssociations(target, associations);
+                }
+            }
+        }
+        return associations;
+    }
+
+    private static void addLazyAssociations(JavaMethod method, Set<String> associations) {
+        for (JavaFieldAccess access : method.getFieldAccesses()) {
+            Optional<JavaField> field = access.getTarget().resolveField();
+            if (field.isPresent() && isLazyAssociation(field.get())) {
+                associations.add(field.get().getName());
+            }
+        }
+    }
+}
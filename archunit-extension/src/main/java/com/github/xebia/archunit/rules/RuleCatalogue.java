@@ -0,0 +1,198 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.classfile.ClassHeaders;
+import com.github.xebia.archunit.engine.ElementRule;
+import com.github.xebia.archunit.importer.ImportScope;
+import com.tngtech.archunit.lang.ArchRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.*;
+
+/**
+ * All rules of {@link XebiaArchitectureRules}, configured for one code base. Used by
+ * {@link com.github.xebia.archunit.AbstractArchitectureTests} and the archunit-maven-plugin alike.
+ */
+public final class RuleCatalogue {
+
+    private final String[] entityClasses;
+    private final String domainPackageMatchIdentifier;
+    private final String rootPackageIdentifier;
+    private final String cycleCheckPackageIdentifier;
+    private final String[] dtoClassSuffixes;
+    private final String[] utilClassSuffixes;
+    private final ExpensiveFactories expensiveFactories;
+    private final StartupChecks startupChecks;
+    private final boolean concurrencyChecks;
+    private final BlockingSinks blockingSinks;
+    private final boolean jpaChecks;
+
+    public RuleCatalogue(String[] entityClasses,
+                         String domainPackageMatchIdentifier,
+                         String rootPackageIdentifier,
+                         String cycleCheckPackageIdentifier,
+                         String[] dtoClassSuffixes,
+                         String[] utilClassSuffixes) {
+        this(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier, cycleCheckPackageIdentifier,
+                dtoClassSuffixes, utilClassSuffixes, null, null, false, null, false);
+    }
+
+    private RuleCatalogue(String[] entityClasses,
+                          String domainPackageMatchIdentifier,
+                          String rootPackageIdentifier,
+                          String cycleCheckPackageIdentifier,
+                          String[] dtoClassSuffixes,
+                          String[] utilClassSuffixes,
+                          ExpensiveFactories expensiveFactories,
+                          StartupChecks startupChecks,
+                          boolean concurrencyChecks,
+                          BlockingSinks blockingSinks,
+                          boolean jpaChecks) {
+        this.entityClasses = entityClasses;
+        this.domainPackageMatchIdentifier = domainPackageMatchIdentifier;
+        this.rootPackageIdentifier = rootPackageIdentifier;
+        this.cycleCheckPackageIdentifier = cycleCheckPackageIdentifier;
+        this.dtoClassSuffixes = dtoClassSuffixes;
+        this.utilClassSuffixes = utilClassSuffixes;
+        this.expensiveFactories = expensiveFactories;
+        this.startupChecks = startupChecks;
+        this.concurrencyChecks = concurrencyChecks;
+        this.blockingSinks = blockingSinks;
+        this.jpaChecks = jpaChecks;
+    }
+
+    /**
+     * Opts in to {@link XebiaArchitectureRules#expensiveObjectsShouldNotBeCreatedPerCall(ExpensiveFactories)}.
+     *
+     * @param expensiveFactories the factories to check, or {@code null} to leave the rule out
+     */
+    public RuleCatalogue withExpensiveFactories(ExpensiveFactories expensiveFactories) {
+        return new RuleCatalogue(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes, expensiveFactories, startupChecks, concurrencyChecks, blockingSinks, jpaChecks);
+    }
+
+    /**
+     * Opts in to the startup rules of {@link XebiaArchitectureRules}, see {@link StartupChecks}.
+     *
+     * @param startupChecks the I/O calls and heavy beans to check, or {@code null} to leave the rules out
+     */
+    public RuleCatalogue withStartupChecks(StartupChecks startupChecks) {
+        return new RuleCatalogue(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes, expensiveFactories, startupChecks, concurrencyChecks, blockingSinks, jpaChecks);
+    }
+
+    /**
+     * Opts in to the concurrency rules of {@link XebiaArchitectureRules} for Spring singleton components.
+     *
+     * @param concurrencyChecks whether to check the rules
+     */
+    public RuleCatalogue withConcurrencyChecks(boolean concurrencyChecks) {
+        return new RuleCatalogue(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes, expensiveFactories, startupChecks, concurrencyChecks, blockingSinks, jpaChecks);
+    }
+
+    /**
+     * Opts in to {@link XebiaArchitectureRules#reactiveMethodsShouldNotBlock(BlockingSinks)}.
+     *
+     * @param blockingSinks the blocking calls to check, or {@code null} to leave the rule out
+     */
+    public RuleCatalogue withBlockingSinks(BlockingSinks blockingSinks) {
+        return new RuleCatalogue(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes, expensiveFactories, startupChecks, concurrencyChecks, blockingSinks, jpaChecks);
+    }
+
+    /**
+     * Opts in to the JPA fetching rules of {@link XebiaArchitectureRules} for {@code @Entity} classes.
+     *
+     * @param jpaChecks whether to check the rules
+     */
+    public RuleCatalogue withJpaChecks(boolean jpaChecks) {
+        return new RuleCatalogue(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes, expensiveFactories, startupChecks, concurrencyChecks, blockingSinks, jpaChecks);
+    }
+
+    public List<ArchRule> rules() {
+        List<ArchRule> rules = new ArrayList<>(Arrays.asList(
+                noGetApiShouldReturnListOrSet(),
+                getApiWhoseNameEndsWithListShouldUsePagination(),
+                noRestControllerShouldAccessEntityClass(entityClasses),
+                restControllersShouldReturnDtosOnly(dtoClassSuffixes),
+                restControllersNameShouldEndWithResource(),
+                allEntityClassesShouldHaveVersionField(),
+                noCheckedExceptions(),
+                microservicesShouldNotDependOnEachOther(domainPackageMatchIdentifier),
+                utilsClassesShouldHavePrivateConstructor(utilClassSuffixes),
+                utilsClassesShouldNotBeInjected(utilClassSuffixes),
+                utilClassesMethodsShouldBeStatic(utilClassSuffixes),
+                rootDirectoryShouldHaveApplicationClass(rootPackageIdentifier),
+                loggerShouldBePrivateStaticFinal(),
+                repositoryShouldResideInRepositoryPackage(),
+                springSingletonComponentsShouldOnlyHaveFinalFields(),
+                layersShouldBeFreeOfCycles(cycleCheckPackageIdentifier),
+                favorConstructorInjectionOverFieldInjection(),
+                favorJava8DateTimeApiOverJodaTime(),
+                favorBuilderOverLongListConstructor()));
+        if (jpaChecks) {
+            rules.add(entityCollectionAssociationsShouldNotBeFetchedEagerly());
+            rules.add(entitySingleValuedAssociationsShouldBeLazy());
+            rules.add(entityCollectionAssociationsShouldHaveBatchSize());
+            rules.add(entityCollectionsShouldNotBeBags());
+            rules.add(entityEqualsAndHashCodeShouldNotUseLazyAssociations());
+        }
+        if (concurrencyChecks) {
+            rules.add(springSingletonComponentsShouldNotSynchronize());
+            rules.add(springSingletonComponentsShouldNotUseSynchronizedCollections());
+            rules.add(springSingletonComponentsShouldNotHaveStaticMutableCollections());
+            rules.add(springSingletonComponentsShouldRemoveThreadLocals());
+        }
+        if (blockingSinks != null) {
+            rules.add(reactiveMethodsShouldNotBlock(blockingSinks));
+        }
+        if (expensiveFactories != null) {
+            rules.add(expensiveObjectsShouldNotBeCreatedPerCall(expensiveFactories));
+        }
+        if (startupChecks != null) {
+            rules.add(componentScansShouldNotBeBroaderThanRootPackage(rootPackageIdentifier));
+            rules.add(startupCallbacksShouldNotDoIo(startupChecks.getIoCalls()));
+            rules.add(configurationsWithoutInterBeanCallsShouldNotProxyBeanMethods());
+            rules.add(heavyBeansShouldBeLazy(startupChecks.getLazyBeanTypes().toArray(new String[0])));
+        }
+        return rules;
+    }
+
+    /**
+     * @return the smallest import {@link #rules()} need, see {@link ImportScope#of(java.util.Collection)}
+     */
+    public ImportScope importScope() {
+        return ImportScope.of(rules());
+    }
+
+    /**
+     * @return the rules that only look at declarations and can be evaluated on
+     * {@link com.github.xebia.archunit.classfile.ClassHeaders} with {@link ElementRule#evaluate(ClassHeaders)}
+     */
+    public List<ElementRule<?>> metadataRules() {
+        List<ElementRule<?>> metadataRules = new ArrayList<>();
+        for (ArchRule rule : rules()) {
+            if (rule instanceof ElementRule && ((ElementRule<?>) rule).isMetadataOnly()) {
+                metadataRules.add((ElementRule<?>) rule);
+            }
+        }
+        return metadataRules;
+    }
+
+    /**
+     * @return the rules that need the full class graph imported by ArchUnit
+     */
+    public List<ArchRule> graphRules() {
+        List<ArchRule> graphRules = new ArrayList<>();
+        for (ArchRule rule : rules()) {
+            if (!(rule instanceof ElementRule && ((ElementRule<?>) rule).isMetadataOnly())) {
+                graphRules.add(rule);
+            }
+        }
+        return graphRules;
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.xebia.archunit.rules;
+
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.domain.JavaFieldAccess;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.JavaModifier;
+import com.tngtech.archunit.core.domain.JavaStaticInitializer;
+
+import java.util.Collection;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * Recognizes the state that request threads share through a Spring singleton for the concurrency rules of
+ * {@link XebiaArchitectureRules}. Values cannot be traced through the bytecode, so a call and a field access count as
+ * belonging together when they are on the same source line, e.g. {@code CONTEXT.remove()}.
+ */
+final class SharedState {
+
+    static final String COMPONENT = "org.springframework.stereotype.Component";
+
+    private static final Class<?>[] SYNCHRONIZED_TYPES = {Hashtable.class, Vector.class, StringBuffer.class};
+
+    private SharedState() {
+    }
+
+    /**
+     * @return the synchronized JDK 1.0 type the field is declared as, e.g. {@code java.util.Properties} extending
+     * {@code java.util.Hashtable}, or {@code null}
+     */
+    static String synchronizedTypeOf(JavaField field) {
+        for (Class<?> synchronizedType : SYNCHRONIZED_TYPES) {
+            if (isAssignableTo(field.getRawType(), synchronizedType)) {
+                return synchronizedType.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the call wraps a collection with {@code Collections.synchronizedList} and alike
+     */
+    static boolean isSynchronizedWrapper(JavaMethodCall call) {
+        return call.getTargetOwner().getName().equals("java.util.Collections") && call.getName().startsWith("synchronized");
+    }
+
+    /**
+     * @return whether the field is a static collection or map that is not declared or initialized as unmodifiable
+     */
+    static boolean isStaticMutableCollection(JavaField field) {
+        if (!field.getModifiers().contains(JavaModifier.STATIC) || !isCollection(field.getRawType())
+                || field.getRawType().getName().startsWith("com.google.common.collect.Immutable")) {
+            return false;
+        }
+        return !field.getModifiers().contains(JavaModifier.FINAL) || !isInitializedUnmodifiable(field);
+    }
+
+    private static boolean isCollection(JavaClass type) {
+        return isAssignableTo(type, Collection.class) || isAssignableTo(type, Map.class);
+    }
+
+    private static boolean isInitializedUnmodifiable(JavaField field) {
+        Optional<JavaStaticInitializer> staticInitializer = field.getOwner().getStaticInitializer();
+        if (!staticInitializer.isPresent()) {
+            return false;
+        }
+        for (JavaFieldAccess access : staticInitializer.get().getFieldAccesses()) {
+            if (access.getAccessType() == JavaFieldAccess.AccessType.SET && accesses(access, field)
+                    && callsUnmodifiableFactoryAt(staticInitializer.get(), access.getLineNumber())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean callsUnmodifiableFactoryAt(JavaCodeUnit codeUnit, int lineNumber) {
+        for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+            if (call.getLineNumber() == lineNumber && isUnmodifiableFactory(call)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUnmodifiableFactory(JavaMethodCall call) {
+        String owner = call.getTargetOwner().getName();
+        String name = call.getName();
+        switch (owner) {
+            case "java.util.Collections":
+                return name.startsWith("unmodifiable") || name.startsWith("empty") || name.startsWith("singleton");
+            case "java.util.List":
+            case "java.util.Set":
+            case "java.util.Map":
+                return name.equals("of") || name.equals("copyOf") || name.equals("ofEntries");
+            default:
+                return owner.startsWith("com.google.common.collect.Immutable");
+        }
+    }
+
+    static boolean isThreadLocal(JavaField field) {
+        return isAssignableTo(field.getRawType(), ThreadLocal.class);
+    }
+
+    /**
+     * @return whether some code of the declaring class calls {@code remove()} on the thread local
+     */
+    static boolean isRemoved(JavaField threadLocal) {
+        for (JavaCodeUnit codeUnit : threadLocal.getOwner().getCodeUnits()) {
+            for (JavaFieldAccess access : codeUnit.getFieldAccesses()) {
+                if (access.getAccessType() == JavaFieldAccess.AccessType.GET && accesses(access, threadLocal)
+                        && removesThreadLocalAt(codeUnit, access.getLineNumber())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean removesThreadLocalAt(JavaCodeUnit codeUnit, int lineNumber) {
+        for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+            if (call.getLineNumber() == lineNumber && call.getName().equals("remove")
+                    && call.getTarget().getRawParameterTypes().isEmpty() && isAssignableTo(call.getTargetOwner(), ThreadLocal.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAssignableTo(JavaClass type, Class<?> jdkType) {
+        return JdkTypes.isAssignableTo(type, jdkType.getName());
+    }
+
+    private static boolean accesses(JavaFieldAccess access, JavaField field) {
+        return access.getName().equals(field.getName()) && access.getTargetOwner().equals(field.getOwner());
+    }
+}
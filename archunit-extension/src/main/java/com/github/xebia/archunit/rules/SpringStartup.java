@@ -0,0 +1,174 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.index.AnnotationIndex;
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.base.PackageMatcher;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.core.domain.properties.HasAnnotations;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads the Spring annotations that decide what happens at startup for the startup rules of
+ * {@link XebiaArchitectureRules}. Annotation attributes that are not part of the import count as their Spring default.
+ */
+final class SpringStartup {
+
+    static final String COMPONENT_SCAN = "org.springframework.context.annotation.ComponentScan";
+    static final String CONFIGURATION = "org.springframework.context.annotation.Configuration";
+    static final String BEAN = "org.springframework.context.annotation.Bean";
+
+    private static final String COMPONENT_SCANS = "org.springframework.context.annotation.ComponentScans";
+    private static final String SPRING_BOOT_APPLICATION = "org.springframework.boot.autoconfigure.SpringBootApplication";
+    private static final String SPRING_BOOT_CONFIGURATION = "org.springframework.boot.SpringBootConfiguration";
+    private static final String LAZY = "org.springframework.context.annotation.Lazy";
+    private static final String POST_CONSTRUCT = "javax.annotation.PostConstruct";
+    private static final String PACKAGE_DELIMITERS = "[,; \t\n]+";
+
+    private SpringStartup() {
+    }
+
+    /**
+     * @return the packages scanned for components because of the class, its own package unless
+     * {@code @ComponentScan} or {@code @SpringBootApplication} name others; the default package is {@code ""}
+     */
+    static Set<String> scannedPackagesOf(JavaClass javaClass) {
+        Set<String> packages = new TreeSet<>();
+        for (JavaAnnotation<?> annotation : javaClass.getAnnotations()) {
+            String type = annotation.getRawType().getName();
+            if (type.equals(COMPONENT_SCAN)) {
+                addPackages(annotation, packages, "value", "basePackages", "basePackageClasses");
+            } else if (type.equals(COMPONENT_SCANS)) {
+                for (Object componentScan : arrayOf(annotation.get("value"))) {
+                    if (componentScan instanceof JavaAnnotation) {
+                        addPackages((JavaAnnotation<?>) componentScan, packages, "value", "basePackages", "basePackageClasses");
+                    }
+                }
+            } else if (type.equals(SPRING_BOOT_APPLICATION)) {
+                addPackages(annotation, packages, "scanBasePackages", "scanBasePackageClasses");
+            }
+        }
+        if (packages.isEmpty()) {
+            packages.add(javaClass.getPackageName());
+        }
+        return packages;
+    }
+
+    private static void addPackages(JavaAnnotation<?> annotation, Set<String> packages, String... attributes) {
+        for (String attribute : attributes) {
+            for (Object value : arrayOf(annotation.get(attribute))) {
+                if (value instanceof JavaClass) {
+                    packages.add(((JavaClass) value).getPackageName());
+                } else if (value instanceof String) {
+                    // Spring tokenizes every entry, so "com.a, com.b" names two packages
+                    for (String packageName : ((String) value).trim().split(PACKAGE_DELIMITERS)) {
+                        if (!packageName.isEmpty()) {
+                            packages.add(packageName);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether the package or one of its parents matches the root package, i.e. whether scanning it stays
+     * within the root package
+     */
+    static boolean isWithin(String packageName, PackageMatcher rootPackage) {
+        String name = packageName;
+        while (!rootPackage.matches(name)) {
+            if (name.isEmpty()) {
+                return false;
+            }
+            int lastDot = name.lastIndexOf('.');
+            name = lastDot < 0 ? "" : name.substring(0, lastDot);
+        }
+        return true;
+    }
+
+    static boolean declaresBeanMethods(JavaClass configuration) {
+        for (JavaMethod method : configuration.getMethods()) {
+            if (method.isAnnotatedWith(BEAN)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether Spring subclasses the configuration class to intercept calls of its {@code @Bean} methods, which
+     * it does unless {@code proxyBeanMethods = false}
+     */
+    static boolean proxiesBeanMethods(JavaClass configuration) {
+        for (String annotationType : new String[]{CONFIGURATION, SPRING_BOOT_CONFIGURATION, SPRING_BOOT_APPLICATION}) {
+            if (configuration.isAnnotatedWith(annotationType)
+                    && Boolean.FALSE.equals(configuration.getAnnotationOfType(annotationType).get("proxyBeanMethods").orNull())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether any code of the class, including lambdas, calls a {@code @Bean} method of the class or its
+     * superclasses, which needs the proxy to return the singleton instead of a new object
+     */
+    static boolean callsBeanMethod(JavaClass configuration) {
+        for (JavaMethodCall call : configuration.getMethodCallsFromSelf()) {
+            if (configuration.isAssignableTo(call.getTargetOwner().getName())) {
+                for (JavaMethod target : call.getTarget().resolve()) {
+                    if (target.isAnnotatedWith(BEAN)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether Spring calls the method when it initializes the bean: {@code @PostConstruct} methods and
+     * {@code InitializingBean.afterPropertiesSet()}
+     */
+    static boolean isInitCallback(JavaCodeUnit codeUnit) {
+        return codeUnit instanceof JavaMethod
+                && (codeUnit.isAnnotatedWith(POST_CONSTRUCT)
+                || (codeUnit.getName().equals("afterPropertiesSet") && codeUnit.getRawParameterTypes().isEmpty()));
+    }
+
+    /**
+     * @return whether the element is {@code @Lazy}, directly or through a meta-annotation, and not {@code @Lazy(false)}
+     */
+    static boolean isLazy(HasAnnotations<?> element) {
+        if (element.isAnnotatedWith(LAZY)) {
+            return !Boolean.FALSE.equals(element.getAnnotationOfType(LAZY).get("value").orNull());
+        }
+        return AnnotationIndex.isMetaAnnotatedWith(element, LAZY);
+    }
+
+    /**
+     * @return the first of the heavy types the type is assignable to, or {@code null}
+     */
+    static String heavyTypeOf(JavaClass type, Collection<String> heavyTypes) {
+        for (String heavyType : heavyTypes) {
+            if (JdkTypes.isAssignableTo(type, heavyType)) {
+                return heavyType;
+            }
+        }
+        return null;
+    }
+
+    private static Object[] arrayOf(Optional<Object> value) {
+        if (!value.isPresent()) {
+            return new Object[0];
+        }
+        return value.get() instanceof Object[] ? (Object[]) value.get() : new Object[]{value.get()};
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.xebia.archunit.rules;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Opts in to the startup rules of {@link XebiaArchitectureRules}, which flag what slows down the start of a Spring
+ * application: component scans beyond the root package, I/O in static initializers and {@code @PostConstruct}
+ * methods, needlessly proxied {@code @Bean} methods and heavy beans that are created eagerly.
+ * <p>
+ * Usage:
+ * <pre>
+ * StartupChecks.defaults()
+ *         .withIoCall("com.example.ConfigServerClient")
+ *         .withLazyBean("com.example.search.SearchIndex")
+ * </pre>
+ */
+public final class StartupChecks {
+
+    private static final StartupChecks DEFAULTS = new StartupChecks(BlockingSinks.io(), Collections.emptySet());
+
+    private final BlockingSinks ioCalls;
+    private final Set<String> lazyBeanTypes;
+
+    private StartupChecks(BlockingSinks ioCalls, Set<String> lazyBeanTypes) {
+        this.ioCalls = ioCalls;
+        this.lazyBeanTypes = lazyBeanTypes;
+    }
+
+    /**
+     * @return the I/O calls of {@link BlockingSinks#io()} and no heavy beans
+     */
+    public static StartupChecks defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param ioCall {@code type#method}, e.g. {@code java.net.URL#openStream}, or just the type for all its methods
+     */
+    public StartupChecks withIoCall(String ioCall) {
+        return new StartupChecks(ioCalls.with(ioCall), lazyBeanTypes);
+    }
+
+    /**
+     * Beans of the type or its subtypes, declared as components or by {@code @Bean} methods, should be {@code @Lazy}.
+     */
+    public StartupChecks withLazyBean(String typeName) {
+        if (typeName.isEmpty()) {
+            throw new IllegalArgumentException("Please provide the type of the heavy bean");
+        }
+        Set<String> types = new LinkedHashSet<>(lazyBeanTypes);
+        types.add(typeName);
+        return new StartupChecks(ioCalls, Collections.unmodifiableSet(types));
+    }
+
+    public BlockingSinks getIoCalls() {
+        return ioCalls;
+    }
+
+    public Set<String> getLazyBeanTypes() {
+        return lazyBeanTypes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StartupChecks)) {
+            return false;
+        }
+        StartupChecks that = (StartupChecks) o;
+        return ioCalls.equals(that.ioCalls) && lazyBeanTypes.equals(that.lazyBeanTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ioCalls, lazyBeanTypes);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{ioCalls=" + ioCalls + ", lazyBeanTypes=" + lazyBeanTypes + "}";
+    }
+}
@@ -1,125 +1,191 @@
 package com.github.xebia.archunit.rules;
 
-import com.tngtech.archunit.core.domain.JavaAccess;
-import com.tngtech.archunit.core.domain.JavaAnnotation;
+import com.github.xebia.archunit.callgraph.CallGraphReachability;
+import com.github.xebia.archunit.callgraph.CallPath;
+import com.github.xebia.archunit.classfile.BytecodeMetadata;
+import com.github.xebia.archunit.classfile.ClassFile;
+import com.github.xebia.archunit.classfile.ClassHeaders;
+import com.github.xebia.archunit.classfile.TypeSignature;
+import com.github.xebia.archunit.engine.ElementRule;
+import com.github.xebia.archunit.engine.Elements;
+import com.github.xebia.archunit.importer.ImportScope;
+import com.github.xebia.archunit.index.AnnotationIndex;
+import com.github.xebia.archunit.index.ClassRole;
+import com.github.xebia.archunit.index.ClassRoleIndex;
+import com.github.xebia.archunit.index.SuffixMatcher;
+import com.github.xebia.archunit.slices.SliceCycleRule;
+import com.github.xebia.archunit.slices.SliceIndependenceRule;
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.base.PackageMatcher;
+import com.tngtech.archunit.core.domain.JavaCall;
 import com.tngtech.archunit.core.domain.JavaClass;
-import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
 import com.tngtech.archunit.core.domain.JavaConstructor;
 import com.tngtech.archunit.core.domain.JavaField;
 import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
 import com.tngtech.archunit.core.domain.JavaModifier;
-import com.tngtech.archunit.lang.AbstractClassesTransformer;
+import com.tngtech.archunit.core.domain.SourceCodeLocation;
 import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.ArchRule;
-import com.tngtech.archunit.lang.ClassesTransformer;
 import com.tngtech.archunit.lang.ConditionEvents;
 import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.conditions.ArchConditions;
+import com.tngtech.archunit.lang.conditions.ArchPredicates;
 
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.all;
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.fields;
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.no;
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
-import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noMethods;
-import static com.tngtech.archunit.library.dependencies.SlicesRuleDefinition.slices;
+import static com.github.xebia.archunit.engine.Elements.classes;
+import static com.github.xebia.archunit.engine.Elements.constructors;
+import static com.github.xebia.archunit.engine.Elements.fields;
+import static com.github.xebia.archunit.engine.Elements.methods;
+import static com.github.xebia.archunit.engine.ViolationCondition.violatedWhen;
+import static com.github.xebia.archunit.rules.JpaAssociations.ENTITY;
+import static com.github.xebia.archunit.rules.JpaAssociations.MAPPED_SUPERCLASS;
+import static com.github.xebia.archunit.rules.JpaAssociations.collectionAssociationOf;
+import static com.github.xebia.archunit.rules.JpaAssociations.isBatchFetched;
+import static com.github.xebia.archunit.rules.JpaAssociations.isFetchedEagerly;
+import static com.github.xebia.archunit.rules.JpaAssociations.lazyAssociationsUsedBy;
+import static com.github.xebia.archunit.rules.JpaAssociations.singleValuedAssociationOf;
+import static com.github.xebia.archunit.rules.SharedState.COMPONENT;
+import static com.github.xebia.archunit.rules.SharedState.isRemoved;
+import static com.github.xebia.archunit.rules.SharedState.isStaticMutableCollection;
+import static com.github.xebia.archunit.rules.SharedState.isSynchronizedWrapper;
+import static com.github.xebia.archunit.rules.SharedState.isThreadLocal;
+import static com.github.xebia.archunit.rules.SharedState.synchronizedTypeOf;
+import static com.github.xebia.archunit.rules.SpringStartup.BEAN;
+import static com.github.xebia.archunit.rules.SpringStartup.COMPONENT_SCAN;
+import static com.github.xebia.archunit.rules.SpringStartup.CONFIGURATION;
+import static com.github.xebia.archunit.rules.SpringStartup.callsBeanMethod;
+import static com.github.xebia.archunit.rules.SpringStartup.declaresBeanMethods;
+import static com.github.xebia.archunit.rules.SpringStartup.heavyTypeOf;
+import static com.github.xebia.archunit.rules.SpringStartup.isInitCallback;
+import static com.github.xebia.archunit.rules.SpringStartup.isLazy;
+import static com.github.xebia.archunit.rules.SpringStartup.isWithin;
+import static com.github.xebia.archunit.rules.SpringStartup.proxiesBeanMethods;
+import static com.github.xebia.archunit.rules.SpringStartup.scannedPackagesOf;
+import static com.tngtech.archunit.base.DescribedPredicate.not;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAPackage;
+import static com.tngtech.archunit.core.domain.JavaClass.Predicates.resideInAnyPackage;
+import static com.tngtech.archunit.core.domain.JavaMember.Predicates.declaredIn;
+import static com.tngtech.archunit.core.domain.properties.CanBeAnnotated.Predicates.annotatedWith;
+import static com.tngtech.archunit.core.domain.properties.HasReturnType.Predicates.rawReturnType;
+import static com.tngtech.archunit.core.domain.properties.HasType.Predicates.rawType;
+import static com.tngtech.archunit.lang.conditions.ArchConditions.accessClassesThat;
+import static com.tngtech.archunit.lang.conditions.ArchConditions.beAssignableFrom;
+import static com.tngtech.archunit.lang.conditions.ArchConditions.haveOnlyFinalFields;
+import static com.tngtech.archunit.lang.conditions.ArchConditions.haveRawReturnType;
+import static com.tngtech.archunit.lang.conditions.ArchConditions.haveSimpleNameEndingWith;
+import static com.tngtech.archunit.lang.conditions.ArchPredicates.are;
+import static com.tngtech.archunit.lang.conditions.ArchPredicates.have;
 
 public final class XebiaArchitectureRules {
 
     public static ArchRule noGetApiShouldReturnListOrSet() {
-        return noMethods()
-                .that()
-                .areAnnotatedWith("org.springframework.web.bind.annotation.GetMapping")
-                .should()
-                .haveRawReturnType(List.class)
-                .orShould()
-                .haveRawReturnType(Set.class);
+        return ElementRule.no(
+                methods()
+                        .annotatedWith("org.springframework.web.bind.annotation.GetMapping"),
+                haveRawReturnType(List.class)
+                        .or(haveRawReturnType(Set.class))
+                        .as("have raw return type java.util.List or should have raw return type java.util.Set"))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith("org.springframework.web.bind.annotation.GetMapping"));
     }
 
     public static ArchRule getApiWhoseNameEndsWithListShouldUsePagination() {
-        return methods()
-                .that()
-                .areAnnotatedWith("org.springframework.web.bind.annotation.GetMapping")
-                .and()
-                .haveNameMatching("\\w*List\\b")
-                .should()
-                .haveRawReturnType("org.springframework.data.domain.Page");
+        return ElementRule.all(
+                methods()
+                        .annotatedWith("org.springframework.web.bind.annotation.GetMapping")
+                        .and(have(nameEndingWithList())),
+                haveRawReturnType("org.springframework.data.domain.Page"))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith("org.springframework.web.bind.annotation.GetMapping"));
     }
 
     public static ArchRule noRestControllerShouldAccessEntityClass(String... entityPackages) {
         if (entityPackages == null || entityPackages.length == 0) {
             throw new IllegalArgumentException("Please provide package names to scan for entities");
         }
-        return noClasses()
-                .that()
-                .areAnnotatedWith("org.springframework.web.bind.annotation.RestController")
-                .should()
-                .accessClassesThat()
-                .resideInAnyPackage(entityPackages);
+        return ElementRule.no(
+                classes()
+                        .annotatedWith("org.springframework.web.bind.annotation.RestController"),
+                accessClassesThat(resideInAnyPackage(entityPackages)))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith("org.springframework.web.bind.annotation.RestController"));
     }
 
     public static ArchRule restControllersShouldReturnDtosOnly(String... dtoClassSuffixes) {
         if (dtoClassSuffixes == null || dtoClassSuffixes.length == 0) {
             throw new IllegalArgumentException("Please provide suffixes that should be considered as DTO");
         }
-        return methods()
-                .that()
-                .areAnnotatedWith("org.springframework.web.bind.annotation.GetMapping")
-                .and().haveRawReturnType("org.springframework.data.domain.Page")
-                .should(new ArchCondition<JavaMethod>("return Page<DTO> object") {
+        BytecodeMetadata bytecodeMetadata = new BytecodeMetadata();
+        ClassRoleIndex roles = ClassRoleIndex.of(Arrays.asList(dtoClassSuffixes), null);
+        return ElementRule.all(
+                methods()
+                        .annotatedWith("org.springframework.web.bind.annotation.GetMapping")
+                        .and(have(rawReturnType("org.springframework.data.domain.Page"))),
+                new ArchCondition<JavaMethod>("return Page<DTO> object") {
                     @Override
                     public void check(JavaMethod item, ConditionEvents events) {
-                        Type genericReturnType = item.reflect().getGenericReturnType();
-                        Type[] actualTypeArguments = ((ParameterizedType) genericReturnType).getActualTypeArguments();
-                        for (Type actualTypeArgument : actualTypeArguments) {
-                            Set<String> set = new HashSet<>(Arrays.asList(dtoClassSuffixes));
-                            Optional<String> dtoClassExists = set.stream()
-                                    .filter(s -> actualTypeArgument.getTypeName().endsWith(s))
-                                    .findFirst();
-                            if (!dtoClassExists.isPresent()) {
-                                events.add(new SimpleConditionEvent(item, false, "return Page<DTO> object"));
+                        List<String> actualTypeArguments = typeArgumentsOfReturnType(item, bytecodeMetadata);
+                        if (actualTypeArguments == null) {
+                            events.add(SimpleConditionEvent.violated(item, String.format("Method <%s> returns a Page whose type arguments cannot be read in %s",
+                                    item.getFullName(), item.getSourceCodeLocation())));
+                            return;
+                        }
+                        if (actualTypeArguments.isEmpty()) {
+                            events.add(SimpleConditionEvent.violated(item, notReturningPageOfDtos(item, "a raw Page")));
+                        }
+                        for (String actualTypeArgument : actualTypeArguments) {
+                            if (!roles.isDtoTypeName(actualTypeArgument)) {
+                                events.add(SimpleConditionEvent.violated(item, notReturningPageOfDtos(item, "Page<" + actualTypeArgument + ">")));
                             }
                         }
                     }
-                });
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith("org.springframework.web.bind.annotation.GetMapping"));
     }
 
     public static ArchRule restControllersNameShouldEndWithResource() {
-        return classes()
-                .that()
-                .areAnnotatedWith("org.springframework.web.bind.annotation.RestController")
-                .should()
-                .haveSimpleNameEndingWith("Resource");
+        return ElementRule.all(
+                classes()
+                        .annotatedWith("org.springframework.web.bind.annotation.RestController"),
+                haveSimpleNameEndingWith("Resource"))
+                .withHeaderCheck((classFile, headers, events) -> {
+                    if (classFile.isAnnotatedWith("org.springframework.web.bind.annotation.RestController")) {
+                        simpleNameEndingWith(classFile, "Resource", events);
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith("org.springframework.web.bind.annotation.RestController"));
     }
 
     public static ArchRule allEntityClassesShouldHaveVersionField() {
-        return classes()
-                .that()
-                .areAnnotatedWith("javax.persistence.Entity")
-                .should(new ArchCondition<JavaClass>("have @Version field") {
-                    @Override
-                    public void check(JavaClass javaClass, ConditionEvents events) {
-                        Set<JavaField> fields = javaClass.getAllFields();
-                        Optional<JavaField> versionField = fields.stream().filter(field -> field.getAnnotations().stream().map(a -> a.getRawType().getName()).anyMatch(a -> a.equals("javax.persistence.Version"))).findFirst();
-                        events.add(new SimpleConditionEvent(javaClass, versionField.isPresent(), javaClass.getFullName() + " have @Version field"));
+        return ElementRule.all(
+                classes()
+                        .annotatedWith("javax.persistence.Entity"),
+                violatedWhen("have @Version field",
+                        javaClass -> !hasVersionField(javaClass),
+                        javaClass -> javaClass.getFullName() + " have @Version field"))
+                .withHeaderCheck((classFile, headers, events) -> {
+                    if (classFile.isAnnotatedWith("javax.persistence.Entity") && !hasVersionField(headers.allFieldsOf(classFile))) {
+                        events.add(SimpleConditionEvent.violated(classFile, classFile.getName() + " have @Version field"));
                     }
-                });
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith("javax.persistence.Entity"));
     }
 
     public static ArchRule noCheckedExceptions() {
-        return noClasses()
-                .should()
-                .beAssignableFrom(Exception.class);
+        return ElementRule.no(classes(), beAssignableFrom(Exception.class))
+                .withClassLocalCondition();
     }
 
     /**
@@ -132,142 +198,125 @@ public final class XebiaArchitectureRules {
      * @return
      */
     public static ArchRule microservicesShouldNotDependOnEachOther(String packageIdentifier) {
-        return slices()
-                .matching(packageIdentifier)
-                .namingSlices("$2 of $1")
-                .should().notDependOnEachOther();
+        return SliceIndependenceRule.slicesMatching(packageIdentifier)
+                .namingSlices("$2 of $1");
     }
 
     public static ArchRule utilsClassesShouldHavePrivateConstructor(String... utilClassSuffixes) {
-        Set<String> utilClassSuffixSet = createUtilClassSet(utilClassSuffixes);
-        ClassesTransformer<JavaConstructor> utilClassesConstructors =
-                new AbstractClassesTransformer<JavaConstructor>("utility class constructors") {
-                    @Override
-                    public Iterable<JavaConstructor> doTransform(JavaClasses classes) {
-                        Set<JavaConstructor> result = new HashSet<>();
-                        for (JavaClass javaClass : classes) {
-                            boolean utilClass = utilClassSuffixSet.stream().anyMatch(javaClass.getSimpleName()::endsWith);
-                            if (utilClass) {
-                                result.addAll(javaClass.getConstructors());
-                            }
-                        }
-                        return result;
-                    }
-                };
+        Elements<JavaConstructor> utilClassesConstructors = constructors()
+                .withRole(utilityClasses(utilClassSuffixes), ClassRole.UTIL)
+                .as("utility class constructors");
 
-        ArchCondition<JavaConstructor> bePrivate = new ArchCondition<JavaConstructor>("be private") {
-            @Override
-            public void check(JavaConstructor constructor, ConditionEvents events) {
-                boolean privateAccess = constructor.getModifiers().contains(JavaModifier.PRIVATE);
-                String message = String.format("%s is not private", constructor.getFullName());
-                events.add(new SimpleConditionEvent(constructor, privateAccess, message));
-            }
-        };
-        return all(utilClassesConstructors)
-                .should(bePrivate);
+        ArchCondition<JavaConstructor> bePrivate = violatedWhen("be private",
+                constructor -> !constructor.getModifiers().contains(JavaModifier.PRIVATE),
+                constructor -> constructor.getFullName() + " is not private");
+        return ElementRule.all(utilClassesConstructors, bePrivate)
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses());
     }
 
     public static ArchRule utilsClassesShouldNotBeInjected(String... utilClassSuffixes) {
-        Set<String> utilClassSuffixSet = createUtilClassSet(utilClassSuffixes);
-        ClassesTransformer<JavaClass> utilClasses =
-                new AbstractClassesTransformer<JavaClass>("utility class") {
-                    @Override
-                    public Iterable<JavaClass> doTransform(JavaClasses classes) {
-                        Set<JavaClass> result = new HashSet<>();
-                        for (JavaClass javaClass : classes) {
-                            boolean utilClass = utilClassSuffixSet.stream().anyMatch(javaClass.getSimpleName()::endsWith);
-                            if (utilClass) {
-                                result.add(javaClass);
-                            }
-                        }
-                        return result;
-                    }
-                };
+        Elements<JavaClass> utilClasses = classes()
+                .withRole(utilityClasses(utilClassSuffixes), ClassRole.UTIL)
+                .as("utility class");
 
-        ArchCondition<JavaClass> beInjected = new ArchCondition<JavaClass>("be injected") {
-            @Override
-            public void check(JavaClass javaClass, ConditionEvents events) {
-                Set<JavaAccess<?>> accessesToSelf = javaClass.getAccessesToSelf();
-                com.tngtech.archunit.base.Optional<JavaAnnotation<JavaClass>> hasComponentAnnotation = javaClass.tryGetAnnotationOfType("org.springframework.stereotype.Component");
-                com.tngtech.archunit.base.Optional<JavaAnnotation<JavaClass>> hasInjectAnnotation = javaClass.tryGetAnnotationOfType("javax.inject.Inject");
-                String message = String.format("%s is annotated with @Component/@Inject annotation", javaClass.getFullName());
-                events.add(new SimpleConditionEvent(javaClass, hasComponentAnnotation.isPresent() || hasInjectAnnotation.isPresent(), message));
-            }
-        };
-        return no(utilClasses)
-                .should(beInjected);
+        ArchCondition<JavaClass> notBeInjected = violatedWhen("not be injected",
+                javaClass -> javaClass.isAnnotatedWith("org.springframework.stereotype.Component") || javaClass.isAnnotatedWith("javax.inject.Inject"),
+                javaClass -> javaClass.getFullName() + " is annotated with @Component/@Inject annotation");
+        return ElementRule.all(utilClasses, notBeInjected)
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses())
+                .as("no utility class should be injected");
 
     }
 
     public static ArchRule utilClassesMethodsShouldBeStatic(String... utilClassSuffixes) {
-        Set<String> utilClassSuffixSet = createUtilClassSet(utilClassSuffixes);
-        ClassesTransformer<JavaMethod> utilClassesMethods =
-                new AbstractClassesTransformer<JavaMethod>("utility class methods") {
-                    @Override
-                    public Iterable<JavaMethod> doTransform(JavaClasses classes) {
-                        Set<JavaMethod> result = new HashSet<>();
-                        for (JavaClass javaClass : classes) {
-                            boolean utilClass = utilClassSuffixSet.stream().anyMatch(javaClass.getSimpleName()::endsWith);
-                            if (utilClass) {
-                                result.addAll(javaClass.getMethods());
-                            }
-                        }
-                        return result;
-                    }
-                };
+        Elements<JavaMethod> utilClassesMethods = methods()
+                .withRole(utilityClasses(utilClassSuffixes), ClassRole.UTIL)
+                .as("utility class methods");
 
-        ArchCondition<JavaMethod> beStatic = new ArchCondition<JavaMethod>("be static") {
-            @Override
-            public void check(JavaMethod javaMethod, ConditionEvents events) {
-                boolean staticAccess = javaMethod.getModifiers().contains(JavaModifier.STATIC);
-                String message = String.format("%s is not static", javaMethod.getFullName());
-                events.add(new SimpleConditionEvent(javaMethod, staticAccess, message));
-            }
-        };
-        return all(utilClassesMethods)
-                .should(beStatic);
+        ArchCondition<JavaMethod> beStatic = violatedWhen("be static",
+                javaMethod -> !javaMethod.getModifiers().contains(JavaModifier.STATIC),
+                javaMethod -> javaMethod.getFullName() + " is not static");
+        return ElementRule.all(utilClassesMethods, beStatic)
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses());
     }
 
     public static ArchRule rootDirectoryShouldHaveApplicationClass(String rootPackageIdentifier) {
-        return classes()
-                .that().resideInAPackage(rootPackageIdentifier)
-                .should().haveSimpleNameEndingWith("Application");
+        PackageMatcher rootPackage = PackageMatcher.of(rootPackageIdentifier);
+        return ElementRule.all(
+                classes()
+                        .that(resideInAPackage(rootPackageIdentifier)),
+                haveSimpleNameEndingWith("Application"))
+                .withHeaderCheck((classFile, headers, events) -> {
+                    if (rootPackage.matches(classFile.getPackageName())) {
+                        simpleNameEndingWith(classFile, "Application", events);
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.packages(rootPackageIdentifier));
     }
 
     public static ArchRule loggerShouldBePrivateStaticFinal() {
-        return fields().that()
-                .haveRawType("org.slf4j.Logger")
-                .should().bePrivate()
-                .andShould().beStatic()
-                .andShould().beFinal();
+        return ElementRule.all(
+                fields()
+                        .that(have(rawType("org.slf4j.Logger"))),
+                ArchConditions.<JavaField>bePrivate()
+                        .and(ArchConditions.<JavaField>beStatic())
+                        .and(ArchConditions.<JavaField>beFinal())
+                        .as("be private and should be static and should be final"))
+                .withHeaderCheck((classFile, headers, events) -> {
+                    for (ClassFile.Member field : classFile.getFields()) {
+                        if (field.getDescriptor().equals("Lorg/slf4j/Logger;")) {
+                            modifier(classFile, field, Modifier.PRIVATE, JavaModifier.PRIVATE, events);
+                            modifier(classFile, field, Modifier.STATIC, JavaModifier.STATIC, events);
+                            modifier(classFile, field, Modifier.FINAL, JavaModifier.FINAL, events);
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses());
     }
 
     public static ArchRule repositoryShouldResideInRepositoryPackage() {
-        return classes()
-                .that().haveNameMatching(".*Repository")
-                .should().resideInAPackage("..repository..")
+        ClassRoleIndex roles = ClassRoleIndex.of(null, null);
+        PackageMatcher repositoryPackage = PackageMatcher.of("..repository..");
+        return ElementRule.all(
+                classes()
+                        .withRole(roles, ClassRole.REPOSITORY),
+                ArchConditions.resideInAPackage("..repository.."))
+                .withHeaderCheck((classFile, headers, events) -> {
+                    if (roles.isRepositoryTypeName(classFile.getName()) && !repositoryPackage.matches(classFile.getPackageName())) {
+                        events.add(SimpleConditionEvent.violated(classFile, String.format("Class <%s> does not reside in a package '..repository..' in %s",
+                                classFile.getName(), ClassHeaders.sourceCodeLocationOf(classFile))));
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses())
                 .as("Repositories should reside in a package '..repository..'");
     }
 
     public static ArchRule springSingletonComponentsShouldOnlyHaveFinalFields() {
-        return classes()
-                .that().areAnnotatedWith("org.springframework.stereotype.Component")
-                .or().areAnnotatedWith("org.springframework.stereotype.Service")
-                .and().areNotAnnotatedWith("org.springframework.boot.context.properties.ConfigurationProperties")
-                .or().areAnnotatedWith("org.springframework.stereotype.Controller")
-                .or().areAnnotatedWith("org.springframework.web.bind.annotation.RestController")
-                .or().areAnnotatedWith("org.springframework.stereotype.Repository")
-                .should().haveOnlyFinalFields();
+        return ElementRule.all(
+                classes()
+                        .that(ArchPredicates.<JavaClass>are(annotatedWith("org.springframework.stereotype.Component"))
+                                .or(are(annotatedWith("org.springframework.stereotype.Service")))
+                                .and(are(not(annotatedWith("org.springframework.boot.context.properties.ConfigurationProperties"))))
+                                .or(are(annotatedWith("org.springframework.stereotype.Controller")))
+                                .or(are(annotatedWith("org.springframework.web.bind.annotation.RestController")))
+                                .or(are(annotatedWith("org.springframework.stereotype.Repository")))),
+                haveOnlyFinalFields())
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith("org.springframework.stereotype.Component"));
     }
 
     public static ArchRule layersShouldBeFreeOfCycles(String packageIdentifier) {
-        return slices()
-                .matching(packageIdentifier)
-                .should().beFreeOfCycles();
+        return SliceCycleRule.slicesMatching(packageIdentifier);
     }
 
     public static ArchRule favorConstructorInjectionOverFieldInjection() {
-        return fields().should(new ArchCondition<JavaField>("not be @Autowired/@Inject") {
+        return ElementRule.all(fields(), new ArchCondition<JavaField>("not be @Autowired/@Inject") {
             @Override
             public void check(JavaField javaField, ConditionEvents events) {
                 if (javaField.isAnnotatedWith("org.springframework.beans.factory.annotation.Autowired")
@@ -276,62 +325,552 @@ public final class XebiaArchitectureRules {
                             String.format("Field %s of class %s is using field injection. Prefer constructor injection.", javaField.getName(), javaField.getOwner().getName())));
                 }
             }
-        });
+        })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses());
     }
 
     public static ArchRule favorJava8DateTimeApiOverJodaTime() {
-        return classes().should(new ArchCondition<JavaClass>("not use Joda time") {
+        return ElementRule.all(classes(), new ArchCondition<JavaClass>("not use Joda time") {
             @Override
             public void check(JavaClass javaClass, ConditionEvents events) {
-                List<JavaField> jodaFields = javaClass.getFields()
-                        .stream()
-                        .filter(field -> field.getRawType().getName().startsWith("org.joda"))
-                        .collect(Collectors.toList());
-                jodaFields.forEach(
-                        jodaField -> events.add(SimpleConditionEvent.violated(
-                                jodaField,
-                                String.format("Field %s of class %s is using Joda time. Prefer Java 8 date time API", jodaField.getName(), jodaField.getOwner().getName())
-                        ))
-                );
+                for (JavaField field : javaClass.getFields()) {
+                    if (field.getRawType().getName().startsWith("org.joda")) {
+                        events.add(SimpleConditionEvent.violated(field,
+                                String.format("Field %s of class %s is using Joda time. Prefer Java 8 date time API", field.getName(), field.getOwner().getName())));
+                    }
+                }
             }
-        });
+        })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses());
     }
 
     public static ArchRule favorBuilderOverLongListConstructor() {
-        return classes()
-                .that().areNotAnnotatedWith("org.springframework.stereotype.Component")
-                .or().areNotAnnotatedWith("org.springframework.stereotype.Service")
-                .or().areNotAnnotatedWith("org.springframework.boot.context.properties.ConfigurationProperties")
-                .or().areNotAnnotatedWith("org.springframework.stereotype.Controller")
-                .or().areNotAnnotatedWith("org.springframework.web.bind.annotation.RestController")
-                .or().areNotAnnotatedWith("org.springframework.stereotype.Repository")
-                .should(new ArchCondition<JavaClass>("not have constructor more than 3 parameters") {
+        return ElementRule.all(
+                classes()
+                        .that(ArchPredicates.<JavaClass>are(not(annotatedWith("org.springframework.stereotype.Component")))
+                                .or(are(not(annotatedWith("org.springframework.stereotype.Service"))))
+                                .or(are(not(annotatedWith("org.springframework.boot.context.properties.ConfigurationProperties"))))
+                                .or(are(not(annotatedWith("org.springframework.stereotype.Controller"))))
+                                .or(are(not(annotatedWith("org.springframework.web.bind.annotation.RestController"))))
+                                .or(are(not(annotatedWith("org.springframework.stereotype.Repository"))))),
+                new ArchCondition<JavaClass>("not have constructor more than 3 parameters") {
+                    @Override
+                    public void check(JavaClass javaClass, ConditionEvents events) {
+                        for (JavaConstructor constructor : javaClass.getConstructors()) {
+                            if (constructor.getModifiers().contains(JavaModifier.PUBLIC) && constructor.getRawParameterTypes().size() > 3) {
+                                events.add(SimpleConditionEvent.violated(constructor,
+                                        String.format("Constructor %s of class %s has more than 3 parameters. Prefer Builder over long list constructors", constructor.getName(), constructor.getOwner().getName())));
+                            }
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses());
+
+    }
+
+    /**
+     * An eagerly fetched collection is loaded with every entity, whether it is used or not.
+     */
+    public static ArchRule entityCollectionAssociationsShouldNotBeFetchedEagerly() {
+        return ElementRule.all(
+                entityFields(),
+                violatedWhen("not fetch collection associations eagerly",
+                        field -> {
+                            String association = collectionAssociationOf(field);
+                            return association != null && isFetchedEagerly(field, association);
+                        },
+                        field -> String.format("Field <%s> is @%s with FetchType.EAGER in %s",
+                                field.getFullName(), simpleNameOf(collectionAssociationOf(field)), field.getSourceCodeLocation())))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(ENTITY, MAPPED_SUPERCLASS));
+    }
+
+    /**
+     * {@code @ManyToOne} and {@code @OneToOne} are fetched eagerly unless declared otherwise, which adds a join or a
+     * query for every loaded entity.
+     */
+    public static ArchRule entitySingleValuedAssociationsShouldBeLazy() {
+        return ElementRule.all(
+                entityFields(),
+                violatedWhen("fetch single valued associations lazily",
+                        field -> {
+                            String association = singleValuedAssociationOf(field);
+                            return association != null && isFetchedEagerly(field, association);
+                        },
+                        field -> String.format("Field <%s> is @%s without fetch = FetchType.LAZY in %s",
+                                field.getFullName(), simpleNameOf(singleValuedAssociationOf(field)), field.getSourceCodeLocation())))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(ENTITY, MAPPED_SUPERCLASS));
+    }
+
+    /**
+     * Without {@code @BatchSize}, a {@code @Fetch} mode other than {@code SELECT} or an entity graph, iterating over
+     * entities and their collections runs one query per entity (N+1 selects).
+     */
+    public static ArchRule entityCollectionAssociationsShouldHaveBatchSize() {
+        return ElementRule.all(
+                entityFields(),
+                violatedWhen("load collection associations in batches",
+                        field -> collectionAssociationOf(field) != null && !isBatchFetched(field),
+                        field -> String.format("Field <%s> is @%s without @BatchSize, @Fetch or a named entity graph in %s",
+                                field.getFullName(), simpleNameOf(collectionAssociationOf(field)), field.getSourceCodeLocation())))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(ENTITY, MAPPED_SUPERCLASS));
+    }
+
+    /**
+     * A {@code List} or {@code Collection} without {@code @OrderColumn} is a bag. Fetching several bags at once builds
+     * their cartesian product, and Hibernate recreates a bag on every change.
+     */
+    public static ArchRule entityCollectionsShouldNotBeBags() {
+        return ElementRule.all(
+                entityFields(),
+                violatedWhen("not map collections as bags",
+                        JpaAssociations::isBag,
+                        field -> String.format("Field <%s> of type %s without @OrderColumn is a bag, prefer a Set in %s",
+                                field.getFullName(), field.getRawType().getName(), field.getSourceCodeLocation())))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(ENTITY, MAPPED_SUPERCLASS));
+    }
+
+    /**
+     * Touching a lazy association in {@code equals} or {@code hashCode} loads it whenever the entity is put into a
+     * set or compared, and fails for detached entities.
+     */
+    public static ArchRule entityEqualsAndHashCodeShouldNotUseLazyAssociations() {
+        return ElementRule.all(
+                methods()
+                        .that(declaredIn(annotatedWith(ENTITY).or(annotatedWith(MAPPED_SUPERCLASS))))
+                        .and(new DescribedPredicate<JavaMethod>("are equals or hashCode") {
+                            @Override
+                            public boolean apply(JavaMethod method) {
+                                return JpaAssociations.isEqualsOrHashCode(method);
+                            }
+                        })
+                        .as("entity equals and hashCode methods"),
+                violatedWhen("not use lazy associations",
+                        method -> !lazyAssociationsUsedBy(method).isEmpty(),
+                        method -> String.format("Method <%s> uses the lazy associations %s in %s",
+                                method.getFullName(), lazyAssociationsUsedBy(method), method.getSourceCodeLocation())))
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(ENTITY, MAPPED_SUPERCLASS));
+    }
+
+    /**
+     * A synchronized method or block of a singleton serializes all request threads passing it.
+     */
+    public static ArchRule springSingletonComponentsShouldNotSynchronize() {
+        BytecodeMetadata bytecodeMetadata = BytecodeMetadata.withMonitors();
+        return ElementRule.all(
+                classes().metaAnnotatedWith(COMPONENT),
+                new ArchCondition<JavaClass>("not use synchronized methods or blocks") {
+                    @Override
+                    public void check(JavaClass javaClass, ConditionEvents events) {
+                        for (JavaMethod method : javaClass.getMethods()) {
+                            if (method.getModifiers().contains(JavaModifier.SYNCHRONIZED)) {
+                                events.add(SimpleConditionEvent.violated(method,
+                                        String.format("Method <%s> is synchronized in %s", method.getFullName(), method.getSourceCodeLocation())));
+                            }
+                        }
+                        for (Map.Entry<String, List<Integer>> method : bytecodeMetadata.monitorEnterLines(javaClass).entrySet()) {
+                            for (int line : method.getValue()) {
+                                events.add(SimpleConditionEvent.violated(javaClass,
+                                        String.format("Method <%s.%s> has a synchronized block in %s",
+                                                javaClass.getName(), method.getKey(), SourceCodeLocation.of(javaClass, line))));
+                            }
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(COMPONENT));
+    }
+
+    /**
+     * {@code Hashtable}, {@code Vector}, {@code StringBuffer} and the {@code Collections.synchronized*} wrappers lock on
+     * every access.
+     */
+    public static ArchRule springSingletonComponentsShouldNotUseSynchronizedCollections() {
+        return ElementRule.all(
+                classes().metaAnnotatedWith(COMPONENT),
+                new ArchCondition<JavaClass>("not use synchronized collections") {
+                    @Override
+                    public void check(JavaClass javaClass, ConditionEvents events) {
+                        for (JavaField field : javaClass.getFields()) {
+                            String synchronizedType = synchronizedTypeOf(field);
+                            if (synchronizedType != null) {
+                                String type = field.getRawType().getName().equals(synchronizedType)
+                                        ? synchronizedType
+                                        : field.getRawType().getName() + " extending " + synchronizedType;
+                                events.add(SimpleConditionEvent.violated(field,
+                                        String.format("Field <%s> of type %s locks on every access in %s",
+                                                field.getFullName(), type, field.getSourceCodeLocation())));
+                            }
+                        }
+                        for (JavaMethodCall call : javaClass.getMethodCallsFromSelf()) {
+                            if (isSynchronizedWrapper(call)) {
+                                events.add(SimpleConditionEvent.violated(call, call.getDescription()));
+                            }
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(COMPONENT));
+    }
+
+    /**
+     * A static collection is shared by all threads and all instances, and needs to be guarded against concurrent
+     * modification. Static final collections initialized with an unmodifiable factory, e.g. {@code List.of} or
+     * {@code Collections.unmodifiableMap}, are fine.
+     */
+    public static ArchRule springSingletonComponentsShouldNotHaveStaticMutableCollections() {
+        return ElementRule.all(
+                classes().metaAnnotatedWith(COMPONENT),
+                new ArchCondition<JavaClass>("not have static mutable collections") {
+                    @Override
+                    public void check(JavaClass javaClass, ConditionEvents events) {
+                        for (JavaField field : javaClass.getFields()) {
+                            if (isStaticMutableCollection(field)) {
+                                events.add(SimpleConditionEvent.violated(field,
+                                        String.format("Field <%s> is a static mutable %s in %s",
+                                                field.getFullName(), field.getRawType().getName(), field.getSourceCodeLocation())));
+                            }
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(COMPONENT));
+    }
+
+    /**
+     * Request threads are pooled, so a thread local that is never removed leaks its value into the next request.
+     */
+    public static ArchRule springSingletonComponentsShouldRemoveThreadLocals() {
+        return ElementRule.all(
+                classes().metaAnnotatedWith(COMPONENT),
+                new ArchCondition<JavaClass>("remove their thread locals") {
+                    @Override
+                    public void check(JavaClass javaClass, ConditionEvents events) {
+                        for (JavaField field : javaClass.getFields()) {
+                            if (isThreadLocal(field) && !isRemoved(field)) {
+                                events.add(SimpleConditionEvent.violated(field,
+                                        String.format("Field <%s> is a ThreadLocal that is never removed in %s",
+                                                field.getFullName(), field.getSourceCodeLocation())));
+                            }
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(COMPONENT));
+    }
+
+    /**
+     * @see #expensiveObjectsShouldNotBeCreatedPerCall(ExpensiveFactories)
+     */
+    public static ArchRule expensiveObjectsShouldNotBeCreatedPerCall() {
+        return expensiveObjectsShouldNotBeCreatedPerCall(ExpensiveFactories.defaults());
+    }
+
+    /**
+     * Objects like compiled patterns or object mappers are thread-safe and should be created once, in a static
+     * initializer, a constructor or a {@code @Bean} or {@code @PostConstruct} method, instead of on every call of an
+     * instance method or lambda.
+     */
+    public static ArchRule expensiveObjectsShouldNotBeCreatedPerCall(ExpensiveFactories factories) {
+        return ElementRule.all(classes(), new ArchCondition<JavaClass>("not create expensive objects per call") {
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents events) {
+                for (JavaCall<?> call : javaClass.getCallsFromSelf()) {
+                    if (factories.isExpensive(call) && runsPerCall(call.getOrigin())) {
+                        events.add(SimpleConditionEvent.violated(call, call.getDescription()));
+                    }
+                }
+            }
+        })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.allClasses());
+    }
+
+    private static boolean runsPerCall(JavaCodeUnit codeUnit) {
+        if (!(codeUnit instanceof JavaMethod)) {
+            return false;
+        }
+        if (codeUnit.getName().startsWith("lambda$")) {
+            return true;
+        }
+        return !codeUnit.getModifiers().contains(JavaModifier.STATIC)
+                && !codeUnit.isAnnotatedWith("org.springframework.context.annotation.Bean")
+                && !codeUnit.isAnnotatedWith("javax.annotation.PostConstruct")
+                && !(codeUnit.getName().equals("afterPropertiesSet") && codeUnit.getRawParameterTypes().isEmpty());
+    }
+
+    /**
+     * @see #reactiveMethodsShouldNotBlock(BlockingSinks)
+     */
+    public static ArchRule reactiveMethodsShouldNotBlock() {
+        return reactiveMethodsShouldNotBlock(BlockingSinks.defaults());
+    }
+
+    /**
+     * A reactive controller or service method runs on one of a few event loop threads, so a blocking call anywhere
+     * down its call chain stalls all requests served by that thread. Reports one chain of calls per method.
+     */
+    public static ArchRule reactiveMethodsShouldNotBlock(BlockingSinks sinks) {
+        return ElementRule.all(
+                methods()
+                        .that(new DescribedPredicate<JavaMethod>("are declared in Spring components and return a Publisher") {
+                            @Override
+                            public boolean apply(JavaMethod method) {
+                                return method.getRawReturnType().isAssignableTo("org.reactivestreams.Publisher")
+                                        && AnnotationIndex.isMetaAnnotatedWith(method.getOwner(), COMPONENT);
+                            }
+                        })
+                        .as("reactive methods of Spring components"),
+                new ArchCondition<JavaMethod>("not reach blocking calls") {
+                    private CallGraphReachability reachability;
+
+                    @Override
+                    public void init(Iterable<JavaMethod> allObjectsToTest) {
+                        reachability = new CallGraphReachability(sinks.newMatcher());
+                    }
+
+                    @Override
+                    public void check(JavaMethod method, ConditionEvents events) {
+                        if (reachability == null) {
+                            reachability = new CallGraphReachability(sinks.newMatcher());
+                        }
+                        Optional<CallPath> path = reachability.pathToSink(method);
+                        if (path.isPresent()) {
+                            events.add(SimpleConditionEvent.violated(method,
+                                    String.format("Method <%s> may block through %s: %s",
+                                            method.getFullName(), path.get(), path.get().getSinkCall().getDescription())));
+                        }
+                    }
+                })
+                .withImportScope(ImportScope.allClasses());
+    }
+
+    /**
+     * Spring reads every class file below the scanned packages at startup, so an application or configuration class
+     * scanning a parent of the root package, e.g. {@code com.example}, also scans the jars of every library that
+     * shares it.
+     */
+    public static ArchRule componentScansShouldNotBeBroaderThanRootPackage(String rootPackageIdentifier) {
+        PackageMatcher rootPackage = PackageMatcher.of(rootPackageIdentifier);
+        return ElementRule.all(
+                classes()
+                        .metaAnnotatedWith(COMPONENT_SCAN)
+                        .as("classes scanning for components"),
+                new ArchCondition<JavaClass>("only scan packages within '" + rootPackageIdentifier + "'") {
+                    @Override
+                    public void check(JavaClass javaClass, ConditionEvents events) {
+                        for (String scannedPackage : scannedPackagesOf(javaClass)) {
+                            if (!isWithin(scannedPackage, rootPackage)) {
+                                events.add(SimpleConditionEvent.violated(javaClass,
+                                        String.format("Class <%s> scans package '%s' outside of '%s' in %s",
+                                                javaClass.getName(), scannedPackage, rootPackageIdentifier, javaClass.getSourceCodeLocation())));
+                            }
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(COMPONENT_SCAN));
+    }
+
+    /**
+     * @see #startupCallbacksShouldNotDoIo(BlockingSinks)
+     */
+    public static ArchRule startupCallbacksShouldNotDoIo() {
+        return startupCallbacksShouldNotDoIo(BlockingSinks.io());
+    }
+
+    /**
+     * Static initializers, {@code @PostConstruct} methods and {@code afterPropertiesSet()} run one after the other
+     * while the application starts, so their file, network and database calls add up to the startup time. Reports one
+     * chain of calls per initializer.
+     */
+    public static ArchRule startupCallbacksShouldNotDoIo(BlockingSinks ioCalls) {
+        return ElementRule.all(classes(), new ArchCondition<JavaClass>("not do I/O in static initializers or init callbacks") {
+            private CallGraphReachability reachability;
+
+            @Override
+            public void init(Iterable<JavaClass> allObjectsToTest) {
+                reachability = new CallGraphReachability(ioCalls.newMatcher());
+            }
+
+            @Override
+            public void check(JavaClass javaClass, ConditionEvents events) {
+                if (reachability == null) {
+                    reachability = new CallGraphReachability(ioCalls.newMatcher());
+                }
+                if (javaClass.getStaticInitializer().isPresent()) {
+                    report(javaClass.getStaticInitializer().get(), "Static initializer of <" + javaClass.getName() + ">", events);
+                }
+                for (JavaMethod method : javaClass.getMethods()) {
+                    if (isInitCallback(method)) {
+                        report(method, "Method <" + method.getFullName() + ">", events);
+                    }
+                }
+            }
+
+            private void report(JavaCodeUnit codeUnit, String initializer, ConditionEvents events) {
+                Optional<CallPath> path = reachability.pathToSink(codeUnit);
+                if (path.isPresent()) {
+                    events.add(SimpleConditionEvent.violated(codeUnit,
+                            String.format("%s does I/O at startup through %s: %s",
+                                    initializer, path.get(), path.get().getSinkCall().getDescription())));
+                }
+            }
+        }).withImportScope(ImportScope.allClasses());
+    }
+
+    /**
+     * A configuration class with {@code proxyBeanMethods = true}, the default, is subclassed with CGLIB at startup so
+     * that calls between its {@code @Bean} methods return the singletons. Without such calls the proxy is not needed.
+     * Configuration classes without {@code @Bean} methods, e.g. a plain {@code @SpringBootApplication}, are left alone.
+     */
+    public static ArchRule configurationsWithoutInterBeanCallsShouldNotProxyBeanMethods() {
+        return ElementRule.all(
+                classes()
+                        .metaAnnotatedWith(CONFIGURATION)
+                        .as("configuration classes"),
+                new ArchCondition<JavaClass>("set proxyBeanMethods = false unless their @Bean methods call each other") {
                     @Override
                     public void check(JavaClass javaClass, ConditionEvents events) {
-                        Set<JavaConstructor> classesWithLongConstructors = javaClass.getConstructors()
-                                .stream()
-                                .filter(c -> Modifier.isPublic(c.reflect().getModifiers()) && c.getRawParameterTypes().size() > 3)
-                                .collect(Collectors.toSet());
-
-                        classesWithLongConstructors.forEach(
-                                c -> events.add(SimpleConditionEvent.violated(
-                                        c, String.format("Constructor %s of class %s has more than 3 parameters. Prefer Builder over long list constructors", c.getName(), c.getOwner().getName())
-                                ))
-                        );
+                        if (declaresBeanMethods(javaClass) && proxiesBeanMethods(javaClass) && !callsBeanMethod(javaClass)) {
+                            events.add(SimpleConditionEvent.violated(javaClass,
+                                    String.format("Class <%s> proxies its @Bean methods, but never calls them, set proxyBeanMethods = false in %s",
+                                            javaClass.getName(), javaClass.getSourceCodeLocation())));
+                        }
                     }
-                });
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(CONFIGURATION));
+    }
 
+    /**
+     * Beans of the given types, e.g. search indexes or large caches, take long to create and should be {@code @Lazy}:
+     * components of these types as well as {@code @Bean} methods returning them, unless their configuration class is
+     * {@code @Lazy} as a whole.
+     */
+    public static ArchRule heavyBeansShouldBeLazy(String... heavyBeanTypes) {
+        List<String> heavyTypes = Arrays.asList(heavyBeanTypes);
+        return ElementRule.all(
+                classes()
+                        .metaAnnotatedWith(COMPONENT)
+                        .as("Spring components"),
+                new ArchCondition<JavaClass>("be @Lazy if they are or create beans of " + heavyTypes) {
+                    @Override
+                    public void check(JavaClass javaClass, ConditionEvents events) {
+                        String heavyType = heavyTypeOf(javaClass, heavyTypes);
+                        if (heavyType != null && !isLazy(javaClass)) {
+                            events.add(SimpleConditionEvent.violated(javaClass,
+                                    String.format("Class <%s> is a %s and is not @Lazy in %s",
+                                            javaClass.getName(), heavyType, javaClass.getSourceCodeLocation())));
+                        }
+                        if (isLazy(javaClass)) {
+                            return;
+                        }
+                        for (JavaMethod method : javaClass.getMethods()) {
+                            if (method.isAnnotatedWith(BEAN)) {
+                                String createdType = heavyTypeOf(method.getRawReturnType(), heavyTypes);
+                                if (createdType != null && !isLazy(method)) {
+                                    events.add(SimpleConditionEvent.violated(method,
+                                            String.format("Method <%s> creates a %s and is not @Lazy in %s",
+                                                    method.getFullName(), createdType, method.getSourceCodeLocation())));
+                                }
+                            }
+                        }
+                    }
+                })
+                .withClassLocalCondition()
+                .withImportScope(ImportScope.annotatedWith(COMPONENT));
     }
 
+    private static Elements<JavaField> entityFields() {
+        return fields()
+                .that(declaredIn(annotatedWith(ENTITY).or(annotatedWith(MAPPED_SUPERCLASS))))
+                .as("entity fields");
+    }
+
+    private static String simpleNameOf(String typeName) {
+        return typeName.substring(typeName.lastIndexOf('.') + 1);
+    }
+
+
+    private static ClassRoleIndex utilityClasses(String... utilClassSuffixes) {
+        List<String> suffixes = utilClassSuffixes == null ? null : Arrays.asList(utilClassSuffixes);
+        return ClassRoleIndex.of(null, suffixes);
+    }
+
+    private static DescribedPredicate<JavaMethod> nameEndingWithList() {
+        SuffixMatcher list = SuffixMatcher.of("List");
+        return new DescribedPredicate<JavaMethod>("name matching '\\w*List\\b'") {
+            @Override
+            public boolean apply(JavaMethod method) {
+                String name = method.getName();
+                for (int i = 0; i < name.length(); i++) {
+                    char c = name.charAt(i);
+                    if (!(c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                        return false;
+                    }
+                }
+                return list.matches(name);
+            }
+        };
+    }
+
+    private static boolean hasVersionField(JavaClass javaClass) {
+        for (JavaField field : javaClass.getAllFields()) {
+            if (field.isAnnotatedWith("javax.persistence.Version")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasVersionField(List<ClassFile.Member> fields) {
+        for (ClassFile.Member field : fields) {
+            if (field.isAnnotatedWith("javax.persistence.Version")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the type arguments of the generic return type, read from the class file; {@code null} if no class file
+     * can be read
+     */
+    private static List<String> typeArgumentsOfReturnType(JavaMethod method, BytecodeMetadata bytecodeMetadata) {
+        List<String> typeArguments = new ArrayList<>();
+        Optional<TypeSignature> genericReturnType = bytecodeMetadata.genericReturnType(method);
+        if (genericReturnType.isPresent()) {
+            for (TypeSignature typeArgument : genericReturnType.get().getTypeArguments()) {
+                typeArguments.add(typeArgument.getTypeName());
+            }
+            return typeArguments;
+        }
+        return null;
+    }
+
+    private static String notReturningPageOfDtos(JavaMethod method, String actualReturnType) {
+        return String.format("Method <%s> returns %s instead of Page<DTO> object in %s", method.getFullName(), actualReturnType, method.getSourceCodeLocation());
+    }
+
+    private static void simpleNameEndingWith(ClassFile classFile, String suffix, ConditionEvents events) {
+        if (!classFile.getSimpleName().endsWith(suffix)) {
+            events.add(SimpleConditionEvent.violated(classFile, String.format("simple name of %s does not end with '%s' in %s",
+                    classFile.getName(), suffix, ClassHeaders.sourceCodeLocationOf(classFile))));
+        }
+    }
 
-    private static Set<String> createUtilClassSet(String[] utilClassSuffixes) {
-        Set<String> utilClassSuffixSet = new HashSet<>();
-        if (utilClassSuffixes == null || utilClassSuffixes.length == 0) {
-            utilClassSuffixSet.add("Util");
-            utilClassSuffixSet.add("Utils");
-        } else {
-            utilClassSuffixSet.addAll(Arrays.asList(utilClassSuffixes));
+    private static void modifier(ClassFile classFile, ClassFile.Member field, int flag, JavaModifier modifier, ConditionEvents events) {
+        if ((field.getAccess() & flag) == 0) {
+            events.add(SimpleConditionEvent.violated(classFile, String.format("Field <%s.%s> does not have modifier %s in %s",
+                    classFile.getName(), field.getName(), modifier, ClassHeaders.sourceCodeLocationOf(classFile))));
         }
-        return utilClassSuffixSet;
     }
 }
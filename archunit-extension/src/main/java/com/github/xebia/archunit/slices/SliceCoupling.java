@@ -0,0 +1,64 @@
+package com.github.xebia.archunit.slices;
+
+import com.tngtech.archunit.core.domain.Dependency;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A dependency of one slice on another, reported by {@link SliceIndependenceRule}, together with a sample of the class
+ * dependencies causing it.
+ */
+public final class SliceCoupling {
+
+    private final String origin;
+    private final String target;
+    private final List<Dependency> sampleDependencies;
+    private final int dependencyCount;
+
+    SliceCoupling(String origin, String target, List<Dependency> sampleDependencies, int dependencyCount) {
+        this.origin = origin;
+        this.target = target;
+        this.sampleDependencies = Collections.unmodifiableList(sampleDependencies);
+        this.dependencyCount = dependencyCount;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * @return a sample of the class dependencies from the origin to the target slice, in ArchUnit's order
+     */
+    public List<Dependency> getSampleDependencies() {
+        return sampleDependencies;
+    }
+
+    public int getDependencyCount() {
+        return dependencyCount;
+    }
+
+    /**
+     * @return the description ArchUnit gives a slice dependency, followed by the number of dependencies left out
+     */
+    String getDescription() {
+        StringBuilder description = new StringBuilder(origin).append(" depends on ").append(target).append(':');
+        for (Dependency dependency : sampleDependencies) {
+            description.append(System.lineSeparator()).append(dependency.getDescription());
+        }
+        int omitted = dependencyCount - sampleDependencies.size();
+        if (omitted > 0) {
+            description.append(System.lineSeparator()).append("(").append(omitted).append(" more)");
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
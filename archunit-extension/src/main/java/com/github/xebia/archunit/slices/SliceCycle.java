@@ -0,0 +1,68 @@
+package com.github.xebia.archunit.slices;
+
+import com.tngtech.archunit.core.domain.Dependency;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A cycle between slices, reported by {@link SliceCycleRule}, together with a sample of the class dependencies
+ * causing each of its edges.
+ */
+public final class SliceCycle {
+
+    private final List<String> slices;
+    private final List<List<Dependency>> sampleDependencies;
+    private final List<Integer> dependencyCounts;
+
+    SliceCycle(List<String> slices, List<List<Dependency>> sampleDependencies, List<Integer> dependencyCounts) {
+        this.slices = Collections.unmodifiableList(slices);
+        this.sampleDependencies = Collections.unmodifiableList(sampleDependencies);
+        this.dependencyCounts = Collections.unmodifiableList(dependencyCounts);
+    }
+
+    /**
+     * @return the slices along the cycle, the last one depending on the first one again
+     */
+    public List<String> getSlices() {
+        return slices;
+    }
+
+    /**
+     * @return a sample of the class dependencies from the {@code i}-th slice to the next one
+     */
+    public List<Dependency> getSampleDependencies(int i) {
+        return sampleDependencies.get(i);
+    }
+
+    /**
+     * @return the number of class dependencies from the {@code i}-th slice to the next one
+     */
+    public int getDependencyCount(int i) {
+        return dependencyCounts.get(i);
+    }
+
+    String getDescription() {
+        StringBuilder description = new StringBuilder("Cycle detected: ");
+        for (String slice : slices) {
+            description.append(slice).append(" -> ");
+        }
+        description.append(slices.get(0));
+        for (int i = 0; i < slices.size(); i++) {
+            description.append(System.lineSeparator()).append("Dependencies of ").append(slices.get(i));
+            for (Dependency dependency : sampleDependencies.get(i)) {
+                description.append(System.lineSeparator()).append(dependency.getDescription());
+            }
+            int omitted = dependencyCounts.get(i) - sampleDependencies.get(i).size();
+            if (omitted > 0) {
+                description.append(System.lineSeparator()).append("(").append(omitted).append(" more)");
+            }
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
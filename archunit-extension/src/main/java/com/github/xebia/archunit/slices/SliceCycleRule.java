@@ -0,0 +1,182 @@
+package com.github.xebia.archunit.slices;
+
+import com.github.xebia.archunit.importer.HasImportScope;
+import com.github.xebia.archunit.importer.ImportScope;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * "slices matching '...' should be free of cycles", evaluated on a {@link SliceGraph} instead of ArchUnit's generic
+ * slice rule.
+ * <p>
+ * The strongly connected components of the slice graph are found with Tarjan's algorithm. For every component at most
+ * {@link #withMaxCyclesPerComponent(int) a bounded number} of representative cycles is reported, each a shortest
+ * cycle through a slice not yet covered by a reported cycle, listing at most
+ * {@link #withMaxSampleDependencies(int) a bounded number} of class dependencies per edge. Run time and memory are
+ * linear in the size of the dependency graph for fixed bounds.
+ */
+public final class SliceCycleRule implements ArchRule, HasImportScope {
+
+    public static final int DEFAULT_MAX_CYCLES_PER_COMPONENT = 5;
+    public static final int DEFAULT_MAX_SAMPLE_DEPENDENCIES = 20;
+
+    private final String packageIdentifier;
+    private final int maxCyclesPerComponent;
+    private final int maxSampleDependencies;
+    private final String description;
+
+    private SliceCycleRule(String packageIdentifier, int maxCyclesPerComponent, int maxSampleDependencies, String description) {
+        this.packageIdentifier = packageIdentifier;
+        this.maxCyclesPerComponent = maxCyclesPerComponent;
+        this.maxSampleDependencies = maxSampleDependencies;
+        this.description = description;
+    }
+
+    public static SliceCycleRule slicesMatching(String packageIdentifier) {
+        return new SliceCycleRule(packageIdentifier, DEFAULT_MAX_CYCLES_PER_COMPONENT, DEFAULT_MAX_SAMPLE_DEPENDENCIES,
+                "slices matching '" + packageIdentifier + "' should be free of cycles");
+    }
+
+    public SliceCycleRule withMaxCyclesPerComponent(int maxCyclesPerComponent) {
+        if (maxCyclesPerComponent < 1) {
+            throw new IllegalArgumentException("At least one cycle per component must be reported");
+        }
+        return new SliceCycleRule(packageIdentifier, maxCyclesPerComponent, maxSampleDependencies, description);
+    }
+
+    public SliceCycleRule withMaxSampleDependencies(int maxSampleDependencies) {
+        if (maxSampleDependencies < 0) {
+            throw new IllegalArgumentException("The number of sample dependencies must not be negative");
+        }
+        return new SliceCycleRule(packageIdentifier, maxCyclesPerComponent, maxSampleDependencies, description);
+    }
+
+    /**
+     * @return the sliced packages; dependencies leaving them cannot be part of a cycle
+     */
+    @Override
+    public ImportScope getImportScope() {
+        return ImportScope.packages(packageIdentifier);
+    }
+
+    @Override
+    public void check(JavaClasses classes) {
+        Assertions.assertNoViolation(evaluate(classes));
+    }
+
+    @Override
+    public EvaluationResult evaluate(JavaClasses classes) {
+        SliceGraph graph = SliceGraph.of(classes, packageIdentifier, maxSampleDependencies);
+        ConditionEvents events = new ConditionEvents();
+        for (int[] component : StronglyConnectedComponents.of(graph)) {
+            for (SliceCycle cycle : representativeCycles(graph, component)) {
+                events.add(SimpleConditionEvent.violated(cycle, cycle.getDescription()));
+            }
+        }
+        return new EvaluationResult(this, events, Priority.MEDIUM);
+    }
+
+    private List<SliceCycle> representativeCycles(SliceGraph graph, int[] component) {
+        boolean[] inComponent = new boolean[graph.sliceCount()];
+        for (int slice : component) {
+            inComponent[slice] = true;
+        }
+        boolean[] covered = new boolean[graph.sliceCount()];
+        int[] predecessors = new int[graph.sliceCount()];
+        List<SliceCycle> cycles = new ArrayList<>();
+        for (int start : component) {
+            if (cycles.size() == maxCyclesPerComponent) {
+                break;
+            }
+            if (covered[start]) {
+                continue;
+            }
+            int[] cycle = shortestCycleThrough(graph, start, inComponent, predecessors);
+            for (int slice : cycle) {
+                covered[slice] = true;
+            }
+            cycles.add(toSliceCycle(graph, cycle));
+        }
+        return cycles;
+    }
+
+    /**
+     * Breadth first search from {@code start} back to itself, restricted to the component of {@code start}. Every
+     * slice of a strongly connected component with more than one slice lies on a cycle, so the search always succeeds.
+     */
+    private static int[] shortestCycleThrough(SliceGraph graph, int start, boolean[] inComponent, int[] predecessors) {
+        Arrays.fill(predecessors, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int slice = queue.poll();
+            for (int position = graph.dependenciesStart(slice); position < graph.dependenciesEnd(slice); position++) {
+                int target = graph.targetOf(position);
+                if (!inComponent[target] || predecessors[target] != -1) {
+                    continue;
+                }
+                predecessors[target] = slice;
+                if (target == start) {
+                    return pathTo(start, predecessors);
+                }
+                queue.add(target);
+            }
+        }
+        throw new IllegalStateException(graph.nameOf(start) + " is not part of a cycle");
+    }
+
+    private static int[] pathTo(int start, int[] predecessors) {
+        Deque<Integer> path = new ArrayDeque<>();
+        int slice = predecessors[start];
+        while (slice != start) {
+            path.addFirst(slice);
+            slice = predecessors[slice];
+        }
+        path.addFirst(start);
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static SliceCycle toSliceCycle(SliceGraph graph, int[] cycle) {
+        List<String> slices = new ArrayList<>(cycle.length);
+        List<List<Dependency>> sampleDependencies = new ArrayList<>(cycle.length);
+        List<Integer> dependencyCounts = new ArrayList<>(cycle.length);
+        for (int i = 0; i < cycle.length; i++) {
+            int position = graph.positionOf(cycle[i], cycle[(i + 1) % cycle.length]);
+            slices.add(graph.nameOf(cycle[i]));
+            sampleDependencies.add(graph.sampleDependenciesOf(position));
+            dependencyCounts.add(graph.dependencyCountOf(position));
+        }
+        return new SliceCycle(slices, sampleDependencies, dependencyCounts);
+    }
+
+    @Override
+    public SliceCycleRule because(String reason) {
+        return new SliceCycleRule(packageIdentifier, maxCyclesPerComponent, maxSampleDependencies, description + ", because " + reason);
+    }
+
+    @Override
+    public SliceCycleRule as(String newDescription) {
+        return new SliceCycleRule(packageIdentifier, maxCyclesPerComponent, maxSampleDependencies, newDescription);
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -0,0 +1,291 @@
+package com.github.xebia.archunit.slices;
+
+import com.tngtech.archunit.base.Optional;
+import com.tngtech.archunit.base.PackageMatcher;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The dependencies between the classes of some {@link JavaClasses}, projected onto the slices matched by a package
+ * identifier like {@code "com.example.(*).."}.
+ * <p>
+ * Slices are numbered {@code 0..n-1} in the order of their names and the slice dependencies are stored as compact
+ * adjacency arrays, sorted by target within each slice. Every slice dependency keeps at most a configured number of
+ * the class dependencies causing it, so memory stays linear in the number of slice dependencies no matter how many
+ * classes depend on each other.
+ * <p>
+ * {@link #dependencyMatrix()} additionally offers the slice dependencies as one bitset row per slice, for rules that
+ * scan for dependencies between slices rather than walk the graph. Graphs are shared per {@link JavaClasses} instance,
+ * so all slice rules over the same packages project the class dependencies only once.
+ */
+public final class SliceGraph {
+
+    private static final List<Entry> GRAPHS = new ArrayList<>();
+
+    private final String[] names;
+    private final List<List<String>> groups;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] dependencyCounts;
+    private final List<List<Dependency>> sampleDependencies;
+    private volatile long[] dependencyMatrix;
+
+    private SliceGraph(String[] names, List<List<String>> groups, int[] offsets, int[] targets, int[] dependencyCounts,
+                       List<List<Dependency>> sampleDependencies) {
+        this.names = names;
+        this.groups = groups;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.dependencyCounts = dependencyCounts;
+        this.sampleDependencies = sampleDependencies;
+    }
+
+    /**
+     * @param packageIdentifier     a package identifier with capturing groups, the groups identify the slice
+     * @param maxSampleDependencies the number of class dependencies to keep per slice dependency
+     * @return the graph of exactly this {@link JavaClasses} instance, built on first request and released together
+     * with it
+     */
+    public static SliceGraph of(JavaClasses classes, String packageIdentifier, int maxSampleDependencies) {
+        if (maxSampleDependencies < 0) {
+            throw new IllegalArgumentException("The number of sample dependencies must not be negative");
+        }
+        ConcurrentMap<String, SliceGraph> graphs;
+        synchronized (GRAPHS) {
+            graphs = graphsOf(classes);
+        }
+        // built outside the lock, so that rules evaluated in parallel only wait for the graph they need
+        return graphs.computeIfAbsent(maxSampleDependencies + ":" + packageIdentifier,
+                key -> build(classes, packageIdentifier, maxSampleDependencies));
+    }
+
+    private static ConcurrentMap<String, SliceGraph> graphsOf(JavaClasses classes) {
+        for (Iterator<Entry> iterator = GRAPHS.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            JavaClasses sliced = entry.javaClasses.get();
+            if (sliced == null) {
+                iterator.remove();
+            } else if (sliced == classes) {
+                return entry.graphs;
+            }
+        }
+        Entry entry = new Entry(classes);
+        GRAPHS.add(entry);
+        return entry.graphs;
+    }
+
+    private static SliceGraph build(JavaClasses classes, String packageIdentifier, int maxSampleDependencies) {
+        PackageMatcher matcher = PackageMatcher.of(packageIdentifier);
+        Map<String, List<String>> groupsByPackage = new HashMap<>();
+        Map<JavaClass, String> sliceByClass = new LinkedHashMap<>();
+        TreeMap<String, List<String>> groupsByName = new TreeMap<>();
+        for (JavaClass javaClass : classes) {
+            List<String> sliceGroups = groupsByPackage.computeIfAbsent(javaClass.getPackageName(), packageName -> groupsOf(matcher, packageName));
+            if (!sliceGroups.isEmpty()) {
+                String slice = nameOf(sliceGroups);
+                sliceByClass.put(javaClass, slice);
+                groupsByName.put(slice, sliceGroups);
+            }
+        }
+        String[] names = groupsByName.keySet().toArray(new String[0]);
+        List<List<String>> groups = new ArrayList<>(groupsByName.values());
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+
+        Map<Long, Edge> edges = new HashMap<>();
+        for (Map.Entry<JavaClass, String> origin : sliceByClass.entrySet()) {
+            int from = ids.get(origin.getValue());
+            for (Dependency dependency : origin.getKey().getDirectDependenciesFromSelf()) {
+                String targetSlice = sliceByClass.get(dependency.getTargetClass());
+                if (targetSlice == null) {
+                    continue;
+                }
+                int to = ids.get(targetSlice);
+                if (from != to) {
+                    edges.computeIfAbsent(((long) from << 32) | to, key -> new Edge(from, to)).add(dependency, maxSampleDependencies);
+                }
+            }
+        }
+
+        List<Edge> sortedEdges = new ArrayList<>(edges.values());
+        sortedEdges.sort(Comparator.comparingInt((Edge edge) -> edge.from).thenComparingInt(edge -> edge.to));
+        int[] offsets = new int[names.length + 1];
+        int[] targets = new int[sortedEdges.size()];
+        int[] dependencyCounts = new int[sortedEdges.size()];
+        List<List<Dependency>> sampleDependencies = new ArrayList<>(sortedEdges.size());
+        for (int i = 0; i < sortedEdges.size(); i++) {
+            Edge edge = sortedEdges.get(i);
+            offsets[edge.from + 1]++;
+            targets[i] = edge.to;
+            dependencyCounts[i] = edge.count;
+            edge.samples.sort(Comparator.comparing(Dependency::getDescription));
+            sampleDependencies.add(Collections.unmodifiableList(edge.samples));
+        }
+        for (int i = 0; i < names.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return new SliceGraph(names, Collections.unmodifiableList(groups), offsets, targets, dependencyCounts, sampleDependencies);
+    }
+
+    /**
+     * @return the values of the capturing groups, empty if the package is not part of a slice
+     */
+    private static List<String> groupsOf(PackageMatcher matcher, String packageName) {
+        Optional<PackageMatcher.Result> match = matcher.match(packageName);
+        if (!match.isPresent()) {
+            return Collections.emptyList();
+        }
+        PackageMatcher.Result result = match.get();
+        List<String> groups = new ArrayList<>(result.getNumberOfGroups());
+        for (int group = 1; group <= result.getNumberOfGroups(); group++) {
+            groups.add(result.getGroup(group));
+        }
+        return Collections.unmodifiableList(groups);
+    }
+
+    private static String nameOf(List<String> groups) {
+        StringBuilder name = new StringBuilder("Slice ");
+        for (int group = 0; group < groups.size(); group++) {
+            name.append(group > 0 ? " - " : "").append(groups.get(group));
+        }
+        return name.toString();
+    }
+
+    public int sliceCount() {
+        return names.length;
+    }
+
+    public String nameOf(int slice) {
+        return names[slice];
+    }
+
+    /**
+     * @return the name of the slice in the format of ArchUnit's {@code namingSlices}, e.g. {@code "$1 service"}
+     */
+    public String nameOf(int slice, String namingPattern) {
+        String name = namingPattern;
+        List<String> sliceGroups = groups.get(slice);
+        for (int group = 1; group <= sliceGroups.size(); group++) {
+            name = name.replace("$" + group, sliceGroups.get(group - 1));
+        }
+        return name;
+    }
+
+    /**
+     * @return the position of the first dependency of {@code slice}, its dependencies occupy the positions up to
+     * {@link #dependenciesEnd(int)}
+     */
+    public int dependenciesStart(int slice) {
+        return offsets[slice];
+    }
+
+    public int dependenciesEnd(int slice) {
+        return offsets[slice + 1];
+    }
+
+    /**
+     * @return the slice the dependency at {@code position} leads to
+     */
+    public int targetOf(int position) {
+        return targets[position];
+    }
+
+    /**
+     * @return the number of class dependencies behind the slice dependency at {@code position}
+     */
+    public int dependencyCountOf(int position) {
+        return dependencyCounts[position];
+    }
+
+    /**
+     * @return a sample of the class dependencies behind the slice dependency at {@code position}, sorted by their
+     * description
+     */
+    public List<Dependency> sampleDependenciesOf(int position) {
+        return sampleDependencies.get(position);
+    }
+
+    /**
+     * @return the position of the dependency from {@code from} to {@code to}, or -1 if there is none
+     */
+    public int positionOf(int from, int to) {
+        int position = Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to);
+        return position >= 0 ? position : -1;
+    }
+
+    /**
+     * @return the number of {@code long} words of a row of the {@link #dependencyMatrix()}
+     */
+    public int wordsPerRow() {
+        return (names.length + 63) >>> 6;
+    }
+
+    /**
+     * The slice dependencies as a bit matrix: bit {@code to % 64} of word {@code from * wordsPerRow() + to / 64} is set
+     * if slice {@code from} depends on slice {@code to}. Built on first request, it takes {@code n * n / 8} bytes for
+     * {@code n} slices, so graph algorithms use the adjacency arrays instead. Callers must not modify it.
+     */
+    public long[] dependencyMatrix() {
+        long[] matrix = dependencyMatrix;
+        if (matrix == null) {
+            int words = wordsPerRow();
+            matrix = new long[names.length * words];
+            for (int from = 0; from < names.length; from++) {
+                for (int position = offsets[from]; position < offsets[from + 1]; position++) {
+                    matrix[from * words + (targets[position] >>> 6)] |= 1L << targets[position];
+                }
+            }
+            dependencyMatrix = matrix;
+        }
+        return matrix;
+    }
+
+    public boolean dependsOn(int from, int to) {
+        return (dependencyMatrix()[from * wordsPerRow() + (to >>> 6)] & (1L << to)) != 0;
+    }
+
+    private static final class Entry {
+        private final WeakReference<JavaClasses> javaClasses;
+        private final ConcurrentMap<String, SliceGraph> graphs = new ConcurrentHashMap<>();
+
+        private Entry(JavaClasses javaClasses) {
+            this.javaClasses = new WeakReference<>(javaClasses);
+        }
+    }
+
+    private static final class Edge {
+        private final int from;
+        private final int to;
+        private final List<Dependency> samples = new ArrayList<>();
+        private int count;
+
+        private Edge(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private void add(Dependency dependency, int maxSamples) {
+            count++;
+            if (samples.size() < maxSamples) {
+                samples.add(dependency);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.xebia.archunit.slices;
+
+import com.github.xebia.archunit.importer.HasImportScope;
+import com.github.xebia.archunit.importer.ImportScope;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * "slices matching '...' should not depend on each other", evaluated on the {@link SliceGraph#dependencyMatrix()
+ * dependency matrix} of a {@link SliceGraph} instead of ArchUnit's generic slice rule, which collects the dependencies
+ * of every slice on every other slice.
+ * <p>
+ * Every set bit of the matrix is a violation, reported with the message ArchUnit would give it, listing at most
+ * {@link #withMaxSampleDependencies(int) a bounded number} of class dependencies. The slice graph is shared with
+ * {@link SliceCycleRule} for the same packages.
+ */
+public final class SliceIndependenceRule implements ArchRule, HasImportScope {
+
+    private final String packageIdentifier;
+    private final String namingPattern;
+    private final int maxSampleDependencies;
+    private final String description;
+
+    private SliceIndependenceRule(String packageIdentifier, String namingPattern, int maxSampleDependencies, String description) {
+        this.packageIdentifier = packageIdentifier;
+        this.namingPattern = namingPattern;
+        this.maxSampleDependencies = maxSampleDependencies;
+        this.description = description;
+    }
+
+    public static SliceIndependenceRule slicesMatching(String packageIdentifier) {
+        return new SliceIndependenceRule(packageIdentifier, null, SliceCycleRule.DEFAULT_MAX_SAMPLE_DEPENDENCIES,
+                "slices matching '" + packageIdentifier + "' should not depend on each other");
+    }
+
+    /**
+     * @param namingPattern the slice names in violation messages, like ArchUnit's {@code namingSlices}, e.g.
+     *                      {@code "$2 of $1"}
+     */
+    public SliceIndependenceRule namingSlices(String namingPattern) {
+        return new SliceIndependenceRule(packageIdentifier, namingPattern, maxSampleDependencies, description);
+    }
+
+    public SliceIndependenceRule withMaxSampleDependencies(int maxSampleDependencies) {
+        if (maxSampleDependencies < 0) {
+            throw new IllegalArgumentException("The number of sample dependencies must not be negative");
+        }
+        return new SliceIndependenceRule(packageIdentifier, namingPattern, maxSampleDependencies, description);
+    }
+
+    /**
+     * @return the sliced packages; dependencies leaving them are not between slices
+     */
+    @Override
+    public ImportScope getImportScope() {
+        return ImportScope.packages(packageIdentifier);
+    }
+
+    @Override
+    public void check(JavaClasses classes) {
+        Assertions.assertNoViolation(evaluate(classes));
+    }
+
+    @Override
+    public EvaluationResult evaluate(JavaClasses classes) {
+        SliceGraph graph = SliceGraph.of(classes, packageIdentifier, maxSampleDependencies);
+        long[] matrix = graph.dependencyMatrix();
+        int words = graph.wordsPerRow();
+        ConditionEvents events = new ConditionEvents();
+        for (int from = 0; from < graph.sliceCount(); from++) {
+            for (int word = 0; word < words; word++) {
+                for (long bits = matrix[from * words + word]; bits != 0; bits &= bits - 1) {
+                    int to = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    SliceCoupling coupling = toSliceCoupling(graph, from, to);
+                    events.add(SimpleConditionEvent.violated(coupling, coupling.getDescription()));
+                }
+            }
+        }
+        return new EvaluationResult(this, events, Priority.MEDIUM);
+    }
+
+    private SliceCoupling toSliceCoupling(SliceGraph graph, int from, int to) {
+        int position = graph.positionOf(from, to);
+        List<Dependency> sampleDependencies = new ArrayList<>(graph.sampleDependenciesOf(position));
+        // ArchUnit lists the dependencies of a slice dependency in their natural order, by line number first
+        sampleDependencies.sort(null);
+        return new SliceCoupling(nameOf(graph, from), nameOf(graph, to), sampleDependencies, graph.dependencyCountOf(position));
+    }
+
+    private String nameOf(SliceGraph graph, int slice) {
+        return namingPattern == null ? graph.nameOf(slice) : graph.nameOf(slice, namingPattern);
+    }
+
+    @Override
+    public SliceIndependenceRule because(String reason) {
+        return new SliceIndependenceRule(packageIdentifier, namingPattern, maxSampleDependencies, description + ", because " + reason);
+    }
+
+    @Override
+    public SliceIndependenceRule as(String newDescription) {
+        return new SliceIndependenceRule(packageIdentifier, namingPattern, maxSampleDependencies, newDescription);
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
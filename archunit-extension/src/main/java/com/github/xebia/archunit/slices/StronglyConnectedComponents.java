@@ -0,0 +1,80 @@
+package com.github.xebia.archunit.slices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tarjan's algorithm over a {@link SliceGraph}, iterative so that deep dependency chains cannot overflow the stack.
+ * Runs in time linear in the number of slices and slice dependencies.
+ */
+final class StronglyConnectedComponents {
+
+    private StronglyConnectedComponents() {
+    }
+
+    /**
+     * @return the components with more than one slice, each sorted ascending, ordered by their smallest slice
+     */
+    static List<int[]> of(SliceGraph graph) {
+        int n = graph.sliceCount();
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callNodes = new int[n];
+        int[] callPositions = new int[n];
+        int nextIndex = 0;
+        Arrays.fill(index, -1);
+        List<int[]> components = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callNodes[0] = root;
+            callPositions[0] = graph.dependenciesStart(root);
+            index[root] = lowLink[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int node = callNodes[depth];
+                if (callPositions[depth] < graph.dependenciesEnd(node)) {
+                    int target = graph.targetOf(callPositions[depth]++);
+                    if (index[target] == -1) {
+                        index[target] = lowLink[target] = nextIndex++;
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        depth++;
+                        callNodes[depth] = target;
+                        callPositions[depth] = graph.dependenciesStart(target);
+                    } else if (onStack[target]) {
+                        lowLink[node] = Math.min(lowLink[node], index[target]);
+                    }
+                    continue;
+                }
+                if (lowLink[node] == index[node]) {
+                    int start = stackSize;
+                    do {
+                        onStack[stack[--start]] = false;
+                    } while (stack[start] != node);
+                    if (stackSize - start > 1) {
+                        int[] component = Arrays.copyOfRange(stack, start, stackSize);
+                        Arrays.sort(component);
+                        components.add(component);
+                    }
+                    stackSize = start;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNodes[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+        components.sort((first, second) -> Integer.compare(first[0], second[0]));
+        return components;
+    }
+}
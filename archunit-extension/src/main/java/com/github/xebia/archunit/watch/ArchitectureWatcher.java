@@ -0,0 +1,372 @@
+package com.github.xebia.archunit.watch;
+
+import com.github.xebia.archunit.engine.ElementRule;
+import com.github.xebia.archunit.engine.SinglePassRuleEngine;
+import com.github.xebia.archunit.engine.ViolatingObjects;
+import com.github.xebia.archunit.incremental.DependencyClosure;
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.ViolationHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the violations of a set of rules in memory and re-checks them whenever class files in the watched output
+ * directories change, e.g. after the IDE compiled a file, printing which violations are new and which were fixed.
+ * <p>
+ * ArchUnit's class graph is immutable, so a change is handled by re-importing only the classes it may affect: the
+ * changed classes and the classes depending on them, directly or transitively, together with every class these depend
+ * on, so that inherited members and hierarchies stay complete. {@link ElementRule#isClassLocal() Class local rules} are
+ * re-evaluated on this import and replace the violations previously attributed to the affected classes. Any other
+ * element rule, e.g. one following calls into overriding methods, is re-evaluated on a full import after every change.
+ * Every other rule, e.g. a slice rule, is re-evaluated on a full import if a dependency between classes was added or
+ * removed.
+ * <pre>
+ * try (ArchitectureWatcher watcher = new ArchitectureWatcher(rules, Paths.get("target", "classes"))) {
+ *     watcher.run();
+ * }
+ * </pre>
+ */
+public final class ArchitectureWatcher implements Closeable {
+
+    private static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(200);
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String UNATTRIBUTED = "";
+
+    private final List<Path> directories;
+    private final List<ArchRule> rules;
+    private final List<ArchRule> classLocalRules = new ArrayList<>();
+    private final List<ArchRule> globalRules = new ArrayList<>();
+    private final PrintStream out;
+    private final Duration quietPeriod;
+
+    private final Map<Path, String> classByFile = new HashMap<>();
+    private final Map<String, Path> fileByClass = new HashMap<>();
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Map<ArchRule, Map<String, List<String>>> classLocalViolations = new LinkedHashMap<>();
+    private final Map<ArchRule, List<String>> globalViolations = new LinkedHashMap<>();
+    private WatchService watchService;
+
+    public ArchitectureWatcher(List<? extends ArchRule> rules, Path... directories) {
+        this(rules, Arrays.asList(directories), System.out, DEFAULT_QUIET_PERIOD);
+    }
+
+    private ArchitectureWatcher(List<? extends ArchRule> rules, List<Path> directories, PrintStream out, Duration quietPeriod) {
+        if (directories.isEmpty()) {
+            throw new IllegalArgumentException("At least one directory to watch is required");
+        }
+        this.directories = directories.stream().map(directory -> directory.toAbsolutePath().normalize()).collect(Collectors.toList());
+        this.rules = new ArrayList<>(rules);
+        for (ArchRule rule : rules) {
+            (rule instanceof ElementRule && ((ElementRule<?>) rule).isClassLocal() ? classLocalRules : globalRules).add(rule);
+        }
+        this.out = out;
+        this.quietPeriod = quietPeriod;
+    }
+
+    public ArchitectureWatcher withOutput(PrintStream out) {
+        return new ArchitectureWatcher(rules, directories, out, quietPeriod);
+    }
+
+    /**
+     * Sets how long the directories must be quiet after a change before it is checked, so that a compiler writing
+     * many class files triggers one check only.
+     */
+    public ArchitectureWatcher withQuietPeriod(Duration quietPeriod) {
+        if (quietPeriod.isNegative()) {
+            throw new IllegalArgumentException("The quiet period must not be negative");
+        }
+        return new ArchitectureWatcher(rules, directories, out, quietPeriod);
+    }
+
+    /**
+     * Checks all rules against all classes and starts watching the directories.
+     *
+     * @return the number of violations
+     */
+    public synchronized int start() {
+        long start = System.nanoTime();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : directories) {
+                register(directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not watch " + directories, e);
+        }
+        JavaClasses classes = new ClassFileImporter().importPaths(directories);
+        remember(classes);
+        recordClassLocalViolations(classes, null);
+        recordGlobalViolations(classes);
+        Set<String> violations = allViolations();
+        out.printf("Checked %d classes against %d rules in %d ms: %d violation(s)%n", classes.size(),
+                classLocalRules.size() + globalRules.size(), millisSince(start), violations.size());
+        violations.forEach(violation -> out.println("  " + violation));
+        return violations.size();
+    }
+
+    /**
+     * Re-checks on every change until the current thread is interrupted or the watcher is closed.
+     */
+    public void run() {
+        if (watchService == null) {
+            start();
+        }
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changedFiles = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collectChanges(key, changedFiles);
+                    key = watchService.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (!changedFiles.isEmpty()) {
+                    recheck(changedFiles);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed by another thread
+        }
+    }
+
+    /**
+     * Re-checks the given class files, which were added, modified or deleted.
+     *
+     * @return the number of violations after the check
+     */
+    public synchronized int recheck(Collection<Path> changedFiles) {
+        long start = System.nanoTime();
+        Set<String> before = allViolations();
+
+        Set<Path> modified = new LinkedHashSet<>();
+        Set<String> changedClasses = new HashSet<>();
+        boolean edgesChanged = false;
+        for (Path file : changedFiles) {
+            Path normalized = file.toAbsolutePath().normalize();
+            String previousClass = classByFile.get(normalized);
+            if (previousClass != null) {
+                changedClasses.add(previousClass);
+            }
+            if (Files.isRegularFile(normalized)) {
+                modified.add(normalized);
+            } else if (previousClass != null) {
+                forget(previousClass);
+                edgesChanged = true;
+            }
+        }
+        JavaClasses changed = new ClassFileImporter().importPaths(modified);
+        for (JavaClass javaClass : changed) {
+            changedClasses.add(javaClass.getName());
+            Set<String> previousDependencies = dependencies.get(javaClass.getName());
+            edgesChanged |= previousDependencies == null || !previousDependencies.equals(dependencyNamesOf(javaClass));
+        }
+        remember(changed);
+        // removed classes still appear among the dependencies of the classes depending on them
+        Set<String> affected = DependencyClosure.dependentsOf(changedClasses, dependencies);
+        affected.retainAll(fileByClass.keySet());
+
+        boolean fullImport = !changedClasses.isEmpty() && (hasElementRules(globalRules) || edgesChanged && !globalRules.isEmpty());
+        JavaClasses classes;
+        if (fullImport) {
+            classes = new ClassFileImporter().importPaths(directories);
+        } else {
+            Set<Path> toImport = new LinkedHashSet<>();
+            for (String className : DependencyClosure.dependenciesOf(affected, dependencies)) {
+                Path file = fileByClass.get(className);
+                if (file != null) {
+                    toImport.add(file);
+                }
+            }
+            classes = new ClassFileImporter().importPaths(toImport);
+        }
+        remember(classes);
+        for (Map<String, List<String>> violationsByClass : classLocalViolations.values()) {
+            violationsByClass.keySet().removeAll(affected);
+        }
+        recordClassLocalViolations(classes, affected);
+        if (fullImport) {
+            recordGlobalViolations(classes);
+        }
+
+        Set<String> after = allViolations();
+        List<String> added = after.stream().filter(violation -> !before.contains(violation)).collect(Collectors.toList());
+        List<String> fixed = before.stream().filter(violation -> !after.contains(violation)).collect(Collectors.toList());
+        out.printf("Re-checked %d class(es)%s in %d ms: %d new, %d fixed, %d violation(s) in total%n", affected.size(),
+                fullImport ? " and the whole class graph" : "", millisSince(start), added.size(), fixed.size(), after.size());
+        added.forEach(violation -> out.println("+ " + violation));
+        fixed.forEach(violation -> out.println("- " + violation));
+        return after.size();
+    }
+
+    private static boolean hasElementRules(List<ArchRule> rules) {
+        for (ArchRule rule : rules) {
+            if (rule instanceof ElementRule) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<Path> changedFiles) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changedFiles.addAll(classByFile.keySet());
+                changedFiles.addAll(classFilesBelow(directories));
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    register(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not watch " + path, e);
+                }
+                changedFiles.addAll(classFilesBelow(Collections.singletonList(path)));
+            } else if (path.toString().endsWith(CLASS_FILE_EXTENSION)) {
+                changedFiles.add(path);
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                // a deleted directory takes all of its class files with it
+                Path deleted = path.toAbsolutePath().normalize();
+                classByFile.keySet().stream().filter(file -> file.startsWith(deleted)).forEach(changedFiles::add);
+            }
+        }
+        key.reset();
+    }
+
+    private void register(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    private static List<Path> classFilesBelow(List<Path> roots) {
+        List<Path> files = new ArrayList<>();
+        for (Path root : roots) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.filter(path -> path.toString().endsWith(CLASS_FILE_EXTENSION)).forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not list the class files below " + root, e);
+            }
+        }
+        return files;
+    }
+
+    private void remember(JavaClasses classes) {
+        for (JavaClass javaClass : classes) {
+            dependencies.put(javaClass.getName(), dependencyNamesOf(javaClass));
+            if (javaClass.getSource().isPresent()) {
+                Path file = Paths.get(javaClass.getSource().get().getUri()).toAbsolutePath().normalize();
+                classByFile.put(file, javaClass.getName());
+                fileByClass.put(javaClass.getName(), file);
+            }
+        }
+    }
+
+    private void forget(String className) {
+        dependencies.remove(className);
+        Path file = fileByClass.remove(className);
+        if (file != null) {
+            classByFile.remove(file);
+        }
+        for (Map<String, List<String>> violationsByClass : classLocalViolations.values()) {
+            violationsByClass.remove(className);
+        }
+    }
+
+    /**
+     * @param affected the classes whose violations to record, {@code null} for all classes
+     */
+    private void recordClassLocalViolations(JavaClasses classes, Set<String> affected) {
+        Map<ArchRule, EvaluationResult> results = new SinglePassRuleEngine().evaluate(classes, classLocalRules);
+        results.forEach((rule, result) -> {
+            Map<String, List<String>> violationsByClass = classLocalViolations.computeIfAbsent(rule, key -> new HashMap<>());
+            // violations that cannot be attributed to a class are only known for the classes checked last
+            violationsByClass.remove(UNATTRIBUTED);
+            result.handleViolations(new ViolationHandler<Object>() {
+                @Override
+                public void handle(Collection<Object> violatingObjects, String message) {
+                    JavaClass owner = violatingObjects.isEmpty() ? null : ViolatingObjects.ownerOf(violatingObjects.iterator().next());
+                    String className = owner != null ? owner.getName() : UNATTRIBUTED;
+                    // the other classes were only imported to complete the affected ones, their violations are known
+                    if (affected == null || affected.contains(className) || owner == null) {
+                        violationsByClass.computeIfAbsent(className, key -> new ArrayList<>()).add(message);
+                    }
+                }
+            });
+        });
+    }
+
+    private void recordGlobalViolations(JavaClasses classes) {
+        new SinglePassRuleEngine().evaluate(classes, globalRules)
+                .forEach((rule, result) -> globalViolations.put(rule, result.getFailureReport().getDetails()));
+    }
+
+    private Set<String> allViolations() {
+        Set<String> violations = new LinkedHashSet<>();
+        classLocalViolations.forEach((rule, violationsByClass) -> violationsByClass.values().forEach(
+                messages -> messages.forEach(message -> violations.add(describe(rule, message)))));
+        globalViolations.forEach((rule, messages) -> messages.forEach(message -> violations.add(describe(rule, message))));
+        return violations;
+    }
+
+    private static String describe(ArchRule rule, String message) {
+        return "[" + rule.getDescription() + "] " + message;
+    }
+
+    private static Set<String> dependencyNamesOf(JavaClass javaClass) {
+        Set<String> names = new HashSet<>();
+        for (Dependency dependency : javaClass.getDirectDependenciesFromSelf()) {
+            names.add(dependency.getTargetClass().getName());
+        }
+        names.remove(javaClass.getName());
+        return names;
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.xebia.archunit;
+
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.tngtech.archunit.core.domain.JavaModifier.FINAL;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogueResultsTest {
+
+    private final JavaClasses javaClasses = new ClassFileImporter().importClasses(CatalogueResultsTest.class);
+
+    @Test
+    void evaluates_the_catalogue_once_per_java_classes_instance_whatever_supplies_it() {
+        AtomicInteger evaluations = new AtomicInteger();
+        for (int testInstance = 0; testInstance < 3; testInstance++) {
+            // the legacy constructor wraps the same instance into a new supplier for every test instance
+            Supplier<JavaClasses> supplier = () -> javaClasses;
+            JavaClasses classes = supplier.get();
+            CatalogueResults.of(CatalogueResultsTest.class, classes)
+                    .get(packagePrivateClasses(), classes, () -> {
+                        evaluations.incrementAndGet();
+                        return evaluate(Arrays.asList(packagePrivateClasses(), finalClasses()), classes);
+                    });
+        }
+
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    void looks_up_the_result_of_the_catalogue_rule_with_the_same_description() {
+        CatalogueResults results = CatalogueResults.of(Object.class, javaClasses);
+        List<ArchRule> catalogue = Arrays.asList(packagePrivateClasses(), finalClasses());
+
+        assertFalse(results.get(packagePrivateClasses(), javaClasses, () -> evaluate(catalogue, javaClasses)).hasViolation());
+        assertTrue(results.get(finalClasses(), javaClasses, () -> evaluate(catalogue, javaClasses)).hasViolation());
+    }
+
+    @Test
+    void evaluates_rules_sharing_their_description_on_their_own() {
+        CatalogueResults results = CatalogueResults.of(String.class, javaClasses);
+        List<ArchRule> catalogue = Arrays.asList(packagePrivateClasses().as("same"), finalClasses().as("same"));
+
+        assertFalse(results.get(packagePrivateClasses().as("same"), javaClasses, () -> evaluate(catalogue, javaClasses)).hasViolation());
+        assertTrue(results.get(finalClasses().as("same"), javaClasses, () -> evaluate(catalogue, javaClasses)).hasViolation());
+    }
+
+    private static ArchRule packagePrivateClasses() {
+        return classes().should().bePackagePrivate();
+    }
+
+    private static ArchRule finalClasses() {
+        return classes().should().haveModifier(FINAL);
+    }
+
+    private static Map<ArchRule, EvaluationResult> evaluate(List<ArchRule> rules, JavaClasses classes) {
+        Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+        for (ArchRule rule : rules) {
+            results.put(rule, rule.evaluate(classes));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.xebia.archunit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles test fixtures from source into a directory, as Java 8 class files that ArchUnit can read. Classes already
+ * in the directory and the test classes are on the class path, so a fixture can use the annotation stubs of the tests
+ * and can be changed by compiling one of its classes again.
+ */
+public final class SourceCompiler {
+
+    private static final Pattern PACKAGE = Pattern.compile("package\\s+([\\w.]+)\\s*;");
+    private static final Pattern TYPE = Pattern.compile("\\b(?:class|interface|enum)\\s+(\\w+)");
+
+    private SourceCompiler() {
+    }
+
+    public static void compile(Path outputDirectory, String... sources) {
+        List<JavaFileObject> files = new ArrayList<>();
+        for (String source : sources) {
+            files.add(new Source(source));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter output = new StringWriter();
+        List<String> options = Arrays.asList("--release", "8", "-d", outputDirectory.toString(),
+                "-cp", outputDirectory + File.pathSeparator + System.getProperty("java.class.path"), "-g");
+        if (!compiler.getTask(output, null, null, options, null, files).call()) {
+            throw new IllegalArgumentException("Could not compile the fixture: " + output);
+        }
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+        private final String code;
+
+        private Source(String code) {
+            super(URI.create("string:///" + classNameOf(code).replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        private static String classNameOf(String code) {
+            Matcher type = TYPE.matcher(code);
+            if (!type.find()) {
+                throw new IllegalArgumentException("No type declared in " + code);
+            }
+            Matcher packageName = PACKAGE.matcher(code);
+            return packageName.find() ? packageName.group(1) + "." + type.group(1) : type.group(1);
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.xebia.archunit.baseline;
+
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.EvaluationResult;
+import com.tngtech.archunit.lang.Priority;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViolationBaselineTest {
+
+    private final ArchRule rule = classes().should().bePublic();
+    private final ArchRule otherRule = classes().should().bePrivate();
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void fails_for_rules_missing_from_the_baseline_unless_recording() {
+        Path file = temp.resolve("baseline.bin");
+        ViolationBaseline baseline = ViolationBaseline.of(file);
+
+        assertEquals(violations("a (A.java:1)"), details(baseline.apply(rule, result("a (A.java:1)"))));
+        assertFalse(baseline.contains(rule));
+        assertFalse(Files.exists(file));
+
+        assertEquals(violations(), details(baseline.withRecording().apply(rule, result("a (A.java:1)"))));
+        assertTrue(baseline.contains(rule));
+        assertEquals(1, baseline.size(rule));
+    }
+
+    @Test
+    void only_reports_new_violations_and_forgets_fixed_ones() {
+        ViolationBaseline baseline = ViolationBaseline.of(temp.resolve("baseline.bin"));
+        baseline.withRecording().apply(rule, result("a (A.java:1)", "b (B.java:2)"));
+
+        assertEquals(violations("c (C.java:3)"), details(baseline.apply(rule, result("a (A.java:7)", "c (C.java:3)"))));
+        assertEquals(1, baseline.size(rule));
+        assertEquals(violations("b (B.java:2)"), details(baseline.withRecording().apply(rule, result("a (A.java:1)", "b (B.java:2)"))));
+    }
+
+    @Test
+    void writes_the_documented_format() throws IOException {
+        Path file = temp.resolve("baseline.bin");
+        ViolationBaseline baseline = ViolationBaseline.of(file).withRecording();
+        baseline.apply(rule, result("b", "a", "b"));
+        baseline.apply(otherRule, result());
+
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(0x58414231, content.getInt(0));
+        assertEquals(2, content.getInt(4));
+        long[] ruleHashes = {content.getLong(8), content.getLong(24)};
+        assertTrue(ruleHashes[0] < ruleHashes[1]);
+        int ruleIndex = ruleHashes[0] == ViolationBaseline.hash(rule.getDescription()) ? 0 : 1;
+        assertEquals(ViolationBaseline.hash(rule.getDescription()), ruleHashes[ruleIndex]);
+        assertEquals(2, content.getInt(8 + ruleIndex * 16 + 12));
+        assertEquals(0, content.getInt(8 + (1 - ruleIndex) * 16 + 12));
+        int start = 8 + 2 * 16 + content.getInt(8 + ruleIndex * 16 + 8) * Long.BYTES;
+        long[] expected = {ViolationBaseline.hash("a"), ViolationBaseline.hash("b")};
+        Arrays.sort(expected);
+        assertEquals(expected[0], content.getLong(start));
+        assertEquals(expected[1], content.getLong(start + Long.BYTES));
+        assertEquals(8 + 2 * 16 + 2 * Long.BYTES, content.capacity());
+    }
+
+    @Test
+    void ignores_line_numbers_in_hashes() {
+        assertEquals(ViolationBaseline.hash("Method <A.b()> in (A.java:12)"), ViolationBaseline.hash("Method <A.b()> in (A.java:345)"));
+        assertFalse(ViolationBaseline.hash("a:12") == ViolationBaseline.hash("a:345"));
+    }
+
+    @Test
+    void rejects_files_that_are_no_baseline() throws IOException {
+        Path file = temp.resolve("baseline.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        assertThrows(IllegalStateException.class, () -> ViolationBaseline.of(file).contains(rule));
+    }
+
+    private EvaluationResult result(String... violations) {
+        ConditionEvents events = new ConditionEvents();
+        for (String violation : violations) {
+            events.add(SimpleConditionEvent.violated(violation, violation));
+        }
+        return new EvaluationResult(rule, events, Priority.MEDIUM);
+    }
+
+    private static List<String> details(EvaluationResult result) {
+        return result.getFailureReport().getDetails();
+    }
+
+    private static List<String> violations(String... violations) {
+        return violations.length == 0 ? Collections.emptyList() : Arrays.asList(violations);
+    }
+}
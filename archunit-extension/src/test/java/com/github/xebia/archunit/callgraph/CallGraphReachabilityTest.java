@@ -0,0 +1,148 @@
+package com.github.xebia.archunit.callgraph;
+
+import com.tngtech.archunit.core.domain.JavaCall;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallGraphReachabilityTest {
+
+    private static final Predicate<JavaCall<?>> SLEEP = call ->
+            call.getTargetOwner().getName().equals(Thread.class.getName()) && call.getName().equals("sleep");
+
+    private final JavaClasses classes = new ClassFileImporter()
+            .importClasses(Recursion.class, Handler.class, SleepingHandler.class, Lambdas.class);
+
+    @Test
+    void finds_sinks_reached_through_mutual_recursion() {
+        CallGraphReachability reachability = new CallGraphReachability(SLEEP);
+
+        assertEquals(Arrays.asList("Recursion.ping", "Recursion.pong", "Recursion.pause"), names(reachability.pathToSink(method(Recursion.class, "ping"))));
+        assertEquals(Arrays.asList("Recursion.pong", "Recursion.pause"), names(reachability.pathToSink(method(Recursion.class, "pong"))));
+        assertTrue(reachability.reachesSink(method(Recursion.class, "start")));
+    }
+
+    @Test
+    void recursion_without_a_sink_does_not_reach_one() {
+        CallGraphReachability reachability = new CallGraphReachability(SLEEP);
+
+        assertFalse(reachability.reachesSink(method(Recursion.class, "even")));
+        assertFalse(reachability.reachesSink(method(Recursion.class, "odd")));
+        assertFalse(reachability.reachesSink(method(Recursion.class, "countDown")));
+        assertFalse(reachability.pathToSink(method(Recursion.class, "even")).isPresent());
+    }
+
+    @Test
+    void summarizes_every_code_unit_once() {
+        CallGraphReachability reachability = new CallGraphReachability(SLEEP);
+        reachability.reachesSink(method(Recursion.class, "start"));
+        int size = reachability.size();
+
+        reachability.reachesSink(method(Recursion.class, "ping"));
+        reachability.reachesSink(method(Recursion.class, "pong"));
+
+        assertEquals(size, reachability.size());
+    }
+
+    @Test
+    void follows_overriding_methods_and_lambdas() {
+        CallGraphReachability reachability = new CallGraphReachability(SLEEP);
+
+        assertEquals(Arrays.asList("Handler.handle", "SleepingHandler.handle"), names(reachability.pathToSink(method(Handler.class, "handle"))));
+        assertTrue(reachability.reachesSink(method(Lambdas.class, "schedule")));
+    }
+
+    private JavaCodeUnit method(Class<?> owner, String name) {
+        return classes.get(owner).getMethod(name);
+    }
+
+    private static List<String> names(Optional<CallPath> path) {
+        List<String> names = new ArrayList<>();
+        for (JavaCodeUnit codeUnit : path.orElseThrow(IllegalStateException::new).getCodeUnits()) {
+            names.add(codeUnit.getOwner().getSimpleName() + "." + codeUnit.getName());
+        }
+        return names;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Recursion {
+
+        void start() {
+            ping();
+        }
+
+        void ping() {
+            pong();
+        }
+
+        void pong() {
+            ping();
+            pause();
+        }
+
+        void pause() {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        boolean even() {
+            return odd();
+        }
+
+        boolean odd() {
+            return even();
+        }
+
+        void countDown() {
+            countDown();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handler {
+
+        void handle() {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class SleepingHandler extends Handler {
+
+        @Override
+        void handle() {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Lambdas {
+
+        Runnable schedule() {
+            return () -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+        }
+    }
+}
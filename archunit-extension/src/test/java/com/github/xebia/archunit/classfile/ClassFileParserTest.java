@@ -0,0 +1,89 @@
+package com.github.xebia.archunit.classfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassFileParserTest {
+
+    @Test
+    void reads_class_declarations() throws IOException {
+        ClassFile classFile = ClassFileParser.parse(ClassFileBytes.of(Parsed.class));
+
+        assertEquals(Parsed.class.getName(), classFile.getName());
+        assertEquals("Parsed", classFile.getSimpleName());
+        assertEquals(Parsed.class.getPackage().getName(), classFile.getPackageName());
+        assertTrue(Modifier.isFinal(classFile.getAccess()));
+        assertEquals(Object.class.getName(), classFile.getSuperName().get());
+        assertEquals(Arrays.asList(Serializable.class.getName(), Comparable.class.getName()), classFile.getInterfaces());
+        assertEquals("Ljava/lang/Object;Ljava/io/Serializable;Ljava/lang/Comparable<Ljava/lang/String;>;", classFile.getSignature().get());
+        assertTrue(classFile.isAnnotatedWith(Marker.class.getName()));
+        assertFalse(classFile.isAnnotatedWith(Retention.class.getName()));
+        assertEquals("ClassFileParserTest.java", classFile.getSourceFile().get());
+    }
+
+    @Test
+    void reads_members() throws IOException {
+        ClassFile classFile = ClassFileParser.parse(ClassFileBytes.of(Parsed.class));
+
+        ClassFile.Member names = classFile.getFields().stream().filter(field -> field.getName().equals("names")).findFirst().get();
+        assertEquals("Ljava/util/List;", names.getDescriptor());
+        assertEquals("Ljava/util/List<Ljava/lang/String;>;", names.getSignature().get());
+        assertTrue(names.isAnnotatedWith(Marker.class.getName()));
+        assertTrue(Modifier.isPrivate(names.getAccess()));
+
+        ClassFile.Member compareTo = classFile.getMethod("compareTo", "(Ljava/lang/String;)I").get();
+        assertFalse(compareTo.getSignature().isPresent());
+        assertTrue(compareTo.isAnnotatedWith(Marker.class.getName()));
+        assertTrue(classFile.getMethod("<init>", "()V").isPresent());
+        assertFalse(classFile.getMethod("compareTo", "(Ljava/lang/Object;)V").isPresent());
+    }
+
+    @Test
+    void reads_monitor_lines_only_on_request() throws IOException {
+        byte[] bytes = ClassFileBytes.of(Parsed.class);
+
+        assertEquals(Collections.emptyList(), ClassFileParser.parse(bytes).getMethod("locked", "()V").get().getMonitorEnterLines());
+        assertEquals(Arrays.asList(Parsed.FIRST_LOCK_LINE, Parsed.FIRST_LOCK_LINE + 3),
+                ClassFileParser.parseWithMonitors(bytes).getMethod("locked", "()V").get().getMonitorEnterLines());
+    }
+
+    @Retention(RetentionPolicy.CLASS)
+    @interface Marker {
+    }
+
+    @SuppressWarnings("unused")
+    @Marker
+    private static final class Parsed implements Serializable, Comparable<String> {
+        static final int FIRST_LOCK_LINE = 81;
+
+        @Marker
+        private List<String> names;
+
+        @Marker
+        @Override
+        public int compareTo(String other) {
+            return 0;
+        }
+
+        void locked() {
+            synchronized (this) {
+                names = null;
+            }
+            synchronized (Parsed.class) {
+                names = Collections.emptyList();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.xebia.archunit.classfile;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.github.xebia.archunit.engine.ElementRule;
+import com.github.xebia.archunit.rules.RuleCatalogue;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassHeadersTest {
+
+    @TempDir
+    Path temp;
+
+    private Path classes;
+
+    @BeforeEach
+    void compileFixture() {
+        classes = temp.resolve("classes");
+        SourceCompiler.compile(classes,
+                "package javax.persistence; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Entity {}",
+                "package javax.persistence; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface MappedSuperclass {}",
+                "package javax.persistence; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Version {}",
+                "package org.slf4j; public interface Logger {}",
+                "package fixture; @javax.persistence.MappedSuperclass public class Versioned { @javax.persistence.Version long version; }",
+                "package fixture; @javax.persistence.Entity public class Order extends Versioned {}",
+                "package fixture; @javax.persistence.Entity public class Invoice {}",
+                "package fixture; @org.springframework.web.bind.annotation.RestController public class OrderController {}",
+                "package fixture; @org.springframework.web.bind.annotation.RestController public class OrderResource {}",
+                "package fixture; public class OrderRepository { org.slf4j.Logger logger; }",
+                "package fixture.repository; public class InvoiceRepository { private static final org.slf4j.Logger LOGGER = null; }");
+    }
+
+    @Test
+    void metadata_rules_report_the_same_violations_on_headers_as_on_the_class_graph() {
+        JavaClasses javaClasses = new ClassFileImporter().importPath(classes);
+        ClassHeaders headers = ClassHeaders.scan(classes);
+        List<ElementRule<?>> rules = new RuleCatalogue(new String[]{"..persistence.."}, "fixture.(*)..", "fixture",
+                "fixture.(*)..", new String[]{"Dto"}, new String[]{"Util"}).withJpaChecks(true).metadataRules();
+
+        assertFalse(rules.isEmpty());
+        for (ElementRule<?> rule : rules) {
+            assertEquals(sorted(rule.evaluate(javaClasses).getFailureReport().getDetails()),
+                    sorted(rule.evaluate(headers).getFailureReport().getDetails()), rule.getDescription());
+        }
+        assertTrue(rules.stream().anyMatch(rule -> rule.evaluate(headers).hasViolation()));
+    }
+
+    @Test
+    void scans_jars_like_directories() throws IOException {
+        Path jar = temp.resolve("classes.jar");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar)); Stream<Path> files = Files.walk(classes)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                out.putNextEntry(new ZipEntry(classes.relativize(file).toString().replace('\\', '/')));
+                Files.copy(file, (OutputStream) out);
+                out.closeEntry();
+            }
+        }
+
+        assertEquals(names(ClassHeaders.scan(classes)), names(ClassHeaders.scan(jar)));
+    }
+
+    @Test
+    void resolves_inherited_fields_and_meta_annotations() {
+        ClassHeaders headers = ClassHeaders.scan(classes);
+        ClassFile order = headers.resolve("fixture.Order").get();
+
+        assertEquals(Collections.singletonList("version"),
+                headers.allFieldsOf(order).stream().map(ClassFile.Member::getName).collect(Collectors.toList()));
+        assertTrue(headers.isMetaAnnotatedWith(order.getAnnotations(), "javax.persistence.Entity"));
+        assertFalse(headers.isMetaAnnotatedWith(order.getAnnotations(), "javax.persistence.MappedSuperclass"));
+        assertTrue(headers.resolve(String.class.getName()).isPresent());
+        assertFalse(headers.resolve("fixture.Missing").isPresent());
+    }
+
+    private static List<String> names(ClassHeaders headers) {
+        return headers.classes().stream().map(ClassFile::getName).collect(Collectors.toList());
+    }
+
+    private static List<String> sorted(List<String> details) {
+        List<String> sorted = new ArrayList<>(details);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.xebia.archunit.classfile;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypeSignatureTest {
+
+    @Test
+    void renders_generic_return_types_like_reflection() throws IOException {
+        ClassFile classFile = ClassFileParser.parse(ClassFileBytes.of(Signatures.class));
+
+        int checked = 0;
+        for (Method method : Signatures.class.getDeclaredMethods()) {
+            if (method.isSynthetic()) {
+                continue;
+            }
+            ClassFile.Member member = classFile.getMethod(method.getName(), descriptorOf(method)).get();
+            TypeSignature returnType = TypeSignature.parseMethodReturnType(member.getSignature().orElse(member.getDescriptor()));
+            assertEquals(method.getGenericReturnType().getTypeName(), returnType.getTypeName(), method.getName());
+            checked++;
+        }
+        assertEquals(Signatures.class.getDeclaredMethods().length, checked);
+    }
+
+    @Test
+    void parses_type_arguments() {
+        TypeSignature type = TypeSignature.parse("Ljava/util/Map<Ljava/lang/String;[Ljava/util/List<+Ljava/lang/Number;>;>;");
+
+        assertEquals(TypeSignature.Kind.CLASS, type.getKind());
+        assertEquals("java.util.Map", type.getName());
+        assertEquals(2, type.getTypeArguments().size());
+        TypeSignature array = type.getTypeArguments().get(1);
+        assertEquals(TypeSignature.Kind.ARRAY, array.getKind());
+        assertEquals("java.util.List<? extends java.lang.Number>", array.getComponent().get().getTypeName());
+    }
+
+    @Test
+    void parses_descriptors_as_raw_types() {
+        assertEquals("int[][]", TypeSignature.parse("[[I").getTypeName());
+        assertEquals("java.lang.String", TypeSignature.parseMethodReturnType("(IJ[Ljava/lang/Object;)Ljava/lang/String;").getTypeName());
+        assertEquals("void", TypeSignature.parseMethodReturnType("()V").getTypeName());
+        assertTrue(TypeSignature.parse("Ljava/util/List;").getTypeArguments().isEmpty());
+    }
+
+    private static String descriptorOf(Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            descriptor.append(descriptorOf(parameterType));
+        }
+        return descriptor.append(')').append(descriptorOf(method.getReturnType())).toString();
+    }
+
+    private static String descriptorOf(Class<?> type) {
+        if (type.isArray()) {
+            return type.getName().replace('.', '/');
+        }
+        if (type.isPrimitive()) {
+            int index = Arrays.asList("boolean", "byte", "char", "short", "int", "long", "float", "double", "void").indexOf(type.getName());
+            return String.valueOf("ZBCSIJFDV".charAt(index));
+        }
+        return "L" + type.getName().replace('.', '/') + ";";
+    }
+
+    @SuppressWarnings("unused")
+    private abstract static class Signatures<E extends Number> {
+        abstract int primitive();
+
+        abstract String[][] arrayOfArrays();
+
+        abstract List<String> list();
+
+        abstract List<?> unboundedWildcard();
+
+        abstract List<? extends Number> upperBound();
+
+        abstract List<? super Integer> lowerBound();
+
+        abstract Map<String, List<Map<Integer, E[]>>> nested();
+
+        abstract <T extends Comparable<T> & Serializable> T typeVariable(List<T> values, int count);
+
+        abstract E classTypeVariable();
+
+        abstract List<E>[] genericArray();
+
+        abstract Optional<Map.Entry<String, E>> innerClass();
+
+        abstract Inner<String>.Deeper<E> innerOfGeneric();
+
+        class Inner<A> {
+            class Deeper<B> {
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.xebia.archunit.engine;
+
+import com.github.xebia.archunit.rules.RuleCatalogue;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelRuleRunnerTest {
+
+    private final JavaClasses javaClasses = new ClassFileImporter().importPackages("com.github.xebia.archunit.engine");
+    private final List<ArchRule> rules = new RuleCatalogue(new String[]{"com.github.xebia.archunit.engine"},
+            "com.github.xebia.(*).engine", "com.github.xebia.archunit", "com.github.xebia.archunit.(*)..",
+            new String[]{"Dto"}, new String[]{"Util"}).rules();
+
+    @Test
+    void reports_the_same_violations_as_evaluating_every_rule_on_its_own() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Map<ArchRule, EvaluationResult> results = new ParallelRuleRunner(pool).evaluate(javaClasses, rules);
+
+            assertEquals(rules, new ArrayList<>(results.keySet()));
+            for (ArchRule rule : rules) {
+                assertEquals(rule.evaluate(javaClasses).getFailureReport().getDetails(),
+                        results.get(rule).getFailureReport().getDetails(), rule.getDescription());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void single_pass_engine_reports_the_same_violations_as_evaluating_every_rule_on_its_own() {
+        Map<ArchRule, EvaluationResult> results = new SinglePassRuleEngine().evaluate(javaClasses, rules);
+
+        for (ArchRule rule : rules) {
+            assertEquals(rule.evaluate(javaClasses).getFailureReport().getDetails(),
+                    results.get(rule).getFailureReport().getDetails(), rule.getDescription());
+        }
+    }
+}
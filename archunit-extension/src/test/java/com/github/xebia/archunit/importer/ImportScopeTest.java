@@ -0,0 +1,54 @@
+package com.github.xebia.archunit.importer;
+
+import com.github.xebia.archunit.rules.fixtures.rest.Order;
+import com.github.xebia.archunit.rules.fixtures.rest.OrderResource;
+import com.tngtech.archunit.ArchConfiguration;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.Location;
+import com.tngtech.archunit.core.importer.Locations;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportScopeTest {
+
+    private static final String REST_PACKAGE = Order.class.getPackage().getName();
+
+    @Test
+    void imports_only_the_classes_of_the_scope() {
+        Set<Location> locations = Locations.ofPackage(REST_PACKAGE);
+
+        JavaClasses classes = ImportScope.annotatedWith("org.springframework.web.bind.annotation.RestController")
+                .importLocations(new ClassFileImporter(), locations);
+
+        assertEquals(new TreeSet<>(Collections.singleton(OrderResource.class.getName())), namesIn(classes));
+        assertTrue(ImportScope.packages(REST_PACKAGE).union(ImportScope.allClasses()).isAllClasses());
+    }
+
+    @Test
+    void leaves_the_global_configuration_alone() {
+        ArchConfiguration configuration = ArchConfiguration.get();
+        boolean resolveMissingDependencies = configuration.resolveMissingDependenciesFromClassPath();
+
+        JavaClasses classes = ImportScope.packages(REST_PACKAGE).importLocations(new ClassFileImporter(), Locations.ofPackage(REST_PACKAGE));
+
+        assertEquals(resolveMissingDependencies, configuration.resolveMissingDependenciesFromClassPath());
+        assertFalse(classes.get(OrderResource.class).getMethods().isEmpty());
+    }
+
+    private static Set<String> namesIn(JavaClasses classes) {
+        Set<String> names = new TreeSet<>();
+        for (JavaClass javaClass : classes) {
+            names.add(javaClass.getName());
+        }
+        return names;
+    }
+}
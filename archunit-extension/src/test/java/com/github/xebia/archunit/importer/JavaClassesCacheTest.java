@@ -0,0 +1,118 @@
+package com.github.xebia.archunit.importer;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.github.xebia.archunit.metrics.ImportMetrics;
+import com.github.xebia.archunit.metrics.Metrics;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JavaClassesCacheTest {
+
+    private static final int THREADS = 8;
+
+    @TempDir
+    Path temp;
+
+    private Set<Location> locations;
+
+    @BeforeEach
+    void compileFixture() {
+        SourceCompiler.compile(temp.resolve("first"), "package fixture; public class First {}");
+        SourceCompiler.compile(temp.resolve("second"), "package fixture; public class Second {}");
+        locations = Collections.singleton(Location.of(temp.resolve("first")));
+    }
+
+    @Test
+    void imports_an_equal_key_once_for_concurrent_callers() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<JavaClasses>> imports = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            imports.add(() -> {
+                start.await();
+                // an equal key built by every caller, not a shared instance
+                return JavaClassesCache.get(Collections.singleton(Location.of(temp.resolve("first"))),
+                        Collections.singleton(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS), ImportScope.allClasses(), false).get();
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<JavaClasses>> results = new ArrayList<>();
+            for (Callable<JavaClasses> callable : imports) {
+                results.add(executor.submit(callable));
+            }
+            start.countDown();
+            for (Future<JavaClasses> result : results) {
+                assertSame(results.get(0).get(), result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, importsOf(temp.resolve("first")));
+    }
+
+    @Test
+    void imports_other_options_and_locations_on_their_own() {
+        JavaClasses classes = JavaClassesCache.get(locations, Collections.emptySet(), ImportScope.allClasses(), false).get();
+        JavaClasses withOption = JavaClassesCache.get(locations,
+                Collections.singleton(ImportOption.Predefined.DO_NOT_INCLUDE_JARS), ImportScope.allClasses(), false).get();
+        JavaClasses otherLocation = JavaClassesCache.get(Collections.singleton(Location.of(temp.resolve("second"))),
+                Collections.emptySet(), ImportScope.allClasses(), false).get();
+
+        assertNotSame(classes, withOption);
+        assertEquals(2, importsOf(temp.resolve("first")));
+        assertEquals("fixture.Second", otherLocation.iterator().next().getName());
+        assertSame(classes, JavaClassesCache.get(locations, Collections.emptySet(), ImportScope.allClasses(), false).get());
+    }
+
+    @Test
+    void retries_a_failed_import() {
+        FailingOnce failingOnce = new FailingOnce();
+        Set<ImportOption> importOptions = Collections.singleton(failingOnce);
+
+        assertThrows(LinkageError.class,
+                () -> JavaClassesCache.get(locations, importOptions, ImportScope.allClasses(), false).get());
+        JavaClasses classes = JavaClassesCache.get(locations, importOptions, ImportScope.allClasses(), false).get();
+
+        assertEquals("fixture.First", classes.iterator().next().getName());
+        assertSame(classes, JavaClassesCache.get(locations, importOptions, ImportScope.allClasses(), false).get());
+    }
+
+    private static long importsOf(Path location) {
+        String name = Location.of(location).toString();
+        return Metrics.imports().stream().map(ImportMetrics::getLocations).filter(locations -> locations.contains(name)).count();
+    }
+
+    private static final class FailingOnce implements ImportOption {
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        @Override
+        public boolean includes(Location location) {
+            if (failed.compareAndSet(false, true)) {
+                // ArchUnit logs and skips class files failing with an exception, but passes on errors
+                throw new LinkageError("Import failed");
+            }
+            return true;
+        }
+    }
+}
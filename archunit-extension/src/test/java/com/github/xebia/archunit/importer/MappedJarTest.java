@@ -0,0 +1,158 @@
+package com.github.xebia.archunit.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedJarTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void reads_jars_with_more_than_65535_entries() throws IOException {
+        Path jar = temp.resolve("shaded.jar");
+        int entries = 70_000;
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries; i++) {
+                zip.putNextEntry(new ZipEntry("e/" + i));
+                zip.write(contentOf(i));
+                zip.closeEntry();
+            }
+        }
+
+        MappedJar mappedJar = MappedJar.open(jar);
+
+        assertEquals(entries, mappedJar.entries().size());
+        MappedJar.Entry last = mappedJar.entries().get(entries - 1);
+        assertEquals("e/" + (entries - 1), last.getName());
+        assertArrayEquals(contentOf(entries - 1), mappedJar.read(last));
+    }
+
+    @Test
+    void reads_sizes_and_offsets_from_zip64_fields() throws IOException {
+        byte[] stored = "stored entry".getBytes(StandardCharsets.UTF_8);
+        byte[] deflated = new byte[1000];
+        for (int i = 0; i < deflated.length; i++) {
+            deflated[i] = (byte) (i % 7);
+        }
+        Path jar = temp.resolve("zip64.jar");
+        Files.write(jar, new Zip64Writer()
+                .add("a/Stored.class", stored, false)
+                .add("a/Deflated.class", deflated, true)
+                .toBytes());
+
+        MappedJar mappedJar = MappedJar.open(jar);
+
+        assertEquals(2, mappedJar.entries().size());
+        assertEquals("a/Stored.class", mappedJar.entries().get(0).getName());
+        assertArrayEquals(stored, mappedJar.read(mappedJar.entries().get(0)));
+        assertArrayEquals(deflated, mappedJar.read(mappedJar.entries().get(1)));
+        // the archive is valid zip64, as far as the JDK is concerned
+        try (ZipFile zipFile = new ZipFile(jar.toFile()); InputStream in = zipFile.getInputStream(zipFile.getEntry("a/Deflated.class"))) {
+            assertArrayEquals(deflated, readAll(in));
+        }
+    }
+
+    private static byte[] contentOf(int i) {
+        return ("entry " + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes every size and offset to the zip64 extra fields and records, with markers in the regular ones, like
+     * archivers do for jars larger than 4 GB.
+     */
+    private static final class Zip64Writer {
+        private static final int MARKER = 0xffffffff;
+
+        private final ByteBuffer entries = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer centralDirectory = ByteBuffer.allocate(1 << 12).order(ByteOrder.LITTLE_ENDIAN);
+        private final List<String> names = new ArrayList<>();
+
+        Zip64Writer add(String name, byte[] content, boolean deflate) {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            byte[] data = deflate ? deflate(content) : content;
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            long offset = entries.position();
+
+            entries.putInt(0x04034b50).putShort((short) 45).putShort((short) 0).putShort((short) (deflate ? 8 : 0))
+                    .putInt(0).putInt((int) crc.getValue()).putInt(MARKER).putInt(MARKER)
+                    .putShort((short) nameBytes.length).putShort((short) 20)
+                    .put(nameBytes)
+                    .putShort((short) 1).putShort((short) 16).putLong(content.length).putLong(data.length)
+                    .put(data);
+
+            centralDirectory.putInt(0x02014b50).putShort((short) 45).putShort((short) 45).putShort((short) 0)
+                    .putShort((short) (deflate ? 8 : 0)).putInt(0).putInt((int) crc.getValue()).putInt(MARKER).putInt(MARKER)
+                    .putShort((short) nameBytes.length).putShort((short) 28).putShort((short) 0)
+                    .putShort((short) 0).putShort((short) 0).putInt(0).putInt(MARKER)
+                    .put(nameBytes)
+                    .putShort((short) 1).putShort((short) 24).putLong(content.length).putLong(data.length).putLong(offset);
+            names.add(name);
+            return this;
+        }
+
+        byte[] toBytes() {
+            long centralDirectoryOffset = entries.position();
+            long centralDirectorySize = centralDirectory.position();
+            long zip64EndOffset = centralDirectoryOffset + centralDirectorySize;
+            ByteBuffer end = ByteBuffer.allocate(56 + 20 + 22).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(0x06064b50).putLong(44).putShort((short) 45).putShort((short) 45).putInt(0).putInt(0)
+                    .putLong(names.size()).putLong(names.size()).putLong(centralDirectorySize).putLong(centralDirectoryOffset)
+                    .putInt(0x07064b50).putInt(0).putLong(zip64EndOffset).putInt(1)
+                    .putInt(0x06054b50).putShort((short) 0).putShort((short) 0).putShort((short) 0xffff).putShort((short) 0xffff)
+                    .putInt(MARKER).putInt(MARKER).putShort((short) 0);
+            ByteBuffer archive = ByteBuffer.allocate((int) zip64EndOffset + end.position());
+            archive.put(entries.array(), 0, entries.position())
+                    .put(centralDirectory.array(), 0, centralDirectory.position())
+                    .put(end.array(), 0, end.position());
+            return archive.array();
+        }
+
+        private static byte[] deflate(byte[] content) {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                deflater.setInput(content);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
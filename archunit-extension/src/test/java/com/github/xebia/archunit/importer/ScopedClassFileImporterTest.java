@@ -0,0 +1,157 @@
+package com.github.xebia.archunit.importer;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaField;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScopedClassFileImporterTest {
+
+    @TempDir
+    Path temp;
+
+    private Path first;
+    private Path second;
+    private Path secondJar;
+
+    @BeforeEach
+    void compileRoots() throws IOException {
+        first = temp.resolve("first");
+        second = temp.resolve("second");
+        SourceCompiler.compile(first,
+                "package fixture;\n@org.springframework.web.bind.annotation.RestController\npublic class Duplicate { String first; }",
+                "package fixture;\npublic class OnlyFirst {}");
+        SourceCompiler.compile(second,
+                "package fixture;\npublic class Duplicate { String second; }",
+                "package fixture;\n@org.springframework.web.bind.annotation.RestController\npublic class OnlySecond {}");
+        secondJar = jar(second, temp.resolve("second.jar"));
+    }
+
+    /**
+     * ArchUnit imports the first copy of a class in the order of the locations, but
+     * {@link ClassFileImporter#importPaths(java.util.Collection)} loses their order, so the locations are compared.
+     */
+    @Test
+    void imports_the_same_copy_of_duplicate_classes_as_archunit() {
+        for (List<Location> locations : Arrays.asList(
+                Arrays.asList(Location.of(first), Location.of(second)),
+                Arrays.asList(Location.of(second), Location.of(first)),
+                Arrays.asList(Location.of(first), jarLocation(secondJar)),
+                Arrays.asList(jarLocation(secondJar), Location.of(first)))) {
+            Map<String, Set<String>> expected = fieldsByClass(new ClassFileImporter().importLocations(locations));
+
+            assertEquals(expected, fieldsByClass(new ScopedClassFileImporter().importLocations(locations)), locations.toString());
+            assertEquals(Collections.singleton(locations.get(0).equals(Location.of(first)) ? "first" : "second"),
+                    expected.get("fixture.Duplicate"), locations.toString());
+        }
+    }
+
+    @Test
+    void imports_the_first_copy_in_the_order_of_the_paths() {
+        assertEquals(Collections.singleton("second"),
+                fieldsByClass(new ScopedClassFileImporter().importPaths(secondJar, first)).get("fixture.Duplicate"));
+        assertEquals(Collections.singleton("first"),
+                fieldsByClass(new ScopedClassFileImporter().importPaths(first, second)).get("fixture.Duplicate"));
+    }
+
+    @Test
+    void imports_a_single_directory_like_archunit() {
+        assertEquals(fieldsByClass(new ClassFileImporter().importPath(first)),
+                fieldsByClass(new ScopedClassFileImporter().importPaths(first)));
+    }
+
+    @Test
+    void imports_only_the_classes_of_the_scope() {
+        JavaClasses classes = new ScopedClassFileImporter()
+                .withImportScope(ImportScope.annotatedWith("org.springframework.web.bind.annotation.RestController"))
+                .importPaths(second, first);
+
+        Map<String, Set<String>> expected = new TreeMap<>();
+        expected.put("fixture.OnlySecond", new TreeSet<>());
+        assertEquals(expected, fieldsByClass(classes));
+    }
+
+    @Test
+    void does_not_import_a_later_copy_of_a_class_whose_first_copy_is_out_of_scope() {
+        ImportScope restControllers = ImportScope.annotatedWith("org.springframework.web.bind.annotation.RestController");
+
+        Map<String, Set<String>> classes = fieldsByClass(new ScopedClassFileImporter(ForkJoinPool.commonPool())
+                .withImportScope(restControllers)
+                .importPaths(secondJar, first));
+
+        assertEquals(Collections.singleton("fixture.OnlySecond"), classes.keySet());
+    }
+
+    @Test
+    void reads_headers_only_for_an_import_scope() {
+        ExecutorService shutDown = Executors.newSingleThreadExecutor();
+        shutDown.shutdown();
+        ScopedClassFileImporter importer = new ScopedClassFileImporter(shutDown);
+
+        assertEquals(fieldsByClass(new ClassFileImporter().importLocations(Arrays.asList(Location.of(first), Location.of(second)))),
+                fieldsByClass(importer.importPaths(first, second)));
+        assertThrows(RejectedExecutionException.class, () -> importer
+                .withImportScope(ImportScope.annotatedWith("org.springframework.web.bind.annotation.RestController"))
+                .importPaths(first, second));
+    }
+
+    private static Map<String, Set<String>> fieldsByClass(JavaClasses classes) {
+        Map<String, Set<String>> fieldsByClass = new TreeMap<>();
+        for (JavaClass javaClass : classes) {
+            Set<String> fields = new TreeSet<>();
+            for (JavaField field : javaClass.getFields()) {
+                fields.add(field.getName());
+            }
+            fieldsByClass.put(javaClass.getName(), fields);
+        }
+        return fieldsByClass;
+    }
+
+    private static Location jarLocation(Path jar) {
+        return Location.of(URI.create("jar:" + jar.toUri() + "!/"));
+    }
+
+    private static Path jar(Path classes, Path jar) throws IOException {
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(classes)) {
+            classFiles = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            for (Path classFile : classFiles) {
+                jarOut.putNextEntry(new JarEntry(classes.relativize(classFile).toString().replace('\\', '/')));
+                jarOut.write(Files.readAllBytes(classFile));
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.xebia.archunit.incremental;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.github.xebia.archunit.engine.SinglePassRuleEngine;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.allEntityClassesShouldHaveVersionField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class IncrementalRuleEvaluatorTest {
+
+    private static final String GRAND_PARENT_WITH_VERSION = "package fixture; @javax.persistence.MappedSuperclass public class GrandParent { @javax.persistence.Version long version; }";
+    private static final String GRAND_PARENT_WITHOUT_VERSION = "package fixture; @javax.persistence.MappedSuperclass public class GrandParent { long version; }";
+
+    @TempDir
+    Path temp;
+
+    private Path classes;
+    private IncrementalRuleEvaluator evaluator;
+    private final List<ArchRule> rules = Collections.singletonList(allEntityClassesShouldHaveVersionField());
+
+    @BeforeEach
+    void compileFixture() {
+        classes = temp.resolve("classes");
+        SourceCompiler.compile(classes,
+                "package javax.persistence; public @interface Entity {}",
+                "package javax.persistence; public @interface MappedSuperclass {}",
+                "package javax.persistence; public @interface Version {}",
+                GRAND_PARENT_WITH_VERSION,
+                "package fixture; @javax.persistence.MappedSuperclass public class Parent extends GrandParent {}",
+                "package fixture; @javax.persistence.Entity public class Child extends Parent {}");
+        evaluator = new IncrementalRuleEvaluator(temp.resolve("index.bin"), new SinglePassRuleEngine());
+    }
+
+    @Test
+    void rechecks_classes_depending_transitively_on_a_changed_class() {
+        assertFalse(evaluate().hasViolation());
+
+        SourceCompiler.compile(classes, GRAND_PARENT_WITHOUT_VERSION);
+
+        assertEquals(Collections.singletonList("fixture.Child have @Version field"), evaluate().getFailureReport().getDetails());
+    }
+
+    @Test
+    void keeps_reporting_violations_until_they_are_fixed() {
+        SourceCompiler.compile(classes, GRAND_PARENT_WITHOUT_VERSION);
+        assertEquals(1, evaluate().getFailureReport().getDetails().size());
+        assertEquals(1, evaluate().getFailureReport().getDetails().size());
+
+        SourceCompiler.compile(classes, GRAND_PARENT_WITH_VERSION);
+
+        assertFalse(evaluate().hasViolation());
+    }
+
+    private EvaluationResult evaluate() {
+        JavaClasses javaClasses = new ClassFileImporter().importPath(classes);
+        return evaluator.evaluate(javaClasses, rules).get(rules.get(0));
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.xebia.archunit.index;
+
+import com.github.xebia.archunit.engine.Elements;
+import com.github.xebia.archunit.rules.fixtures.rest.Order;
+import com.github.xebia.archunit.rules.fixtures.rest.OrderDto;
+import com.github.xebia.archunit.rules.fixtures.rest.OrderResource;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassRoleIndexTest {
+
+    private final JavaClasses classes = new ClassFileImporter().importClasses(Order.class, OrderDto.class, OrderResource.class);
+
+    @Test
+    void classification_agrees_with_classifying_single_classes() {
+        ClassRoleIndex roles = ClassRoleIndex.of(null, null);
+        ClassRoleIndex.Classification classification = roles.index(classes);
+
+        for (JavaClass javaClass : classes) {
+            assertEquals(roles.rolesOf(javaClass), classification.rolesOf(javaClass), javaClass.getName());
+            for (ClassRole role : ClassRole.values()) {
+                assertEquals(roles.hasRole(javaClass, role), classification.hasRole(javaClass, role));
+            }
+        }
+        assertEquals(EnumSet.of(ClassRole.REST_CONTROLLER), classification.rolesOf(classes.get(OrderResource.class)));
+        assertEquals(Collections.singletonList(classes.get(OrderDto.class)), classification.classesWithRole(ClassRole.DTO));
+    }
+
+    @Test
+    void classifies_every_class_of_a_large_import() {
+        JavaClasses domain = new ClassFileImporter().importPackagesOf(JavaClass.class);
+        ClassRoleIndex roles = ClassRoleIndex.of(Collections.singleton("Class"), Collections.singleton("Predicates"));
+        ClassRoleIndex.Classification classification = roles.index(domain);
+
+        assertTrue(domain.size() > 100);
+        for (JavaClass javaClass : domain) {
+            assertEquals(roles.rolesOf(javaClass), classification.rolesOf(javaClass), javaClass.getName());
+        }
+        assertTrue(classification.classesWithRole(ClassRole.DTO).contains(domain.get(JavaClass.class)));
+        assertFalse(classification.hasRole(classes.get(OrderDto.class), ClassRole.DTO));
+    }
+
+    @Test
+    void rules_select_their_elements_from_the_shared_classification() {
+        ClassRoleIndex roles = ClassRoleIndex.of(null, Collections.singleton("Resource"));
+
+        assertEquals(Collections.singletonList(classes.get(OrderResource.class)),
+                newArrayList(Elements.classes().withRole(roles, ClassRole.UTIL).transform(classes)));
+        assertEquals(newArrayList(classes.get(OrderResource.class).getMethods()).size(),
+                newArrayList(Elements.methods().withRole(roles, ClassRole.UTIL).transform(classes)).size());
+        assertSame(roles.index(classes), ClassRoleIndex.of(null, Collections.singleton("Resource")).index(classes));
+    }
+
+    @Test
+    void shares_classifications_per_import_and_suffixes() {
+        ClassRoleIndex.Classification classification = ClassRoleIndex.of(null, null).index(classes);
+
+        assertSame(classification, ClassRoleIndex.of(Collections.singleton("Dto"), null).index(classes));
+        assertNotSame(classification, ClassRoleIndex.of(Collections.singleton("Order"), null).index(classes));
+        assertNotSame(classification, ClassRoleIndex.of(null, null).index(new ClassFileImporter().importClasses(Order.class)));
+    }
+
+    @Test
+    void uses_the_configured_suffixes() {
+        ClassRoleIndex roles = ClassRoleIndex.of(Collections.singleton("Order"), Collections.singleton("Resource"));
+
+        assertTrue(roles.hasRole(classes.get(Order.class), ClassRole.DTO));
+        assertFalse(roles.hasRole(classes.get(OrderDto.class), ClassRole.DTO));
+        assertTrue(roles.withRole(ClassRole.UTIL).apply(classes.get(OrderResource.class)));
+    }
+
+    private static <T> List<T> newArrayList(Iterable<T> elements) {
+        List<T> list = new ArrayList<>();
+        elements.forEach(list::add);
+        return list;
+    }
+}
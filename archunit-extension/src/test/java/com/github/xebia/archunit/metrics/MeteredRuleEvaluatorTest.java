@@ -0,0 +1,65 @@
+package com.github.xebia.archunit.metrics;
+
+import com.github.xebia.archunit.rules.fixtures.rest.Order;
+import com.github.xebia.archunit.rules.fixtures.rest.OrderDto;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.layersShouldBeFreeOfCycles;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.rootDirectoryShouldHaveApplicationClass;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeteredRuleEvaluatorTest {
+
+    private final JavaClasses classes = new ClassFileImporter().importClasses(Order.class, OrderDto.class);
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void reports_unknown_elements_and_events_of_other_rules_as_minus_one() {
+        List<RuleMetrics> metrics = new ArrayList<>();
+        ArchRule elementRule = rootDirectoryShouldHaveApplicationClass("com.github.xebia.archunit.rules.fixtures.rest");
+        ArchRule sliceRule = layersShouldBeFreeOfCycles("com.github.xebia.archunit.(*)..");
+
+        new MeteredRuleEvaluator(temp.resolve("metrics.json")).withListener(new MetricsListener() {
+            @Override
+            public void ruleEvaluated(RuleMetrics ruleMetrics) {
+                metrics.add(ruleMetrics);
+            }
+        }).evaluate(classes, Arrays.asList(elementRule, sliceRule));
+
+        assertEquals(2, metrics.get(0).getElements());
+        assertEquals(2, metrics.get(0).getEvents());
+        assertEquals(2, metrics.get(0).getViolations());
+        assertEquals(-1, metrics.get(1).getElements());
+        assertEquals(-1, metrics.get(1).getEvents());
+    }
+
+    @Test
+    void merges_the_metrics_of_all_batches_into_one_report() throws IOException {
+        Path report = temp.resolve("metrics.json");
+        ArchRule first = rootDirectoryShouldHaveApplicationClass("com.example.first");
+        ArchRule second = rootDirectoryShouldHaveApplicationClass("com.example.second");
+
+        new MeteredRuleEvaluator(report).evaluate(classes, Collections.singletonList(first));
+        new MeteredRuleEvaluator(report).evaluate(classes, Collections.singletonList(second));
+
+        String json = new String(Files.readAllBytes(report), StandardCharsets.UTF_8);
+        assertTrue(json.contains(first.getDescription()), json);
+        assertTrue(json.contains(second.getDescription()), json);
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.xebia.archunit.report;
+
+import com.github.xebia.archunit.rules.fixtures.rest.Order;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViolationReportTest {
+
+    private final JavaClasses classes = new ClassFileImporter().importClasses(Order.class);
+    private final ArchRule privateClasses = classes().should().bePrivate();
+    private final ArchRule dtoClasses = classes().should().haveSimpleNameEndingWith("Dto");
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void writes_locations_relative_to_the_source_root() throws IOException {
+        Path sourceRoot = temp.resolve("src");
+        ViolationReport report = ViolationReport.create(temp.resolve("report"), sourceRoot);
+
+        assertEquals(1, report.write(privateClasses, privateClasses.evaluate(classes)));
+
+        String sarif = read(report.getSarifFile());
+        assertTrue(sarif.contains("\"originalUriBaseIds\": {\"SRCROOT\": {\"uri\": \"" + sourceRoot.toUri() + "/\"}}"), sarif);
+        assertTrue(sarif.contains("\"artifactLocation\": {\"uri\": \"com/github/xebia/archunit/rules/fixtures/rest/Order.java\", \"uriBaseId\": \"SRCROOT\"}"), sarif);
+    }
+
+    @Test
+    void starts_over_when_the_files_were_deleted() throws IOException {
+        ViolationReport report = ViolationReport.of(temp);
+        report.write(privateClasses, privateClasses.evaluate(classes));
+        Files.delete(report.getSarifFile());
+        Files.delete(report.getJsonLinesFile());
+        Files.delete(temp);
+
+        assertEquals(1, report.write(dtoClasses, dtoClasses.evaluate(classes)));
+
+        assertReportsOnly(report, dtoClasses);
+    }
+
+    @Test
+    void starts_over_when_the_files_were_changed_by_someone_else() throws IOException {
+        ViolationReport report = ViolationReport.of(temp.resolve("shared"));
+        report.write(privateClasses, privateClasses.evaluate(classes));
+        Files.write(report.getJsonLinesFile(), new byte[0]);
+
+        report.write(dtoClasses, dtoClasses.evaluate(classes));
+
+        assertReportsOnly(report, dtoClasses);
+    }
+
+    @Test
+    void a_new_report_replaces_the_files_of_an_earlier_one() throws IOException {
+        ViolationReport.create(temp, temp).write(privateClasses, privateClasses.evaluate(classes));
+
+        ViolationReport report = ViolationReport.create(temp, temp);
+        report.write(dtoClasses, dtoClasses.evaluate(classes));
+
+        assertReportsOnly(report, dtoClasses);
+    }
+
+    @Test
+    void appends_the_violations_of_further_rules() throws IOException {
+        ViolationReport report = ViolationReport.create(temp, temp);
+        report.write(privateClasses, privateClasses.evaluate(classes));
+        report.write(dtoClasses, dtoClasses.evaluate(classes));
+
+        List<String> lines = Files.readAllLines(report.getJsonLinesFile(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"ruleId\": \"" + ViolationReport.idOf(privateClasses.getDescription()) + "\""), lines.get(0));
+        assertTrue(lines.get(1).startsWith("{\"ruleId\": \"" + ViolationReport.idOf(dtoClasses.getDescription()) + "\""), lines.get(1));
+        String sarif = read(report.getSarifFile());
+        assertTrue(sarif.contains("{\"id\": \"" + ViolationReport.idOf(privateClasses.getDescription()) + "\""), sarif);
+        assertTrue(sarif.endsWith("]}}\n  }]\n}\n"), sarif);
+    }
+
+    private static void assertReportsOnly(ViolationReport report, ArchRule rule) throws IOException {
+        String ruleId = ViolationReport.idOf(rule.getDescription());
+        List<String> lines = Files.readAllLines(report.getJsonLinesFile(), StandardCharsets.UTF_8);
+        assertEquals(1, lines.size(), lines.toString());
+        assertTrue(lines.get(0).startsWith("{\"ruleId\": \"" + ruleId + "\""), lines.get(0));
+        String sarif = read(report.getSarifFile());
+        assertTrue(sarif.startsWith("{\n  \"$schema\""), sarif);
+        assertEquals(1, sarif.split("\"ruleId\"", -1).length - 1, sarif);
+        assertEquals(1, sarif.split("\\{\"id\": ", -1).length - 1, sarif);
+        assertTrue(sarif.contains("{\"id\": \"" + ruleId + "\""), sarif);
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.xebia.archunit.rules;
+
+import com.tngtech.archunit.core.domain.JavaCall;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockingSinksTest {
+
+    private final JavaClass streams = new ClassFileImporter().importClasses(Streams.class).get(Streams.class);
+
+    @Test
+    void reads_from_memory_do_not_block() {
+        assertFalse(blocks(BlockingSinks.defaults(), "readBytes"));
+        assertFalse(blocks(BlockingSinks.defaults(), "readString"));
+        assertFalse(blocks(BlockingSinks.io(), "readBytes"));
+        assertFalse(blocks(BlockingSinks.io(), "readString"));
+    }
+
+    @Test
+    void file_access_blocks() {
+        assertTrue(blocks(BlockingSinks.defaults(), "readFile"));
+        assertTrue(blocks(BlockingSinks.defaults(), "readPath"));
+        assertTrue(blocks(BlockingSinks.io(), "readFile"));
+        assertTrue(blocks(BlockingSinks.io(), "readPath"));
+    }
+
+    @Test
+    void custom_sinks_block() {
+        assertTrue(blocks(BlockingSinks.none().with("java.io.InputStream#read"), "readBytes"));
+        assertFalse(blocks(BlockingSinks.none().with("java.io.InputStream#close"), "readBytes"));
+    }
+
+    private boolean blocks(BlockingSinks sinks, String methodName) {
+        Predicate<JavaCall<?>> matcher = sinks.newMatcher();
+        return streams.getMethod(methodName).getCallsFromSelf().stream().anyMatch(matcher);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Streams {
+
+        int readBytes() throws IOException {
+            InputStream in = new ByteArrayInputStream(new byte[1]);
+            return in.read();
+        }
+
+        int readString() throws IOException {
+            return new StringReader("x").read();
+        }
+
+        int readFile() throws IOException {
+            try (FileInputStream in = new FileInputStream("x")) {
+                return in.read();
+            }
+        }
+
+        byte[] readPath() throws IOException {
+            return Files.readAllBytes(Paths.get("x"));
+        }
+    }
+}
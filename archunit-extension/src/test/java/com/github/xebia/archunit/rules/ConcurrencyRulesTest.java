@@ -0,0 +1,107 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.springSingletonComponentsShouldNotHaveStaticMutableCollections;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.springSingletonComponentsShouldNotSynchronize;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.springSingletonComponentsShouldNotUseSynchronizedCollections;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.springSingletonComponentsShouldRemoveThreadLocals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyRulesTest {
+
+    @TempDir
+    Path temp;
+
+    private JavaClasses classes;
+
+    @BeforeEach
+    void compileFixture() {
+        SourceCompiler.compile(temp,
+                "package org.springframework.stereotype; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Component {}",
+                "package org.springframework.stereotype; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @Component public @interface Service {}");
+        SourceCompiler.compile(temp,
+                "package fixture;\n"
+                        + "@org.springframework.stereotype.Service\n"
+                        + "public class OrderService {\n"
+                        + "    private static final java.util.Map<String, String> CACHE = new java.util.HashMap<>();\n"
+                        + "    private static final java.util.List<String> STATES = java.util.Collections.unmodifiableList(java.util.Arrays.asList(\"NEW\"));\n"
+                        + "    private static final ThreadLocal<String> USER = new ThreadLocal<>();\n"
+                        + "    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();\n"
+                        + "    private final java.util.Hashtable<String, String> orders = new java.util.Hashtable<>();\n"
+                        + "    private final java.util.List<String> log = java.util.Collections.synchronizedList(new java.util.ArrayList<>());\n"
+                        + "    private final Object lock = new Object();\n"
+                        + "    public synchronized void place(String order) {\n"
+                        + "        orders.put(order, USER.get());\n"
+                        + "    }\n"
+                        + "    public void cancel(String order) {\n"
+                        + "        synchronized (lock) {\n"
+                        + "            orders.remove(order);\n"
+                        + "        }\n"
+                        + "    }\n"
+                        + "    public String tenant() {\n"
+                        + "        try {\n"
+                        + "            return TENANT.get();\n"
+                        + "        } finally {\n"
+                        + "            TENANT.remove();\n"
+                        + "        }\n"
+                        + "    }\n"
+                        + "}",
+                "package fixture;\n"
+                        + "public class OrderCache {\n"
+                        + "    private static final java.util.Map<String, String> CACHE = new java.util.HashMap<>();\n"
+                        + "    public synchronized void put(String order) {\n"
+                        + "        CACHE.put(order, order);\n"
+                        + "    }\n"
+                        + "}");
+        classes = new ClassFileImporter().importPath(temp);
+    }
+
+    @Test
+    void synchronized_methods_and_blocks_of_components_violate() {
+        assertEquals(Arrays.asList(
+                "Method <fixture.OrderService.cancel> has a synchronized block in (OrderService.java:15)",
+                "Method <fixture.OrderService.place(java.lang.String)> is synchronized in (OrderService.java:12)"),
+                violations(springSingletonComponentsShouldNotSynchronize()));
+    }
+
+    @Test
+    void synchronized_collections_of_components_violate() {
+        assertEquals(Arrays.asList(
+                "Constructor <fixture.OrderService.<init>()> calls method <java.util.Collections.synchronizedList(java.util.List)> in (OrderService.java:9)",
+                "Field <fixture.OrderService.orders> of type java.util.Hashtable locks on every access in (OrderService.java:0)"),
+                violations(springSingletonComponentsShouldNotUseSynchronizedCollections()));
+    }
+
+    @Test
+    void static_mutable_collections_of_components_violate() {
+        assertEquals(Arrays.asList(
+                "Field <fixture.OrderService.CACHE> is a static mutable java.util.Map in (OrderService.java:0)"),
+                violations(springSingletonComponentsShouldNotHaveStaticMutableCollections()));
+    }
+
+    @Test
+    void thread_locals_that_are_never_removed_violate() {
+        assertEquals(Arrays.asList(
+                "Field <fixture.OrderService.USER> is a ThreadLocal that is never removed in (OrderService.java:0)"),
+                violations(springSingletonComponentsShouldRemoveThreadLocals()));
+    }
+
+    private List<String> violations(ArchRule rule) {
+        List<String> details = new ArrayList<>(rule.evaluate(classes).getFailureReport().getDetails());
+        Collections.sort(details);
+        return details;
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.entityCollectionAssociationsShouldHaveBatchSize;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.entityCollectionAssociationsShouldNotBeFetchedEagerly;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.entityCollectionsShouldNotBeBags;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.entityEqualsAndHashCodeShouldNotUseLazyAssociations;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.entitySingleValuedAssociationsShouldBeLazy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EntityRulesTest {
+
+    @TempDir
+    Path temp;
+
+    private JavaClasses classes;
+
+    @BeforeEach
+    void compileFixture() {
+        SourceCompiler.compile(temp,
+                "package javax.persistence; public enum FetchType { LAZY, EAGER }",
+                "package javax.persistence; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Entity {}",
+                "package javax.persistence; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface OneToMany { FetchType fetch() default FetchType.LAZY; }",
+                "package javax.persistence; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface ManyToOne { FetchType fetch() default FetchType.EAGER; }",
+                "package javax.persistence; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface OrderColumn {}",
+                "package org.hibernate.annotations; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface BatchSize { int size(); }");
+        SourceCompiler.compile(temp,
+                "package fixture;\n"
+                        + "@javax.persistence.Entity\n"
+                        + "public class Customer {\n"
+                        + "}",
+                "package fixture;\n"
+                        + "@javax.persistence.Entity\n"
+                        + "public class OrderLine {\n"
+                        + "}",
+                "package fixture;\n"
+                        + "import javax.persistence.*;\n"
+                        + "@Entity\n"
+                        + "public class Order {\n"
+                        + "    @ManyToOne\n"
+                        + "    private Customer customer;\n"
+                        + "    @ManyToOne(fetch = FetchType.LAZY)\n"
+                        + "    private Customer payer;\n"
+                        + "    @OneToMany(fetch = FetchType.EAGER)\n"
+                        + "    @org.hibernate.annotations.BatchSize(size = 20)\n"
+                        + "    private java.util.Set<OrderLine> lines;\n"
+                        + "    @OneToMany\n"
+                        + "    private java.util.List<OrderLine> history;\n"
+                        + "    @OneToMany\n"
+                        + "    @OrderColumn\n"
+                        + "    @org.hibernate.annotations.BatchSize(size = 20)\n"
+                        + "    private java.util.List<OrderLine> sortedLines;\n"
+                        + "    @Override\n"
+                        + "    public boolean equals(Object other) {\n"
+                        + "        return other instanceof Order && payer == ((Order) other).payer;\n"
+                        + "    }\n"
+                        + "    @Override\n"
+                        + "    public int hashCode() {\n"
+                        + "        return System.identityHashCode(customer);\n"
+                        + "    }\n"
+                        + "}");
+        classes = new ClassFileImporter().importPath(temp);
+    }
+
+    @Test
+    void eagerly_fetched_collections_violate() {
+        assertEquals(Arrays.asList(
+                "Field <fixture.Order.lines> is @OneToMany with FetchType.EAGER in (Order.java:0)"),
+                violations(entityCollectionAssociationsShouldNotBeFetchedEagerly()));
+    }
+
+    @Test
+    void single_valued_associations_without_lazy_fetch_violate() {
+        assertEquals(Arrays.asList(
+                "Field <fixture.Order.customer> is @ManyToOne without fetch = FetchType.LAZY in (Order.java:0)"),
+                violations(entitySingleValuedAssociationsShouldBeLazy()));
+    }
+
+    @Test
+    void collections_without_batch_fetching_violate() {
+        assertEquals(Arrays.asList(
+                "Field <fixture.Order.history> is @OneToMany without @BatchSize, @Fetch or a named entity graph in (Order.java:0)"),
+                violations(entityCollectionAssociationsShouldHaveBatchSize()));
+    }
+
+    @Test
+    void unordered_lists_violate() {
+        assertEquals(Arrays.asList(
+                "Field <fixture.Order.history> of type java.util.List without @OrderColumn is a bag, prefer a Set in (Order.java:0)"),
+                violations(entityCollectionsShouldNotBeBags()));
+    }
+
+    @Test
+    void equals_using_lazy_associations_violates() {
+        assertEquals(Arrays.asList(
+                "Method <fixture.Order.equals(java.lang.Object)> uses the lazy associations [payer] in (Order.java:20)"),
+                violations(entityEqualsAndHashCodeShouldNotUseLazyAssociations()));
+    }
+
+    private List<String> violations(ArchRule rule) {
+        List<String> details = new ArrayList<>(rule.evaluate(classes).getFailureReport().getDetails());
+        Collections.sort(details);
+        return details;
+    }
+}
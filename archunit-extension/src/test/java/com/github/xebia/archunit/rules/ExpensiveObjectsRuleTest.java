@@ -0,0 +1,55 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.expensiveObjectsShouldNotBeCreatedPerCall;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpensiveObjectsRuleTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void expensive_objects_created_in_instance_methods_and_lambdas_violate() {
+        SourceCompiler.compile(temp, "package fixture;\n"
+                + "import java.util.regex.Pattern;\n"
+                + "public class OrderParser {\n"
+                + "    private static final Pattern ID = Pattern.compile(\"[0-9]+\");\n"
+                + "    private final Pattern code;\n"
+                + "    public OrderParser() {\n"
+                + "        code = Pattern.compile(\"[A-Z]+\");\n"
+                + "    }\n"
+                + "    public boolean isId(String value) {\n"
+                + "        return ID.matcher(value).matches();\n"
+                + "    }\n"
+                + "    public boolean isReference(String value) {\n"
+                + "        return Pattern.compile(\"REF-[0-9]+\").matcher(value).matches();\n"
+                + "    }\n"
+                + "    public java.util.function.Predicate<String> isDate() {\n"
+                + "        return value -> java.time.format.DateTimeFormatter.ofPattern(\"yyyy-MM-dd\").parse(value) != null;\n"
+                + "    }\n"
+                + "    public static Pattern of(String regex) {\n"
+                + "        return Pattern.compile(regex);\n"
+                + "    }\n"
+                + "}");
+        JavaClasses classes = new ClassFileImporter().importPath(temp);
+
+        List<String> details = new ArrayList<>(expensiveObjectsShouldNotBeCreatedPerCall().evaluate(classes).getFailureReport().getDetails());
+        Collections.sort(details);
+        assertEquals(Arrays.asList(
+                "Method <fixture.OrderParser.isReference(java.lang.String)> calls method <java.util.regex.Pattern.compile(java.lang.String)> in (OrderParser.java:13)",
+                "Method <fixture.OrderParser.lambda$isDate$0(java.lang.String)> calls method <java.time.format.DateTimeFormatter.ofPattern(java.lang.String)> in (OrderParser.java:16)"),
+                details);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.reactiveMethodsShouldNotBlock;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReactiveRuleTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void reactive_methods_of_components_reaching_blocking_calls_violate() {
+        SourceCompiler.compile(temp,
+                "package org.springframework.stereotype; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Component {}",
+                "package org.springframework.stereotype; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @Component public @interface Service {}",
+                "package org.reactivestreams; public interface Publisher<T> {}");
+        SourceCompiler.compile(temp,
+                "package fixture;\n"
+                        + "public class Mono<T> implements org.reactivestreams.Publisher<T> {\n"
+                        + "    public static <T> Mono<T> just(T value) { return new Mono<>(); }\n"
+                        + "}",
+                "package fixture;\n"
+                        + "public class OrderRepository {\n"
+                        + "    public String load(String id) {\n"
+                        + "        try {\n"
+                        + "            return new String(java.nio.file.Files.readAllBytes(java.nio.file.Paths.get(id)));\n"
+                        + "        } catch (java.io.IOException e) {\n"
+                        + "            throw new java.io.UncheckedIOException(e);\n"
+                        + "        }\n"
+                        + "    }\n"
+                        + "}",
+                "package fixture;\n"
+                        + "@org.springframework.stereotype.Service\n"
+                        + "public class OrderService {\n"
+                        + "    private final OrderRepository repository = new OrderRepository();\n"
+                        + "    public Mono<String> find(String id) {\n"
+                        + "        return Mono.just(repository.load(id));\n"
+                        + "    }\n"
+                        + "    public Mono<String> echo(String id) {\n"
+                        + "        return Mono.just(id);\n"
+                        + "    }\n"
+                        + "    public String findBlocking(String id) {\n"
+                        + "        return repository.load(id);\n"
+                        + "    }\n"
+                        + "}",
+                "package fixture;\n"
+                        + "public class OrderClient {\n"
+                        + "    private final OrderRepository repository = new OrderRepository();\n"
+                        + "    public Mono<String> find(String id) {\n"
+                        + "        return Mono.just(repository.load(id));\n"
+                        + "    }\n"
+                        + "}");
+        JavaClasses classes = new ClassFileImporter().importPath(temp);
+
+        List<String> details = new ArrayList<>(reactiveMethodsShouldNotBlock().evaluate(classes).getFailureReport().getDetails());
+        Collections.sort(details);
+        assertEquals(Arrays.asList(
+                "Method <fixture.OrderService.find(java.lang.String)> may block through OrderService.find -> OrderRepository.load: "
+                        + "Method <fixture.OrderRepository.load(java.lang.String)> calls method <java.nio.file.Files.readAllBytes(java.nio.file.Path)> in (OrderRepository.java:5)"),
+                details);
+    }
+}
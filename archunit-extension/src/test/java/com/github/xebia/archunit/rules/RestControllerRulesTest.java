@@ -0,0 +1,145 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.github.xebia.archunit.rules.fixtures.rest.OrderResource;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.restControllersNameShouldEndWithResource;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.restControllersShouldReturnDtosOnly;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RestControllerRulesTest {
+
+    private static final String RESOURCE = OrderResource.class.getName();
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void rest_controllers_should_return_page_of_dtos() {
+        JavaClasses classes = new ClassFileImporter().importClasses(OrderResource.class);
+
+        assertEquals(Arrays.asList(
+                "Method <" + RESOURCE + ".entityPage()> returns Page<com.github.xebia.archunit.rules.fixtures.rest.Order> instead of Page<DTO> object in (OrderResource.java:17)",
+                "Method <" + RESOURCE + ".rawPage()> returns a raw Page instead of Page<DTO> object in (OrderResource.java:23)"),
+                violations(classes));
+    }
+
+    @Test
+    void reads_the_class_file_from_the_class_path_if_the_imported_one_is_gone() throws Exception {
+        Path classFile = temp.resolve("OrderResource.class");
+        Files.copy(classFileOf(OrderResource.class), classFile);
+        JavaClasses classes = new ClassFileImporter().importPath(classFile);
+        Files.delete(classFile);
+
+        assertEquals(violations(new ClassFileImporter().importClasses(OrderResource.class)), violations(classes));
+    }
+
+    @Test
+    void never_loads_the_checked_classes() throws IOException {
+        Path classPath = temp.resolve("classes");
+        SourceCompiler.compile(classPath, "package fixture;\n"
+                + "@org.springframework.web.bind.annotation.RestController\n"
+                + "public class MovedResource {\n"
+                + "    @org.springframework.web.bind.annotation.GetMapping\n"
+                + "    public org.springframework.data.domain.Page<String> page() { return null; }\n"
+                + "}");
+        Path classFile = temp.resolve("MovedResource.class");
+        Files.copy(classPath.resolve("fixture").resolve("MovedResource.class"), classFile);
+        JavaClasses classes = new ClassFileImporter().importPath(classFile);
+        Files.delete(classFile);
+        RecordingClassLoader classLoader = new RecordingClassLoader(classPath);
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            assertEquals(Arrays.asList(
+                    "Method <fixture.MovedResource.page()> returns Page<java.lang.String> instead of Page<DTO> object in (MovedResource.java:5)"),
+                    violations(classes));
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+            classLoader.close();
+        }
+        assertEquals(Collections.emptyList(), classLoader.loadedClasses);
+    }
+
+    @Test
+    void reports_methods_whose_generic_return_type_cannot_be_read() throws IOException {
+        SourceCompiler.compile(temp, "package fixture;\n"
+                + "@org.springframework.web.bind.annotation.RestController\n"
+                + "public class DeletedResource {\n"
+                + "    @org.springframework.web.bind.annotation.GetMapping\n"
+                + "    public org.springframework.data.domain.Page<String> page() { return null; }\n"
+                + "}");
+        Path classFile = temp.resolve("fixture").resolve("DeletedResource.class");
+        JavaClasses classes = new ClassFileImporter().importPath(classFile);
+        Files.delete(classFile);
+
+        assertEquals(Arrays.asList(
+                "Method <fixture.DeletedResource.page()> returns a Page whose type arguments cannot be read in (DeletedResource.java:5)"),
+                violations(classes));
+    }
+
+    @Test
+    void only_selects_directly_annotated_rest_controllers() throws IOException {
+        SourceCompiler.compile(temp, "package fixture;\n"
+                + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                + "@org.springframework.web.bind.annotation.RestController\n"
+                + "public @interface Api {\n"
+                + "}", "package fixture;\n"
+                + "@Api\n"
+                + "public class MetaAnnotatedController {\n"
+                + "}", "package fixture;\n"
+                + "@org.springframework.web.bind.annotation.RestController\n"
+                + "public class AnnotatedController {\n"
+                + "}");
+        JavaClasses classes = new ClassFileImporter().importPath(temp);
+
+        assertEquals(Arrays.asList(
+                "simple name of fixture.AnnotatedController does not end with 'Resource' in (AnnotatedController.java:0)",
+                "simple name of fixture.Api does not end with 'Resource' in (Api.java:0)"),
+                sorted(restControllersNameShouldEndWithResource().evaluate(classes).getFailureReport().getDetails()));
+    }
+
+    private static List<String> violations(JavaClasses classes) {
+        return restControllersShouldReturnDtosOnly("Dto").evaluate(classes).getFailureReport().getDetails();
+    }
+
+    private static List<String> sorted(List<String> details) {
+        List<String> sorted = new ArrayList<>(details);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static Path classFileOf(Class<?> type) throws URISyntaxException {
+        return Paths.get(type.getResource(type.getSimpleName() + ".class").toURI());
+    }
+
+    private static final class RecordingClassLoader extends URLClassLoader {
+        private final List<String> loadedClasses = new ArrayList<>();
+
+        private RecordingClassLoader(Path classPath) throws IOException {
+            super(new URL[]{classPath.toUri().toURL()}, RestControllerRulesTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            loadedClasses.add(name);
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.xebia.archunit.rules;
+
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleCatalogueTest {
+
+    private final RuleCatalogue catalogue = new RuleCatalogue(new String[]{"..entity.."}, "com.example.(*).domain",
+            "com.example", "com.example.(*)..", new String[]{"Dto"}, new String[]{"Util"});
+
+    private final List<String> concurrencyRules = descriptionsOf(Arrays.asList(
+            XebiaArchitectureRules.springSingletonComponentsShouldNotSynchronize(),
+            XebiaArchitectureRules.springSingletonComponentsShouldNotUseSynchronizedCollections(),
+            XebiaArchitectureRules.springSingletonComponentsShouldNotHaveStaticMutableCollections(),
+            XebiaArchitectureRules.springSingletonComponentsShouldRemoveThreadLocals()));
+
+    @Test
+    void leaves_out_the_concurrency_rules_by_default() {
+        List<String> rules = descriptionsOf(catalogue.rules());
+
+        for (String concurrencyRule : concurrencyRules) {
+            assertFalse(rules.contains(concurrencyRule), concurrencyRule);
+        }
+    }
+
+    @Test
+    void adds_the_concurrency_rules_on_opt_in() {
+        List<String> rules = descriptionsOf(catalogue.withConcurrencyChecks(true).rules());
+
+        assertEquals(catalogue.rules().size() + concurrencyRules.size(), rules.size());
+        assertTrue(rules.containsAll(concurrencyRules));
+    }
+
+    @Test
+    void adds_the_jpa_rules_on_opt_in() {
+        List<String> jpaRules = descriptionsOf(Arrays.asList(
+                XebiaArchitectureRules.entityCollectionAssociationsShouldNotBeFetchedEagerly(),
+                XebiaArchitectureRules.entitySingleValuedAssociationsShouldBeLazy(),
+                XebiaArchitectureRules.entityCollectionAssociationsShouldHaveBatchSize(),
+                XebiaArchitectureRules.entityCollectionsShouldNotBeBags(),
+                XebiaArchitectureRules.entityEqualsAndHashCodeShouldNotUseLazyAssociations()));
+        List<String> rules = descriptionsOf(catalogue.withJpaChecks(true).rules());
+
+        for (String jpaRule : jpaRules) {
+            assertFalse(descriptionsOf(catalogue.rules()).contains(jpaRule), jpaRule);
+        }
+        assertEquals(catalogue.rules().size() + jpaRules.size(), rules.size());
+        assertTrue(rules.containsAll(jpaRules));
+    }
+
+    @Test
+    void adds_the_reactive_rule_on_opt_in() {
+        String reactiveRule = XebiaArchitectureRules.reactiveMethodsShouldNotBlock().getDescription();
+
+        assertFalse(descriptionsOf(catalogue.rules()).contains(reactiveRule));
+        assertTrue(descriptionsOf(catalogue.withBlockingSinks(BlockingSinks.defaults()).rules()).contains(reactiveRule));
+    }
+
+    private static List<String> descriptionsOf(List<? extends ArchRule> rules) {
+        return rules.stream().map(ArchRule::getDescription).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.xebia.archunit.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noMethods;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Freeze stores, baselines and budgets are keyed by rule description, so the rules must keep describing themselves
+ * the way their plain ArchUnit definitions did.
+ */
+class RuleDescriptionsTest {
+
+    private static final String GET_MAPPING = "org.springframework.web.bind.annotation.GetMapping";
+    private static final String REST_CONTROLLER = "org.springframework.web.bind.annotation.RestController";
+
+    @Test
+    void annotation_based_rules_keep_their_descriptions() {
+        assertEquals(noMethods().that().areAnnotatedWith(GET_MAPPING)
+                        .should().haveRawReturnType(List.class).orShould().haveRawReturnType(Set.class).getDescription(),
+                XebiaArchitectureRules.noGetApiShouldReturnListOrSet().getDescription());
+        assertEquals(methods().that().areAnnotatedWith(GET_MAPPING).and().haveNameMatching("\\w*List\\b")
+                        .should().haveRawReturnType("org.springframework.data.domain.Page").getDescription(),
+                XebiaArchitectureRules.getApiWhoseNameEndsWithListShouldUsePagination().getDescription());
+        assertEquals(noClasses().that().areAnnotatedWith(REST_CONTROLLER)
+                        .should().accessClassesThat().resideInAnyPackage("..entity..").getDescription(),
+                XebiaArchitectureRules.noRestControllerShouldAccessEntityClass("..entity..").getDescription());
+        assertEquals(methods().that().areAnnotatedWith(GET_MAPPING).and().haveRawReturnType("org.springframework.data.domain.Page")
+                        .should().haveRawReturnType(Object.class).getDescription().replace("have raw return type java.lang.Object", "return Page<DTO> object"),
+                XebiaArchitectureRules.restControllersShouldReturnDtosOnly("Dto").getDescription());
+        assertEquals(classes().that().areAnnotatedWith(REST_CONTROLLER).should().haveSimpleNameEndingWith("Resource").getDescription(),
+                XebiaArchitectureRules.restControllersNameShouldEndWithResource().getDescription());
+        assertEquals(classes().that().areAnnotatedWith("javax.persistence.Entity").should().haveSimpleNameEndingWith("x").getDescription()
+                        .replace("have simple name ending with 'x'", "have @Version field"),
+                XebiaArchitectureRules.allEntityClassesShouldHaveVersionField().getDescription());
+        assertEquals(classes()
+                        .that().areAnnotatedWith("org.springframework.stereotype.Component")
+                        .or().areAnnotatedWith("org.springframework.stereotype.Service")
+                        .and().areNotAnnotatedWith("org.springframework.boot.context.properties.ConfigurationProperties")
+                        .or().areAnnotatedWith("org.springframework.stereotype.Controller")
+                        .or().areAnnotatedWith(REST_CONTROLLER)
+                        .or().areAnnotatedWith("org.springframework.stereotype.Repository")
+                        .should().haveOnlyFinalFields().getDescription(),
+                XebiaArchitectureRules.springSingletonComponentsShouldOnlyHaveFinalFields().getDescription());
+    }
+}
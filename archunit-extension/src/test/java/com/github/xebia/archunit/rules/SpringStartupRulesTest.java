@@ -0,0 +1,154 @@
+package com.github.xebia.archunit.rules;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.componentScansShouldNotBeBroaderThanRootPackage;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.configurationsWithoutInterBeanCallsShouldNotProxyBeanMethods;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.heavyBeansShouldBeLazy;
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.startupCallbacksShouldNotDoIo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpringStartupRulesTest {
+
+    @TempDir
+    Path temp;
+
+    private JavaClasses classes;
+
+    @BeforeEach
+    void compileFixture() {
+        SourceCompiler.compile(temp,
+                "package org.springframework.stereotype; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Component {}",
+                "package org.springframework.stereotype; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @Component public @interface Service {}",
+                "package org.springframework.context.annotation; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) @org.springframework.stereotype.Component public @interface Configuration { boolean proxyBeanMethods() default true; }",
+                "package org.springframework.context.annotation; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface ComponentScan { String[] value() default {}; String[] basePackages() default {}; Class<?>[] basePackageClasses() default {}; }",
+                "package org.springframework.context.annotation; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Bean {}",
+                "package org.springframework.context.annotation; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Lazy { boolean value() default true; }");
+        SourceCompiler.compile(temp,
+                "package fixture.app;\n"
+                        + "@org.springframework.context.annotation.Configuration\n"
+                        + "@org.springframework.context.annotation.ComponentScan(\"fixture\")\n"
+                        + "public class BroadScanConfiguration {\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "@org.springframework.context.annotation.Configuration\n"
+                        + "@org.springframework.context.annotation.ComponentScan(basePackages = \"fixture.app.orders\")\n"
+                        + "public class NarrowScanConfiguration {\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "@org.springframework.context.annotation.Configuration\n"
+                        + "public class ProxiedConfiguration {\n"
+                        + "    @org.springframework.context.annotation.Bean\n"
+                        + "    public Object first() { return new Object(); }\n"
+                        + "    @org.springframework.context.annotation.Bean\n"
+                        + "    public Object second() { return new Object(); }\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "@org.springframework.context.annotation.Configuration\n"
+                        + "public class CallingConfiguration {\n"
+                        + "    @org.springframework.context.annotation.Bean\n"
+                        + "    public Object first() { return new Object(); }\n"
+                        + "    @org.springframework.context.annotation.Bean\n"
+                        + "    public String second() { return first().toString(); }\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "@org.springframework.context.annotation.Configuration(proxyBeanMethods = false)\n"
+                        + "public class LiteConfiguration {\n"
+                        + "    @org.springframework.context.annotation.Bean\n"
+                        + "    public Object first() { return new Object(); }\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "public class SearchIndex {\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "@org.springframework.stereotype.Service\n"
+                        + "public class OrderIndex extends SearchIndex {\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "@org.springframework.stereotype.Service\n"
+                        + "@org.springframework.context.annotation.Lazy\n"
+                        + "public class LazyOrderIndex extends SearchIndex {\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "@org.springframework.context.annotation.Configuration(proxyBeanMethods = false)\n"
+                        + "public class IndexConfiguration {\n"
+                        + "    @org.springframework.context.annotation.Bean\n"
+                        + "    public SearchIndex eagerIndex() { return new SearchIndex(); }\n"
+                        + "    @org.springframework.context.annotation.Bean\n"
+                        + "    @org.springframework.context.annotation.Lazy\n"
+                        + "    public SearchIndex lazyIndex() { return new SearchIndex(); }\n"
+                        + "}",
+                "package fixture.app;\n"
+                        + "public class CatalogLoader {\n"
+                        + "    private static final byte[] DEFAULTS;\n"
+                        + "    static {\n"
+                        + "        try {\n"
+                        + "            DEFAULTS = java.nio.file.Files.readAllBytes(java.nio.file.Paths.get(\"defaults\"));\n"
+                        + "        } catch (java.io.IOException e) {\n"
+                        + "            throw new IllegalStateException(e);\n"
+                        + "        }\n"
+                        + "    }\n"
+                        + "    private byte[] catalog;\n"
+                        + "    public void afterPropertiesSet() throws java.io.IOException {\n"
+                        + "        catalog = load();\n"
+                        + "    }\n"
+                        + "    private byte[] load() throws java.io.IOException {\n"
+                        + "        return java.nio.file.Files.readAllBytes(java.nio.file.Paths.get(\"catalog\"));\n"
+                        + "    }\n"
+                        + "    public byte[] reload() throws java.io.IOException {\n"
+                        + "        return load();\n"
+                        + "    }\n"
+                        + "}");
+        classes = new ClassFileImporter().importPath(temp);
+    }
+
+    @Test
+    void component_scans_outside_of_the_root_package_violate() {
+        assertEquals(Arrays.asList(
+                "Class <fixture.app.BroadScanConfiguration> scans package 'fixture' outside of 'fixture.app..' in (BroadScanConfiguration.java:0)"),
+                violations(componentScansShouldNotBeBroaderThanRootPackage("fixture.app..")));
+    }
+
+    @Test
+    void init_callbacks_and_static_initializers_doing_io_violate() {
+        assertEquals(Arrays.asList(
+                "Method <fixture.app.CatalogLoader.afterPropertiesSet()> does I/O at startup through CatalogLoader.afterPropertiesSet -> CatalogLoader.load: "
+                        + "Method <fixture.app.CatalogLoader.load()> calls method <java.nio.file.Files.readAllBytes(java.nio.file.Path)> in (CatalogLoader.java:16)",
+                "Static initializer of <fixture.app.CatalogLoader> does I/O at startup through CatalogLoader.<clinit>: "
+                        + "Static Initializer <fixture.app.CatalogLoader.<clinit>()> calls method <java.nio.file.Files.readAllBytes(java.nio.file.Path)> in (CatalogLoader.java:6)"),
+                violations(startupCallbacksShouldNotDoIo()));
+    }
+
+    @Test
+    void only_configurations_whose_bean_methods_never_call_each_other_should_not_proxy_them() {
+        assertEquals(Arrays.asList(
+                "Class <fixture.app.ProxiedConfiguration> proxies its @Bean methods, but never calls them, set proxyBeanMethods = false in (ProxiedConfiguration.java:0)"),
+                violations(configurationsWithoutInterBeanCallsShouldNotProxyBeanMethods()));
+    }
+
+    @Test
+    void heavy_components_and_bean_methods_that_are_not_lazy_violate() {
+        assertEquals(Arrays.asList(
+                "Class <fixture.app.OrderIndex> is a fixture.app.SearchIndex and is not @Lazy in (OrderIndex.java:0)",
+                "Method <fixture.app.IndexConfiguration.eagerIndex()> creates a fixture.app.SearchIndex and is not @Lazy in (IndexConfiguration.java:5)"),
+                violations(heavyBeansShouldBeLazy("fixture.app.SearchIndex")));
+    }
+
+    private List<String> violations(ArchRule rule) {
+        List<String> details = new ArrayList<>(rule.evaluate(classes).getFailureReport().getDetails());
+        Collections.sort(details);
+        return details;
+    }
+}
@@ -0,0 +1,4 @@
+package com.github.xebia.archunit.rules.fixtures.rest;
+
+public class Order {
+}
@@ -0,0 +1,25 @@
+package com.github.xebia.archunit.rules.fixtures.rest;
+
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class OrderResource {
+
+    @GetMapping
+    public Page<OrderDto> orderPage() {
+        return null;
+    }
+
+    @GetMapping
+    public Page<Order> entityPage() {
+        return null;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @GetMapping
+    public Page rawPage() {
+        return null;
+    }
+}
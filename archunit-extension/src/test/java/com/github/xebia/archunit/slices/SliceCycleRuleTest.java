@@ -0,0 +1,89 @@
+package com.github.xebia.archunit.slices;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SliceCycleRuleTest {
+
+    @TempDir
+    Path temp;
+
+    private JavaClasses classes;
+
+    /**
+     * Two components, {a, b, c} with the cycles a -> b -> a and a -> b -> c -> a, and {d, e}; f only depends on them.
+     */
+    @BeforeEach
+    void compileFixture() {
+        SourceCompiler.compile(temp,
+                "package fixture.a; public class A { fixture.b.B b; }",
+                "package fixture.b; public class B { fixture.a.A a; fixture.c.C c; }",
+                "package fixture.c; public class C { fixture.a.A a; }",
+                "package fixture.d; public class D { fixture.e.E e; }",
+                "package fixture.e; public class E { fixture.d.D d; }",
+                "package fixture.f; public class F { fixture.a.A a; fixture.d.D d; }");
+        classes = new ClassFileImporter().importPath(temp);
+    }
+
+    @Test
+    void reports_a_shortest_cycle_through_every_slice_of_a_component() {
+        assertEquals(Arrays.asList(
+                "Cycle detected: Slice a -> Slice b -> Slice a",
+                "Cycle detected: Slice c -> Slice a -> Slice b -> Slice c",
+                "Cycle detected: Slice d -> Slice e -> Slice d"),
+                cycles(SliceCycleRule.slicesMatching("fixture.(*)..")));
+    }
+
+    @Test
+    void bounds_the_cycles_per_component() {
+        assertEquals(Arrays.asList(
+                "Cycle detected: Slice a -> Slice b -> Slice a",
+                "Cycle detected: Slice d -> Slice e -> Slice d"),
+                cycles(SliceCycleRule.slicesMatching("fixture.(*)..").withMaxCyclesPerComponent(1)));
+    }
+
+    @Test
+    void lists_the_class_dependencies_of_every_edge() {
+        JavaClasses component = new ClassFileImporter().importPaths(temp.resolve("fixture").resolve("d"), temp.resolve("fixture").resolve("e"));
+        List<String> details = SliceCycleRule.slicesMatching("fixture.(*)..").evaluate(component).getFailureReport().getDetails();
+
+        assertEquals(1, details.size());
+        assertEquals(Arrays.asList(
+                "Cycle detected: Slice d -> Slice e -> Slice d",
+                "Dependencies of Slice d",
+                "Field <fixture.d.D.e> has type <fixture.e.E> in (D.java:0)",
+                "Dependencies of Slice e",
+                "Field <fixture.e.E.d> has type <fixture.d.D> in (E.java:0)"),
+                Arrays.asList(details.get(0).split(System.lineSeparator())));
+    }
+
+    @Test
+    void acyclic_slices_do_not_violate() {
+        JavaClasses acyclic = new ClassFileImporter().importPaths(temp.resolve("fixture").resolve("c"), temp.resolve("fixture").resolve("f"));
+
+        assertFalse(SliceCycleRule.slicesMatching("fixture.(*)..").evaluate(acyclic).hasViolation());
+    }
+
+    private List<String> cycles(ArchRule rule) {
+        List<String> cycles = new ArrayList<>();
+        for (String detail : rule.evaluate(classes).getFailureReport().getDetails()) {
+            cycles.add(detail.split(System.lineSeparator())[0]);
+        }
+        Collections.sort(cycles);
+        return cycles;
+    }
+}
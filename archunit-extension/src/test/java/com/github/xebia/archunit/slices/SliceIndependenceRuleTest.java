@@ -0,0 +1,120 @@
+package com.github.xebia.archunit.slices;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.tngtech.archunit.library.dependencies.SlicesRuleDefinition.slices;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SliceIndependenceRuleTest {
+
+    @TempDir
+    Path temp;
+
+    private JavaClasses classes;
+
+    @BeforeEach
+    void compileFixture() {
+        SourceCompiler.compile(temp,
+                "package fixture.orders.api; public class OrderResource { fixture.billing.api.InvoiceResource invoices; fixture.orders.domain.Order order; }",
+                "package fixture.orders.domain; public class Order { fixture.billing.domain.Invoice invoice; fixture.billing.domain.Invoice create() { return new fixture.billing.domain.Invoice(); } }",
+                "package fixture.billing.api; public class InvoiceResource { fixture.billing.domain.Invoice invoice; }",
+                "package fixture.billing.domain; public class Invoice { fixture.orders.domain.Order order; String number() { return order.toString(); } }");
+        classes = new ClassFileImporter().importPath(temp);
+    }
+
+    @Test
+    void reports_like_archunit() {
+        assertSameResult(slices().matching("fixture.(*).(*)..").namingSlices("$2 of $1").should().notDependOnEachOther(),
+                SliceIndependenceRule.slicesMatching("fixture.(*).(*)..").namingSlices("$2 of $1"), classes);
+        assertSameResult(slices().matching("fixture.(*)..").should().notDependOnEachOther(),
+                SliceIndependenceRule.slicesMatching("fixture.(*).."), classes);
+    }
+
+    @Test
+    void names_slices_like_archunit_with_fewer_groups_than_the_pattern() {
+        assertEquals(Arrays.asList("$2 of billing depends on $2 of orders:", "$2 of orders depends on $2 of billing:"),
+                firstLines(details(SliceIndependenceRule.slicesMatching("fixture.(*)..").namingSlices("$2 of $1"), classes)));
+        assertSameResult(slices().matching("fixture.(*)..").namingSlices("$2 of $1").should().notDependOnEachOther(),
+                SliceIndependenceRule.slicesMatching("fixture.(*)..").namingSlices("$2 of $1"), classes);
+    }
+
+    @Test
+    void lists_at_most_the_sample_dependencies_and_counts_the_rest() {
+        List<String> expected = details(slices().matching("fixture.(*)..").should().notDependOnEachOther(), classes);
+        List<String> details = details(SliceIndependenceRule.slicesMatching("fixture.(*)..").withMaxSampleDependencies(1), classes);
+
+        assertEquals(expected.size(), details.size());
+        boolean truncated = false;
+        for (int i = 0; i < expected.size(); i++) {
+            List<String> expectedLines = lines(expected.get(i));
+            List<String> lines = lines(details.get(i));
+            int omitted = expectedLines.size() - 2;
+
+            assertEquals(expectedLines.subList(0, 2), lines.subList(0, 2));
+            assertEquals(omitted > 0 ? Collections.singletonList("(" + omitted + " more)") : Collections.emptyList(), lines.subList(2, lines.size()));
+            truncated |= omitted > 0;
+        }
+        assertTrue(truncated);
+    }
+
+    /**
+     * Every slice depends on the next one, the last on the first, and the first on slices beyond the first 64, which
+     * are set in the second word of its row of the dependency matrix.
+     */
+    @Test
+    void reports_dependencies_on_slices_beyond_a_word_of_the_dependency_matrix() {
+        int count = 70;
+        String[] sources = new String[count];
+        for (int i = 0; i < count; i++) {
+            String fields = String.format("fixture.s%02d.S%02d next;", (i + 1) % count, (i + 1) % count);
+            if (i == 0) {
+                fields += " fixture.s64.S64 s64; fixture.s65.S65 s65; fixture.s69.S69 s69;";
+            }
+            sources[i] = String.format("package fixture.s%02d; public class S%02d { %s }", i, i, fields);
+        }
+        Path many = temp.resolve("many");
+        SourceCompiler.compile(many, sources);
+        JavaClasses manySlices = new ClassFileImporter().importPath(many);
+
+        List<String> details = details(SliceIndependenceRule.slicesMatching("fixture.(*)..").namingSlices("$2 of $1"), manySlices);
+        assertEquals(count + 3, details.size());
+        assertSameResult(slices().matching("fixture.(*)..").namingSlices("$2 of $1").should().notDependOnEachOther(),
+                SliceIndependenceRule.slicesMatching("fixture.(*)..").namingSlices("$2 of $1"), manySlices);
+    }
+
+    private static void assertSameResult(ArchRule expected, ArchRule rule, JavaClasses classes) {
+        assertEquals(expected.getDescription(), rule.getDescription());
+        assertEquals(details(expected, classes), details(rule, classes));
+    }
+
+    private static List<String> details(ArchRule rule, JavaClasses classes) {
+        List<String> details = new ArrayList<>(rule.evaluate(classes).getFailureReport().getDetails());
+        Collections.sort(details);
+        return details;
+    }
+
+    private static List<String> firstLines(List<String> details) {
+        List<String> firstLines = new ArrayList<>();
+        for (String detail : details) {
+            firstLines.add(lines(detail).get(0));
+        }
+        return firstLines;
+    }
+
+    private static List<String> lines(String detail) {
+        return Arrays.asList(detail.split(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.xebia.archunit.watch;
+
+import com.github.xebia.archunit.SourceCompiler;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.allEntityClassesShouldHaveVersionField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchitectureWatcherTest {
+
+    private static final String GRAND_PARENT_WITH_VERSION = "package fixture; @javax.persistence.MappedSuperclass public class GrandParent { @javax.persistence.Version long version; }";
+    private static final String GRAND_PARENT_WITHOUT_VERSION = "package fixture; @javax.persistence.MappedSuperclass public class GrandParent { long version; }";
+    private static final String CHILD = "package fixture; @javax.persistence.Entity public class Child extends Parent {}";
+
+    @TempDir
+    Path temp;
+
+    private Path classes;
+    private ArchitectureWatcher watcher;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final List<ArchRule> rules = Collections.singletonList(allEntityClassesShouldHaveVersionField());
+
+    @BeforeEach
+    void startWatcher() {
+        classes = temp.resolve("classes");
+        SourceCompiler.compile(classes,
+                "package javax.persistence; public @interface Entity {}",
+                "package javax.persistence; public @interface MappedSuperclass {}",
+                "package javax.persistence; public @interface Version {}",
+                GRAND_PARENT_WITH_VERSION,
+                "package fixture; @javax.persistence.MappedSuperclass public class Parent extends GrandParent {}",
+                CHILD);
+        watcher = new ArchitectureWatcher(rules, classes).withOutput(new PrintStream(output, true));
+        assertEquals(0, watcher.start());
+    }
+
+    @AfterEach
+    void closeWatcher() throws IOException {
+        watcher.close();
+    }
+
+    @Test
+    void keeps_inherited_members_of_classes_that_did_not_change() {
+        SourceCompiler.compile(classes, CHILD);
+
+        assertEquals(0, watcher.recheck(Collections.singletonList(classFile("Child"))), output.toString());
+    }
+
+    @Test
+    void rechecks_classes_depending_transitively_on_a_changed_class() {
+        SourceCompiler.compile(classes, GRAND_PARENT_WITHOUT_VERSION);
+
+        assertEquals(1, watcher.recheck(Collections.singletonList(classFile("GrandParent"))));
+        assertTrue(output.toString().contains("+ [classes that are annotated with @Entity should have @Version field] fixture.Child have @Version field"), output.toString());
+
+        SourceCompiler.compile(classes, GRAND_PARENT_WITH_VERSION);
+
+        assertEquals(0, watcher.recheck(Collections.singletonList(classFile("GrandParent"))));
+        assertTrue(output.toString().contains("- [classes that are annotated with @Entity should have @Version field] fixture.Child have @Version field"), output.toString());
+    }
+
+    private Path classFile(String simpleName) {
+        return classes.resolve("fixture").resolve(simpleName + ".class");
+    }
+}
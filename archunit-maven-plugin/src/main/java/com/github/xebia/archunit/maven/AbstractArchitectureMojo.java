@@ -0,0 +1,180 @@
+package com.github.xebia.archunit.maven;
+
+import com.github.xebia.archunit.index.ClassRoleIndex;
+import com.github.xebia.archunit.rules.BlockingSinks;
+import com.github.xebia.archunit.rules.ExpensiveFactories;
+import com.github.xebia.archunit.rules.RuleCatalogue;
+import com.github.xebia.archunit.rules.StartupChecks;
+import com.tngtech.archunit.lang.ArchRule;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+/**
+ * The configuration shared by all goals, the same as that of {@link com.github.xebia.archunit.AbstractArchitectureTests}.
+ */
+abstract class AbstractArchitectureMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    protected MavenProject project;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    protected File classesDirectory;
+
+    @Parameter(required = true)
+    protected String[] entityClasses;
+
+    @Parameter(required = true)
+    protected String domainPackageMatchIdentifier;
+
+    @Parameter(required = true)
+    protected String rootPackageIdentifier;
+
+    @Parameter(required = true)
+    protected String cycleCheckPackageIdentifier;
+
+    @Parameter
+    protected String[] dtoClassSuffixes = ClassRoleIndex.DEFAULT_DTO_SUFFIXES.toArray(new String[0]);
+
+    @Parameter
+    protected String[] utilClassSuffixes = ClassRoleIndex.DEFAULT_UTIL_SUFFIXES.toArray(new String[0]);
+
+    /**
+     * Checks the JPA fetching rules for {@code @Entity} classes.
+     */
+    @Parameter(property = "xebia.archunit.checkJpa", defaultValue = "false")
+    protected boolean checkJpa;
+
+    /**
+     * Checks the concurrency rules for Spring singleton components.
+     */
+    @Parameter(property = "xebia.archunit.checkConcurrency", defaultValue = "false")
+    protected boolean checkConcurrency;
+
+    /**
+     * Checks that reactive methods do not reach blocking calls, see {@link BlockingSinks#defaults()}.
+     */
+    @Parameter(property = "xebia.archunit.checkReactive", defaultValue = "false")
+    protected boolean checkReactive;
+
+    /**
+     * Further blocking calls as {@code type#method}, or just the type for all its methods.
+     */
+    @Parameter
+    protected String[] blockingCalls = new String[0];
+
+    /**
+     * Checks that expensive objects are not created per call, see {@link ExpensiveFactories#defaults()}.
+     */
+    @Parameter(property = "xebia.archunit.checkExpensiveFactories", defaultValue = "false")
+    protected boolean checkExpensiveFactories;
+
+    /**
+     * Further expensive factories as {@code type#method}, or just the type for its constructors.
+     */
+    @Parameter
+    protected String[] expensiveFactories = new String[0];
+
+    /**
+     * Checks what slows down the start of the application, see {@link StartupChecks}.
+     */
+    @Parameter(property = "xebia.archunit.checkStartup", defaultValue = "false")
+    protected boolean checkStartup;
+
+    /**
+     * Further I/O calls as {@code type#method}, or just the type for all its methods.
+     */
+    @Parameter
+    protected String[] startupIoCalls = new String[0];
+
+    /**
+     * The types of heavy beans that should be {@code @Lazy}.
+     */
+    @Parameter
+    protected String[] lazyBeans = new String[0];
+
+    protected RuleCatalogue catalogue() {
+        return new RuleCatalogue(entityClasses, domainPackageMatchIdentifier, rootPackageIdentifier,
+                cycleCheckPackageIdentifier, dtoClassSuffixes, utilClassSuffixes)
+                .withExpensiveFactories(checkExpensiveFactories ? expensiveFactories() : null)
+                .withStartupChecks(checkStartup ? startupChecks() : null)
+                .withJpaChecks(checkJpa)
+                .withConcurrencyChecks(checkConcurrency)
+                .withBlockingSinks(checkReactive ? blockingSinks() : null);
+    }
+
+    private BlockingSinks blockingSinks() {
+        BlockingSinks sinks = BlockingSinks.defaults();
+        for (String blockingCall : blockingCalls) {
+            sinks = sinks.with(blockingCall);
+        }
+        return sinks;
+    }
+
+    private StartupChecks startupChecks() {
+        StartupChecks checks = StartupChecks.defaults();
+        for (String ioCall : startupIoCalls) {
+            checks = checks.withIoCall(ioCall);
+        }
+        for (String lazyBean : lazyBeans) {
+            checks = checks.withLazyBean(lazyBean);
+        }
+        return checks;
+    }
+
+    private ExpensiveFactories expensiveFactories() {
+        ExpensiveFactories factories = ExpensiveFactories.defaults();
+        for (String factory : expensiveFactories) {
+            factories = factories.with(factory);
+        }
+        return factories;
+    }
+
+    protected List<ArchRule> rules() {
+        return catalogue().rules();
+    }
+
+    protected List<String> compileClassPath() throws MojoExecutionException {
+        try {
+            return project.getCompileClasspathElements();
+        } catch (DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Could not resolve the compile class path of " + project.getId(), e);
+        }
+    }
+
+    /**
+     * Runs {@code action} with a context class loader over the compile class path, through which ArchUnit and the
+     * annotation index resolve types missing from the import.
+     */
+    protected void withProjectClassLoader(List<String> classPath, ProjectAction action) throws MojoExecutionException {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader projectClassLoader = new URLClassLoader(toUrls(classPath), getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(projectClassLoader);
+            action.run();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not create the class loader of " + project.getId(), e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private static URL[] toUrls(List<String> classPath) throws IOException {
+        URL[] urls = new URL[classPath.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = new File(classPath.get(i)).toURI().toURL();
+        }
+        return urls;
+    }
+
+    interface ProjectAction {
+        void run() throws MojoExecutionException;
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.xebia.archunit.maven;
+
+import com.github.xebia.archunit.baseline.ViolationBaseline;
+import com.github.xebia.archunit.budget.BudgetedRuleEvaluator;
+import com.github.xebia.archunit.budget.ViolationBudget;
+import com.github.xebia.archunit.classfile.ClassHeaders;
+import com.github.xebia.archunit.engine.ElementRule;
+import com.github.xebia.archunit.engine.ParallelRuleRunner;
+import com.github.xebia.archunit.engine.RuleEvaluator;
+import com.github.xebia.archunit.engine.SinglePassRuleEngine;
+import com.github.xebia.archunit.importer.ImportScope;
+import com.github.xebia.archunit.report.ViolationReport;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.Location;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.EvaluationResult;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the rules of {@link com.github.xebia.archunit.rules.XebiaArchitectureRules} against the classes of the
+ * module right after they were compiled, without starting a test runtime.
+ * <p>
+ * The parameters are the same as those of {@link com.github.xebia.archunit.AbstractArchitectureTests}. The check is
+ * skipped when the classes, the compile class path and the configuration did not change since the last successful
+ * check.
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class CheckArchitectureMojo extends AbstractArchitectureMojo {
+
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
+    /**
+     * Evaluates the rules on all cores instead of in a single pass on the build thread.
+     */
+    @Parameter(property = "xebia.archunit.parallel", defaultValue = "false")
+    private boolean parallel;
+
+    /**
+     * A {@link ViolationBaseline} of accepted violations, e.g. {@code ${project.basedir}/archunit-baseline.bin}.
+     */
+    @Parameter(property = "xebia.archunit.baselineFile")
+    private File baselineFile;
+
+    /**
+     * Records the violations of the rules missing from the {@link #baselineFile} instead of failing for them.
+     */
+    @Parameter(property = "xebia.archunit.recordBaseline", defaultValue = "false")
+    private boolean recordBaseline;
+
+    /**
+     * Checks only the rules that need no more than class headers, without importing the class graph, see
+     * {@link com.github.xebia.archunit.rules.RuleCatalogue#metadataRules()}.
+     */
+    @Parameter(property = "xebia.archunit.metadataOnly", defaultValue = "false")
+    private boolean metadataOnly;
+
+    /**
+     * Stops every rule after this number of violations, see {@link ViolationBudget}; {@code 0} reports all violations.
+     */
+    @Parameter(property = "xebia.archunit.maxViolationsPerRule", defaultValue = "0")
+    private int maxViolationsPerRule;
+
+    /**
+     * Stops reporting violations of all rules together after this number of violations; {@code 0} means no limit.
+     */
+    @Parameter(property = "xebia.archunit.maxViolations", defaultValue = "0")
+    private int maxViolations;
+
+    /**
+     * Stops every rule at its first violation, e.g. in a pre-commit hook.
+     */
+    @Parameter(property = "xebia.archunit.failFast", defaultValue = "false")
+    private boolean failFast;
+
+    @Parameter(property = "xebia.archunit.failOnViolation", defaultValue = "true")
+    private boolean failOnViolation;
+
+    /**
+     * Receives the violations as SARIF log and JSON Lines file, see {@link ViolationReport}. The build log only tells
+     * the number of violations per rule, unless debug logging is on.
+     */
+    @Parameter(property = "xebia.archunit.reportDirectory", defaultValue = "${project.build.directory}/archunit", required = true)
+    private File reportDirectory;
+
+    /**
+     * Holds the fingerprint of the inputs of the last successful check.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/archunit/architecture-check.sha256", required = true)
+    private File fingerprintFile;
+
+    /**
+     * Checks the rules even if the inputs did not change since the last successful check.
+     */
+    @Parameter(property = "xebia.archunit.force", defaultValue = "false")
+    private boolean force;
+
+    @Parameter(property = "xebia.archunit.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping architecture check");
+            return;
+        }
+        if (!classesDirectory.isDirectory()) {
+            getLog().info("Skipping architecture check, " + classesDirectory + " does not exist");
+            return;
+        }
+        List<String> classPath = compileClassPath();
+        String fingerprint = fingerprint(classPath);
+        if (!force && fingerprint.equals(readFingerprint())) {
+            getLog().info("Architecture check is up to date, skipping it");
+            return;
+        }
+
+        List<String> failures = new ArrayList<>();
+        withProjectClassLoader(classPath, () -> {
+            Map<ArchRule, EvaluationResult> results = new LinkedHashMap<>();
+            int classCount;
+            if (metadataOnly) {
+                ClassHeaders headers = ClassHeaders.scan(classesDirectory.toPath());
+                for (ElementRule<?> rule : catalogue().metadataRules()) {
+                    results.put(rule, rule.evaluate(headers));
+                }
+                classCount = headers.size();
+            } else {
+                List<ArchRule> rules = rules();
+                JavaClasses classes = ImportScope.of(rules).importLocations(new ClassFileImporter(),
+                        Collections.singleton(Location.of(classesDirectory.toPath())));
+                ViolationBudget budget = violationBudget(failFast, maxViolationsPerRule, maxViolations);
+                RuleEvaluator evaluator = budget != null ? new BudgetedRuleEvaluator(budget)
+                        : parallel ? new ParallelRuleRunner() : new SinglePassRuleEngine();
+                results.putAll(evaluator.evaluate(classes, rules));
+                classCount = classes.size();
+            }
+            ViolationBaseline baseline = baselineFile == null ? null
+                    : recordBaseline ? ViolationBaseline.of(baselineFile.toPath()).withRecording() : ViolationBaseline.of(baselineFile.toPath());
+            ViolationReport report = ViolationReport.create(reportDirectory.toPath(), new File(project.getBuild().getSourceDirectory()).toPath());
+            for (Map.Entry<ArchRule, EvaluationResult> entry : results.entrySet()) {
+                EvaluationResult result = baseline != null ? baseline.apply(entry.getKey(), entry.getValue()) : entry.getValue();
+                int violations = report.write(entry.getKey(), result);
+                if (violations > 0) {
+                    getLog().error(String.format("Architecture Violation [%s] - Rule '%s' was violated (%d times)",
+                            result.getPriority().asString(), entry.getKey().getDescription(), violations));
+                    if (getLog().isDebugEnabled()) {
+                        getLog().debug(String.join(System.lineSeparator(), result.getFailureReport().getDetails()));
+                    }
+                    failures.add(entry.getKey().getDescription());
+                }
+            }
+            getLog().info(String.format("Checked %d architecture rules against %d classes", results.size(), classCount));
+            if (!failures.isEmpty()) {
+                getLog().info("Violations written to " + report.getSarifFile() + " and " + report.getJsonLinesFile());
+            }
+        });
+
+        if (!failures.isEmpty()) {
+            String message = failures.size() + " architecture rule(s) violated: " + String.join(", ", failures);
+            if (failOnViolation) {
+                throw new MojoFailureException(message);
+            }
+            getLog().warn(message);
+            return;
+        }
+        // a baseline that shrank is an input of the next check, so hash it again
+        writeFingerprint(baselineFile != null ? fingerprint(classPath) : fingerprint);
+    }
+
+    /**
+     * @return the budget for the given parameters, or {@code null} to report every violation
+     */
+    static ViolationBudget violationBudget(boolean failFast, int maxViolationsPerRule, int maxViolations) {
+        if (failFast) {
+            return ViolationBudget.failFast();
+        }
+        if (maxViolationsPerRule <= 0 && maxViolations <= 0) {
+            return null;
+        }
+        ViolationBudget budget = maxViolationsPerRule > 0 ? ViolationBudget.perRule(maxViolationsPerRule) : ViolationBudget.perRule(Integer.MAX_VALUE);
+        return maxViolations > 0 ? budget.withGlobalBudget(maxViolations) : budget;
+    }
+
+    private String fingerprint(List<String> classPath) throws MojoExecutionException {
+        try {
+            InputFingerprint fingerprint = new InputFingerprint()
+                    .add(pluginVersion)
+                    .add(entityClasses)
+                    .add(domainPackageMatchIdentifier)
+                    .add(rootPackageIdentifier)
+                    .add(cycleCheckPackageIdentifier)
+                    .add(dtoClassSuffixes)
+                    .add(utilClassSuffixes)
+                    .add(String.valueOf(checkJpa))
+                    .add(String.valueOf(checkConcurrency))
+                    .add(String.valueOf(checkReactive))
+                    .add(blockingCalls)
+                    .add(String.valueOf(checkExpensiveFactories))
+                    .add(expensiveFactories)
+                    .add(String.valueOf(checkStartup))
+                    .add(startupIoCalls)
+                    .add(lazyBeans)
+                    .add(String.valueOf(failOnViolation))
+                    .add(String.valueOf(metadataOnly))
+                    .add(String.valueOf(baselineFile))
+                    .add(String.valueOf(recordBaseline))
+                    .addContents(classesDirectory.toPath());
+            Path classes = classesDirectory.toPath().toAbsolutePath().normalize();
+            for (String element : classPath) {
+                Path path = new File(element).toPath().toAbsolutePath().normalize();
+                if (!path.equals(classes)) {
+                    fingerprint.addStamps(path);
+                }
+            }
+            if (baselineFile != null) {
+                fingerprint.addContents(baselineFile.toPath());
+            }
+            return fingerprint.toHex();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not hash the inputs of the architecture check", e);
+        }
+    }
+
+    private String readFingerprint() {
+        try {
+            return fingerprintFile.isFile() ? new String(Files.readAllBytes(fingerprintFile.toPath()), StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException e) {
+            getLog().debug("Could not read " + fingerprintFile, e);
+            return null;
+        }
+    }
+
+    private void writeFingerprint(String fingerprint) throws MojoExecutionException {
+        try {
+            Path file = fingerprintFile.toPath().toAbsolutePath();
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, fingerprint.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write " + fingerprintFile, e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.xebia.archunit.maven;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A SHA-256 hash over everything an architecture check depends on, to skip checks whose inputs did not change.
+ */
+final class InputFingerprint {
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[8192];
+
+    InputFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    InputFingerprint add(String value) {
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        addLength(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    InputFingerprint add(String[] values) {
+        addLength(values == null ? -1 : values.length);
+        if (values != null) {
+            for (String value : values) {
+                add(value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the relative path and the content of every file below {@code root}, in a stable order.
+     */
+    InputFingerprint addContents(Path root) throws IOException {
+        for (Path file : filesBelow(root)) {
+            add(root.relativize(file).toString().replace('\\', '/'));
+            addLength(Files.size(file));
+            try (InputStream in = Files.newInputStream(file)) {
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the path, size and modification time of {@code path} or of every file below it. Cheaper than
+     * {@link #addContents(Path)}, for inputs like jars that are replaced rather than edited.
+     */
+    InputFingerprint addStamps(Path path) throws IOException {
+        add(path.toString());
+        for (Path file : filesBelow(path)) {
+            add(path.relativize(file).toString());
+            addLength(Files.size(file));
+            addLength(Files.getLastModifiedTime(file).toMillis());
+        }
+        return this;
+    }
+
+    String toHex() {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private void addLength(long length) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (length >>> shift));
+        }
+    }
+
+    private static List<Path> filesBelow(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.xebia.archunit.maven;
+
+import com.github.xebia.archunit.watch.ArchitectureWatcher;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps the classes of the module in memory and re-checks the rules whenever the IDE or another build writes new class
+ * files to the output directory, printing new and fixed violations. Stop it with Ctrl+C.
+ */
+@Mojo(name = "watch", requiresDependencyResolution = ResolutionScope.COMPILE, requiresProject = true)
+public class WatchArchitectureMojo extends AbstractArchitectureMojo {
+
+    /**
+     * How long the output directory must be quiet after a change before the rules are checked again.
+     */
+    @Parameter(property = "xebia.archunit.quietPeriodMillis", defaultValue = "200")
+    private long quietPeriodMillis;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!classesDirectory.isDirectory()) {
+            throw new MojoExecutionException(classesDirectory + " does not exist, compile the module first");
+        }
+        withProjectClassLoader(compileClassPath(), () -> {
+            try (ArchitectureWatcher watcher = new ArchitectureWatcher(rules(), classesDirectory.toPath())
+                    .withQuietPeriod(Duration.ofMillis(quietPeriodMillis))) {
+                getLog().info("Watching " + classesDirectory + " for changes, press Ctrl+C to stop");
+                watcher.run();
+            } catch (IOException e) {
+                throw new MojoExecutionException("Could not stop watching " + classesDirectory, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.xebia.archunit.maven;
+
+import com.github.xebia.archunit.budget.ViolationBudget;
+import com.tngtech.archunit.lang.ArchRule;
+import org.junit.jupiter.api.Test;
+
+import static com.github.xebia.archunit.rules.XebiaArchitectureRules.noCheckedExceptions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CheckArchitectureMojoTest {
+
+    private final ArchRule rule = noCheckedExceptions();
+
+    @Test
+    void reports_every_violation_without_limits() {
+        assertNull(CheckArchitectureMojo.violationBudget(false, 0, 0));
+    }
+
+    @Test
+    void fails_fast_regardless_of_the_limits() {
+        ViolationBudget budget = CheckArchitectureMojo.violationBudget(true, 50, 200);
+
+        assertEquals(1, budget.budgetOf(rule));
+        assertEquals(Integer.MAX_VALUE, budget.getGlobalBudget());
+    }
+
+    @Test
+    void limits_the_violations_per_rule() {
+        ViolationBudget budget = CheckArchitectureMojo.violationBudget(false, 50, 0);
+
+        assertEquals(50, budget.budgetOf(rule));
+        assertEquals(Integer.MAX_VALUE, budget.getGlobalBudget());
+    }
+
+    @Test
+    void limits_the_violations_of_all_rules() {
+        ViolationBudget budget = CheckArchitectureMojo.violationBudget(false, 0, 200);
+
+        assertEquals(Integer.MAX_VALUE, budget.budgetOf(rule));
+        assertEquals(200, budget.getGlobalBudget());
+    }
+
+    @Test
+    void combines_both_limits() {
+        ViolationBudget budget = CheckArchitectureMojo.violationBudget(false, 50, 200);
+
+        assertEquals(50, budget.budgetOf(rule));
+        assertEquals(200, budget.getGlobalBudget());
+    }
+}
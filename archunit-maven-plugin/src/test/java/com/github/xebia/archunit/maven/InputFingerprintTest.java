@@ -0,0 +1,100 @@
+package com.github.xebia.archunit.maven;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class InputFingerprintTest {
+
+    @TempDir
+    Path temp;
+
+    private Path classes;
+    private Path baseline;
+    private Path jar;
+
+    @BeforeEach
+    void createInputs() throws IOException {
+        classes = Files.createDirectories(temp.resolve("classes"));
+        Files.createDirectories(classes.resolve("fixture"));
+        Files.write(classes.resolve("fixture").resolve("Order.class"), new byte[]{(byte) 0xCA, (byte) 0xFE, 1});
+        Files.write(classes.resolve("fixture").resolve("OrderDto.class"), new byte[]{(byte) 0xCA, (byte) 0xFE, 2});
+        baseline = Files.write(temp.resolve("baseline.txt"), "rule|violation\n".getBytes(StandardCharsets.UTF_8));
+        jar = Files.write(temp.resolve("library.jar"), new byte[]{'P', 'K'});
+    }
+
+    @Test
+    void is_stable_for_unchanged_inputs() throws IOException {
+        assertEquals(fingerprint(new String[]{"Dto"}), fingerprint(new String[]{"Dto"}));
+    }
+
+    @Test
+    void changes_with_a_class_file() throws IOException {
+        String before = fingerprint(new String[]{"Dto"});
+        Files.write(classes.resolve("fixture").resolve("Order.class"), new byte[]{(byte) 0xCA, (byte) 0xFE, 3});
+
+        assertNotEquals(before, fingerprint(new String[]{"Dto"}));
+    }
+
+    @Test
+    void changes_with_a_renamed_class_file() throws IOException {
+        String before = fingerprint(new String[]{"Dto"});
+        Files.move(classes.resolve("fixture").resolve("OrderDto.class"), classes.resolve("fixture").resolve("InvoiceDto.class"));
+
+        assertNotEquals(before, fingerprint(new String[]{"Dto"}));
+    }
+
+    @Test
+    void changes_with_a_configuration_array() throws IOException {
+        String dto = fingerprint(new String[]{"Dto"});
+
+        assertNotEquals(dto, fingerprint(new String[]{"Dto", "Response"}));
+        assertNotEquals(fingerprint(new String[]{"Dto", "Response"}), fingerprint(new String[]{"DtoResponse"}));
+        assertNotEquals(fingerprint(new String[0]), fingerprint(null));
+    }
+
+    @Test
+    void changes_with_the_baseline() throws IOException {
+        String before = fingerprint(new String[]{"Dto"});
+        Files.write(baseline, "rule|other violation\n".getBytes(StandardCharsets.UTF_8));
+
+        assertNotEquals(before, fingerprint(new String[]{"Dto"}));
+    }
+
+    @Test
+    void stamps_change_with_the_modification_time_only() throws IOException {
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(1_000_000L));
+        String before = new InputFingerprint().addStamps(jar).toHex();
+
+        assertEquals(before, new InputFingerprint().addStamps(jar).toHex());
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(2_000_000L));
+        assertNotEquals(before, new InputFingerprint().addStamps(jar).toHex());
+    }
+
+    @Test
+    void stamps_cover_every_file_below_a_directory() throws IOException {
+        String before = new InputFingerprint().addStamps(classes).toHex();
+        Files.setLastModifiedTime(classes.resolve("fixture").resolve("Order.class"), FileTime.fromMillis(3_000_000L));
+
+        assertNotEquals(before, new InputFingerprint().addStamps(classes).toHex());
+    }
+
+    private String fingerprint(String[] dtoClassSuffixes) throws IOException {
+        return new InputFingerprint()
+                .add("com.example")
+                .add(dtoClassSuffixes)
+                .addContents(classes)
+                .addStamps(jar)
+                .addContents(baseline)
+                .toHex();
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.demo.domain;
 
+import org.hibernate.annotations.BatchSize;
+
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.ManyToMany;
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 public class UserEntity extends AbstractEntity {
@@ -16,6 +21,9 @@ public class UserEntity extends AbstractEntity {
     private String bio;
     private LocalDate birthdate;
     private String address;
+    @ManyToMany
+    @BatchSize(size = 20)
+    private Set<RoleEntity> roles = new HashSet<>();
 
     public UserEntity() {
     }
@@ -39,4 +47,24 @@ public class UserEntity extends AbstractEntity {
     public void setName(String name) {
         this.name = name;
     }
+
+    public Set<RoleEntity> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserEntity)) {
+            return false;
+        }
+        return id != null && id.equals(((UserEntity) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
@@ -2,13 +2,18 @@ package com.example.demo;
 
 import com.example.demo.domain.UserEntity;
 import com.github.xebia.archunit.AbstractArchitectureTests;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.github.xebia.archunit.engine.ParallelRuleRunner;
+import com.github.xebia.archunit.engine.RuleEvaluator;
+import com.github.xebia.archunit.importer.CachedClassFileImporter;
+import com.github.xebia.archunit.report.ViolationReport;
+import com.github.xebia.archunit.rules.ExpensiveFactories;
+import com.github.xebia.archunit.rules.StartupChecks;
 import com.tngtech.archunit.core.importer.ImportOption;
 
 class DemoApplicationArchitectureTest extends AbstractArchitectureTests {
 
     public DemoApplicationArchitectureTest() {
-        super(new ClassFileImporter()
+        super(new CachedClassFileImporter()
                         .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
                         .importPackagesOf(Application.class),
                 new String[]{UserEntity.class.getPackage().getName()},
@@ -18,4 +23,24 @@ class DemoApplicationArchitectureTest extends AbstractArchitectureTests {
                 new String[]{"Dto"},
                 new String[]{"Util", "Utils"});
     }
+
+    @Override
+    protected RuleEvaluator ruleEvaluator() {
+        return new ParallelRuleRunner();
+    }
+
+    @Override
+    protected ExpensiveFactories expensiveFactories() {
+        return ExpensiveFactories.defaults();
+    }
+
+    @Override
+    protected StartupChecks startupChecks() {
+        return StartupChecks.defaults();
+    }
+
+    @Override
+    protected ViolationReport violationReport() {
+        return ViolationReport.of();
+    }
 }